@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Load test of the current checkout (see LOAD_TEST.md).
+#   ./run_loadtest.sh                                  label = current git branch
+#   ./run_loadtest.sh --loadtest.baseline=loadtest-results/main.json --loadtest.users=32
+# Extra arguments are passed on as --name=value properties.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+label="$(git rev-parse --abbrev-ref HEAD 2>/dev/null || echo local)"
+
+# The harness lives in the test sources, so it is never packaged into the application jar
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/loadtest-classpath.txt
+# A --loadtest.label=... argument overrides this default
+exec java "-Dloadtest.label=${label}" -cp "target/test-classes:target/classes:$(cat target/loadtest-classpath.txt)" \
+    com.pledge.backend.loadtest.LoadTestRunner "$@"
@@ -0,0 +1,50 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.dto.response.BookStatusResponse;
+import com.pledge.backend.service.PledgeBook;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operations endpoint for the in-memory pledge book; only present with
+ * app.read-model.enabled=true. The application's own reads go through the usual
+ * endpoints, so this only reports on and maintains the book. It is reachable over HTTP
+ * once added to management.endpoints.web.exposure.include, and then only with an ADMIN
+ * token.
+ *
+ * GET  /actuator/book          version, size and pending changes
+ * POST /actuator/book/check    compare the book with the database
+ * POST /actuator/book/repair   compare and re-read whatever differs
+ * POST /actuator/book/reload   reload the whole book
+ */
+@Component
+@Endpoint(id = "book")
+@ConditionalOnProperty(name = "app.read-model.enabled", havingValue = "true")
+public class BookEndpoint {
+
+    public enum Action { CHECK, REPAIR, RELOAD }
+
+    private final PledgeBook book;
+
+    public BookEndpoint(PledgeBook book) {
+        this.book = book;
+    }
+
+    @ReadOperation
+    public BookStatusResponse status() {
+        return book.status();
+    }
+
+    @WriteOperation
+    public Object run(@Selector Action action) {
+        return switch (action) {
+            case CHECK -> book.verify(false);
+            case REPAIR -> book.verify(true);
+            case RELOAD -> book.reload();
+        };
+    }
+}
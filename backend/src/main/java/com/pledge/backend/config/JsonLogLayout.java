@@ -0,0 +1,80 @@
+package com.pledge.backend.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Logback layout that renders each event as a single JSON line:
+ * timestamp, level, logger, thread, message, MDC fields (requestId etc.) and stack trace.
+ */
+public class JsonLogLayout extends LayoutBase<ILoggingEvent> {
+
+    @Override
+    public String doLayout(ILoggingEvent event) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append('{');
+        field(sb, "timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+        sb.append(',');
+        field(sb, "level", event.getLevel().toString());
+        sb.append(',');
+        field(sb, "logger", event.getLoggerName());
+        sb.append(',');
+        field(sb, "thread", event.getThreadName());
+        sb.append(',');
+        field(sb, "message", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                sb.append(',');
+                field(sb, entry.getKey(), entry.getValue());
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            sb.append(',');
+            field(sb, "stackTrace", ThrowableProxyUtil.asString(throwable));
+        }
+        sb.append('}').append(CoreConstants.LINE_SEPARATOR);
+        return sb.toString();
+    }
+
+    private static void field(StringBuilder sb, String name, String value) {
+        quote(sb, name);
+        sb.append(':');
+        if (value == null) {
+            sb.append("null");
+        } else {
+            quote(sb, value);
+        }
+    }
+
+    private static void quote(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
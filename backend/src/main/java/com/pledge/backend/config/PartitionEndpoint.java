@@ -0,0 +1,53 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.dto.response.PartitionResponse;
+import com.pledge.backend.service.TablePartitionService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Operations endpoint for the monthly partitions. Detaching a month takes it out of
+ * every query, so it is not part of the application API: the endpoint is only reachable
+ * over HTTP once added to management.endpoints.web.exposure.include (ideally on a
+ * separate management.server.port), and then only with an ADMIN token.
+ *
+ * GET  /actuator/partitions
+ * POST /actuator/partitions                    (convert the tables, in a maintenance window)
+ * POST /actuator/partitions/payments/2024-01
+ */
+@Component
+@Endpoint(id = "partitions")
+public class PartitionEndpoint {
+
+    private final TablePartitionService partitionService;
+
+    public PartitionEndpoint(TablePartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    @ReadOperation
+    public List<PartitionResponse> partitions() {
+        return partitionService.partitions();
+    }
+
+    /**
+     * Convert payments and transactions to partitioned tables; locks both for the copy
+     */
+    @WriteOperation
+    public List<PartitionResponse> partitionTables() {
+        return partitionService.partitionTables();
+    }
+
+    /**
+     * Detach a past month; refused while it holds rows of pledges that are not archived
+     */
+    @WriteOperation
+    public PartitionResponse detach(@Selector String table, @Selector String month) {
+        return partitionService.detach(table, month);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.util.PdfStreamWriter;
+import com.pledge.backend.util.TrueTypeFace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the TrueType fonts embedded in generated PDFs. The primary fonts are bundled
+ * (DejaVu Sans: Latin, Greek, Cyrillic and more); fallbacks cover other scripts, such as
+ * Devanagari from the Noto fonts installed in the Docker image. A fallback that is not
+ * present is skipped with a warning, so a machine without it still starts.
+ */
+@Slf4j
+@Configuration
+public class PdfFontConfig {
+
+    @Bean
+    public PdfStreamWriter.Fonts pdfFonts(
+            ResourceLoader resourceLoader,
+            @Value("${app.documents.font:classpath:fonts/DejaVuSans.ttf}") String font,
+            @Value("${app.documents.bold-font:classpath:fonts/DejaVuSans-Bold.ttf}") String boldFont,
+            @Value("${app.documents.fallback-fonts:}") String[] fallbacks,
+            @Value("${app.documents.bold-fallback-fonts:}") String[] boldFallbacks) throws IOException {
+        return new PdfStreamWriter.Fonts(chain(resourceLoader, font, fallbacks),
+                chain(resourceLoader, boldFont, boldFallbacks));
+    }
+
+    private static List<TrueTypeFace> chain(ResourceLoader resourceLoader, String primary, String[] fallbacks)
+            throws IOException {
+        List<TrueTypeFace> faces = new ArrayList<>();
+        faces.add(TrueTypeFace.load(resourceLoader.getResource(primary).getInputStream()));
+        for (String location : fallbacks) {
+            Resource resource = resourceLoader.getResource(location.trim());
+            if (!resource.exists()) {
+                log.warn("PDF fallback font {} not found; characters only it covers will print as '?'", location);
+                continue;
+            }
+            faces.add(TrueTypeFace.load(resource.getInputStream()));
+        }
+        return faces;
+    }
+}
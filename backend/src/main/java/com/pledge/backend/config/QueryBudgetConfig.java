@@ -0,0 +1,74 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.util.QueryCounter;
+import com.pledge.backend.util.QueryCounter.QueryStats;
+import com.pledge.backend.util.QueryCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the per-request SQL statement budget: every DataSource bean is wrapped so
+ * executed statements are counted, and {@link QueryBudgetFilter} binds a counting
+ * scope to each request. Tasks on the application task executor (which also writes
+ * streamed response bodies) count against the request that submitted them.
+ *
+ * Enabled with app.query-budget.enabled=true (off by default in production).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public TaskDecorator queryCounterTaskDecorator() {
+        return task -> {
+            QueryStats stats = QueryCounter.current();
+            if (stats == null) {
+                return task;
+            }
+            return () -> {
+                QueryCounter.bind(stats);
+                try {
+                    task.run();
+                } finally {
+                    QueryCounter.bind(null);
+                }
+            };
+        };
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.query-budget")
+    public QueryBudgetProperties queryBudgetProperties() {
+        return new QueryBudgetProperties();
+    }
+}
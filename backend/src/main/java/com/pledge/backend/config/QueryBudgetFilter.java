@@ -0,0 +1,135 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.util.QueryCounter;
+import com.pledge.backend.util.QueryCounter.QueryStats;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Binds a {@link QueryCounter} scope to each API request. The statement count and DB
+ * time are reported as X-Query-Count / X-Query-Time-Ms response headers (stamped when
+ * the body starts, i.e. after the controller has done its queries) and requests over
+ * budget or with repeated statement shapes are logged.
+ *
+ * A streamed body is written on the task executor after the headers have gone, so its
+ * statements are missing from the headers; they are still counted (see
+ * {@link QueryBudgetConfig}), logged when the async request completes and visible in
+ * the {@link #STATS_ATTRIBUTE} request attribute.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    public static final String STATS_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".stats";
+
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryCounter.start();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, new StampingResponse(response, stats));
+        } finally {
+            QueryCounter.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReportOnComplete(request, stats));
+            } else {
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        boolean overBudget = stats.getStatementCount() > properties.getWarnThreshold();
+        boolean repeated = stats.getMaxRepeats() > properties.getMaxRepeats();
+        if (overBudget || repeated) {
+            log.warn("Query budget exceeded for {} {}: {}, repeated statements: {}",
+                    request.getMethod(), request.getRequestURI(), stats, stats.getDuplicates());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+
+    private final class ReportOnComplete implements AsyncListener {
+        private final HttpServletRequest request;
+        private final QueryStats stats;
+
+        ReportOnComplete(HttpServletRequest request, QueryStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            report(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static final class StampingResponse extends HttpServletResponseWrapper {
+        private final QueryStats stats;
+        private boolean stamped;
+
+        StampingResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        private void stamp() {
+            if (stamped || isCommitted()) {
+                return;
+            }
+            stamped = true;
+            setHeader(COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.1f", stats.getTotalTimeMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+    }
+}
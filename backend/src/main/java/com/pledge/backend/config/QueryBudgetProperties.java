@@ -0,0 +1,17 @@
+package com.pledge.backend.config;
+
+import lombok.Data;
+
+/**
+ * Thresholds for the per-request SQL statement budget (app.query-budget.*).
+ */
+@Data
+public class QueryBudgetProperties {
+    private boolean enabled;
+
+    // Log a warning when a single request executes more statements than this
+    private int warnThreshold = 20;
+
+    // Log a warning when one statement shape repeats more than this within a request
+    private int maxRepeats = 5;
+}
@@ -0,0 +1,64 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.security.InMemoryRateLimiter;
+import com.pledge.backend.security.JdbcRateLimiter;
+import com.pledge.backend.security.RateLimitFilter;
+import com.pledge.backend.security.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Wires the API rate limiter. {@link RateLimitFilter} runs inside the security filter
+ * chain (see {@link ApplicationConfig}), so its servlet-level registration is disabled.
+ *
+ * With app.rate-limit.store=postgres the budgets are shared through the
+ * rate_limit_buckets table (db/migration/V6); otherwise each instance enforces them on its own.
+ */
+@Slf4j
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    @Bean
+    public InMemoryRateLimiter inMemoryRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        InMemoryRateLimiter limiter = new InMemoryRateLimiter(properties.getIdleEvictionSeconds());
+        Gauge.builder("rate_limit.buckets", limiter, InMemoryRateLimiter::size).register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    @Primary
+    public RateLimiter rateLimiter(RateLimitProperties properties, InMemoryRateLimiter inMemoryRateLimiter,
+                                   JdbcTemplate jdbcTemplate) {
+        if (!"postgres".equalsIgnoreCase(properties.getStore())) {
+            return inMemoryRateLimiter;
+        }
+        log.info("Rate limits shared through the rate_limit_buckets table");
+        return new JdbcRateLimiter(jdbcTemplate, inMemoryRateLimiter, properties.getIdleEvictionSeconds());
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, rateLimiter, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pledge.backend.config;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token bucket budgets for the API (app.rate-limit.*).
+ *
+ * Each request is matched against {@link #rules} in order; the first rule whose path
+ * pattern (and method, if given) matches decides the budget. Requests that match no rule
+ * use the default budget. Buckets are per rule and per caller: the bearer token when the
+ * request is authenticated (every shop device signs in as the same user, so this is one
+ * budget per device), otherwise the client IP. The client IP is only correct behind a
+ * proxy with server.forward-headers-strategy=native, which takes it from X-Forwarded-For.
+ */
+@Data
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // "memory" (per instance) or "postgres" (shared by every instance using the database)
+    private String store = "memory";
+
+    private double defaultCapacity = 120;
+    private double defaultRefillPerSecond = 2;
+
+    // Buckets untouched (and full) for this long are evicted from memory
+    private long idleEvictionSeconds = 600;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String pattern;
+        // Empty means any method
+        private List<String> methods = new ArrayList<>();
+        private double capacity;
+        private double refillPerSecond;
+    }
+}
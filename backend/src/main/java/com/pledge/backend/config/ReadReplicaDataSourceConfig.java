@@ -0,0 +1,88 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.util.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a read replica.
+ *
+ * Active only when app.datasource.replica.url is set; otherwise the regular Spring Boot
+ * DataSource is used unchanged. The primary pool is still configured from
+ * spring.datasource.* and spring.datasource.hikari.*, the replica from
+ * app.datasource.replica.* and app.datasource.replica.hikari.*. Both pools are kept out
+ * of the bean factory so the application sees exactly one DataSource.
+ *
+ * Hibernate sessions release their connection at the end of each transaction instead
+ * of holding it (Spring's default) for the session's life. With open-in-view the session
+ * spans the whole request, so holding would pin every later transaction in the request
+ * to whichever pool the first one used: a write after a read would land on the replica.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadReplicaDataSourceConfig implements DisposableBean {
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, Environment environment) {
+        Binder binder = Binder.get(environment);
+
+        primaryPool = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaryPool));
+        if (primaryPool.getPoolName() == null) {
+            primaryPool.setPoolName("primary");
+        }
+
+        DataSourceProperties replicaProperties = binder.bind("app.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("app.datasource.replica is not configured"));
+        if (replicaProperties.getDriverClassName() == null) {
+            replicaProperties.setDriverClassName(primaryProperties.getDriverClassName());
+        }
+        replicaPool = replicaProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Fail over to the primary quickly rather than waiting the full primary timeout
+        replicaPool.setConnectionTimeout(2_000);
+        replicaPool.setReadOnly(true);
+        replicaPool.setInitializationFailTimeout(-1);
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replicaPool));
+        if (replicaPool.getPoolName() == null) {
+            replicaPool.setPoolName("replica");
+        }
+
+        long coolDownMillis = environment.getProperty("app.datasource.replica.cool-down-ms", Long.class, 30_000L);
+        log.info("Read-only transactions routed to replica {}", replicaProperties.getUrl());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryPool, replicaPool, coolDownMillis));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaPool != null) {
+            replicaPool.close();
+        }
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+    }
+}
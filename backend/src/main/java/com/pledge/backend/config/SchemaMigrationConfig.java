@@ -0,0 +1,41 @@
+package com.pledge.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The single place schema changes are applied: Flyway runs db/migration (V4 onwards,
+ * see application.properties) when spring.flyway.enabled is set, and nothing touches
+ * the schema otherwise.
+ *
+ * Hibernate's ddl-auto creates the entity tables the migrations build on, so instead of
+ * migrating before JPA starts, as Spring Boot does by default, migration waits until every
+ * singleton (the EntityManagerFactory included) is ready. That is still before the web
+ * server starts, so no request sees a half-migrated schema or waits on a migration's locks.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", matchIfMissing = true)
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton schemaMigration(Flyway flyway) {
+        return () -> {
+            MigrateResult result = flyway.migrate();
+            log.info("Schema at version {}; {} migrations applied", result.targetSchemaVersion != null
+                    ? result.targetSchemaVersion : result.initialSchemaVersion, result.migrationsExecuted);
+        };
+    }
+}
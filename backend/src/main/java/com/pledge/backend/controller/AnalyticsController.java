@@ -0,0 +1,31 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse;
+import com.pledge.backend.service.PortfolioAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final PortfolioAnalyticsService analyticsService;
+
+    public AnalyticsController(PortfolioAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Aging, concentration, purity holdings, yield and top pledges over the open book
+     *
+     * GET /api/analytics/portfolio?top=10&refresh=false
+     */
+    @GetMapping("/portfolio")
+    public ResponseEntity<ApiResponse<PortfolioAnalyticsResponse>> getPortfolio(
+            @RequestParam(required = false) Integer top,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Portfolio analytics computed successfully",
+                analyticsService.portfolio(top, refresh)));
+    }
+}
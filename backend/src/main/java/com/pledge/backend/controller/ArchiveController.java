@@ -0,0 +1,46 @@
+package com.pledge.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.service.PledgeArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Cold storage of long-closed pledges. Archived pledges are also served by
+ * GET /api/pledges/{id} and GET /api/pledges/customer/{id}?includeArchived=true.
+ */
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    private final PledgeArchiveService archiveService;
+
+    public ArchiveController(PledgeArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    /**
+     * The archived pledge with its payments and transactions, as stored
+     *
+     * GET /api/archive/pledges/{id}
+     */
+    @GetMapping("/pledges/{id}")
+    public ResponseEntity<ApiResponse<JsonNode>> getArchivedPledge(@PathVariable Long id) {
+        JsonNode record = archiveService.findRecord(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived pledge not found"));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Archived pledge retrieved successfully", record));
+    }
+
+    /**
+     * Archive pledges past retention now instead of waiting for app.archive.cron;
+     * 409 while app.archive.enabled is false
+     *
+     * POST /api/archive/run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ApiResponse<PledgeArchiveService.RunResult>> run() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Archive run completed", archiveService.run()));
+    }
+}
@@ -2,15 +2,17 @@ package com.pledge.backend.controller;
 
 import com.pledge.backend.dto.request.CustomerRequest;
 import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.CustomerPortfolioResponse;
 import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.service.CustomerPortfolioService;
 import com.pledge.backend.service.CustomerService;
+import com.pledge.backend.service.JsonListStreamer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -18,6 +20,8 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerPortfolioService portfolioService;
+    private final JsonListStreamer streamer;
 
     @PostMapping
     public ResponseEntity<ApiResponse<CustomerEntity>> createCustomer(@Valid @RequestBody CustomerRequest request) {
@@ -42,10 +46,22 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Customer, pledges with outstanding balances, recent payments and totals in one call
+     *
+     * GET /api/customers/{id}/portfolio?recentPayments=20
+     */
+    @GetMapping("/{id}/portfolio")
+    public ResponseEntity<ApiResponse<CustomerPortfolioResponse>> getPortfolio(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer recentPayments) {
+        CustomerPortfolioResponse portfolio = portfolioService.getPortfolio(id, recentPayments);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Customer portfolio retrieved successfully", portfolio));
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CustomerEntity>>> getAllCustomers() {
-        List<CustomerEntity> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Customers retrieved successfully", customers));
+    public ResponseEntity<StreamingResponseBody> getAllCustomers() {
+        return streamer.envelope("Customers retrieved successfully", customerService::forEachCustomer);
     }
 
     @PutMapping("/{id}")
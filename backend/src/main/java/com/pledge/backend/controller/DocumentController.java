@@ -0,0 +1,60 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.StatementBatchResponse;
+import com.pledge.backend.service.DocumentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/documents")
+@RequiredArgsConstructor
+public class DocumentController {
+
+    private final DocumentService documentService;
+
+    @GetMapping("/pledges/{id}/ticket")
+    public ResponseEntity<StreamingResponseBody> pledgeTicket(@PathVariable Long id) {
+        return pdf("pledge-" + id + ".pdf", documentService.pledgeTicket(id));
+    }
+
+    @GetMapping("/customers/{id}/statement")
+    public ResponseEntity<StreamingResponseBody> customerStatement(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return pdf("statement-" + id + "-" + from + "-" + to + ".pdf", documentService.customerStatement(id, from, to));
+    }
+
+    /**
+     * Write month-end statements for every customer to the configured directory.
+     * Defaults to the previous month.
+     */
+    @PostMapping("/statements/month-end")
+    public ResponseEntity<ApiResponse<StatementBatchResponse>> monthEndStatements(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        YearMonth target = month != null ? month : YearMonth.now().minusMonths(1);
+        StatementBatchResponse result = documentService.generateMonthEndStatements(target);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Month-end statements generated", result));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> pdf(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
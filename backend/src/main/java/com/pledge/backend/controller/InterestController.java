@@ -1,13 +1,23 @@
 package com.pledge.backend.controller;
 
+import com.pledge.backend.dto.request.InterestQuoteRequest;
+import com.pledge.backend.dto.request.InterestSlabRequest;
 import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.InterestQuoteResponse;
+import com.pledge.backend.entity.InterestSlabEntity;
 import com.pledge.backend.service.InterestCalculationService;
 import com.pledge.backend.service.InterestCalculationService.CalculationResult;
+import com.pledge.backend.service.InterestSlabService;
+import com.pledge.backend.util.InterestSlabSchedule;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,6 +26,7 @@ import java.util.Map;
 public class InterestController {
 
     private final InterestCalculationService interestCalculationService;
+    private final InterestSlabService interestSlabService;
 
     /**
      * Calculate monthly interest for a given amount
@@ -107,7 +118,7 @@ public class InterestController {
             Map<String, Object> result = new HashMap<>();
             result.put("amount", amount);
             result.put("interestRate", interestRate);
-            result.put("slab", getSlabDescription(amount));
+            result.put("slab", interestCalculationService.getSlabDescription(amount));
 
             return ResponseEntity.ok(new ApiResponse<>(
                 true,
@@ -123,13 +134,81 @@ public class InterestController {
         }
     }
 
-    private String getSlabDescription(double amount) {
-        if (amount < 50000) {
-            return "0-49,999 (3%)";
-        } else if (amount < 100000) {
-            return "50,000-99,999 (2.5%)";
-        } else {
-            return "1,00,000+ (2%)";
+    /**
+     * Price many amount/date pairs in one call (rate cards, counter tablets)
+     * 
+     * POST /api/interest/quote
+     * Body: { "items": [ { "amount": 75000, "date": "2025-04-01" }, ... ] }
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<ApiResponse<List<InterestQuoteResponse>>> quote(
+            @Valid @RequestBody InterestQuoteRequest request) {
+        // One schedule snapshot for the whole batch so every item is priced consistently
+        InterestSlabSchedule schedule = interestCalculationService.getSchedule();
+        LocalDate today = LocalDate.now();
+
+        List<InterestQuoteResponse> quotes = new ArrayList<>(request.getItems().size());
+        for (InterestQuoteRequest.Item item : request.getItems()) {
+            double amount = item.getAmount();
+            LocalDate date = item.getDate() != null ? item.getDate() : today;
+            double rate = schedule.rateFor(amount, date);
+            quotes.add(InterestQuoteResponse.builder()
+                .amount(amount)
+                .date(date)
+                .interestRate(rate)
+                .monthlyInterest(amount * rate / 100)
+                .build());
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(
+            true,
+            "Quoted " + quotes.size() + " items",
+            quotes
+        ));
+    }
+
+    /**
+     * List all slab versions
+     * 
+     * GET /api/interest/slabs
+     */
+    @GetMapping("/slabs")
+    public ResponseEntity<ApiResponse<List<InterestSlabEntity>>> getSlabs() {
+        return ResponseEntity.ok(new ApiResponse<>(
+            true,
+            "Interest slabs retrieved successfully",
+            interestSlabService.getAllSlabs()
+        ));
+    }
+
+    /**
+     * Add a slab version that applies from the given date; takes effect immediately
+     * 
+     * POST /api/interest/slabs
+     * Body: { "effectiveFrom": "2025-04-01", "slabs": [ { "minAmount": 0, "ratePercent": 3 }, ... ] }
+     */
+    @PostMapping("/slabs")
+    public ResponseEntity<ApiResponse<List<InterestSlabEntity>>> addSlabVersion(
+            @Valid @RequestBody InterestSlabRequest request) {
+        try {
+            List<InterestSlabEntity> slabs = request.getSlabs().stream()
+                .map(s -> InterestSlabEntity.builder()
+                    .minAmount(s.getMinAmount())
+                    .ratePercent(s.getRatePercent())
+                    .build())
+                .toList();
+            List<InterestSlabEntity> saved = interestSlabService.addVersion(request.getEffectiveFrom(), new ArrayList<>(slabs));
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                "Interest slabs saved successfully",
+                saved
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(
+                false,
+                e.getMessage(),
+                null
+            ));
         }
     }
 }
@@ -0,0 +1,70 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.StreamTicketResponse;
+import com.pledge.backend.service.LiveEventBroker;
+import com.pledge.backend.service.StreamTicketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class LiveEventController {
+
+    public static final String STREAM_PATH = "/api/events/stream";
+
+    private final LiveEventBroker broker;
+    private final StreamTicketService tickets;
+
+    /**
+     * A single-use ticket for opening the stream, since EventSource cannot send the
+     * bearer token
+     *
+     * POST /api/events/ticket
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<ApiResponse<StreamTicketResponse>> ticket(Authentication caller) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stream ticket issued", tickets.issue(caller)));
+    }
+
+    /**
+     * Server-Sent Events stream of pledge, payment and dashboard changes, opened with
+     * ?ticket= from POST /api/events/ticket (or a bearer token where headers can be set).
+     * A ticket is used up by the connection, so after a drop the client fetches a new
+     * one and reconnects with ?lastEventId= to catch up.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        Long lastEventId = parseId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        try {
+            return ResponseEntity.ok(broker.subscribe(lastEventId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private static Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // Unknown id format: treat as too old, the client will be told to resync
+            return 0L;
+        }
+    }
+}
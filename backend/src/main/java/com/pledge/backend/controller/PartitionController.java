@@ -0,0 +1,32 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.PartitionResponse;
+import com.pledge.backend.service.TablePartitionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Monthly partitions of payments and transactions (read only; detaching is an
+ * operations task, see PartitionEndpoint)
+ */
+@RestController
+@RequestMapping("/api/partitions")
+public class PartitionController {
+
+    private final TablePartitionService partitionService;
+
+    public PartitionController(TablePartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    /**
+     * GET /api/partitions
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PartitionResponse>>> getPartitions() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Partitions retrieved successfully", partitionService.partitions()));
+    }
+}
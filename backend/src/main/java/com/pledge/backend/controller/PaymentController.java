@@ -1,9 +1,12 @@
 package com.pledge.backend.controller;
 
+import com.pledge.backend.dto.request.PaymentBatchRequest;
 import com.pledge.backend.dto.request.PaymentCreateRequest;
 import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.PaymentBatchResponse;
 import com.pledge.backend.dto.response.PaymentResponse;
 import com.pledge.backend.service.PaymentService;
+import com.pledge.backend.service.PledgeWriteCoordinator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,11 +21,12 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PledgeWriteCoordinator pledgeWrites;
 
     @PostMapping
     public ResponseEntity<ApiResponse<PaymentResponse>> createPayment(@Valid @RequestBody PaymentCreateRequest request) {
         try {
-            PaymentResponse payment = paymentService.createPayment(request);
+            PaymentResponse payment = pledgeWrites.write(request.getPledgeId(), () -> paymentService.createPayment(request));
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse<>(true, "Payment recorded successfully", payment));
         } catch (IllegalArgumentException e) {
@@ -31,6 +35,30 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Record many payments at once (e.g. a day's collections) in one transaction
+     *
+     * POST /api/payments/batch
+     * {"allOrNothing": false, "payments": [{"pledgeId": 12, "amount": 1500, "paymentType": "PARTIAL"}, ...]}
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<PaymentBatchResponse>> createPayments(@Valid @RequestBody PaymentBatchRequest request) {
+        try {
+            PaymentBatchResponse result = paymentService.createPayments(request);
+            if (result.getRecorded() == 0) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse<>(false, "No payments recorded", result));
+            }
+            String message = result.getFailed() == 0 ? "Payments recorded successfully"
+                    : "Recorded " + result.getRecorded() + " of " + result.getRequested() + " payments";
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(result.getFailed() == 0, message, result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/pledge/{pledgeId}")
     public ResponseEntity<ApiResponse<List<PaymentResponse>>> getPaymentsByPledge(@PathVariable Long pledgeId) {
         try {
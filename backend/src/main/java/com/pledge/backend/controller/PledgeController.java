@@ -3,78 +3,167 @@ package com.pledge.backend.controller;
 import com.pledge.backend.dto.request.PledgeRequest;
 import com.pledge.backend.dto.request.PaymentRequest;
 import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.OverdueReportResponse;
+import com.pledge.backend.dto.response.PledgeBalanceResponse;
+import com.pledge.backend.dto.response.PledgeProjectionResponse;
 import com.pledge.backend.dto.response.PledgeResponse;
+import com.pledge.backend.dto.response.PledgeSearchResponse;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.service.OverdueService;
+import com.pledge.backend.service.PledgeArchiveService;
+import com.pledge.backend.service.PledgeLedgerService;
+import com.pledge.backend.service.PledgeProjectionService;
+import com.pledge.backend.service.PledgeSearchService;
+import com.pledge.backend.service.PledgeWriteCoordinator;
 import com.pledge.backend.service.PledgeService;
 import com.pledge.backend.service.EmailService;
+import com.pledge.backend.service.JsonListStreamer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import jakarta.validation.Valid;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/pledges")
 public class PledgeController {
 	private final PledgeService pledgeService;
     private final EmailService emailService;
+    private final PledgeProjectionService projectionService;
+    private final PledgeWriteCoordinator pledgeWrites;
+    private final OverdueService overdueService;
+    private final PledgeSearchService searchService;
+    private final PledgeLedgerService ledgerService;
+    private final JsonListStreamer streamer;
+    private final PledgeArchiveService archive;
 
-    public PledgeController(PledgeService pledgeService, EmailService emailService) {
+    public PledgeController(PledgeService pledgeService, EmailService emailService,
+                            PledgeProjectionService projectionService, PledgeWriteCoordinator pledgeWrites,
+                            OverdueService overdueService, PledgeSearchService searchService,
+                            PledgeLedgerService ledgerService, JsonListStreamer streamer,
+                            PledgeArchiveService archive) {
         this.pledgeService = pledgeService;
         this.emailService = emailService;
+        this.projectionService = projectionService;
+        this.pledgeWrites = pledgeWrites;
+        this.overdueService = overdueService;
+        this.searchService = searchService;
+        this.ledgerService = ledgerService;
+        this.streamer = streamer;
+        this.archive = archive;
     }
 
     @PostMapping
     public PledgeResponse createPledge(@Valid @RequestBody PledgeRequest request) {
-		System.out.println("Received pledge request: " + request);
+		log.debug("Received pledge request: {}", request);
 		try {
 			PledgeResponse response = pledgeService.createPledge(request);
-			// Fire-and-forget email send
-			try { com.pledge.backend.entity.PledgeEntity e = new com.pledge.backend.entity.PledgeEntity(); e.setId(response.getId()); e.setCustomerId(response.getCustomerId()); e.setAmount(response.getAmount()); e.setInterestRate(response.getInterestRate()); e.setCustomerPhoto(response.getCustomerPhoto()); e.setItemPhoto(response.getItemPhoto()); e.setReceiptPhoto(response.getReceiptPhoto()); if (emailService != null) emailService.sendPledgePhotosEmail(e, "godejewellers023@gmail.com"); } catch (Exception ignored) {}
-			System.out.println("Pledge created successfully: " + response.getId());
+			// Fire-and-forget owner notification
+			notifyOwner(response, "Created");
+			log.info("Pledge created successfully: {}", response.getId());
 			return response;
 		} catch (Exception e) {
-			System.err.println("Error creating pledge: " + e.getMessage());
-			e.printStackTrace();
+			log.error("Error creating pledge: {}", e.getMessage(), e);
 			throw e;
 		}
 	}
 
 	@GetMapping
-	public List<PledgeResponse> getAllPledges() {
+	public ResponseEntity<StreamingResponseBody> getAllPledges() {
 		// Auto-close pledges with zero amounts before returning
 		pledgeService.autoCloseZeroAmountPledges();
-		return pledgeService.getAllPledges();
+		return streamer.array(pledgeService::forEachPledge);
 	}
 
+	/**
+	 * includeArchived=true appends the customer's archived pledges, read from cold storage
+	 */
 	@GetMapping("/customer/{customerId}")
-	public List<PledgeResponse> getPledgesByCustomer(@PathVariable Long customerId) {
+	public List<PledgeResponse> getPledgesByCustomer(@PathVariable Long customerId,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
 		// Auto-close pledges with zero amounts before returning
 		pledgeService.autoCloseZeroAmountPledges();
-		return pledgeService.getPledgesByCustomerId(customerId);
+		List<PledgeResponse> pledges = pledgeService.getPledgesByCustomerId(customerId);
+		if (includeArchived) {
+			pledges = new ArrayList<>(pledges);
+			pledges.addAll(archive.findByCustomer(customerId));
+		}
+		return pledges;
+	}
+
+	@GetMapping("/projections")
+	public List<PledgeProjectionResponse> getProjectionsDueBetween(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) Integer months) {
+		return projectionService.projectDueBetween(from, to, months);
+	}
+
+	@GetMapping("/search")
+	public PledgeSearchResponse search(@RequestParam("q") String query,
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String cursor) {
+		return searchService.search(query, status, limit, cursor);
+	}
+
+	@GetMapping("/overdue")
+	public OverdueReportResponse getOverdue(@RequestParam(required = false) Integer limit) {
+		return overdueService.report(limit);
+	}
+
+	@PostMapping("/overdue/run")
+	public OverdueService.RunResult runOverdue(@RequestParam(defaultValue = "false") boolean dryRun) {
+		return overdueService.run(dryRun);
+	}
+
+	@GetMapping("/{id}/projection")
+	public PledgeProjectionResponse getProjection(@PathVariable Long id,
+			@RequestParam(required = false) Integer months,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
+		return date != null
+				? projectionService.projectAt(id, date)
+				: projectionService.projectSchedule(id, months);
+	}
+
+	@GetMapping("/{id}/balance")
+	public PledgeBalanceResponse getBalance(@PathVariable Long id,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+		return ledgerService.balanceAsOf(id, asOf != null ? asOf : LocalDateTime.now());
 	}
 
 	@GetMapping("/{id}")
 	public PledgeResponse getPledge(@PathVariable Long id) {
-		return pledgeService.getPledgeById(id);
+		try {
+			return pledgeService.getPledgeById(id);
+		} catch (IllegalArgumentException notFound) {
+			// Long-closed pledges have moved to the archive
+			return archive.findPledge(id).orElseThrow(() -> notFound);
+		}
 	}
 
     @PutMapping("/{id}")
     public PledgeResponse updatePledge(@PathVariable Long id, @Valid @RequestBody PledgeRequest request) {
-        PledgeResponse response = pledgeService.updatePledge(id, request);
-        try { com.pledge.backend.entity.PledgeEntity e = new com.pledge.backend.entity.PledgeEntity(); e.setId(response.getId()); e.setCustomerId(response.getCustomerId()); e.setAmount(response.getAmount()); e.setInterestRate(response.getInterestRate()); e.setCustomerPhoto(response.getCustomerPhoto()); e.setItemPhoto(response.getItemPhoto()); e.setReceiptPhoto(response.getReceiptPhoto()); if (emailService != null) emailService.sendPledgePhotosEmail(e, "godejewellers023@gmail.com"); } catch (Exception ignored) {}
+        PledgeResponse response = pledgeWrites.write(id, () -> pledgeService.updatePledge(id, request));
+        notifyOwner(response, "Updated");
         return response;
     }
 
 	@PostMapping("/{id}/payments")
 	public PledgeResponse makePayment(@PathVariable("id") Long pledgeId, @Valid @RequestBody PaymentRequest request) {
-		System.out.println("Received payment request for pledge " + pledgeId + " with amount: " + request.getAmount());
+		log.debug("Received payment request for pledge {} with amount: {}", pledgeId, request.getAmount());
 		try {
-			PledgeResponse response = pledgeService.recordPayment(pledgeId, request.getAmount());
-			System.out.println("Payment recorded successfully for pledge " + pledgeId);
+			PledgeResponse response = pledgeWrites.write(pledgeId, () -> pledgeService.recordPayment(pledgeId, request.getAmount()));
+			log.info("Payment recorded successfully for pledge {}", pledgeId);
 			return response;
 		} catch (Exception e) {
-			System.err.println("Error recording payment for pledge " + pledgeId + ": " + e.getMessage());
-			e.printStackTrace();
+			log.error("Error recording payment for pledge {}: {}", pledgeId, e.getMessage(), e);
 			throw e;
 		}
 	}
@@ -95,4 +184,22 @@ public class PledgeController {
 		pledgeService.autoCloseZeroAmountPledges();
 		return "Auto-close process completed";
 	}
+
+	private void notifyOwner(PledgeResponse response, String action) {
+		try {
+			PledgeEntity e = new PledgeEntity();
+			e.setId(response.getId());
+			e.setCustomerId(response.getCustomerId());
+			e.setTitle(response.getTitle());
+			e.setStatus(response.getStatus());
+			e.setAmount(response.getAmount());
+			e.setInterestRate(response.getInterestRate());
+			e.setWeight(response.getWeight());
+			e.setPurity(response.getPurity());
+			e.setCustomerPhoto(response.getCustomerPhoto());
+			e.setItemPhoto(response.getItemPhoto());
+			e.setReceiptPhoto(response.getReceiptPhoto());
+			if (emailService != null) emailService.notifyPledgeChanged(e, action);
+		} catch (Exception ignored) {}
+	}
 }
@@ -0,0 +1,75 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.PortfolioBalanceResponse;
+import com.pledge.backend.dto.response.TimeseriesResponse;
+import com.pledge.backend.service.PledgeLedgerService;
+import com.pledge.backend.service.ReportRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final PledgeLedgerService ledgerService;
+    private final ReportRollupService rollupService;
+
+    public ReportController(PledgeLedgerService ledgerService, ReportRollupService rollupService) {
+        this.ledgerService = ledgerService;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Open pledge balances as they stood at a point in time
+     *
+     * GET /api/reports/balances?asOf=2025-03-31T23:59:59
+     */
+    @GetMapping("/balances")
+    public ResponseEntity<ApiResponse<PortfolioBalanceResponse>> getBalances(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        PortfolioBalanceResponse report = ledgerService.portfolioAsOf(asOf != null ? asOf : LocalDateTime.now());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Balances retrieved successfully", report));
+    }
+
+    /**
+     * Take a balance snapshot now instead of waiting for the scheduled run
+     *
+     * POST /api/reports/balances/snapshot
+     */
+    @PostMapping("/balances/snapshot")
+    public ResponseEntity<ApiResponse<Integer>> takeSnapshot() {
+        int pledges = ledgerService.takeSnapshot();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Snapshot covers " + pledges + " pledges", pledges));
+    }
+
+    /**
+     * Disbursements, collections and interest per day or month, optionally split by purity or item type
+     *
+     * GET /api/reports/timeseries?granularity=month&from=2023-01-01&to=2025-12-31&groupBy=purity
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<ApiResponse<TimeseriesResponse>> getTimeseries(
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy) {
+        TimeseriesResponse series = rollupService.timeseries(granularity, from, to, groupBy);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Timeseries retrieved successfully", series));
+    }
+
+    /**
+     * Recompute the rollups from pledges and payments
+     *
+     * POST /api/reports/rollups/rebuild
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups() {
+        int rows = rollupService.rebuild();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rebuilt " + rows + " rollup rows", rows));
+    }
+}
@@ -0,0 +1,35 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.SyncResponse;
+import com.pledge.backend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Delta sync for the offline PWA
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Customers, pledges and payments changed since a token, plus deleted ids.
+     * Omit since for a full download; repeat with the returned token while hasMore is true.
+     *
+     * GET /api/sync?since=<token>&limit=500
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SyncResponse>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Changes retrieved successfully",
+                syncService.changesSince(since, limit)));
+    }
+}
@@ -2,12 +2,12 @@ package com.pledge.backend.controller;
 
 import com.pledge.backend.dto.request.TransactionRequest;
 import com.pledge.backend.dto.response.TransactionResponse;
+import com.pledge.backend.service.JsonListStreamer;
 import com.pledge.backend.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -15,6 +15,7 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final JsonListStreamer streamer;
 
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(@RequestBody TransactionRequest request) {
@@ -27,13 +28,13 @@ public class TransactionController {
     }
 
     @GetMapping("/pledge/{pledgeId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByPledgeId(@PathVariable Long pledgeId) {
-        return ResponseEntity.ok(transactionService.getAllTransactionsByPledgeId(pledgeId));
+    public ResponseEntity<StreamingResponseBody> getTransactionsByPledgeId(@PathVariable Long pledgeId) {
+        return streamer.array(action -> transactionService.forEachTransactionByPledgeId(pledgeId, action));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionsByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(transactionService.getAllTransactionsByUserId(userId));
+    public ResponseEntity<StreamingResponseBody> getTransactionsByUserId(@PathVariable Long userId) {
+        return streamer.array(action -> transactionService.forEachTransactionByUserId(userId, action));
     }
 
     @PatchMapping("/{id}/status")
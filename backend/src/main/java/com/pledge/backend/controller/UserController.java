@@ -3,13 +3,14 @@ package com.pledge.backend.controller;
 import com.pledge.backend.dto.UserDto;
 import com.pledge.backend.dto.response.ApiResponse;
 import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.service.JsonListStreamer;
 import com.pledge.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -17,6 +18,7 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final JsonListStreamer streamer;
 
     @PostMapping
     public ResponseEntity<ApiResponse<UserDto>> createUser(@Valid @RequestBody UserDto userDto) {
@@ -59,14 +61,8 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserDto>>> getAllUsers() {
-        try {
-            List<UserDto> users = userService.getAllUsers();
-            return ResponseEntity.ok(new ApiResponse<>(true, "Users retrieved successfully", users));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ApiResponse<>(false, "Error retrieving users: " + e.getMessage(), null));
-        }
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        return streamer.envelope("Users retrieved successfully", userService::forEachUser);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,88 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.dto.request.GoldRateRequest;
+import com.pledge.backend.dto.request.PurityMultiplierRequest;
+import com.pledge.backend.dto.response.ApiResponse;
+import com.pledge.backend.dto.response.PledgeRiskResponse;
+import com.pledge.backend.entity.GoldRateEntity;
+import com.pledge.backend.entity.PurityMultiplierEntity;
+import com.pledge.backend.service.ValuationService;
+import com.pledge.backend.service.ValuationService.RevaluationResult;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/valuation")
+public class ValuationController {
+
+    private final ValuationService valuationService;
+    private final double defaultMinLtv;
+
+    public ValuationController(ValuationService valuationService,
+                               @Value("${app.valuation.risk-ltv:0.75}") double defaultMinLtv) {
+        this.valuationService = valuationService;
+        this.defaultMinLtv = defaultMinLtv;
+    }
+
+    /**
+     * Most recent gold rates, newest first
+     *
+     * GET /api/valuation/rates
+     */
+    @GetMapping("/rates")
+    public ResponseEntity<ApiResponse<List<GoldRateEntity>>> getRates() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Gold rates retrieved successfully",
+                valuationService.getRecentRates()));
+    }
+
+    /**
+     * Post a 24K rate per gram and revalue all open pledges
+     *
+     * POST /api/valuation/rates
+     * Body: { "ratePerGram": 6500 }
+     */
+    @PostMapping("/rates")
+    public ResponseEntity<ApiResponse<RevaluationResult>> postRate(@Valid @RequestBody GoldRateRequest request) {
+        RevaluationResult result = valuationService.postRate(
+                request.getRatePerGram(), request.getEffectiveAt(), request.getSource());
+        return ResponseEntity.ok(new ApiResponse<>(true,
+                "Gold rate saved; revalued " + result.pledgesUpdated() + " pledges", result));
+    }
+
+    @GetMapping("/purities")
+    public ResponseEntity<ApiResponse<List<PurityMultiplierEntity>>> getPurities() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Purity multipliers retrieved successfully",
+                valuationService.getPurities()));
+    }
+
+    /**
+     * Change a purity grade's fine gold multiplier and revalue pledges of that grade
+     *
+     * PUT /api/valuation/purities/22K
+     * Body: { "multiplier": 0.916 }
+     */
+    @PutMapping("/purities/{purity}")
+    public ResponseEntity<ApiResponse<RevaluationResult>> setPurity(
+            @PathVariable String purity, @Valid @RequestBody PurityMultiplierRequest request) {
+        RevaluationResult result = valuationService.setPurity(purity, request.getMultiplier());
+        return ResponseEntity.ok(new ApiResponse<>(true,
+                "Purity multiplier saved; revalued " + result.pledgesUpdated() + " pledges", result));
+    }
+
+    /**
+     * Open pledges at or above an LTV, sorted by uncovered exposure
+     *
+     * GET /api/valuation/risk?minLtv=0.8&limit=50
+     */
+    @GetMapping("/risk")
+    public ResponseEntity<ApiResponse<List<PledgeRiskResponse>>> getRisk(
+            @RequestParam(required = false) Double minLtv,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<PledgeRiskResponse> risks = valuationService.findAtRisk(minLtv != null ? minLtv : defaultMinLtv, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, risks.size() + " pledges at risk", risks));
+    }
+}
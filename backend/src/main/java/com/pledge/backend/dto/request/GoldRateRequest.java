@@ -0,0 +1,17 @@
+package com.pledge.backend.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class GoldRateRequest {
+    @NotNull(message = "Rate per gram is required")
+    @Positive(message = "Rate per gram must be greater than 0")
+    private Double ratePerGram;
+
+    // Defaults to now
+    private LocalDateTime effectiveAt;
+
+    private String source;
+}
@@ -0,0 +1,31 @@
+package com.pledge.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestQuoteRequest {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 10000, message = "At most 10000 items per request")
+    @Valid
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull(message = "Amount is required")
+        @PositiveOrZero(message = "Amount cannot be negative")
+        private Double amount;
+
+        // Pricing date; today when omitted
+        private LocalDate date;
+    }
+}
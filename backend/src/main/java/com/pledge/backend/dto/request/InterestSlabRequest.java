@@ -0,0 +1,28 @@
+package com.pledge.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class InterestSlabRequest {
+    @NotNull(message = "Effective date is required")
+    private LocalDate effectiveFrom;
+
+    @NotEmpty(message = "At least one slab is required")
+    @Valid
+    private List<Slab> slabs;
+
+    @Data
+    public static class Slab {
+        @NotNull(message = "Minimum amount is required")
+        @PositiveOrZero(message = "Minimum amount cannot be negative")
+        private Double minAmount;
+
+        @NotNull(message = "Rate is required")
+        @Positive(message = "Rate must be greater than 0")
+        private Double ratePercent;
+    }
+}
@@ -0,0 +1,20 @@
+package com.pledge.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBatchRequest {
+
+    @NotEmpty(message = "At least one payment is required")
+    private List<@Valid PaymentCreateRequest> payments;
+
+    // Record nothing unless every payment in the batch can be recorded
+    private boolean allOrNothing;
+}
@@ -0,0 +1,12 @@
+package com.pledge.backend.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+@Data
+public class PurityMultiplierRequest {
+    @NotNull(message = "Multiplier is required")
+    @Positive(message = "Multiplier must be greater than 0")
+    @DecimalMax(value = "1.0", message = "Multiplier cannot exceed 1")
+    private Double multiplier;
+}
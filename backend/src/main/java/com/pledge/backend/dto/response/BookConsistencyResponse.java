@@ -0,0 +1,38 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Differences between the in-memory book and the database. Id lists are capped; the
+ * counts are not.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookConsistencyResponse {
+    private long version;
+    private LocalDateTime checkedAt;
+    private boolean consistent;
+    private boolean repaired;
+    private long pledgesInDatabase;
+    private long pledgesInBook;
+    private long customersInDatabase;
+    private long customersInBook;
+    private long pledgeDifferences;
+    private long customerDifferences;
+    // In the database but not the book, in the book but not the database, and present in both but different
+    private List<Long> missingPledges;
+    private List<Long> extraPledges;
+    private List<Long> changedPledges;
+    private List<Long> missingCustomers;
+    private List<Long> extraCustomers;
+    private List<Long> changedCustomers;
+    private long elapsedMs;
+}
@@ -0,0 +1,28 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStatusResponse {
+    private long version;
+    // Last full load and last incremental refresh
+    private LocalDateTime loadedAt;
+    private LocalDateTime refreshedAt;
+    private long pledges;
+    private long customers;
+    // ACTIVE and PARTIALLY_PAID only, as on the dashboard
+    private long activePledges;
+    private double totalLoans;
+    // Changed ids waiting for the next refresh
+    private int pendingPledges;
+    private int pendingCustomers;
+    private long loadMs;
+}
@@ -0,0 +1,63 @@
+package com.pledge.backend.dto.response;
+
+import com.pledge.backend.entity.CustomerEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPortfolioResponse {
+    private CustomerEntity customer;
+    private List<Pledge> pledges;
+    private List<PaymentResponse> recentPayments;
+    private Totals totals;
+    private LocalDateTime asOf;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pledge {
+        private Long id;
+        private String title;
+        private String itemType;
+        private Double weight;
+        private String purity;
+        private String status;
+        // Current principal
+        private Double amount;
+        private Double interestRate;
+        private LocalDateTime createdAt;
+        private LocalDateTime deadline;
+        private LocalDateTime lastPaymentDate;
+        private Double accruedInterest;
+        // Principal plus accrued interest; zero once closed
+        private Double outstanding;
+        private Double totalPaid;
+        private long paymentCount;
+        private Double marketValue;
+        private Double ltv;
+        private String itemPhoto;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private int pledgeCount;
+        private int openPledges;
+        private double principal;
+        private double accruedInterest;
+        private double outstanding;
+        private double totalPaid;
+        private double marketValue;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pledge.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change to apply to the matching {@link DashboardStatsResponse} fields. Zero means no change.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDelta {
+    private long totalCustomers;
+    private long activePledges;
+    private double totalLoans;
+    private double monthlyInterest;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return totalCustomers == 0 && activePledges == 0 && totalLoans == 0 && monthlyInterest == 0;
+    }
+}
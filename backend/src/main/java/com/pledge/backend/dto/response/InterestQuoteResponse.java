@@ -0,0 +1,18 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestQuoteResponse {
+    private Double amount;
+    private LocalDate date;
+    private Double interestRate;
+    private Double monthlyInterest;
+}
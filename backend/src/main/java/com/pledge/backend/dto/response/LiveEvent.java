@@ -0,0 +1,39 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change pushed to /api/events/stream. The SSE event name is {@link #type} and the
+ * SSE id is {@link #id}; {@link #data} is one of the *EventData payloads or a
+ * {@link DashboardDelta}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEvent {
+    public static final String PLEDGE_CREATED = "pledge.created";
+    public static final String PLEDGE_UPDATED = "pledge.updated";
+    public static final String PLEDGE_CLOSED = "pledge.closed";
+    public static final String PLEDGE_DELETED = "pledge.deleted";
+    public static final String PLEDGE_OVERDUE = "pledge.overdue";
+    public static final String PLEDGE_ARCHIVED = "pledge.archived";
+    public static final String PAYMENT_RECORDED = "payment.recorded";
+    public static final String CUSTOMER_CREATED = "customer.created";
+    public static final String CUSTOMER_UPDATED = "customer.updated";
+    public static final String CUSTOMER_DELETED = "customer.deleted";
+    public static final String DASHBOARD_DELTA = "dashboard.delta";
+    // Sent when the requested Last-Event-ID is no longer buffered; the client should refetch
+    public static final String RESYNC = "resync";
+
+    // Assigned when the event is dispatched after commit
+    private Long id;
+    private String type;
+    private Object data;
+    private LocalDateTime at;
+}
@@ -0,0 +1,53 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueReportResponse {
+    private LocalDateTime asOf;
+    private int graceDays;
+    private long totalCount;
+    private double totalAmount;
+    private List<Bucket> buckets;
+    private List<Item> pledges;
+
+    /**
+     * Pledges overdue by minDays up to maxDays (inclusive); maxDays is null for the last bucket.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private String label;
+        private int minDays;
+        private Integer maxDays;
+        private long count;
+        private double amount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long pledgeId;
+        private Long customerId;
+        private String customerName;
+        private String customerPhone;
+        private String status;
+        private Double amount;
+        private LocalDateTime deadline;
+        private long daysOverdue;
+        private String bucket;
+    }
+}
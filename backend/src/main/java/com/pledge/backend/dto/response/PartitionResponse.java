@@ -0,0 +1,22 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionResponse {
+    private String table;
+    private String partition;
+    // yyyy-MM, or null for the DEFAULT partition
+    private String month;
+    private String bound;
+    // Planner estimate for attached partitions, exact once detached
+    private long estimatedRows;
+    private long bytes;
+    private boolean attached;
+}
@@ -0,0 +1,37 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /api/payments/batch, with one result per requested payment in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBatchResponse {
+    private int requested;
+    private int recorded;
+    private int failed;
+    // False when allOrNothing was set and a payment failed; nothing was written
+    private boolean applied;
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        // Position in the request
+        private int index;
+        private Long pledgeId;
+        private boolean success;
+        private String message;
+        private PaymentResponse payment;
+    }
+}
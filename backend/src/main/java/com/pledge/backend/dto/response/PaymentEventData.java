@@ -0,0 +1,20 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentEventData {
+    private Long paymentId;
+    private Long pledgeId;
+    private Double amount;
+    private String paymentType;
+    // Pledge state after the payment
+    private Double pledgeAmount;
+    private String pledgeStatus;
+}
@@ -0,0 +1,27 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeBalanceResponse {
+    private Long pledgeId;
+    private LocalDateTime asOf;
+    private String status;
+    private Double principal;
+    private Double interestRate;
+    private LocalDateTime accrualStart;
+    private Double accruedInterest;
+    // Principal plus interest accrued up to asOf; zero once closed
+    private Double balance;
+    // Snapshot the state was replayed from (null if replayed from the first event)
+    private LocalDateTime snapshotAt;
+    private int eventsReplayed;
+}
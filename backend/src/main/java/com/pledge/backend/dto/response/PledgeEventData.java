@@ -0,0 +1,21 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeEventData {
+    private Long pledgeId;
+    private Long customerId;
+    private String status;
+    private Double amount;
+    private Double interestRate;
+    private LocalDateTime deadline;
+}
@@ -0,0 +1,43 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeProjectionResponse {
+    private Long pledgeId;
+    private Long customerId;
+    private String status;
+    private Double principal;
+    private Double interestRate;
+    private LocalDateTime createdAt;
+    private LocalDateTime accrualStart;
+    // Where the schedule starts: the later of now and the accrual start
+    private LocalDateTime projectedFrom;
+    private LocalDateTime deadline;
+    private Integer pledgeDuration;
+    // Amount owed at the deadline if nothing more is paid
+    private Double balanceAtDeadline;
+    private List<Point> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        // Months after projectedFrom (1 = one month later); null for an ad-hoc date
+        private Integer month;
+        private LocalDateTime date;
+        private Long daysAccrued;
+        private Double interest;
+        private Double balance;
+    }
+}
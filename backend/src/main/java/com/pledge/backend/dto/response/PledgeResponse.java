@@ -26,7 +26,7 @@ public class PledgeResponse {
 	private Double weight;
 	private String purity;
 	private String notes;
-	// <-- added field to match backend entity and avoid "setPledgeDuration" missing error
+	// Loan term in months
 	private Integer pledgeDuration;
     // Computed fields
     private Double remainingAmount;
@@ -35,4 +35,7 @@ public class PledgeResponse {
     private String customerPhoto;
     private String itemPhoto;
     private String receiptPhoto;
+
+    // HOT when read from the live tables, ARCHIVE when read back from cold storage (slower)
+    private String storageTier;
 }
@@ -0,0 +1,28 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeRiskResponse {
+    private Long pledgeId;
+    private Long customerId;
+    private String customerName;
+    private String status;
+    private Double amount;
+    private Double weight;
+    private String purity;
+    private Double marketValue;
+    private Double ltv;
+    // amount - marketValue; positive means the loan is not fully covered
+    private Double exposure;
+    private LocalDateTime valuedAt;
+    private LocalDateTime deadline;
+}
@@ -0,0 +1,40 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeSearchResponse {
+    private String query;
+    private List<Hit> results;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private Long pledgeId;
+        private Long customerId;
+        private String customerName;
+        private String title;
+        private String itemType;
+        private String purity;
+        private Double weight;
+        private Double amount;
+        private String status;
+        private LocalDateTime deadline;
+        private float rank;
+        // Matching fragments with terms wrapped in <mark>
+        private String snippet;
+    }
+}
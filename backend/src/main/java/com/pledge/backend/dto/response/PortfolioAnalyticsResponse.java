@@ -0,0 +1,104 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAnalyticsResponse {
+    private LocalDateTime asOf;
+    private long openPledges;
+    private long customers;
+    private double principal;
+    private double weightGrams;
+    private double marketValue;
+    // principal / market value over valued pledges; null until the book has been valued
+    private Double ltv;
+    // Principal-weighted monthly rate (%) and its simple annual equivalent
+    private double weightedMonthlyRate;
+    private double annualizedYield;
+    private long overduePledges;
+    private double overduePrincipal;
+    private List<AgeBucket> aging;
+    private List<PurityHolding> byPurity;
+    private Concentration concentration;
+    private List<PledgeItem> largest;
+    private List<PledgeItem> oldest;
+    private long loadMs;
+    private long computeMs;
+
+    /**
+     * Pledges opened minDays up to maxDays ago (inclusive); maxDays is null for the last bucket.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgeBucket {
+        private String label;
+        private int minDays;
+        private Integer maxDays;
+        private long count;
+        private double principal;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PurityHolding {
+        private String purity;
+        private long count;
+        private double weightGrams;
+        private double principal;
+        private double marketValue;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Concentration {
+        // Share of principal held by the customers listed in topCustomers
+        private double topShare;
+        // Herfindahl-Hirschman index over customer shares (0..1, higher is more concentrated)
+        private double hhi;
+        private List<CustomerExposure> topCustomers;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomerExposure {
+        private Long customerId;
+        private String customerName;
+        private long pledges;
+        private double principal;
+        private double share;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PledgeItem {
+        private Long pledgeId;
+        private Long customerId;
+        private String customerName;
+        private String title;
+        private String status;
+        private double amount;
+        private double interestRate;
+        private LocalDateTime createdAt;
+        private LocalDateTime deadline;
+        private long ageDays;
+    }
+}
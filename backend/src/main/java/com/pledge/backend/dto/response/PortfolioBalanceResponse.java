@@ -0,0 +1,33 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioBalanceResponse {
+    private LocalDateTime asOf;
+    private LocalDateTime snapshotAt;
+    private long openPledges;
+    private double principal;
+    private double accruedInterest;
+    private double balance;
+    // Open pledge count and balance per status (ACTIVE, PARTIALLY_PAID, DEFAULTED)
+    private Map<String, StatusTotal> byStatus;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusTotal {
+        private long count;
+        private double balance;
+    }
+}
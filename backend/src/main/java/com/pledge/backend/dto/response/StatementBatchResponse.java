@@ -0,0 +1,19 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementBatchResponse {
+    private String month;
+    private String directory;
+    private int customers;
+    private int generated;
+    private int failed;
+    private long elapsedMillis;
+}
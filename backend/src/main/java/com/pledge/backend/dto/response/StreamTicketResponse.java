@@ -0,0 +1,18 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTicketResponse {
+    // Pass as ?ticket= on GET /api/events/stream; good for one connection
+    private String ticket;
+    private Instant expiresAt;
+}
@@ -0,0 +1,94 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of changes for GET /api/sync. Rows are upserts; {@link #deleted} lists ids
+ * to drop. Pass {@link #token} back as since= until {@link #hasMore} is false, and keep
+ * the last token for the next sync.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private String token;
+    private boolean hasMore;
+    // Set on a full download: the client should clear its local copy before applying this page
+    private boolean reset;
+    private List<Customer> customers;
+    private List<Pledge> pledges;
+    private List<Payment> payments;
+    private Deleted deleted;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Customer {
+        private Long id;
+        private String name;
+        private String phone;
+        private String email;
+        private String address;
+        private LocalDateTime createdAt;
+        private Boolean isActive;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pledge {
+        private Long id;
+        private Long customerId;
+        private String title;
+        private String description;
+        private Double amount;
+        private Double interestRate;
+        private LocalDateTime createdAt;
+        private LocalDateTime deadline;
+        private Integer pledgeDuration;
+        private String status;
+        private String itemType;
+        private Double weight;
+        private String purity;
+        private String notes;
+        private String customerPhoto;
+        private String itemPhoto;
+        private String receiptPhoto;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payment {
+        private Long id;
+        private Long pledgeId;
+        private Double amount;
+        private LocalDateTime paymentDate;
+        private String paymentType;
+        private String notes;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private List<Long> customers;
+        private List<Long> pledges;
+        private List<Long> payments;
+    }
+}
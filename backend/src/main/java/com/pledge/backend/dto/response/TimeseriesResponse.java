@@ -0,0 +1,39 @@
+package com.pledge.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeseriesResponse {
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    // purity, itemType or null when the series is not split
+    private String groupBy;
+    private List<Point> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate periodStart;
+        // Purity or item type for split series; "" where the pledge has none
+        private String key;
+        private long pledgesOpened;
+        private double disbursed;
+        private double interestBooked;
+        private long payments;
+        private double collected;
+        private double interestIncome;
+        private double principalRepaid;
+    }
+}
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_email", columnList = "email"),
+        @Index(name = "idx_customers_phone", columnList = "phone")
+})
 @Data
 @Builder
 @NoArgsConstructor
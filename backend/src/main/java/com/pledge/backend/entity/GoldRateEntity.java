@@ -0,0 +1,44 @@
+package com.pledge.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A posted gold rate: price of one gram of pure (24K) gold from {@code effectiveAt}.
+ * The latest row values every open pledge.
+ */
+@Entity
+@Table(name = "gold_rates", indexes = {
+        @Index(name = "idx_gold_rates_effective_at", columnList = "effective_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoldRateEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rate_per_gram", nullable = false)
+    private Double ratePerGram;
+
+    @Column(name = "effective_at", nullable = false)
+    private LocalDateTime effectiveAt;
+
+    // "manual", "feed", ...
+    @Column(name = "source")
+    private String source;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (effectiveAt == null) {
+            effectiveAt = createdAt;
+        }
+    }
+}
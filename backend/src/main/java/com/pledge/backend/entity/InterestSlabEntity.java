@@ -0,0 +1,43 @@
+package com.pledge.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the interest slab table: from {@code minAmount} upwards the monthly rate is
+ * {@code ratePercent}, for pledges priced on or after {@code effectiveFrom}. All rows that
+ * share an effective date form one complete slab schedule.
+ */
+@Entity
+@Table(name = "interest_slabs", indexes = {
+        @Index(name = "idx_interest_slabs_effective_from", columnList = "effective_from, min_amount")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestSlabEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(name = "min_amount", nullable = false)
+    private Double minAmount;
+
+    @Column(name = "rate_percent", nullable = false)
+    private Double ratePercent;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
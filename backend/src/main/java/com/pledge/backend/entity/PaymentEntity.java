@@ -5,7 +5,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_pledge_date", columnList = "pledge_id, payment_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,60 @@
+package com.pledge.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a change to a pledge's balance or status. Each row carries the
+ * state after the change, so replaying a pledge's events in order yields its state at
+ * any point in time. Rows are never updated and outlive deleted pledges.
+ */
+@Entity
+@Table(name = "pledge_balance_events", indexes = {
+        @Index(name = "idx_balance_events_pledge_time", columnList = "pledge_id, occurred_at, id"),
+        @Index(name = "idx_balance_events_time", columnList = "occurred_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeBalanceEventEntity {
+    public static final String OPENING = "OPENING";
+    public static final String CREATED = "CREATED";
+    public static final String PAYMENT = "PAYMENT";
+    public static final String UPDATED = "UPDATED";
+    public static final String STATUS = "STATUS";
+    public static final String DELETED = "DELETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pledge_id", nullable = false)
+    private Long pledgeId;
+
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "principal_delta", nullable = false)
+    private Double principalDelta;
+
+    @Column(name = "principal_after", nullable = false)
+    private Double principalAfter;
+
+    @Column(name = "status_after", length = 32)
+    private String statusAfter;
+
+    @Column(name = "interest_rate_after")
+    private Double interestRateAfter;
+
+    // Interest accrues from the latest event with this set (creation, opening balance, payment)
+    @Column(name = "resets_accrual", nullable = false)
+    private Boolean resetsAccrual;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+}
@@ -0,0 +1,42 @@
+package com.pledge.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A pledge's balance state as of {@code snapshotAt}, folded from the snapshot before it
+ * and the balance events in between. Pledges already closed or deleted in the previous
+ * snapshot are not carried forward.
+ */
+@Entity
+@Table(name = "pledge_balance_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uq_balance_snapshots_time_pledge", columnNames = {"snapshot_at", "pledge_id"}),
+        indexes = @Index(name = "idx_balance_snapshots_pledge_time", columnList = "pledge_id, snapshot_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PledgeBalanceSnapshotEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+
+    @Column(name = "pledge_id", nullable = false)
+    private Long pledgeId;
+
+    @Column(name = "principal", nullable = false)
+    private Double principal;
+
+    @Column(name = "status", length = 32)
+    private String status;
+
+    @Column(name = "interest_rate")
+    private Double interestRate;
+
+    @Column(name = "accrual_start")
+    private LocalDateTime accrualStart;
+}
@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "pledges")
+@Table(name = "pledges", indexes = {
+		@Index(name = "idx_pledges_ltv", columnList = "ltv"),
+		@Index(name = "idx_pledges_deadline", columnList = "deadline")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -54,6 +57,10 @@ public class PledgeEntity {
 	@Column(name = "deadline")
 	private LocalDateTime deadline;
 
+	// 8.1️⃣ pledge_duration (months)
+	@Column(name = "pledge_duration")
+	private Integer pledgeDuration;
+
 	// 9️⃣ status
 	@Column(name = "status")
 	private String status;
@@ -89,6 +96,22 @@ public class PledgeEntity {
 	@Column(name = "user_id")
 	private Long userId;
 
+	// Collateral valuation at the latest gold rate (see ValuationService)
+	@Column(name = "market_value")
+	private Double marketValue;
+
+	// amount / market_value
+	@Column(name = "ltv")
+	private Double ltv;
+
+	@Column(name = "valued_at")
+	private LocalDateTime valuedAt;
+
+	// Optimistic lock: bumped on every update, concurrent stale writes fail instead of overwriting
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+	private Long version;
+
 	// ================= Business Logic =================
 
     public Double calculateDailyInterest() {
@@ -143,9 +166,4 @@ public class PledgeEntity {
 	public boolean isValidDates() {
 		return createdAt != null && deadline != null && deadline.isAfter(createdAt);
 	}
-
-	public void setPledgeDuration(final int pledgeDuration)
-	{
-		return;
-	}
 }
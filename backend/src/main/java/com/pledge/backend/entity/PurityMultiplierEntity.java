@@ -0,0 +1,23 @@
+package com.pledge.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Fine gold content of a purity grade, e.g. 22K → 0.916. Market value is
+ * weight × multiplier × 24K rate.
+ */
+@Entity
+@Table(name = "purity_multipliers")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurityMultiplierEntity {
+    @Id
+    @Column(name = "purity", length = 8)
+    private String purity;
+
+    @Column(name = "multiplier", nullable = false)
+    private Double multiplier;
+}
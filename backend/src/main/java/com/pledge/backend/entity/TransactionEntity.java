@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_pledge", columnList = "pledge_id, id"),
+        @Index(name = "idx_transactions_user", columnList = "user_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,10 @@
+package com.pledge.backend.exception;
+
+/**
+ * A manual run of a job that is switched off in configuration.
+ */
+public class FeatureDisabledException extends PledgeException {
+    public FeatureDisabledException(String message) {
+        super(message);
+    }
+}
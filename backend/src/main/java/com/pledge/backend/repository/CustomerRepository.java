@@ -1,12 +1,29 @@
 package com.pledge.backend.repository;
 
 import com.pledge.backend.entity.CustomerEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerEntity, Long> {
     boolean existsByEmail(String email);
     boolean existsByPhone(String phone);
     CustomerEntity findByEmail(String email);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<CustomerEntity> streamAllByOrderByIdAsc();
+
+    @Query("SELECT c.email FROM CustomerEntity c WHERE c.email IS NOT NULL")
+    List<String> findAllEmails();
+
+    @Query("SELECT c.phone FROM CustomerEntity c WHERE c.phone IS NOT NULL")
+    List<String> findAllPhones();
 }
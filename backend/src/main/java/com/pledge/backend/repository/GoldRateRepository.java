@@ -0,0 +1,16 @@
+package com.pledge.backend.repository;
+
+import com.pledge.backend.entity.GoldRateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GoldRateRepository extends JpaRepository<GoldRateEntity, Long> {
+
+    Optional<GoldRateEntity> findTopByOrderByEffectiveAtDescIdDesc();
+
+    List<GoldRateEntity> findTop30ByOrderByEffectiveAtDescIdDesc();
+}
@@ -0,0 +1,20 @@
+package com.pledge.backend.repository;
+
+import com.pledge.backend.entity.InterestSlabEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InterestSlabRepository extends JpaRepository<InterestSlabEntity, Long> {
+
+    List<InterestSlabEntity> findAllByOrderByEffectiveFromAscMinAmountAsc();
+
+    /**
+     * Cheap change detector for hot reload: row count, latest update and value checksums.
+     */
+    @Query("SELECT COUNT(s), MAX(s.updatedAt), SUM(s.minAmount), SUM(s.ratePercent) FROM InterestSlabEntity s")
+    List<Object[]> fingerprint();
+}
@@ -1,11 +1,13 @@
 package com.pledge.backend.repository;
 
 import com.pledge.backend.entity.PaymentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -18,4 +20,32 @@ public interface PaymentRepository extends JpaRepository<PaymentEntity, Long> {
     
     @Query("SELECT COUNT(p) FROM PaymentEntity p WHERE p.pledge.id = :pledgeId")
     Long getPaymentCountByPledgeId(@Param("pledgeId") Long pledgeId);
+
+    @Query("SELECT MAX(p.paymentDate) FROM PaymentEntity p WHERE p.pledge.id = :pledgeId")
+    LocalDateTime findLastPaymentDateByPledgeId(@Param("pledgeId") Long pledgeId);
+
+    /**
+     * [pledgeId, last payment date] for every open pledge due in the window that has payments
+     */
+    @Query("SELECT p.pledge.id, MAX(p.paymentDate) FROM PaymentEntity p " +
+           "WHERE p.pledge.deadline BETWEEN :from AND :to AND p.pledge.status <> 'CLOSED' GROUP BY p.pledge.id")
+    List<Object[]> findLastPaymentDatesForPledgesDueBetween(@Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to);
+
+    @Query("SELECT p FROM PaymentEntity p JOIN FETCH p.pledge pl JOIN FETCH pl.customer WHERE pl.customer.id = :customerId ORDER BY p.paymentDate")
+    List<PaymentEntity> findByCustomerIdOrderByPaymentDate(@Param("customerId") Long customerId);
+
+    @Query("SELECT p FROM PaymentEntity p JOIN FETCH p.pledge pl JOIN FETCH pl.customer WHERE p.paymentDate <= :asOf ORDER BY p.paymentDate")
+    List<PaymentEntity> findAllWithPledgeUpTo(@Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Per pledge of a customer: pledge id, last payment date, total paid, payment count
+     */
+    @Query("SELECT p.pledge.id, MAX(p.paymentDate), COALESCE(SUM(p.amount), 0), COUNT(p) FROM PaymentEntity p " +
+           "WHERE p.pledge.customer.id = :customerId GROUP BY p.pledge.id")
+    List<Object[]> summarizeByPledgeForCustomer(@Param("customerId") Long customerId);
+
+    @Query("SELECT p FROM PaymentEntity p JOIN FETCH p.pledge pl WHERE pl.customer.id = :customerId " +
+           "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentEntity> findRecentByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.pledge.backend.repository;
+
+import com.pledge.backend.entity.PledgeBalanceEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PledgeBalanceEventRepository extends JpaRepository<PledgeBalanceEventEntity, Long> {
+
+    List<PledgeBalanceEventEntity> findByPledgeIdAndOccurredAtGreaterThanAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(
+            Long pledgeId, LocalDateTime after, LocalDateTime upTo);
+}
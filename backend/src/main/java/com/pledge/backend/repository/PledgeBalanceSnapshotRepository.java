@@ -0,0 +1,23 @@
+package com.pledge.backend.repository;
+
+import com.pledge.backend.entity.PledgeBalanceSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PledgeBalanceSnapshotRepository extends JpaRepository<PledgeBalanceSnapshotEntity, Long> {
+
+    Optional<PledgeBalanceSnapshotEntity> findTopByPledgeIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Long pledgeId, LocalDateTime asOf);
+
+    @Query("SELECT MAX(s.snapshotAt) FROM PledgeBalanceSnapshotEntity s WHERE s.snapshotAt <= :asOf")
+    LocalDateTime findLatestSnapshotTimeUpTo(@Param("asOf") LocalDateTime asOf);
+
+    @Query("SELECT MAX(s.snapshotAt) FROM PledgeBalanceSnapshotEntity s")
+    LocalDateTime findLatestSnapshotTime();
+}
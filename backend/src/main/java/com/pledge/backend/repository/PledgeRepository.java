@@ -3,10 +3,14 @@ package com.pledge.backend.repository;
 
 import com.pledge.backend.dto.response.PledgeResponse;
 import com.pledge.backend.entity.PledgeEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface PledgeRepository extends JpaRepository<PledgeEntity, Long> {
@@ -14,6 +18,8 @@ public interface PledgeRepository extends JpaRepository<PledgeEntity, Long> {
 	
 	Long countByStatus(String status);
 
+	List<PledgeEntity> findByStatusAndAmountLessThanEqual(String status, Double amount);
+
 
 	List<PledgeEntity> findByCustomerId(Long customerId);
 
@@ -21,9 +27,41 @@ public interface PledgeRepository extends JpaRepository<PledgeEntity, Long> {
 	@Query("SELECT p FROM PledgeEntity p JOIN FETCH p.customer")
 	List<PledgeEntity> findAllWithCustomer();
 
+	@Query("SELECT p FROM PledgeEntity p JOIN FETCH p.customer " +
+		   "WHERE p.id IN (SELECT t.pledgeId FROM TransactionEntity t WHERE t.userId = :userId)")
+	List<PledgeEntity> findWithTransactionsByUser(@Param("userId") Long userId);
+
 	@Query("SELECT COALESCE(SUM(p.amount), 0) FROM PledgeEntity p WHERE p.status = :status")
 	Double sumAmountByStatus(@Param("status") String status);
 	
+	@Query("SELECT p FROM PledgeEntity p JOIN FETCH p.customer WHERE p.deadline BETWEEN :from AND :to AND p.status <> 'CLOSED' ORDER BY p.deadline")
+	List<PledgeEntity> findOpenPledgesDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	/**
+	 * Open or defaulted pledges whose deadline has passed, oldest deadline first
+	 */
+	@Query("SELECT p FROM PledgeEntity p JOIN FETCH p.customer WHERE p.deadline < :asOf " +
+		   "AND p.status IN ('ACTIVE', 'PARTIALLY_PAID', 'DEFAULTED') ORDER BY p.deadline")
+	List<PledgeEntity> findOverdue(@Param("asOf") LocalDateTime asOf);
+
+	/**
+	 * Open pledges at or above an LTV, largest uncovered amount (principal minus collateral value) first
+	 */
+	@Query("SELECT p FROM PledgeEntity p JOIN FETCH p.customer WHERE p.ltv >= :minLtv AND p.status <> 'CLOSED' " +
+		   "ORDER BY (p.amount - p.marketValue) DESC, p.ltv DESC")
+	List<PledgeEntity> findAtRisk(@Param("minLtv") Double minLtv, Pageable pageable);
+
+	/**
+	 * [pledge, last payment date, total paid] for each pledge, locked for update in id order
+	 * so concurrent batches touching the same pledges queue instead of deadlocking. Only the
+	 * pledge rows are locked, not the fetched customers.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.lockMode.p", value = "pessimistic_write"))
+	@Query("SELECT p, (SELECT MAX(pay.paymentDate) FROM PaymentEntity pay WHERE pay.pledge.id = p.id), " +
+		   "(SELECT COALESCE(SUM(pay.amount), 0) FROM PaymentEntity pay WHERE pay.pledge.id = p.id) " +
+		   "FROM PledgeEntity p JOIN FETCH p.customer WHERE p.id IN :ids ORDER BY p.id")
+	List<Object[]> lockWithPaymentSummary(@Param("ids") Collection<Long> ids);
+
 	@Query("SELECT p FROM PledgeEntity p WHERE p.createdAt BETWEEN :startDate AND :endDate")
 	List<PledgeEntity> findPledgesCreatedBetween(@Param("startDate") LocalDateTime startDate, 
 												  @Param("endDate") LocalDateTime endDate);
@@ -0,0 +1,9 @@
+package com.pledge.backend.repository;
+
+import com.pledge.backend.entity.PurityMultiplierEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PurityMultiplierRepository extends JpaRepository<PurityMultiplierEntity, String> {
+}
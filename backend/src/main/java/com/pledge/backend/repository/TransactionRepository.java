@@ -1,12 +1,38 @@
 package com.pledge.backend.repository;
 
 import com.pledge.backend.entity.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
     List<TransactionEntity> findByPledgeId(Long pledgeId);
     List<TransactionEntity> findByStatus(String status);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TransactionEntity> streamByPledgeIdOrderByIdAsc(Long pledgeId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TransactionEntity> streamByUserIdOrderByIdAsc(Long userId);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM TransactionEntity t " +
+           "WHERE t.pledgeId = :pledgeId AND t.status = 'COMPLETED' AND t.type = 'PAYMENT'")
+    Double sumCompletedPayments(@Param("pledgeId") Long pledgeId);
+
+    /**
+     * [pledgeId, completed payments total] for every pledge the user has a transaction on
+     */
+    @Query("SELECT t.pledgeId, COALESCE(SUM(t.amount), 0) FROM TransactionEntity t " +
+           "WHERE t.status = 'COMPLETED' AND t.type = 'PAYMENT' " +
+           "AND t.pledgeId IN (SELECT u.pledgeId FROM TransactionEntity u WHERE u.userId = :userId) GROUP BY t.pledgeId")
+    List<Object[]> sumCompletedPaymentsForPledgesOfUser(@Param("userId") Long userId);
 }
\ No newline at end of file
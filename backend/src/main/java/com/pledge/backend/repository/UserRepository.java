@@ -1,9 +1,13 @@
 package com.pledge.backend.repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.pledge.backend.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +18,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 	UserEntity findByEmail(String email);
 
 	boolean existsByEmail(String email);
+
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<UserEntity> streamAllByOrderByIdAsc();
 }
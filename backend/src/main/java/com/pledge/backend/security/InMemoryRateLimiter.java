@@ -0,0 +1,44 @@
+package com.pledge.backend.security;
+
+import com.pledge.backend.util.TokenBucket;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance limiter: one {@link TokenBucket} per key in a concurrent map. Neither the
+ * map lookup nor the bucket take a lock on the hot path. Idle full buckets are evicted
+ * periodically so the map only holds recently active callers.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long idleNanos;
+
+    public InMemoryRateLimiter(long idleEvictionSeconds) {
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleEvictionSeconds);
+    }
+
+    @Override
+    public Decision tryAcquire(String bucketKey, double capacity, double refillPerSecond) {
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(capacity, refillPerSecond));
+        }
+        double result = bucket.tryConsume();
+        if (result >= 0) {
+            return new Decision(true, (long) result, 0);
+        }
+        return new Decision(false, 0, (long) Math.ceil(-result));
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void evictIdle() {
+        buckets.values().removeIf(bucket -> bucket.isIdle(idleNanos));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.pledge.backend.security;
+
+import com.pledge.backend.util.LogSampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Cluster-wide limiter backed by the rate_limit_buckets table.
+ *
+ * Refill and take happen in one conditional upsert, so concurrent instances cannot both
+ * spend the last token. If the database is unavailable the request is decided by the
+ * local in-memory limiter instead of failing.
+ */
+@Slf4j
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final String TAKE_SQL =
+            "INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, updated_at) " +
+            "VALUES (?, ? - 1, clock_timestamp()) " +
+            "ON CONFLICT (bucket_key) DO UPDATE SET " +
+            "  tokens = LEAST(?, b.tokens + EXTRACT(EPOCH FROM clock_timestamp() - b.updated_at) * ?) - 1, " +
+            "  updated_at = clock_timestamp() " +
+            "WHERE LEAST(?, b.tokens + EXTRACT(EPOCH FROM clock_timestamp() - b.updated_at) * ?) >= 1 " +
+            "RETURNING tokens";
+
+    private static final String PEEK_SQL =
+            "SELECT LEAST(?, tokens + EXTRACT(EPOCH FROM clock_timestamp() - updated_at) * ?) " +
+            "FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateLimiter fallback;
+    private final long idleEvictionSeconds;
+    private final LogSampler failureLog = new LogSampler(100);
+
+    public JdbcRateLimiter(JdbcTemplate jdbcTemplate, RateLimiter fallback, long idleEvictionSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallback = fallback;
+        this.idleEvictionSeconds = idleEvictionSeconds;
+    }
+
+    @Override
+    public Decision tryAcquire(String bucketKey, double capacity, double refillPerSecond) {
+        try {
+            List<Double> taken = jdbcTemplate.queryForList(TAKE_SQL, Double.class,
+                    bucketKey, capacity, capacity, refillPerSecond, capacity, refillPerSecond);
+            if (!taken.isEmpty()) {
+                return new Decision(true, (long) Math.max(0, taken.get(0)), 0);
+            }
+            List<Double> available = jdbcTemplate.queryForList(PEEK_SQL, Double.class, capacity, refillPerSecond, bucketKey);
+            double tokens = available.isEmpty() ? 0 : available.get(0);
+            long retryAfter = (long) Math.ceil(Math.max(0, 1 - tokens) / refillPerSecond);
+            return new Decision(false, 0, Math.max(1, retryAfter));
+        } catch (RuntimeException e) {
+            if (failureLog.sample()) {
+                log.warn("Shared rate limit store unavailable, using local limits: {}", e.getMessage());
+            }
+            return fallback.tryAcquire(bucketKey, capacity, refillPerSecond);
+        }
+    }
+
+    /**
+     * Drop rows for callers that have been quiet long enough for their bucket to be full.
+     */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public void purgeIdle() {
+        try {
+            int removed = jdbcTemplate.update(
+                    "DELETE FROM rate_limit_buckets WHERE updated_at < clock_timestamp() - make_interval(secs => ?)",
+                    (double) idleEvictionSeconds);
+            if (removed > 0) {
+                log.debug("Purged {} idle rate limit buckets", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not purge idle rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
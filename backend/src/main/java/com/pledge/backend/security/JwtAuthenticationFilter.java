@@ -1,5 +1,7 @@
 package com.pledge.backend.security;
 
+import com.pledge.backend.controller.LiveEventController;
+import com.pledge.backend.service.StreamTicketService;
 import com.pledge.backend.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,16 +9,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private StreamTicketService streamTickets;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -26,12 +33,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
+        } else if (LiveEventController.STREAM_PATH.equals(request.getRequestURI())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // EventSource cannot send headers; the stream takes a single-use ticket instead of the token
+            Authentication auth = streamTickets.redeem(request.getParameter("ticket"));
+            if (auth != null) {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+        }
+        if (jwt != null) {
             try { username = jwtUtil.extractUsername(jwt); } catch (Exception ignored) {}
         }
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             if (jwtUtil.validateToken(jwt)) {
+                String role = jwtUtil.extractRole(jwt);
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        username, null, null);
+                        username, null, role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role)));
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -0,0 +1,146 @@
+package com.pledge.backend.security;
+
+import com.pledge.backend.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies token bucket budgets to every request, after the JWT filter so authenticated
+ * callers are keyed by their sign-in (token) and everyone else by client IP.
+ *
+ * Rejected requests get 429 with Retry-After; allowed ones carry X-RateLimit-Remaining.
+ * Outcomes are counted in the rate_limit.requests meter, tagged by rule and outcome.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiter limiter;
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private final CompiledRule defaultRule;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final boolean enabled;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.enabled = properties.isEnabled();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getPattern() == null || rule.getCapacity() < 1 || rule.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("Invalid rate limit rule: " + rule);
+            }
+            String name = rule.getName() != null ? rule.getName() : rule.getPattern();
+            Set<String> methods = rule.getMethods().stream()
+                    .map(m -> m.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            rules.add(new CompiledRule(name, rule.getPattern(), methods, rule.getCapacity(), rule.getRefillPerSecond(), meterRegistry));
+        }
+        this.defaultRule = new CompiledRule("default", "/**", Set.of(),
+                properties.getDefaultCapacity(), properties.getDefaultRefillPerSecond(), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights carry no credentials and must not eat the caller's budget
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompiledRule rule = match(request);
+        RateLimiter.Decision decision = limiter.tryAcquire(rule.name + ":" + callerKey(request), rule.capacity, rule.refillPerSecond);
+        if (decision.allowed()) {
+            rule.allowed.increment();
+            response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rule.rejected.increment();
+        log.debug("Rate limit '{}' exceeded by {} on {} {}", rule.name, callerKey(request), request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(decision.retryAfterSeconds()));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests. Please retry after "
+                + decision.retryAfterSeconds() + " seconds.\"}");
+    }
+
+    private CompiledRule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        for (CompiledRule rule : rules) {
+            if ((rule.methods.isEmpty() || rule.methods.contains(method)) && matcher.match(rule.pattern, path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private static String callerKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken) && auth.getName() != null) {
+            // The shop devices all sign in as one user, so each sign-in gets its own budget
+            String header = request.getHeader("Authorization");
+            return header != null && header.startsWith("Bearer ")
+                    ? "user:" + auth.getName() + ":" + fingerprint(header.substring(7))
+                    : "user:" + auth.getName() + "@" + request.getRemoteAddr();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Short digest of the token, so bucket keys (and the shared bucket table) never hold a credential
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CompiledRule {
+        private final String name;
+        private final String pattern;
+        private final Set<String> methods;
+        private final double capacity;
+        private final double refillPerSecond;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        CompiledRule(String name, String pattern, Set<String> methods, double capacity, double refillPerSecond,
+                     MeterRegistry registry) {
+            this.name = name;
+            this.pattern = pattern;
+            this.methods = methods;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.allowed = Counter.builder("rate_limit.requests").tag("rule", name).tag("outcome", "allowed").register(registry);
+            this.rejected = Counter.builder("rate_limit.requests").tag("rule", name).tag("outcome", "rejected").register(registry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.pledge.backend.security;
+
+/**
+ * Decides whether a caller may spend one token from a bucket.
+ */
+public interface RateLimiter {
+
+    Decision tryAcquire(String bucketKey, double capacity, double refillPerSecond);
+
+    /**
+     * @param remaining         tokens left after this request (0 when rejected)
+     * @param retryAfterSeconds seconds until the next token, 0 when allowed
+     */
+    record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+}
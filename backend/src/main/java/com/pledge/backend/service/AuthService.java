@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private static final String ADMIN_USERNAME = "Akash";
     private static final String ADMIN_PASSWORD = "Akash12345";
+    private static final String ADMIN_ROLE = "ADMIN";
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -17,11 +18,11 @@ public class AuthService {
     public AuthResponse authenticate(LoginRequest request) {
         if (ADMIN_USERNAME.equals(request.getUsername()) &&
             ADMIN_PASSWORD.equals(request.getPassword())) {
-            String token = jwtUtil.generateToken(ADMIN_USERNAME);
+            String token = jwtUtil.generateToken(ADMIN_USERNAME, ADMIN_ROLE);
             return AuthResponse.builder()
                 .token(token)
                 .username(ADMIN_USERNAME)
-                .role("ADMIN")
+                .role(ADMIN_ROLE)
                 .message("Login successful")
                 .build();
         }
@@ -0,0 +1,190 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.repository.CustomerRepository;
+import com.pledge.backend.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process membership index of customer emails and phone numbers.
+ *
+ * Backed by Bloom filters built at startup and updated on every customer write, so an
+ * availability check for a value that was never stored is answered without a database
+ * round trip. Only possible matches fall through to the (indexed) exists query.
+ * Removed or changed values stay in the filter until the next rebuild; they only cost
+ * an extra query, never a wrong answer.
+ *
+ * A rebuild must not lose a value added meanwhile, or a check could answer "available"
+ * for a stored value. While it loads, adds go to both the live and the new filters
+ * (published together, so an add sees either both or neither), and every add is also
+ * kept for app.customer-index.add-log-seconds and replayed into the new filters before
+ * they go live: that covers a customer added just before the rebuild whose row had
+ * not committed when the rebuild read the table. When the filters fill up, the
+ * rebuild runs on the scheduler rather than in the request that filled them.
+ */
+@Slf4j
+@Component
+public class CustomerContactIndex {
+
+    private static final int MIN_CAPACITY = 10_000;
+
+    private final CustomerRepository customerRepository;
+    private final double falsePositiveRate;
+    private final long addLogNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(null, null));
+    private final ConcurrentLinkedQueue<Contact> addLog = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The filters checks use, and the ones a running rebuild is loading (else null).
+     */
+    private record State(Filters active, Filters pending) {
+    }
+
+    private record Contact(String email, String phone, long addedAt) {
+    }
+
+    public CustomerContactIndex(CustomerRepository customerRepository,
+                                @Value("${app.customer-index.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${app.customer-index.add-log-seconds:600}") long addLogSeconds) {
+        this.customerRepository = customerRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.addLogNanos = TimeUnit.SECONDS.toNanos(Math.max(1, addLogSeconds));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long count = customerRepository.count();
+        Filters next = new Filters(Math.max(MIN_CAPACITY, count * 2), falsePositiveRate);
+        Filters current = state.get().active();
+        state.set(new State(current, next));
+        try {
+            List<String> emails = customerRepository.findAllEmails();
+            List<String> phones = customerRepository.findAllPhones();
+            emails.forEach(next::addEmail);
+            phones.forEach(next::addPhone);
+            pruneAddLog();
+            addLog.forEach(contact -> next.add(contact.email(), contact.phone()));
+            state.set(new State(next, null));
+            log.info("Customer contact index built: {} emails, {} phones", emails.size(), phones.size());
+        } catch (RuntimeException e) {
+            state.set(new State(current, null));
+            log.warn("Customer contact index build failed; availability checks go to the database: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.customer-index.capacity-check-ms:10000}")
+    public void rebuildIfFull() {
+        Filters current = state.get().active();
+        if (current != null && current.size() > current.capacity) {
+            log.info("Customer contact index over capacity; rebuilding");
+            rebuild();
+        }
+        pruneAddLog();
+    }
+
+    /**
+     * False means the email is definitely not stored; true means check the database.
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = state.get().active();
+        String key = normalizeEmail(email);
+        return filters == null || key == null || filters.emails.mightContain(key);
+    }
+
+    /**
+     * False means the phone is definitely not stored; true means check the database.
+     */
+    public boolean mightContainPhone(String phone) {
+        Filters filters = state.get().active();
+        String key = normalizePhone(phone);
+        return filters == null || key == null || filters.phones.mightContain(key);
+    }
+
+    /**
+     * Record a customer's contact details. Call before the row is committed so a
+     * concurrent check can never get a false "available".
+     */
+    public void add(String email, String phone) {
+        // Logged first: a rebuild that starts after this point replays it
+        addLog.add(new Contact(email, phone, System.nanoTime()));
+        State current = state.get();
+        if (current.active() != null) {
+            current.active().add(email, phone);
+        }
+        if (current.pending() != null) {
+            current.pending().add(email, phone);
+        }
+    }
+
+    private void pruneAddLog() {
+        long now = System.nanoTime();
+        Contact oldest;
+        while ((oldest = addLog.peek()) != null && now - oldest.addedAt() > addLogNanos) {
+            addLog.remove(oldest);
+        }
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    private static final class Filters {
+        private final BloomFilter emails;
+        private final BloomFilter phones;
+        private final long capacity;
+        private final AtomicLong inserted = new AtomicLong();
+
+        Filters(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+            this.phones = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        void add(String email, String phone) {
+            addEmail(email);
+            addPhone(phone);
+        }
+
+        void addEmail(String email) {
+            String key = normalizeEmail(email);
+            if (key != null) {
+                emails.put(key);
+                inserted.incrementAndGet();
+            }
+        }
+
+        void addPhone(String phone) {
+            String key = normalizePhone(phone);
+            if (key != null) {
+                phones.put(key);
+            }
+        }
+
+        long size() {
+            return inserted.get();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.CustomerPortfolioResponse;
+import com.pledge.backend.dto.response.PaymentResponse;
+import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.entity.PaymentEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.repository.CustomerRepository;
+import com.pledge.backend.repository.PaymentRepository;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.util.InterestCalculator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the customer screen needs in one response.
+ *
+ * Built from four queries however many pledges the customer has: the customer, their
+ * pledges, one grouped payment summary (last date, total, count per pledge) and the most
+ * recent payments. Outstanding balances use the same accrual rule as payments. With
+ * app.read-model.enabled=true the customer and pledges come from the in-memory
+ * {@link PledgeBook} and only the recent payments are read from the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CustomerPortfolioService {
+
+    public static final int DEFAULT_RECENT_PAYMENTS = 20;
+    public static final int MAX_RECENT_PAYMENTS = 200;
+
+    private final CustomerRepository customerRepository;
+    private final PledgeRepository pledgeRepository;
+    private final PaymentRepository paymentRepository;
+    private final ObjectProvider<PledgeBook> book;
+
+    private record PaymentSummary(LocalDateTime lastPaymentDate, double totalPaid, long count) {
+    }
+
+    public CustomerPortfolioResponse getPortfolio(Long customerId, Integer recentPayments) {
+        int recent = recentPayments != null ? recentPayments : DEFAULT_RECENT_PAYMENTS;
+        if (recent < 0 || recent > MAX_RECENT_PAYMENTS) {
+            throw new IllegalArgumentException("Recent payments must be between 0 and " + MAX_RECENT_PAYMENTS);
+        }
+        PledgeBook inMemory = book.getIfAvailable();
+        if (inMemory != null) {
+            CustomerPortfolioResponse portfolio = inMemory.portfolio(customerId);
+            portfolio.setRecentPayments(recentPayments(customerId, recent));
+            return portfolio;
+        }
+        CustomerEntity customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        List<PledgeEntity> pledges = pledgeRepository.findByCustomer_Id(customerId);
+
+        Map<Long, PaymentSummary> summaries = new HashMap<>();
+        for (Object[] row : paymentRepository.summarizeByPledgeForCustomer(customerId)) {
+            summaries.put((Long) row[0], new PaymentSummary((LocalDateTime) row[1],
+                    ((Number) row[2]).doubleValue(), ((Number) row[3]).longValue()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CustomerPortfolioResponse.Totals totals = new CustomerPortfolioResponse.Totals();
+        List<CustomerPortfolioResponse.Pledge> items = new ArrayList<>(pledges.size());
+        for (PledgeEntity pledge : pledges) {
+            PaymentSummary summary = summaries.getOrDefault(pledge.getId(), new PaymentSummary(null, 0.0, 0));
+            double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+            double rate = pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate();
+            boolean open = !"CLOSED".equals(pledge.getStatus());
+
+            double interest = 0.0;
+            LocalDateTime start = summary.lastPaymentDate() != null ? summary.lastPaymentDate() : pledge.getCreatedAt();
+            if (open && principal > 0 && start != null) {
+                interest = InterestCalculator.accruedInterest(principal, rate, Math.max(0L, ChronoUnit.DAYS.between(start, now)));
+            }
+            double outstanding = open ? principal + interest : 0.0;
+
+            items.add(CustomerPortfolioResponse.Pledge.builder()
+                    .id(pledge.getId())
+                    .title(pledge.getTitle())
+                    .itemType(pledge.getItemType())
+                    .weight(pledge.getWeight())
+                    .purity(pledge.getPurity())
+                    .status(pledge.getStatus())
+                    .amount(pledge.getAmount())
+                    .interestRate(pledge.getInterestRate())
+                    .createdAt(pledge.getCreatedAt())
+                    .deadline(pledge.getDeadline())
+                    .lastPaymentDate(summary.lastPaymentDate())
+                    .accruedInterest(interest)
+                    .outstanding(outstanding)
+                    .totalPaid(summary.totalPaid())
+                    .paymentCount(summary.count())
+                    .marketValue(pledge.getMarketValue())
+                    .ltv(pledge.getLtv())
+                    .itemPhoto(pledge.getItemPhoto())
+                    .build());
+
+            totals.setPledgeCount(totals.getPledgeCount() + 1);
+            totals.setTotalPaid(totals.getTotalPaid() + summary.totalPaid());
+            if (open) {
+                totals.setOpenPledges(totals.getOpenPledges() + 1);
+                totals.setPrincipal(totals.getPrincipal() + principal);
+                totals.setAccruedInterest(totals.getAccruedInterest() + interest);
+                totals.setOutstanding(totals.getOutstanding() + outstanding);
+                if (pledge.getMarketValue() != null) {
+                    totals.setMarketValue(totals.getMarketValue() + pledge.getMarketValue());
+                }
+            }
+        }
+
+        return CustomerPortfolioResponse.builder()
+                .customer(customer)
+                .pledges(items)
+                .recentPayments(recentPayments(customerId, recent))
+                .totals(totals)
+                .asOf(now)
+                .build();
+    }
+
+    private List<PaymentResponse> recentPayments(Long customerId, int recent) {
+        List<PaymentResponse> payments = new ArrayList<>(recent);
+        if (recent > 0) {
+            for (PaymentEntity payment : paymentRepository.findRecentByCustomerId(customerId, PageRequest.of(0, recent))) {
+                payments.add(PaymentResponse.builder()
+                        .id(payment.getId())
+                        .pledgeId(payment.getPledge().getId())
+                        .amount(payment.getAmount())
+                        .paymentDate(payment.getPaymentDate())
+                        .paymentType(payment.getPaymentType())
+                        .notes(payment.getNotes())
+                        .createdAt(payment.getCreatedAt())
+                        .build());
+            }
+        }
+        return payments;
+    }
+}
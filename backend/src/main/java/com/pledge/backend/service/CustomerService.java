@@ -2,12 +2,12 @@ package com.pledge.backend.service;
 
 import com.pledge.backend.dto.request.CustomerRequest;
 import com.pledge.backend.entity.CustomerEntity;
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     CustomerEntity createCustomer(CustomerRequest request);
     CustomerEntity getCustomerById(Long id);
-    List<CustomerEntity> getAllCustomers();
+    void forEachCustomer(Consumer<? super CustomerEntity> action);
     CustomerEntity updateCustomer(Long id, CustomerRequest request);
     void deleteCustomer(Long id);
     boolean existsByEmail(String email);
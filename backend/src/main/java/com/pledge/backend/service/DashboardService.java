@@ -4,33 +4,54 @@ import com.pledge.backend.dto.response.DashboardStatsResponse;
 import com.pledge.backend.entity.PledgeEntity;
 import com.pledge.backend.repository.CustomerRepository;
 import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.util.LogSampler;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    // Per-pledge debug lines are sampled so DEBUG on this logger stays usable on a large book
+    private static final LogSampler PLEDGE_DEBUG_SAMPLER = new LogSampler(100);
+
     private final CustomerRepository customerRepository;
     private final PledgeRepository pledgeRepository;
+    private final ReportRollupService rollups;
+    private final ObjectProvider<PledgeBook> book;
 
+    @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
+        // Served from the in-memory book when app.read-model.enabled=true
+        PledgeBook inMemory = book.getIfAvailable();
+        if (inMemory != null) {
+            return inMemory.dashboard();
+        }
+
         // Get total customers
         Long totalCustomers = customerRepository.count();
 
         // Get active pledges (status = "ACTIVE" or "PARTIALLY_PAID")
         Long activePledges = pledgeRepository.countByStatus("ACTIVE") + pledgeRepository.countByStatus("PARTIALLY_PAID");
         
-        // Debug: Log the count and also check all pledges
-        System.out.println("DEBUG: Active pledges count: " + activePledges);
-        List<PledgeEntity> allPledges = pledgeRepository.findAll();
-        System.out.println("DEBUG: Total pledges in database: " + allPledges.size());
-        for (PledgeEntity pledge : allPledges) {
-            System.out.println("DEBUG: Pledge ID: " + pledge.getId() + ", Status: '" + pledge.getStatus() + "', Customer: " + 
-                (pledge.getCustomer() != null ? pledge.getCustomer().getName() : "null"));
+        log.debug("Active pledges count: {}", activePledges);
+        // Only walk the whole book when someone has asked for DEBUG output on this logger
+        if (log.isDebugEnabled()) {
+            List<PledgeEntity> allPledges = pledgeRepository.findAll();
+            log.debug("Total pledges in database: {}", allPledges.size());
+            for (PledgeEntity pledge : allPledges) {
+                if (PLEDGE_DEBUG_SAMPLER.sample()) {
+                    log.debug("Pledge ID: {}, Status: '{}', Customer: {}", pledge.getId(), pledge.getStatus(),
+                        pledge.getCustomer() != null ? pledge.getCustomer().getName() : "null");
+                }
+            }
         }
 
         // Get total loans amount from active pledges (ACTIVE + PARTIALLY_PAID)
@@ -38,24 +59,10 @@ public class DashboardService {
         Double partiallyPaidLoans = pledgeRepository.sumAmountByStatus("PARTIALLY_PAID");
         Double totalLoans = (activeLoans != null ? activeLoans : 0.0) + (partiallyPaidLoans != null ? partiallyPaidLoans : 0.0);
 
-        // Calculate monthly interest for current month
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime endOfMonth = now.withDayOfMonth(now.toLocalDate().lengthOfMonth()).withHour(23).withMinute(59).withSecond(59);
-
-        List<PledgeEntity> currentMonthPledges = pledgeRepository.findPledgesCreatedBetween(startOfMonth, endOfMonth);
-        Double monthlyInterest = currentMonthPledges.stream()
-                .mapToDouble(pledge -> pledge.getAmount() * (pledge.getInterestRate() / 100))
-                .sum();
-
-        // Calculate last month interest
-        LocalDateTime startOfLastMonth = startOfMonth.minusMonths(1);
-        LocalDateTime endOfLastMonth = startOfMonth.minusNanos(1);
-
-        List<PledgeEntity> lastMonthPledges = pledgeRepository.findPledgesCreatedBetween(startOfLastMonth, endOfLastMonth);
-        Double lastMonthInterest = lastMonthPledges.stream()
-                .mapToDouble(pledge -> pledge.getAmount() * (pledge.getInterestRate() / 100))
-                .sum();
+        // Interest booked on pledges opened this month and last month, from the monthly rollups
+        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
+        Double monthlyInterest = rollups.interestBookedInMonth(startOfMonth);
+        Double lastMonthInterest = rollups.interestBookedInMonth(startOfMonth.minusMonths(1));
 
         // Calculate profit/loss
         Double profitLoss = monthlyInterest - lastMonthInterest;
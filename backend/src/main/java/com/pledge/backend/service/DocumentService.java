@@ -0,0 +1,191 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.StatementBatchResponse;
+import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.entity.PaymentEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.repository.CustomerRepository;
+import com.pledge.backend.repository.PaymentRepository;
+import com.pledge.backend.repository.PledgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pledge tickets, customer statements and the month-end statement run.
+ *
+ * Data is loaded up front in a read-only transaction with a fixed number of queries;
+ * the returned {@link StreamingResponseBody} then only renders, so no connection is
+ * held while bytes go to the client. The month-end run loads everything in three
+ * queries and renders customers in parallel to the output directory.
+ */
+@Slf4j
+@Service
+public class DocumentService {
+
+    private final CustomerRepository customerRepository;
+    private final PledgeRepository pledgeRepository;
+    private final PaymentRepository paymentRepository;
+    private final PdfDocumentRenderer renderer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path outputDirectory;
+    private final int batchThreads;
+
+    public DocumentService(CustomerRepository customerRepository,
+                           PledgeRepository pledgeRepository,
+                           PaymentRepository paymentRepository,
+                           PdfDocumentRenderer renderer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.documents.output-dir:./statements}") String outputDirectory,
+                           @Value("${app.documents.batch-threads:0}") int batchThreads) {
+        this.customerRepository = customerRepository;
+        this.pledgeRepository = pledgeRepository;
+        this.paymentRepository = paymentRepository;
+        this.renderer = renderer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.batchThreads = batchThreads > 0 ? batchThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public StreamingResponseBody pledgeTicket(Long pledgeId) {
+        LocalDateTime asOf = LocalDateTime.now();
+        return readOnlyTransaction.execute(status -> {
+            PledgeEntity pledge = pledgeRepository.findById(pledgeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pledge not found"));
+            List<PaymentEntity> payments = new ArrayList<>(paymentRepository.findByPledgeIdOrderByPaymentDateDesc(pledgeId));
+            payments.sort((a, b) -> a.getPaymentDate().compareTo(b.getPaymentDate()));
+            return out -> renderer.writeTicket(pledge, payments, asOf, out);
+        });
+    }
+
+    public StreamingResponseBody customerStatement(Long customerId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay().minusNanos(1);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Statement end date must not be before the start date");
+        }
+        return readOnlyTransaction.execute(status -> {
+            CustomerEntity customer = customerRepository.findById(customerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+            List<PledgeEntity> pledges = pledgeRepository.findByCustomer_Id(customerId);
+            List<PaymentEntity> payments = paymentRepository.findByCustomerIdOrderByPaymentDate(customerId);
+            return out -> renderer.writeStatement(customer, pledges, payments, start, end, out);
+        });
+    }
+
+    /**
+     * Runs after midnight on the 1st for the month that just ended; disabled unless
+     * app.documents.month-end-cron is set.
+     */
+    @Scheduled(cron = "${app.documents.month-end-cron:-}")
+    public void scheduledMonthEnd() {
+        StatementBatchResponse result = generateMonthEndStatements(YearMonth.now().minusMonths(1));
+        log.info("Month-end statements: {}", result);
+    }
+
+    public StatementBatchResponse generateMonthEndStatements(YearMonth month) {
+        long started = System.nanoTime();
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay().minusNanos(1);
+
+        BatchData data = readOnlyTransaction.execute(status -> loadBatch(to));
+        Path directory = outputDirectory.resolve(month.toString());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create statement directory " + directory, e);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(batchThreads);
+        int generated = 0;
+        int failed = 0;
+        try {
+            List<Future<?>> jobs = new ArrayList<>(data.customers.size());
+            for (CustomerEntity customer : data.customers) {
+                List<PledgeEntity> pledges = data.pledgesByCustomer.getOrDefault(customer.getId(), List.of());
+                List<PaymentEntity> payments = data.paymentsByCustomer.getOrDefault(customer.getId(), List.of());
+                jobs.add(pool.submit(() -> {
+                    writeStatementFile(directory, customer, pledges, payments, from, to);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                try {
+                    jobs.get(i).get();
+                    generated++;
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Statement for customer {} failed", data.customers.get(i).getId(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Month-end statement run interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return StatementBatchResponse.builder()
+                .month(month.toString())
+                .directory(directory.toAbsolutePath().toString())
+                .customers(data.customers.size())
+                .generated(generated)
+                .failed(failed)
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    private void writeStatementFile(Path directory, CustomerEntity customer, List<PledgeEntity> pledges,
+                                    List<PaymentEntity> payments, LocalDateTime from, LocalDateTime to) throws IOException {
+        Path target = directory.resolve("statement-" + customer.getId() + ".pdf");
+        Path partial = directory.resolve("statement-" + customer.getId() + ".pdf.part");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            renderer.writeStatement(customer, pledges, payments, from, to, out);
+        }
+        // Readers never see a half-written statement
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record BatchData(List<CustomerEntity> customers,
+                             Map<Long, List<PledgeEntity>> pledgesByCustomer,
+                             Map<Long, List<PaymentEntity>> paymentsByCustomer) {
+    }
+
+    private BatchData loadBatch(LocalDateTime asOf) {
+        List<CustomerEntity> customers = customerRepository.findAll();
+        Map<Long, List<PledgeEntity>> pledges = new HashMap<>();
+        for (PledgeEntity pledge : pledgeRepository.findAllWithCustomer()) {
+            pledges.computeIfAbsent(pledge.getCustomer().getId(), k -> new ArrayList<>()).add(pledge);
+        }
+        Map<Long, List<PaymentEntity>> payments = new HashMap<>();
+        for (PaymentEntity payment : paymentRepository.findAllWithPledgeUpTo(asOf)) {
+            payments.computeIfAbsent(payment.getPledge().getCustomer().getId(), k -> new ArrayList<>()).add(payment);
+        }
+        return new BatchData(customers, pledges, payments);
+    }
+}
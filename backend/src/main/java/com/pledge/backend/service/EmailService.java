@@ -4,6 +4,10 @@ import com.pledge.backend.entity.PledgeEntity;
 
 public interface EmailService {
 	void sendPledgePhotosEmail(PledgeEntity pledge, String toEmailAddress);
-}
-
 
+	/**
+	 * Tell the owner a pledge was created or updated: sent straight away in immediate
+	 * mode, or queued for the next digest in digest mode (app.mail.mode).
+	 */
+	void notifyPledgeChanged(PledgeEntity pledge, String action);
+}
@@ -0,0 +1,85 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.entity.GoldRateEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Polls a gold rate source and posts the rate when it changes.
+ *
+ * The source is any URL Java can open: a file: URL for a local stand-in that someone
+ * edits by hand, or an http(s): endpoint. The body is either a bare number or a JSON
+ * object with a ratePerGram (or rate) field, in rupees per gram of 24K gold. Disabled
+ * while app.valuation.feed.url is empty.
+ */
+@Slf4j
+@Component
+public class GoldRateFeed {
+
+    private final ValuationService valuationService;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final int timeoutMs;
+
+    public GoldRateFeed(ValuationService valuationService,
+                        ObjectMapper objectMapper,
+                        @Value("${app.valuation.feed.url:}") String url,
+                        @Value("${app.valuation.feed.timeout-ms:5000}") int timeoutMs) {
+        this.valuationService = valuationService;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.valuation.feed.interval-ms:300000}",
+            initialDelayString = "${app.valuation.feed.initial-delay-ms:30000}")
+    public void poll() {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        try {
+            double rate = fetch();
+            GoldRateEntity latest = valuationService.getLatestRate();
+            if (latest != null && Double.compare(latest.getRatePerGram(), rate) == 0) {
+                return;
+            }
+            log.info("Gold rate feed: {} per gram (was {})", rate, latest != null ? latest.getRatePerGram() : "none");
+            valuationService.postRate(rate, null, "feed");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Gold rate feed {} failed; keeping current rate: {}", url, e.getMessage());
+        }
+    }
+
+    double fetch() throws IOException {
+        URLConnection connection = URI.create(url.trim()).toURL().openConnection();
+        connection.setConnectTimeout(timeoutMs);
+        connection.setReadTimeout(timeoutMs);
+        String body;
+        try (InputStream in = connection.getInputStream()) {
+            body = new String(in.readNBytes(64 * 1024), StandardCharsets.UTF_8).trim();
+        }
+        return parse(body);
+    }
+
+    double parse(String body) throws IOException {
+        if (body.startsWith("{")) {
+            JsonNode node = objectMapper.readTree(body);
+            JsonNode rate = node.hasNonNull("ratePerGram") ? node.get("ratePerGram") : node.get("rate");
+            if (rate == null || !rate.isNumber()) {
+                throw new IllegalArgumentException("no numeric ratePerGram or rate field");
+            }
+            return rate.asDouble();
+        }
+        return Double.parseDouble(body);
+    }
+}
@@ -1,11 +1,17 @@
 package com.pledge.backend.service;
 
+import com.pledge.backend.util.InterestSlabSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
 /**
  * Service for calculating monthly interest based on loan amount slabs
  * 
- * Interest Rates:
+ * Slabs come from the interest_slabs table via {@link InterestSlabService}. The default
+ * schedule (used by the standalone demo and to seed an empty table) is:
  * - 0-49,999: 3% monthly
  * - 50,000-99,999: 2.5% monthly
  * - 1,00,000+: 2% monthly
@@ -13,6 +19,20 @@ import org.springframework.stereotype.Service;
 @Service
 public class InterestCalculationService {
 
+    private final Supplier<InterestSlabSchedule> scheduleSupplier;
+
+    /**
+     * Standalone use (e.g. the demo) with the built-in default slabs
+     */
+    public InterestCalculationService() {
+        this.scheduleSupplier = () -> InterestSlabSchedule.DEFAULT;
+    }
+
+    @Autowired
+    public InterestCalculationService(InterestSlabService interestSlabService) {
+        this.scheduleSupplier = interestSlabService::getSchedule;
+    }
+
     /**
      * Calculate monthly interest based on the loan amount
      * 
@@ -35,17 +55,35 @@ public class InterestCalculationService {
      * @return Interest rate percentage
      */
     public Double getInterestRate(Double amount) {
+        return getInterestRate(amount, LocalDate.now());
+    }
+
+    /**
+     * Get the interest rate percentage for an amount under the slabs in force on a date
+     * 
+     * @param amount The loan amount
+     * @param date Pricing date
+     * @return Interest rate percentage
+     */
+    public Double getInterestRate(Double amount, LocalDate date) {
         if (amount == null || amount <= 0) {
             return 0.0;
         }
+        return scheduleSupplier.get().rateFor(amount, date);
+    }
 
-        if (amount < 50000) {
-            return 3.0; // 3% for amounts 0-49,999
-        } else if (amount < 100000) {
-            return 2.5; // 2.5% for amounts 50,000-99,999
-        } else {
-            return 2.0; // 2% for amounts 1,00,000+
-        }
+    /**
+     * Describe the slab an amount falls in, e.g. "50,000-99,999 (2.5%)"
+     */
+    public String getSlabDescription(double amount) {
+        return scheduleSupplier.get().describe(amount, LocalDate.now());
+    }
+
+    /**
+     * Current slab schedule; callers pricing many amounts should take it once and reuse it
+     */
+    public InterestSlabSchedule getSchedule() {
+        return scheduleSupplier.get();
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.entity.InterestSlabEntity;
+import com.pledge.backend.repository.InterestSlabRepository;
+import com.pledge.backend.util.InterestSlabSchedule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Owns the live interest slab schedule.
+ *
+ * Slabs are stored in the interest_slabs table and compiled into an immutable
+ * {@link InterestSlabSchedule}. The table is polled with a cheap fingerprint query and
+ * the schedule is swapped atomically when it changes, so edits made directly in the
+ * database (or through this service) take effect without a restart.
+ */
+@Slf4j
+@Service
+public class InterestSlabService {
+
+    private final InterestSlabRepository slabRepository;
+
+    private volatile InterestSlabSchedule schedule = InterestSlabSchedule.DEFAULT;
+    private volatile String loadedFingerprint;
+
+    public InterestSlabService(InterestSlabRepository slabRepository) {
+        this.slabRepository = slabRepository;
+    }
+
+    public InterestSlabSchedule getSchedule() {
+        return schedule;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        try {
+            if (slabRepository.count() == 0) {
+                log.info("Interest slab table is empty; seeding default slabs");
+                LocalDate epoch = LocalDate.of(1970, 1, 1);
+                slabRepository.saveAll(List.of(
+                        InterestSlabEntity.builder().effectiveFrom(epoch).minAmount(0.0).ratePercent(3.0).build(),
+                        InterestSlabEntity.builder().effectiveFrom(epoch).minAmount(50_000.0).ratePercent(2.5).build(),
+                        InterestSlabEntity.builder().effectiveFrom(epoch).minAmount(100_000.0).ratePercent(2.0).build()
+                ));
+            }
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Could not load interest slabs; using default slabs until the next refresh", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.interest-slabs.refresh-interval-ms:60000}",
+            initialDelayString = "${app.interest-slabs.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            String fingerprint = fingerprint();
+            if (!Objects.equals(fingerprint, loadedFingerprint)) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Interest slab refresh failed; keeping current schedule: {}", e.getMessage());
+        }
+    }
+
+    public synchronized List<InterestSlabEntity> reload() {
+        String fingerprint = fingerprint();
+        List<InterestSlabEntity> slabs = slabRepository.findAllByOrderByEffectiveFromAscMinAmountAsc();
+        if (slabs.isEmpty()) {
+            log.warn("Interest slab table is empty; using default slabs");
+            schedule = InterestSlabSchedule.DEFAULT;
+        } else {
+            InterestSlabSchedule.Builder builder = InterestSlabSchedule.builder();
+            slabs.forEach(s -> builder.slab(s.getEffectiveFrom(), s.getMinAmount(), s.getRatePercent()));
+            schedule = builder.build();
+        }
+        loadedFingerprint = fingerprint;
+        log.info("Loaded {} interest slabs in {} version(s)", slabs.size(), schedule.versionCount());
+        return slabs;
+    }
+
+    private String fingerprint() {
+        List<Object[]> rows = slabRepository.fingerprint();
+        return rows.isEmpty() ? "" : Arrays.toString(rows.get(0));
+    }
+
+    @Transactional(readOnly = true)
+    public List<InterestSlabEntity> getAllSlabs() {
+        return slabRepository.findAllByOrderByEffectiveFromAscMinAmountAsc();
+    }
+
+    /**
+     * Add a new slab version effective from the given date and switch to it immediately.
+     */
+    @Transactional
+    public List<InterestSlabEntity> addVersion(LocalDate effectiveFrom, List<InterestSlabEntity> slabs) {
+        if (effectiveFrom == null) {
+            throw new IllegalArgumentException("Effective date is required");
+        }
+        if (slabs == null || slabs.isEmpty()) {
+            throw new IllegalArgumentException("At least one slab is required");
+        }
+        for (InterestSlabEntity slab : slabs) {
+            if (slab.getMinAmount() == null || slab.getMinAmount() < 0) {
+                throw new IllegalArgumentException("Slab minimum amount must be zero or more");
+            }
+            if (slab.getRatePercent() == null || slab.getRatePercent() <= 0) {
+                throw new IllegalArgumentException("Slab rate must be greater than 0");
+            }
+            slab.setId(null);
+            slab.setEffectiveFrom(effectiveFrom);
+        }
+        slabRepository.saveAll(slabs);
+        slabRepository.flush();
+        reload();
+        return slabs;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes list endpoints as JSON arrays while the rows are still being read.
+ *
+ * The row source pushes one element at a time (typically mapped straight off a
+ * database cursor inside its own read-only transaction) and each is serialized with
+ * the application's ObjectMapper, so the output is byte-for-byte the shape the
+ * equivalent List would have produced. Only the generator's buffer and the current
+ * row are held; the generator is flushed every app.streaming.flush-rows rows so the
+ * first bytes leave early and memory does not grow with the result size.
+ *
+ * Once the first bytes are sent the status is committed, so an error mid-stream
+ * aborts the response instead of turning it into an error body.
+ */
+@Component
+public class JsonListStreamer {
+
+    /**
+     * Pushes every row to the given consumer, in order.
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<T> action);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+
+    public JsonListStreamer(ObjectMapper objectMapper,
+                            @Value("${app.streaming.flush-rows:200}") int flushRows) {
+        this.objectMapper = objectMapper;
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    /**
+     * A bare JSON array: {@code [ ... ]}
+     */
+    public <T> ResponseEntity<StreamingResponseBody> array(RowSource<T> rows) {
+        return ok(out -> write(out, null, rows));
+    }
+
+    /**
+     * An {@code ApiResponse} envelope whose data is the array: {@code {"success":true,"message":...,"data":[ ... ]}}
+     */
+    public <T> ResponseEntity<StreamingResponseBody> envelope(String message, RowSource<T> rows) {
+        return ok(out -> write(out, message, rows));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ok(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private <T> void write(OutputStream out, String message, RowSource<T> rows) throws IOException {
+        // Not try-with-resources: closing flushes the buffer, and a failure before the first
+        // flush (e.g. a missing parent row) should still reach the exception handlers.
+        JsonGenerator json = objectMapper.createGenerator(out);
+        if (message != null) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", message);
+            json.writeFieldName("data");
+        }
+        json.writeStartArray();
+        int[] written = {0};
+        try {
+            rows.forEach(row -> {
+                try {
+                    json.writeObject(row);
+                    if (++written[0] % flushRows == 0) {
+                        json.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        json.writeEndArray();
+        if (message != null) {
+            json.writeEndObject();
+        }
+        json.close();
+    }
+}
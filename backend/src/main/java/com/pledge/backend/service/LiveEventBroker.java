@@ -0,0 +1,215 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.LiveEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed {@link LiveEvent}s out to Server-Sent Event clients.
+ *
+ * Every client has a small bounded queue drained by a shared sender pool, so a slow
+ * client never holds up a commit or other clients. A client whose queue overflows is
+ * disconnected; it reconnects with Last-Event-ID and catches up from the replay buffer.
+ * If the id it asks for has already left the buffer it gets a {@code resync} event and
+ * should refetch. Idle connections get a heartbeat comment so proxies keep them open.
+ */
+@Slf4j
+@Component
+public class LiveEventBroker implements DisposableBean {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final int queueCapacity;
+    private final int maxClients;
+    private final long timeoutMillis;
+    private final LiveEvent[] buffer;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+
+    // Seeded from the clock so ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private long buffered;
+
+    public LiveEventBroker(@Value("${app.events.client-queue-size:256}") int queueCapacity,
+                           @Value("${app.events.replay-buffer-size:1024}") int bufferSize,
+                           @Value("${app.events.max-clients:100}") int maxClients,
+                           @Value("${app.events.timeout-ms:1800000}") long timeoutMillis,
+                           @Value("${app.events.sender-threads:2}") int senderThreads) {
+        this.queueCapacity = queueCapacity;
+        this.maxClients = maxClients;
+        this.timeoutMillis = timeoutMillis;
+        this.buffer = new LiveEvent[bufferSize];
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "sse-sender-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Open a stream. Events after {@code lastEventId} that are still buffered are replayed first.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (clients.size() >= maxClients) {
+            throw new IllegalStateException("Too many live event subscribers");
+        }
+        Client client = new Client(new SseEmitter(timeoutMillis));
+        client.emitter.onCompletion(() -> remove(client));
+        client.emitter.onTimeout(() -> remove(client));
+        client.emitter.onError(e -> remove(client));
+
+        synchronized (buffer) {
+            if (lastEventId != null) {
+                replay(client, lastEventId);
+            }
+            clients.add(client);
+        }
+        client.schedule();
+        return client.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEvent(LiveEvent event) {
+        synchronized (buffer) {
+            event.setId(sequence.incrementAndGet());
+            buffer[(int) (buffered++ % buffer.length)] = event;
+            for (Client client : clients) {
+                client.offer(event);
+            }
+        }
+        for (Client client : clients) {
+            client.schedule();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Client client : clients) {
+            if (client.queue.isEmpty()) {
+                client.offer(HEARTBEAT);
+                client.schedule();
+            }
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void destroy() {
+        clients.forEach(client -> client.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    // Caller holds the buffer lock
+    private void replay(Client client, long lastEventId) {
+        long newest = sequence.get();
+        long retained = Math.min(buffered, buffer.length);
+        long oldest = newest - retained + 1;
+        List<LiveEvent> missed = new ArrayList<>();
+        if (lastEventId >= oldest - 1 && lastEventId <= newest) {
+            for (long id = lastEventId + 1; id <= newest; id++) {
+                missed.add(buffer[(int) ((buffered - (newest - id) - 1) % buffer.length)]);
+            }
+        }
+        boolean gap = lastEventId < oldest - 1 || lastEventId > newest;
+        if (gap || missed.size() > queueCapacity) {
+            client.offer(LiveEvent.builder().id(newest).type(LiveEvent.RESYNC)
+                    .data(Map.of("lastEventId", newest)).at(LocalDateTime.now()).build());
+            return;
+        }
+        missed.forEach(client::offer);
+    }
+
+    private void remove(Client client) {
+        clients.remove(client);
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (!closed && !queue.offer(item)) {
+                // Too slow to keep up: drop the connection rather than buffer without bound
+                log.info("Live event client fell {} events behind; disconnecting", queueCapacity);
+                close();
+            }
+        }
+
+        void schedule() {
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed && (item = queue.poll()) != null) {
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Live event client disconnected: {}", e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // An offer may have landed after the last poll but before the flag was cleared
+            schedule();
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            LiveEvent event = (LiveEvent) item;
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.getId()))
+                    .name(event.getType())
+                    .data(event.getData(), MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            closed = true;
+            remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+                // Already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.CustomerEventData;
+import com.pledge.backend.dto.response.DashboardDelta;
+import com.pledge.backend.dto.response.LiveEvent;
+import com.pledge.backend.dto.response.PaymentEventData;
+import com.pledge.backend.dto.response.PledgeEventData;
+import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.entity.PaymentEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Turns pledge, payment and customer writes into {@link LiveEvent}s.
+ *
+ * Events are published as Spring application events inside the caller's transaction;
+ * {@link LiveEventBroker} only sends them once that transaction commits. Dashboard
+ * deltas mirror how {@link DashboardService} computes its figures, so a client can
+ * patch its cached stats instead of refetching them.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveEventPublisher {
+
+    /**
+     * The parts of a pledge the dashboard depends on, captured before it is modified.
+     */
+    public record PledgeSnapshot(String status, double amount, double interestRate, LocalDateTime createdAt) {
+        public static PledgeSnapshot of(PledgeEntity pledge) {
+            return new PledgeSnapshot(pledge.getStatus(),
+                    pledge.getAmount() == null ? 0.0 : pledge.getAmount(),
+                    pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate(),
+                    pledge.getCreatedAt());
+        }
+    }
+
+    private static final PledgeSnapshot NONE = new PledgeSnapshot(null, 0.0, 0.0, null);
+
+    private final ApplicationEventPublisher publisher;
+
+    public void pledgeCreated(PledgeEntity pledge) {
+        publish(LiveEvent.PLEDGE_CREATED, toData(pledge));
+        publishDelta(dashboardDelta(NONE, PledgeSnapshot.of(pledge)));
+    }
+
+    public void pledgeUpdated(PledgeSnapshot before, PledgeEntity pledge) {
+        publish(closedNow(before, pledge) ? LiveEvent.PLEDGE_CLOSED : LiveEvent.PLEDGE_UPDATED, toData(pledge));
+        publishDelta(dashboardDelta(before, PledgeSnapshot.of(pledge)));
+    }
+
+    public void pledgeDeleted(PledgeSnapshot before, PledgeEntity pledge) {
+        publish(LiveEvent.PLEDGE_DELETED, toData(pledge));
+        publishDelta(dashboardDelta(before, NONE));
+    }
+
+    public void paymentRecorded(PledgeSnapshot before, PaymentEntity payment) {
+        PledgeEntity pledge = payment.getPledge();
+        publish(LiveEvent.PAYMENT_RECORDED, PaymentEventData.builder()
+                .paymentId(payment.getId())
+                .pledgeId(pledge.getId())
+                .amount(payment.getAmount())
+                .paymentType(payment.getPaymentType())
+                .pledgeAmount(pledge.getAmount())
+                .pledgeStatus(pledge.getStatus())
+                .build());
+        if (closedNow(before, pledge)) {
+            publish(LiveEvent.PLEDGE_CLOSED, toData(pledge));
+        }
+        publishDelta(dashboardDelta(before, PledgeSnapshot.of(pledge)));
+    }
+
+    /**
+     * Open pledges that have just passed their deadline; their status is unchanged.
+     */
+    public void pledgesOverdue(List<PledgeEventData> pledges) {
+        pledges.forEach(pledge -> publish(LiveEvent.PLEDGE_OVERDUE, pledge));
+    }
+
+    /**
+     * Closed pledges moved to cold storage; they leave the live listings. Closed pledges
+     * count for nothing on the dashboard, so there is no delta.
+     */
+    public void pledgesArchived(List<PledgeEventData> pledges) {
+        pledges.forEach(pledge -> publish(LiveEvent.PLEDGE_ARCHIVED, pledge));
+    }
+
+    /**
+     * Pledges whose status was changed by a bulk update, with one combined dashboard delta.
+     */
+    public void pledgesStatusChanged(List<PledgeSnapshot> before, List<PledgeEventData> after) {
+        long activePledges = 0;
+        double totalLoans = 0.0;
+        double monthlyInterest = 0.0;
+        for (int i = 0; i < after.size(); i++) {
+            PledgeEventData pledge = after.get(i);
+            publish(LiveEvent.PLEDGE_UPDATED, pledge);
+            PledgeSnapshot was = before.get(i);
+            PledgeSnapshot now = new PledgeSnapshot(pledge.getStatus(), was.amount(), was.interestRate(), was.createdAt());
+            DashboardDelta delta = dashboardDelta(was, now);
+            activePledges += delta.getActivePledges();
+            totalLoans += delta.getTotalLoans();
+            monthlyInterest += delta.getMonthlyInterest();
+        }
+        publishDelta(DashboardDelta.builder()
+                .activePledges(activePledges)
+                .totalLoans(totalLoans)
+                .monthlyInterest(monthlyInterest)
+                .build());
+    }
+
+    public void customerCreated(CustomerEntity customer) {
+        publish(LiveEvent.CUSTOMER_CREATED, CustomerEventData.builder().customerId(customer.getId()).build());
+        publishDelta(DashboardDelta.builder().totalCustomers(1).build());
+    }
+
+    public void customerUpdated(CustomerEntity customer) {
+        publish(LiveEvent.CUSTOMER_UPDATED, CustomerEventData.builder().customerId(customer.getId()).build());
+    }
+
+    public void customerDeleted(Long customerId) {
+        publish(LiveEvent.CUSTOMER_DELETED, CustomerEventData.builder().customerId(customerId).build());
+        publishDelta(DashboardDelta.builder().totalCustomers(-1).build());
+    }
+
+    private void publishDelta(DashboardDelta delta) {
+        if (!delta.isEmpty()) {
+            publish(LiveEvent.DASHBOARD_DELTA, delta);
+        }
+    }
+
+    private void publish(String type, Object data) {
+        publisher.publishEvent(LiveEvent.builder().type(type).data(data).at(LocalDateTime.now()).build());
+    }
+
+    private static boolean closedNow(PledgeSnapshot before, PledgeEntity after) {
+        return "CLOSED".equals(after.getStatus()) && !"CLOSED".equals(before.status());
+    }
+
+    private static PledgeEventData toData(PledgeEntity pledge) {
+        return PledgeEventData.builder()
+                .pledgeId(pledge.getId())
+                .customerId(pledge.getCustomer() != null ? pledge.getCustomer().getId() : pledge.getCustomerId())
+                .status(pledge.getStatus())
+                .amount(pledge.getAmount())
+                .interestRate(pledge.getInterestRate())
+                .deadline(pledge.getDeadline())
+                .build();
+    }
+
+    private static DashboardDelta dashboardDelta(PledgeSnapshot before, PledgeSnapshot after) {
+        boolean wasOpen = isOpen(before.status());
+        boolean isOpen = isOpen(after.status());
+        return DashboardDelta.builder()
+                .activePledges((isOpen ? 1 : 0) - (wasOpen ? 1 : 0))
+                .totalLoans((isOpen ? after.amount() : 0.0) - (wasOpen ? before.amount() : 0.0))
+                .monthlyInterest(monthlyInterest(after) - monthlyInterest(before))
+                .build();
+    }
+
+    private static boolean isOpen(String status) {
+        return "ACTIVE".equals(status) || "PARTIALLY_PAID".equals(status);
+    }
+
+    // Dashboard "monthly interest" only counts pledges created in the current month
+    private static double monthlyInterest(PledgeSnapshot pledge) {
+        if (pledge.createdAt() == null || !YearMonth.from(pledge.createdAt()).equals(YearMonth.now())) {
+            return 0.0;
+        }
+        return pledge.amount() * (pledge.interestRate() / 100);
+    }
+}
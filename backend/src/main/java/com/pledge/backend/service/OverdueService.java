@@ -0,0 +1,253 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.OverdueReportResponse;
+import com.pledge.backend.dto.response.PledgeEventData;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.exception.FeatureDisabledException;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.service.LiveEventPublisher.PledgeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves pledges through their overdue lifecycle.
+ *
+ * Each run does two range scans on the deadline index. Pledges whose deadline fell
+ * between the previous run and now are announced as overdue (status unchanged). Open
+ * pledges more than the grace period past their deadline are marked DEFAULTED in
+ * chunked UPDATE ... RETURNING statements; a defaulted pledge drops out of the partial
+ * open-pledge index, so the next run never sees it again. Either way a run only reads
+ * the rows that change, however large the pledges table grows.
+ *
+ * A default is not cured by a part payment: the pledge stays DEFAULTED until it is paid
+ * off (CLOSED) or renewed with a new deadline and status through a pledge update (see
+ * PaymentServiceImpl#statusAfterPayment). The engine is off by default, because its first
+ * run defaults every pledge already past the grace period; a dry run
+ * (POST /api/pledges/overdue/run?dryRun=true) counts them without changing anything.
+ */
+@Slf4j
+@Service
+public class OverdueService {
+
+    public static final String DEFAULTED = "DEFAULTED";
+
+    private static final String NEWLY_OVERDUE_SQL =
+            "SELECT id, customer_id, status, amount, interest_rate, deadline FROM pledges " +
+            "WHERE deadline > ? AND deadline <= ? AND status IN ('ACTIVE', 'PARTIALLY_PAID') ORDER BY deadline";
+
+    private static final String DEFAULT_CHUNK_SQL =
+            "UPDATE pledges p SET status = 'DEFAULTED', version = p.version + 1 " +
+            "FROM (SELECT id, status FROM pledges " +
+            "      WHERE status IN ('ACTIVE', 'PARTIALLY_PAID') AND deadline < ? " +
+            "      ORDER BY deadline LIMIT ? FOR UPDATE SKIP LOCKED) d " +
+            "WHERE p.id = d.id " +
+            "RETURNING p.id, p.customer_id, d.status AS old_status, p.amount, p.interest_rate, p.created_at, p.deadline";
+
+    private static final String COUNT_NEWLY_OVERDUE_SQL =
+            "SELECT COUNT(*) FROM pledges WHERE deadline > ? AND deadline <= ? AND status IN ('ACTIVE', 'PARTIALLY_PAID')";
+
+    private static final String COUNT_DEFAULTABLE_SQL =
+            "SELECT COUNT(*) FROM pledges WHERE status IN ('ACTIVE', 'PARTIALLY_PAID') AND deadline < ?";
+
+    private final PledgeRepository pledgeRepository;
+    private final LiveEventPublisher liveEvents;
+    private final PledgeLedgerService ledger;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final int graceDays;
+    private final int chunkSize;
+    private final int[] agingBuckets;
+
+    // Deadlines up to here have already been announced; starts at the grace cut-off
+    private volatile LocalDateTime watermark;
+
+    /**
+     * Outcome of one engine run; for a dry run, what the run would have done.
+     */
+    public record RunResult(LocalDateTime asOf, boolean dryRun, int newlyOverdue, int defaulted, int chunks,
+                            long elapsedMs) {
+    }
+
+    public OverdueService(PledgeRepository pledgeRepository,
+                          LiveEventPublisher liveEvents,
+                          PledgeLedgerService ledger,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.overdue.enabled:false}") boolean enabled,
+                          @Value("${app.overdue.grace-days:30}") int graceDays,
+                          @Value("${app.overdue.chunk-size:500}") int chunkSize,
+                          @Value("${app.overdue.aging-buckets:30,60,90}") int[] agingBuckets) {
+        this.pledgeRepository = pledgeRepository;
+        this.liveEvents = liveEvents;
+        this.ledger = ledger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.graceDays = Math.max(0, graceDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.agingBuckets = Arrays.stream(agingBuckets).filter(d -> d > 0).sorted().distinct().toArray();
+    }
+
+    @Scheduled(fixedDelayString = "${app.overdue.interval-ms:300000}",
+            initialDelayString = "${app.overdue.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RunResult result = run(false);
+            if (result.newlyOverdue() > 0 || result.defaulted() > 0) {
+                log.info("Overdue run: {}", result);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Overdue run failed; will retry next interval: {}", e.getMessage());
+        }
+    }
+
+    public synchronized RunResult run(boolean dryRun) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime graceCutoff = now.minusDays(graceDays);
+
+        LocalDateTime from = watermark != null ? watermark : graceCutoff;
+        if (dryRun) {
+            Integer newlyOverdue = jdbcTemplate.queryForObject(COUNT_NEWLY_OVERDUE_SQL, Integer.class,
+                    Timestamp.valueOf(from), Timestamp.valueOf(now));
+            Integer defaultable = jdbcTemplate.queryForObject(COUNT_DEFAULTABLE_SQL, Integer.class,
+                    Timestamp.valueOf(graceCutoff));
+            return new RunResult(now, true, newlyOverdue == null ? 0 : newlyOverdue,
+                    defaultable == null ? 0 : defaultable, 0, (System.nanoTime() - started) / 1_000_000);
+        }
+        if (!enabled) {
+            throw new FeatureDisabledException("The overdue engine is disabled (app.overdue.enabled=false); " +
+                    "use dryRun=true to see what a run would do");
+        }
+        int newlyOverdue = writeTransaction.execute(status -> {
+            List<PledgeEventData> crossed = jdbcTemplate.query(NEWLY_OVERDUE_SQL,
+                    (rs, row) -> eventData(rs, rs.getString("status")),
+                    Timestamp.valueOf(from), Timestamp.valueOf(now));
+            liveEvents.pledgesOverdue(crossed);
+            return crossed.size();
+        });
+        watermark = now;
+
+        int defaulted = 0;
+        int chunks = 0;
+        while (true) {
+            int changed = writeTransaction.execute(status -> defaultChunk(graceCutoff));
+            if (changed > 0) {
+                chunks++;
+                defaulted += changed;
+            }
+            if (changed < chunkSize) {
+                break;
+            }
+        }
+        return new RunResult(now, false, newlyOverdue, defaulted, chunks, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int defaultChunk(LocalDateTime graceCutoff) {
+        List<PledgeSnapshot> before = new ArrayList<>();
+        List<PledgeEventData> after = new ArrayList<>();
+        jdbcTemplate.query(DEFAULT_CHUNK_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            before.add(new PledgeSnapshot(rs.getString("old_status"), rs.getDouble("amount"),
+                    rs.getDouble("interest_rate"), createdAt != null ? createdAt.toLocalDateTime() : null));
+            after.add(eventData(rs, DEFAULTED));
+        }, Timestamp.valueOf(graceCutoff), chunkSize);
+        ledger.recordStatusChanges(after, LocalDateTime.now());
+        liveEvents.pledgesStatusChanged(before, after);
+        return after.size();
+    }
+
+    private static PledgeEventData eventData(ResultSet rs, String status) throws SQLException {
+        Timestamp deadline = rs.getTimestamp("deadline");
+        return PledgeEventData.builder()
+                .pledgeId(rs.getLong("id"))
+                .customerId(rs.getLong("customer_id"))
+                .status(status)
+                .amount(rs.getDouble("amount"))
+                .interestRate(rs.getDouble("interest_rate"))
+                .deadline(deadline != null ? deadline.toLocalDateTime() : null)
+                .build();
+    }
+
+    /**
+     * Open and defaulted pledges past their deadline, grouped into aging buckets.
+     */
+    @Transactional(readOnly = true)
+    public OverdueReportResponse report(Integer limit) {
+        if (limit != null && limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        LocalDateTime asOf = LocalDateTime.now();
+        List<OverdueReportResponse.Bucket> buckets = new ArrayList<>(agingBuckets.length + 1);
+        int lower = 1;
+        for (int upper : agingBuckets) {
+            buckets.add(OverdueReportResponse.Bucket.builder()
+                    .label(lower + "-" + upper).minDays(lower).maxDays(upper).build());
+            lower = upper + 1;
+        }
+        buckets.add(OverdueReportResponse.Bucket.builder().label(lower + "+").minDays(lower).build());
+
+        List<PledgeEntity> pledges = pledgeRepository.findOverdue(asOf);
+        List<OverdueReportResponse.Item> items = new ArrayList<>();
+        double totalAmount = 0.0;
+        for (PledgeEntity pledge : pledges) {
+            // A deadline earlier today is one day overdue
+            long days = Math.max(1L, ChronoUnit.DAYS.between(pledge.getDeadline().toLocalDate(), asOf.toLocalDate()));
+            OverdueReportResponse.Bucket bucket = buckets.get(bucketIndex(days));
+            double amount = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.setAmount(bucket.getAmount() + amount);
+            totalAmount += amount;
+            if (limit == null || items.size() < limit) {
+                items.add(OverdueReportResponse.Item.builder()
+                        .pledgeId(pledge.getId())
+                        .customerId(pledge.getCustomerId())
+                        .customerName(pledge.getCustomer() != null ? pledge.getCustomer().getName() : null)
+                        .customerPhone(pledge.getCustomer() != null ? pledge.getCustomer().getPhone() : null)
+                        .status(pledge.getStatus())
+                        .amount(pledge.getAmount())
+                        .deadline(pledge.getDeadline())
+                        .daysOverdue(days)
+                        .bucket(bucket.getLabel())
+                        .build());
+            }
+        }
+
+        return OverdueReportResponse.builder()
+                .asOf(asOf)
+                .graceDays(graceDays)
+                .totalCount(pledges.size())
+                .totalAmount(totalAmount)
+                .buckets(buckets)
+                .pledges(items)
+                .build();
+    }
+
+    private int bucketIndex(long days) {
+        for (int i = 0; i < agingBuckets.length; i++) {
+            if (days <= agingBuckets[i]) {
+                return i;
+            }
+        }
+        return agingBuckets.length;
+    }
+}
@@ -1,11 +1,14 @@
 package com.pledge.backend.service;
 
+import com.pledge.backend.dto.request.PaymentBatchRequest;
 import com.pledge.backend.dto.request.PaymentCreateRequest;
+import com.pledge.backend.dto.response.PaymentBatchResponse;
 import com.pledge.backend.dto.response.PaymentResponse;
 import java.util.List;
 
 public interface PaymentService {
     PaymentResponse createPayment(PaymentCreateRequest request);
+    PaymentBatchResponse createPayments(PaymentBatchRequest request);
     List<PaymentResponse> getPaymentsByPledgeId(Long pledgeId);
     Double getTotalPaymentsByPledgeId(Long pledgeId);
     PaymentResponse getPaymentById(Long id);
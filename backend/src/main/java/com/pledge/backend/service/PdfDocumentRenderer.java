@@ -0,0 +1,290 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.entity.PaymentEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.util.IndianNumberFormat;
+import com.pledge.backend.util.InterestCalculator;
+import com.pledge.backend.util.PdfStreamWriter;
+import com.pledge.backend.util.PdfStreamWriter.Font;
+import com.pledge.backend.util.TextTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lays out pledge tickets and customer statements as PDF.
+ *
+ * All wording lives in precompiled {@link TextTemplate}s and pages are streamed through
+ * {@link PdfStreamWriter}, so a statement with hundreds of rows is written page by page
+ * without holding the document in memory. Interest is accrued with the same rule as
+ * payments ({@link InterestCalculator#accruedInterest}).
+ */
+@Component
+public class PdfDocumentRenderer {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final TextTemplate TICKET_TITLE = TextTemplate.compile("Pledge Ticket #{0}");
+    private static final TextTemplate STATEMENT_TITLE = TextTemplate.compile("Customer Statement: {0} to {1}");
+    private static final TextTemplate GENERATED = TextTemplate.compile("Generated {0}");
+    private static final TextTemplate CUSTOMER = TextTemplate.compile("Customer: {0} (#{1})");
+    private static final TextTemplate CONTACT = TextTemplate.compile("Phone: {0}   Email: {1}");
+    private static final TextTemplate ADDRESS = TextTemplate.compile("Address: {0}");
+    private static final TextTemplate ITEM = TextTemplate.compile("Item: {0}   Type: {1}   Weight: {2} g   Purity: {3}");
+    private static final TextTemplate TERMS = TextTemplate.compile("Pledged {0}   Due {1}   Rate {2}% per month   Status {3}");
+    private static final TextTemplate LABEL_VALUE = TextTemplate.compile("{0}: {1}");
+    private static final TextTemplate PLEDGE_ROW = TextTemplate.compile("#{0}  {1}");
+    private static final TextTemplate PLEDGE_DETAIL = TextTemplate.compile("{0}   {1}%   {2}   accrual from {3} ({4} days)");
+    private static final TextTemplate PAYMENT_ROW = TextTemplate.compile("{0}   Pledge #{1}   {2}");
+    private static final TextTemplate PAGE_FOOTER = TextTemplate.compile("{0}   Page {1}");
+
+    private static final float MARGIN = 50f;
+    private static final float LINE = 15f;
+    private static final float RIGHT = PdfStreamWriter.PAGE_WIDTH - MARGIN;
+
+    private final String businessName;
+    private final PdfStreamWriter.Fonts fonts;
+
+    public PdfDocumentRenderer(@Value("${app.documents.business-name:Gode Jewellers}") String businessName,
+                               PdfStreamWriter.Fonts fonts) {
+        this.businessName = businessName;
+        this.fonts = fonts;
+    }
+
+    public void writeTicket(PledgeEntity pledge, List<PaymentEntity> payments, LocalDateTime asOf, OutputStream out)
+            throws IOException {
+        try (Page page = new Page(new PdfStreamWriter(out, fonts))) {
+            CustomerEntity customer = pledge.getCustomer();
+            page.heading(TICKET_TITLE.render(pledge.getId()));
+            page.small(GENERATED.render(DATE.format(asOf)));
+            page.gap();
+            customerBlock(page, customer);
+            page.gap();
+            page.text(ITEM.render(orDash(pledge.getTitle()), orDash(pledge.getItemType()),
+                    pledge.getWeight() == null ? "-" : pledge.getWeight(), orDash(pledge.getPurity())));
+            page.text(TERMS.render(date(pledge.getCreatedAt()), date(pledge.getDeadline()),
+                    pledge.getInterestRate(), orDash(pledge.getStatus())));
+            if (pledge.getDescription() != null && !pledge.getDescription().isBlank()) {
+                page.text(LABEL_VALUE.render("Description", pledge.getDescription()));
+            }
+            page.gap();
+
+            LocalDateTime lastPayment = payments.stream().map(PaymentEntity::getPaymentDate)
+                    .max(LocalDateTime::compareTo).orElse(null);
+            Accrual accrual = accrue(pledge, lastPayment, asOf);
+            page.amount("Principal outstanding", accrual.principal);
+            page.amount("Interest accrued (" + accrual.days + " days)", accrual.interest);
+            page.amountBold("Amount to redeem", accrual.principal + accrual.interest);
+            page.gap();
+
+            page.section("Payments");
+            double totalPaid = 0;
+            for (PaymentEntity payment : payments) {
+                page.row(PAYMENT_ROW.render(date(payment.getPaymentDate()), pledge.getId(), orDash(payment.getPaymentType())),
+                        money(payment.getAmount()));
+                totalPaid += payment.getAmount() == null ? 0 : payment.getAmount();
+            }
+            if (payments.isEmpty()) {
+                page.text("No payments recorded.");
+            }
+            page.amountBold("Total paid", totalPaid);
+        }
+    }
+
+    /**
+     * @param payments every payment of the customer up to {@code to}, ordered by date
+     */
+    public void writeStatement(CustomerEntity customer, List<PledgeEntity> pledges, List<PaymentEntity> payments,
+                               LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (Page page = new Page(new PdfStreamWriter(out, fonts))) {
+            page.heading(STATEMENT_TITLE.render(date(from), date(to)));
+            page.small(GENERATED.render(DATE.format(LocalDateTime.now())));
+            page.gap();
+            customerBlock(page, customer);
+            page.gap();
+
+            Map<Long, LocalDateTime> lastPayments = new HashMap<>();
+            for (PaymentEntity payment : payments) {
+                if (!payment.getPaymentDate().isAfter(to)) {
+                    lastPayments.merge(payment.getPledge().getId(), payment.getPaymentDate(),
+                            (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+
+            page.section("Pledges");
+            double totalPrincipal = 0;
+            double totalInterest = 0;
+            for (PledgeEntity pledge : pledges) {
+                if (pledge.getCreatedAt() != null && pledge.getCreatedAt().isAfter(to)) {
+                    continue;
+                }
+                boolean open = !"CLOSED".equals(pledge.getStatus());
+                Accrual accrual = open ? accrue(pledge, lastPayments.get(pledge.getId()), to) : Accrual.NONE;
+                page.row(PLEDGE_ROW.render(pledge.getId(), orDash(pledge.getTitle())), money(accrual.principal + accrual.interest));
+                page.small(PLEDGE_DETAIL.render(orDash(pledge.getStatus()), pledge.getInterestRate(),
+                        "principal " + money(accrual.principal) + ", interest " + money(accrual.interest),
+                        date(accrual.start), accrual.days));
+                totalPrincipal += accrual.principal;
+                totalInterest += accrual.interest;
+            }
+            page.gap();
+
+            page.section("Payments in period");
+            double paidInPeriod = 0;
+            int count = 0;
+            for (PaymentEntity payment : payments) {
+                LocalDateTime when = payment.getPaymentDate();
+                if (when.isBefore(from) || when.isAfter(to)) {
+                    continue;
+                }
+                page.row(PAYMENT_ROW.render(date(when), payment.getPledge().getId(), orDash(payment.getPaymentType())),
+                        money(payment.getAmount()));
+                paidInPeriod += payment.getAmount() == null ? 0 : payment.getAmount();
+                count++;
+            }
+            if (count == 0) {
+                page.text("No payments in this period.");
+            }
+            page.gap();
+
+            page.section("Summary");
+            page.amount("Paid in period", paidInPeriod);
+            page.amount("Principal outstanding", totalPrincipal);
+            page.amount("Interest accrued to " + date(to), totalInterest);
+            page.amountBold("Total due", totalPrincipal + totalInterest);
+        }
+    }
+
+    private void customerBlock(Page page, CustomerEntity customer) throws IOException {
+        if (customer == null) {
+            return;
+        }
+        page.bold(CUSTOMER.render(customer.getName(), customer.getId()));
+        page.text(CONTACT.render(orDash(customer.getPhone()), orDash(customer.getEmail())));
+        if (customer.getAddress() != null && !customer.getAddress().isBlank()) {
+            page.text(ADDRESS.render(customer.getAddress()));
+        }
+    }
+
+    private record Accrual(double principal, double interest, long days, LocalDateTime start) {
+        static final Accrual NONE = new Accrual(0, 0, 0, null);
+    }
+
+    private static Accrual accrue(PledgeEntity pledge, LocalDateTime lastPayment, LocalDateTime asOf) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        double rate = pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate();
+        LocalDateTime start = lastPayment != null ? lastPayment : pledge.getCreatedAt();
+        if (start == null) {
+            return new Accrual(principal, 0, 0, null);
+        }
+        long days = Math.max(0L, ChronoUnit.DAYS.between(start, asOf));
+        return new Accrual(principal, InterestCalculator.accruedInterest(principal, rate, days), days, start);
+    }
+
+    static String money(Double amount) {
+        double value = amount == null ? 0.0 : amount;
+        long paise = Math.round(Math.abs(value) * 100);
+        String text = "Rs. " + IndianNumberFormat.format(paise / 100) + "." + String.format(Locale.ROOT, "%02d", paise % 100);
+        return value < 0 ? "-" + text : text;
+    }
+
+    private static String date(LocalDateTime value) {
+        return value == null ? "-" : DATE.format(value);
+    }
+
+    private static Object orDash(String value) {
+        return value == null || value.isBlank() ? "-" : value;
+    }
+
+    /**
+     * Cursor over the current page: moves down a line at a time and starts a new page
+     * (with the running footer) when the bottom margin is reached.
+     */
+    private final class Page implements AutoCloseable {
+        private final PdfStreamWriter pdf;
+        private float y;
+
+        Page(PdfStreamWriter pdf) throws IOException {
+            this.pdf = pdf;
+            newPage();
+        }
+
+        void heading(String text) throws IOException {
+            advance(LINE * 1.5f);
+            pdf.text(MARGIN, y, Font.BOLD, 16, text);
+        }
+
+        void section(String text) throws IOException {
+            advance(LINE * 1.2f);
+            pdf.text(MARGIN, y, Font.BOLD, 12, text);
+            pdf.line(MARGIN, y - 4, RIGHT, y - 4, 0.5f);
+            advance(4);
+        }
+
+        void text(String text) throws IOException {
+            advance(LINE);
+            pdf.text(MARGIN, y, Font.REGULAR, 10, text);
+        }
+
+        void bold(String text) throws IOException {
+            advance(LINE);
+            pdf.text(MARGIN, y, Font.BOLD, 10, text);
+        }
+
+        void small(String text) throws IOException {
+            advance(LINE * 0.9f);
+            pdf.text(MARGIN + 12, y, Font.REGULAR, 8, text);
+        }
+
+        void row(String left, String right) throws IOException {
+            advance(LINE);
+            pdf.text(MARGIN, y, Font.REGULAR, 10, left);
+            pdf.text(RIGHT - pdf.textWidth(Font.REGULAR, 10, right), y, Font.REGULAR, 10, right);
+        }
+
+        void amount(String label, double value) throws IOException {
+            row(label, money(value));
+        }
+
+        void amountBold(String label, double value) throws IOException {
+            advance(LINE);
+            String right = money(value);
+            pdf.text(MARGIN, y, Font.BOLD, 10, label);
+            pdf.text(RIGHT - pdf.textWidth(Font.BOLD, 10, right), y, Font.BOLD, 10, right);
+        }
+
+        void gap() {
+            y -= LINE / 2;
+        }
+
+        private void advance(float height) throws IOException {
+            if (y - height < MARGIN + LINE) {
+                newPage();
+            }
+            y -= height;
+        }
+
+        private void newPage() throws IOException {
+            pdf.beginPage();
+            pdf.text(MARGIN, MARGIN - 20, Font.REGULAR, 8, PAGE_FOOTER.render(businessName, pdf.getPageCount()));
+            y = PdfStreamWriter.PAGE_HEIGHT - MARGIN;
+            pdf.text(MARGIN, y, Font.BOLD, 10, businessName);
+            y -= LINE / 2;
+        }
+
+        @Override
+        public void close() throws IOException {
+            pdf.close();
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.dto.response.PledgeEventData;
+import com.pledge.backend.dto.response.PledgeResponse;
+import com.pledge.backend.exception.FeatureDisabledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for pledges that have been CLOSED for longer than app.archive.retention-days.
+ *
+ * Each run moves such pledges, with their payments and transactions, out of the hot
+ * tables into gzip NDJSON segment files under app.archive.directory: one line per pledge
+ * holding the pledge row and its payment and transaction rows as stored. A segment is a
+ * series of independently compressed blocks (concatenated gzip members, so the file
+ * still reads as one .ndjson.gz), and pledge_archive_index keeps the customer and the
+ * block of every archived pledge. A lookup by id or customer is one indexed query plus
+ * one small read and decompress per block; responses served from here carry storage
+ * tier ARCHIVE.
+ *
+ * A segment is fsynced and renamed into place before the transaction that deletes the
+ * hot rows commits, and removed again if that transaction does not commit, so a pledge
+ * is always in exactly one place. Closing time is taken as the pledge's last activity:
+ * its last update, last payment or creation. Archived pledges are read-only; their
+ * balance ledger events stay, and their report figures move to report_rollups_archived.
+ * Archiving leaves no sync tombstones, so offline clients keep their copies; it publishes
+ * a pledge.archived {@link com.pledge.backend.dto.response.LiveEvent} per pledge instead,
+ * which is how the in-memory {@link PledgeBook} learns to drop them.
+ */
+@Slf4j
+@Service
+public class PledgeArchiveService {
+
+    public static final String HOT = "HOT";
+    public static final String ARCHIVE = "ARCHIVE";
+
+    private static final String LAST_ACTIVITY =
+            "GREATEST(p.created_at, p.updated_at, (SELECT MAX(pay.payment_date) FROM payments pay WHERE pay.pledge_id = p.id))";
+
+    private static final String CANDIDATES_SQL =
+            "SELECT p.id FROM pledges p WHERE p.status = 'CLOSED' AND " + LAST_ACTIVITY + " < ? " +
+            "ORDER BY p.id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String RECORDS_SQL =
+            "SELECT p.id, p.customer_id, p.status, p.amount, p.interest_rate, p.deadline, " + LAST_ACTIVITY + " AS closed_at, " +
+            "       CAST(jsonb_build_object('id', p.id, " +
+            "         'pledge', to_jsonb(p) - 'search_vector' - 'change_xid', " +
+            "         'payments', COALESCE((SELECT jsonb_agg(to_jsonb(pay) - 'change_xid' ORDER BY pay.payment_date, pay.id) " +
+            "                               FROM payments pay WHERE pay.pledge_id = p.id), '[]'), " +
+            "         'transactions', COALESCE((SELECT jsonb_agg(to_jsonb(t) ORDER BY t.transaction_date, t.id) " +
+            "                                   FROM transactions t WHERE t.pledge_id = p.id), '[]')) AS text) AS record " +
+            "FROM pledges p WHERE p.id IN (:ids) ORDER BY p.id";
+
+    private static final String INSERT_INDEX_SQL =
+            "INSERT INTO pledge_archive_index (pledge_id, customer_id, segment, block_offset, block_length, closed_at, archived_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter SEGMENT_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ReportRollupService rollups;
+    private final LiveEventPublisher liveEvents;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final Path directory;
+    private final int batchSize;
+    private final int blockSize;
+
+    /**
+     * Outcome of one archival run.
+     */
+    public record RunResult(LocalDateTime closedBefore, int pledges, int payments, int transactions,
+                            List<String> segments, long elapsedMs) {
+    }
+
+    private record Candidate(long id, Long customerId, PledgeEventData event, LocalDateTime closedAt, String record) {
+    }
+
+    // One gzip member of a segment
+    private record Block(String segment, long offset, int length) {
+    }
+
+    private record IndexEntry(long pledgeId, Block block) {
+    }
+
+    public PledgeArchiveService(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedJdbc,
+                                ReportRollupService rollups,
+                                LiveEventPublisher liveEvents,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.archive.enabled:false}") boolean enabled,
+                                @Value("${app.archive.retention-days:365}") int retentionDays,
+                                @Value("${app.archive.directory:./archive}") String directory,
+                                @Value("${app.archive.batch-size:500}") int batchSize,
+                                @Value("${app.archive.block-size:64}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = namedJdbc;
+        this.rollups = rollups;
+        this.liveEvents = liveEvents;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.directory = Paths.get(directory);
+        this.batchSize = Math.max(1, batchSize);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RunResult result = run();
+            if (result.pledges() > 0) {
+                log.info("Archive run: {}", result);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Archive run failed; pledges stay in the hot tables until the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive every pledge past retention, app.archive.batch-size pledges per segment
+     * and transaction. Refused while app.archive.enabled is false, as the schedule is.
+     */
+    public synchronized RunResult run() {
+        if (!enabled) {
+            throw new FeatureDisabledException("Archiving is disabled (app.archive.enabled=false)");
+        }
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int pledges = 0;
+        int payments = 0;
+        int transactions = 0;
+        List<String> segments = new ArrayList<>();
+        while (true) {
+            int[] moved = writeTransaction.execute(status -> archiveBatch(cutoff, segments));
+            pledges += moved[0];
+            payments += moved[1];
+            transactions += moved[2];
+            if (moved[0] < batchSize) {
+                break;
+            }
+        }
+        return new RunResult(cutoff, pledges, payments, transactions, segments,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * An archived pledge by id, or empty if it was never archived.
+     */
+    public Optional<PledgeResponse> findPledge(Long pledgeId) {
+        return findRecord(pledgeId).map(record -> toResponse(record.path("pledge")));
+    }
+
+    /**
+     * A customer's archived pledges, oldest first.
+     */
+    public List<PledgeResponse> findByCustomer(Long customerId) {
+        List<IndexEntry> entries = jdbcTemplate.query(
+                "SELECT pledge_id, segment, block_offset, block_length FROM pledge_archive_index " +
+                "WHERE customer_id = ? ORDER BY pledge_id",
+                PledgeArchiveService::indexEntry, customerId);
+        return read(entries).stream().map(record -> toResponse(record.path("pledge"))).toList();
+    }
+
+    /**
+     * The full archived record of a pledge: the pledge row and its payment and
+     * transaction rows as they were stored, with column names as keys.
+     */
+    public Optional<JsonNode> findRecord(Long pledgeId) {
+        List<IndexEntry> entries = jdbcTemplate.query(
+                "SELECT pledge_id, segment, block_offset, block_length FROM pledge_archive_index WHERE pledge_id = ?",
+                PledgeArchiveService::indexEntry, pledgeId);
+        return read(entries).stream().findFirst();
+    }
+
+    private int[] archiveBatch(LocalDateTime cutoff, List<String> segments) {
+        List<Long> ids = jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return new int[3];
+        }
+        List<Candidate> candidates = namedJdbc.query(RECORDS_SQL, Map.of("ids", ids),
+                (rs, row) -> new Candidate(rs.getLong("id"), rs.getObject("customer_id", Long.class),
+                        PledgeEventData.builder()
+                                .pledgeId(rs.getLong("id"))
+                                .customerId(rs.getObject("customer_id", Long.class))
+                                .status(rs.getString("status"))
+                                .amount(rs.getObject("amount", Double.class))
+                                .interestRate(rs.getObject("interest_rate", Double.class))
+                                .deadline(rs.getObject("deadline", LocalDateTime.class))
+                                .build(),
+                        rs.getObject("closed_at", LocalDateTime.class), rs.getString("record")));
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        String segment = "pledges-" + archivedAt.format(SEGMENT_STAMP) + "-" + ids.get(0) + ".ndjson.gz";
+        Path file = directory.resolve(segment);
+        List<IndexEntry> entries = writeSegment(file, segment, candidates);
+        // From here on the segment exists; it must not outlive a rollback
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+
+        List<Object[]> rows = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            Block block = entries.get(i).block();
+            rows.add(new Object[]{candidate.id(), candidate.customerId(), segment, block.offset(), block.length(),
+                    candidate.closedAt(), archivedAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_INDEX_SQL, rows);
+        rollups.retainArchived(ids);
+        // The pledges are moving, not going away: no sync tombstones for these deletes (V17)
+        jdbcTemplate.execute("SET LOCAL app.sync_suppress = 'on'");
+        Map<String, Object> params = Map.of("ids", ids);
+        int transactions = namedJdbc.update("DELETE FROM transactions WHERE pledge_id IN (:ids)", params);
+        int payments = namedJdbc.update("DELETE FROM payments WHERE pledge_id IN (:ids)", params);
+        int pledges = namedJdbc.update("DELETE FROM pledges WHERE id IN (:ids)", params);
+        // Without tombstones the book's change query never sees these deletes; the events tell it after commit
+        liveEvents.pledgesArchived(candidates.stream().map(Candidate::event).toList());
+        segments.add(segment);
+        return new int[]{pledges, payments, transactions};
+    }
+
+    /**
+     * Writes the records app.archive.block-size lines per gzip member and returns the
+     * block of each, in order. The file only appears under its final name once it is on disk.
+     */
+    private List<IndexEntry> writeSegment(Path file, String segment, List<Candidate> candidates) {
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        List<IndexEntry> entries = new ArrayList<>(candidates.size());
+        try {
+            Files.createDirectories(directory);
+            try (FileOutputStream out = new FileOutputStream(partial.toFile())) {
+                long offset = 0;
+                for (int from = 0; from < candidates.size(); from += blockSize) {
+                    List<Candidate> lines = candidates.subList(from, Math.min(from + blockSize, candidates.size()));
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                        for (Candidate candidate : lines) {
+                            gzip.write(candidate.record().getBytes(StandardCharsets.UTF_8));
+                            gzip.write('\n');
+                        }
+                    }
+                    bytes.writeTo(out);
+                    Block block = new Block(segment, offset, bytes.size());
+                    lines.forEach(candidate -> entries.add(new IndexEntry(candidate.id(), block)));
+                    offset += bytes.size();
+                }
+                out.getFD().sync();
+            }
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+            return entries;
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            throw new UncheckedIOException("Could not write archive segment " + file, e);
+        }
+    }
+
+    // Reads each block once, keeping the records the entries point at in entry order
+    private List<JsonNode> read(List<IndexEntry> entries) {
+        Map<Block, Set<Long>> wanted = new LinkedHashMap<>();
+        entries.forEach(entry -> wanted.computeIfAbsent(entry.block(), b -> new HashSet<>()).add(entry.pledgeId()));
+        Map<Long, JsonNode> found = new HashMap<>();
+        wanted.forEach((block, ids) -> {
+            for (String line : readBlock(block)) {
+                JsonNode record = parse(line);
+                if (ids.contains(record.path("id").asLong())) {
+                    found.put(record.path("id").asLong(), record);
+                }
+            }
+        });
+        List<JsonNode> records = new ArrayList<>(entries.size());
+        for (IndexEntry entry : entries) {
+            JsonNode record = found.get(entry.pledgeId());
+            if (record == null) {
+                throw new IllegalStateException("Archived pledge " + entry.pledgeId() + " is missing from segment " +
+                        entry.block().segment());
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private List<String> readBlock(Block block) {
+        Path file = directory.resolve(block.segment());
+        ByteBuffer buffer = ByteBuffer.allocate(block.length());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.offset() + buffer.position()) < 0) {
+                    throw new IOException("Segment ends before the indexed block");
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    lines.add(line);
+                }
+            }
+            return lines;
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Archive segment " + block.segment() + " is missing from " + directory.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive segment " + block.segment(), e);
+        }
+    }
+
+    private static IndexEntry indexEntry(ResultSet rs, int row) throws SQLException {
+        return new IndexEntry(rs.getLong("pledge_id"),
+                new Block(rs.getString("segment"), rs.getLong("block_offset"), rs.getInt("block_length")));
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt archive record", e);
+        }
+    }
+
+    private static PledgeResponse toResponse(JsonNode pledge) {
+        PledgeResponse response = new PledgeResponse();
+        response.setId(longValue(pledge, "id"));
+        response.setCustomerId(longValue(pledge, "customer_id"));
+        response.setTitle(text(pledge, "title"));
+        response.setDescription(text(pledge, "description"));
+        response.setAmount(doubleValue(pledge, "amount"));
+        response.setInterestRate(doubleValue(pledge, "interest_rate"));
+        response.setCreatedAt(dateTime(pledge, "created_at"));
+        response.setDeadline(dateTime(pledge, "deadline"));
+        response.setPledgeDuration(pledge.hasNonNull("pledge_duration") ? pledge.get("pledge_duration").asInt() : null);
+        response.setStatus(text(pledge, "status"));
+        response.setItemType(text(pledge, "item_type"));
+        response.setWeight(doubleValue(pledge, "weight"));
+        response.setPurity(text(pledge, "purity"));
+        response.setNotes(text(pledge, "notes"));
+        response.setCustomerPhoto(text(pledge, "customer_photo"));
+        response.setItemPhoto(text(pledge, "item_photo"));
+        response.setReceiptPhoto(text(pledge, "receipt_photo"));
+        // Closed pledges accrue nothing
+        response.setRemainingAmount(response.getAmount());
+        response.setStorageTier(ARCHIVE);
+        return response;
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static Long longValue(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asLong() : null;
+    }
+
+    private static Double doubleValue(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asDouble() : null;
+    }
+
+    private static LocalDateTime dateTime(JsonNode node, String field) {
+        return node.hasNonNull(field) ? LocalDateTime.parse(node.get(field).asText()) : null;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not remove archive segment {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,1069 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.BookConsistencyResponse;
+import com.pledge.backend.dto.response.BookStatusResponse;
+import com.pledge.backend.dto.response.CustomerEventData;
+import com.pledge.backend.dto.response.CustomerPortfolioResponse;
+import com.pledge.backend.dto.response.DashboardStatsResponse;
+import com.pledge.backend.dto.response.LiveEvent;
+import com.pledge.backend.dto.response.PaymentEventData;
+import com.pledge.backend.dto.response.PledgeEventData;
+import com.pledge.backend.dto.response.PledgeResponse;
+import com.pledge.backend.dto.response.PledgeSearchResponse;
+import com.pledge.backend.entity.CustomerEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.util.InterestCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory read model of the book: every live pledge (archived ones are no longer in
+ * the pledges table), every customer, and a payment summary (last date, total, count)
+ * per pledge.
+ *
+ * Enabled with app.read-model.enabled=true, in which case the pledge listings, search,
+ * dashboard stats and customer portfolio are answered from it, in the same shapes as
+ * the database path (see the services behind those endpoints). The book is loaded at
+ * startup and kept current from committed {@link LiveEvent}s: the pledge and customer
+ * ids they name are queued and re-read in one batch every app.read-model.refresh-ms.
+ * Each refresh also re-reads rows whose change stamp (see {@link SyncService}) is past
+ * the previous refresh's mark, which picks up writes made outside the application, and
+ * the book is reloaded in full on app.read-model.full-reload-cron. All reads go to the
+ * primary (never the replica) so a refresh always sees the commit that triggered it,
+ * and a read applies any queued changes first, so the application's own writes are
+ * visible to the next request.
+ *
+ * Readers take one immutable {@link Book} and answer entirely from it, so a response
+ * never mixes two refreshes. Rows are held in id-sorted arrays searched with a binary
+ * search (no boxed keys); a refresh merges its changes into a new copy and swaps it in.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.read-model.enabled", havingValue = "true")
+public class PledgeBook {
+
+    // Missing timestamp or id in the packed rows; missing numbers are NaN
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int ID_BATCH = 1000;
+    private static final int MAX_LISTED_DIFFERENCES = 100;
+    private static final int MAX_RECHECKED_DIFFERENCES = 10_000;
+    private static final int SNIPPET_WORDS = 18;
+
+    private static final String PLEDGE_COLUMNS =
+            "SELECT p.id, p.customer_id, p.title, p.description, p.notes, p.item_type, p.weight, p.purity, p.status, " +
+            "p.amount, p.interest_rate, p.created_at, p.deadline, p.pledge_duration, p.market_value, p.ltv, " +
+            "p.customer_photo, p.item_photo, p.receipt_photo, " +
+            "s.last_payment_date, s.total_paid, s.payment_count FROM pledges p ";
+
+    // Whole book: one grouped pass over payments. Sums are taken as numeric so this and
+    // SOME_PLEDGES_SQL agree to the last digit whatever order the rows are added in.
+    private static final String ALL_PLEDGES_SQL = PLEDGE_COLUMNS +
+            "LEFT JOIN (SELECT pledge_id, MAX(payment_date) AS last_payment_date, SUM(CAST(amount AS numeric)) AS total_paid, " +
+            "COUNT(*) AS payment_count FROM payments GROUP BY pledge_id) s ON s.pledge_id = p.id " +
+            "ORDER BY p.id";
+
+    // A few pledges: per-pledge lookups on idx_payments_pledge_date
+    private static final String SOME_PLEDGES_SQL = PLEDGE_COLUMNS +
+            "LEFT JOIN LATERAL (SELECT MAX(pay.payment_date) AS last_payment_date, SUM(CAST(pay.amount AS numeric)) AS total_paid, " +
+            "COUNT(*) AS payment_count FROM payments pay WHERE pay.pledge_id = p.id) s ON true " +
+            "WHERE ";
+
+    private static final String CUSTOMER_COLUMNS =
+            "SELECT c.id, c.name, c.phone, c.email, c.address, c.created_at, c.is_active FROM customers c ";
+
+    // Ids stamped by SyncService's change triggers at or after a transaction id; C = customer, P = pledge
+    private static final String CHANGED_SQL =
+            "SELECT 'C', id FROM customers WHERE change_xid >= CAST(? AS xid8) " +
+            "UNION ALL SELECT 'P', id FROM pledges WHERE change_xid >= CAST(? AS xid8) " +
+            "UNION ALL SELECT 'P', pledge_id FROM payments WHERE change_xid >= CAST(? AS xid8) " +
+            "UNION ALL SELECT CASE entity WHEN 'customers' THEN 'C' ELSE 'P' END, COALESCE(parent_id, entity_id) " +
+            "FROM sync_tombstones WHERE change_xid >= CAST(? AS xid8)";
+
+    record PledgeRow(long id, long customerId, String title, String description, String notes, String itemType,
+                     double weight, String purity, String status, double amount, double interestRate, long createdAt,
+                     long deadline, Integer pledgeDuration, double marketValue, double ltv, String customerPhoto,
+                     String itemPhoto, String receiptPhoto, long lastPaymentDate, double totalPaid, long paymentCount) {
+    }
+
+    record CustomerRow(long id, String name, String phone, String email, String address, long createdAt,
+                       Boolean active) {
+    }
+
+    private record Match(PledgeRow row, CustomerRow customer, float rank) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate loadTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final ReportRollupService rollups;
+    private final SyncService sync;
+
+    private final Set<Long> dirtyPledges = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyCustomers = ConcurrentHashMap.newKeySet();
+
+    private volatile Book book;
+    private volatile long lastLoadMs;
+
+    public PledgeBook(JdbcTemplate jdbcTemplate,
+                      NamedParameterJdbcTemplate namedJdbc,
+                      PlatformTransactionManager transactionManager,
+                      ReportRollupService rollups,
+                      SyncService sync,
+                      @Value("${app.read-model.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbc = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbc.setFetchSize(Math.max(100, fetchSize));
+        this.namedJdbc = namedJdbc;
+        this.rollups = rollups;
+        this.sync = sync;
+        // Pledges, customers and the change mark from one snapshot; not read-only so the replica is never used
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Could not load the in-memory pledge book; it will be loaded on first use", e);
+        }
+    }
+
+    /**
+     * Queue the pledges and customers named by a committed event for the next refresh.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEvent(LiveEvent event) {
+        Object data = event.getData();
+        if (data instanceof PledgeEventData pledge && pledge.getPledgeId() != null) {
+            dirtyPledges.add(pledge.getPledgeId());
+        } else if (data instanceof PaymentEventData payment && payment.getPledgeId() != null) {
+            dirtyPledges.add(payment.getPledgeId());
+        } else if (data instanceof CustomerEventData customer && customer.getCustomerId() != null) {
+            dirtyCustomers.add(customer.getCustomerId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-model.refresh-ms:1000}",
+            initialDelayString = "${app.read-model.refresh-ms:1000}")
+    public void refresh() {
+        try {
+            if (book != null) {
+                applyChanges();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pledge book refresh failed; will retry: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.read-model.full-reload-cron:0 15 4 * * *}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Scheduled pledge book reload failed; keeping the current book", e);
+        }
+    }
+
+    /**
+     * Reload everything from the database and swap the new book in.
+     */
+    public synchronized BookStatusResponse reload() {
+        long started = System.nanoTime();
+        Book current = book;
+        Book loaded = loadTransaction.execute(status -> {
+            // First statement, so the mark is no later than the snapshot the rows are read from
+            long mark = sync.stableXid();
+            List<PledgeRow> pledges = new ArrayList<>();
+            streamingJdbc.query(ALL_PLEDGES_SQL, rs -> {
+                pledges.add(pledgeRow(rs));
+            });
+            List<CustomerRow> customers = new ArrayList<>();
+            streamingJdbc.query(CUSTOMER_COLUMNS + "ORDER BY c.id", rs -> {
+                customers.add(customerRow(rs));
+            });
+            LocalDateTime now = LocalDateTime.now();
+            return new Book(current != null ? current.version + 1 : 1, now, now, mark,
+                    Table.sorted(pledges, PledgeRow::id), Table.sorted(customers, CustomerRow::id));
+        });
+        book = loaded;
+        lastLoadMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Loaded pledge book v{}: {} pledges, {} customers in {} ms",
+                loaded.version, loaded.pledges.size(), loaded.customers.size(), lastLoadMs);
+        return status(loaded);
+    }
+
+    /**
+     * Re-read everything queued since the last refresh, plus rows stamped since the last mark,
+     * and swap in a new book if anything changed.
+     */
+    private synchronized Book applyChanges() {
+        Book current = book;
+        if (current == null) {
+            return current();
+        }
+        List<Long> pledgeIds = drain(dirtyPledges);
+        List<Long> customerIds = drain(dirtyCustomers);
+        try {
+            Book next = refreshTransaction.execute(status -> changed(current, pledgeIds, customerIds));
+            if (next != current) {
+                book = next;
+                log.debug("Pledge book v{}: {} pledge and {} customer changes", next.version,
+                        pledgeIds.size(), customerIds.size());
+            }
+            return next;
+        } catch (RuntimeException e) {
+            dirtyPledges.addAll(pledgeIds);
+            dirtyCustomers.addAll(customerIds);
+            throw e;
+        }
+    }
+
+    private Book changed(Book current, List<Long> pledgeIds, List<Long> customerIds) {
+        long mark = sync.stableXid();
+        Set<Long> customersToRead = new HashSet<>(customerIds);
+        Set<Long> pledgesToRead = new HashSet<>(pledgeIds);
+        // Rows stamped since the last refresh, including writes made outside the application
+        String since = Long.toString(current.changeMark);
+        jdbcTemplate.query(CHANGED_SQL, (ResultSet rs) -> {
+            ("C".equals(rs.getString(1)) ? customersToRead : pledgesToRead).add(rs.getLong(2));
+        }, since, since, since, since);
+
+        TreeMap<Long, CustomerRow> customerChanges = new TreeMap<>();
+        customersToRead.forEach(id -> customerChanges.put(id, null));
+        queryByIds(CUSTOMER_COLUMNS + "WHERE c.id IN (:ids)", new ArrayList<>(customersToRead), this::customerRow,
+                row -> customerChanges.put(row.id(), row));
+
+        TreeMap<Long, PledgeRow> pledgeChanges = new TreeMap<>();
+        pledgesToRead.forEach(id -> pledgeChanges.put(id, null));
+        // Pledges of removed customers may have gone with them
+        customerChanges.forEach((id, row) -> {
+            if (row == null) {
+                current.forEachPledgeOf(id, pledge -> pledgeChanges.put(pledge.id(), null));
+            }
+        });
+        queryByIds(SOME_PLEDGES_SQL + "p.id IN (:ids)", new ArrayList<>(pledgeChanges.keySet()), this::pledgeRow,
+                row -> pledgeChanges.put(row.id(), row));
+
+        if (pledgeChanges.isEmpty() && customerChanges.isEmpty() && mark == current.changeMark) {
+            return current;
+        }
+        return new Book(current.version + 1, current.loadedAt, LocalDateTime.now(), mark,
+                current.pledges.merge(pledgeChanges), current.customers.merge(customerChanges));
+    }
+
+    private <R> void queryByIds(String sql, List<Long> ids, RowMapper<R> mapper, Consumer<R> action) {
+        for (int from = 0; from < ids.size(); from += ID_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_BATCH));
+            namedJdbc.query(sql, new MapSqlParameterSource("ids", batch), mapper).forEach(action);
+        }
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Long id : ids) {
+            // Removed one at a time so an id queued meanwhile is kept or taken, never lost
+            if (ids.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * The current book, loading it first if startup could not.
+     */
+    private Book current() {
+        Book current = book;
+        if (current == null) {
+            synchronized (this) {
+                if (book == null) {
+                    reload();
+                }
+                current = book;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The current book with any queued changes applied, for answering a request.
+     */
+    private Book fresh() {
+        if (book != null && (!dirtyPledges.isEmpty() || !dirtyCustomers.isEmpty())) {
+            return applyChanges();
+        }
+        return current();
+    }
+
+    public BookStatusResponse status() {
+        return status(current());
+    }
+
+    private BookStatusResponse status(Book book) {
+        return BookStatusResponse.builder()
+                .version(book.version)
+                .loadedAt(book.loadedAt)
+                .refreshedAt(book.refreshedAt)
+                .pledges(book.pledges.size())
+                .customers(book.customers.size())
+                .activePledges(book.activePledges)
+                .totalLoans(book.totalLoans)
+                .pendingPledges(dirtyPledges.size())
+                .pendingCustomers(dirtyCustomers.size())
+                .loadMs(lastLoadMs)
+                .build();
+    }
+
+    /**
+     * Every pledge in id order, in the shape of GET /api/pledges.
+     */
+    public void forEachPledge(Consumer<? super PledgeResponse> action) {
+        Book book = fresh();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < book.pledges.size(); i++) {
+            action.accept(pledgeResponse(book.pledges.row(i), now));
+        }
+    }
+
+    /**
+     * A customer's pledges in id order, in the shape of GET /api/pledges/customer/{id}.
+     */
+    public List<PledgeResponse> pledgesOf(Long customerId) {
+        Book book = fresh();
+        LocalDateTime now = LocalDateTime.now();
+        List<PledgeResponse> pledges = new ArrayList<>();
+        book.forEachPledgeOf(customerId, row -> pledges.add(pledgeResponse(row, now)));
+        return pledges;
+    }
+
+    /**
+     * Whether an ACTIVE pledge has no principal left, i.e. whether auto-closing has anything to do.
+     */
+    public boolean hasActiveWithoutPrincipal() {
+        return fresh().activeWithoutPrincipal > 0;
+    }
+
+    /**
+     * Search in the shape of {@link PledgeSearchService#search}: the same fields and
+     * weights (title and item type, then customer name and purity, then description and
+     * notes), every term required, the last one matched as a prefix, and (rank, id)
+     * cursors. Stemming is approximated by ignoring a trailing "s" and "e", so "bangles"
+     * finds "Bangle" as it does in the database; ranks are on a scale of their own.
+     */
+    public PledgeSearchResponse search(String text, String status, Integer limit, String cursor) {
+        int pageSize = limit != null ? limit : PledgeSearchService.DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > PledgeSearchService.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + PledgeSearchService.MAX_LIMIT);
+        }
+        List<String> terms = PledgeSearchService.terms(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit");
+        }
+        String wanted = status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+        Object[] after = cursor == null || cursor.isBlank() ? null : PledgeSearchService.decodeCursor(cursor);
+        Book book = fresh();
+
+        // Lowest-ranked of the best pageSize + 1 on top; the extra row tells us whether there is a next page
+        Comparator<Match> best = Comparator.comparingDouble(Match::rank).thenComparingLong(m -> m.row().id());
+        PriorityQueue<Match> top = new PriorityQueue<>(best);
+        for (int i = book.pledges.size() - 1; i >= 0; i--) {
+            PledgeRow row = book.pledges.row(i);
+            if (wanted != null && !wanted.equals(row.status())) {
+                continue;
+            }
+            CustomerRow customer = book.customers.get(row.customerId());
+            float rank = rank(terms, row, customer);
+            if (rank == 0 || after != null && !(rank < (float) after[0] || rank == (float) after[0] && row.id() < (long) after[1])) {
+                continue;
+            }
+            top.offer(new Match(row, customer, rank));
+            if (top.size() > pageSize + 1) {
+                top.poll();
+            }
+        }
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(best.reversed());
+
+        String nextCursor = null;
+        if (matches.size() > pageSize) {
+            matches = matches.subList(0, pageSize);
+            Match last = matches.get(pageSize - 1);
+            nextCursor = PledgeSearchService.encodeCursor(last.rank(), last.row().id());
+        }
+        List<PledgeSearchResponse.Hit> hits = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            PledgeRow row = match.row();
+            hits.add(PledgeSearchResponse.Hit.builder()
+                    .pledgeId(row.id())
+                    .rank(match.rank())
+                    .customerId(row.customerId() == NONE ? null : row.customerId())
+                    .customerName(match.customer() != null ? match.customer().name() : null)
+                    .title(row.title())
+                    .itemType(row.itemType())
+                    .purity(row.purity())
+                    .weight(number(row.weight()))
+                    .amount(number(row.amount()))
+                    .status(row.status())
+                    .deadline(time(row.deadline()))
+                    .snippet(snippet(terms, row, match.customer()))
+                    .build());
+        }
+        return PledgeSearchResponse.builder()
+                .query(text)
+                .results(hits)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Sum over terms of the heaviest field each one matches (tsvector weights A 1.0, B 0.4, D 0.1); 0 if any term is missing
+    private static float rank(List<String> terms, PledgeRow row, CustomerRow customer) {
+        String name = customer != null ? customer.name() : null;
+        float rank = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            boolean prefix = t == terms.size() - 1;
+            if (matchesWord(row.title(), term, prefix) || matchesWord(row.itemType(), term, prefix)) {
+                rank += 1.0f;
+            } else if (matchesWord(name, term, prefix) || matchesWord(row.purity(), term, prefix)) {
+                rank += 0.4f;
+            } else if (matchesWord(row.description(), term, prefix) || matchesWord(row.notes(), term, prefix)) {
+                rank += 0.1f;
+            } else {
+                return 0;
+            }
+        }
+        return rank;
+    }
+
+    private static boolean matchesWord(String text, String term, boolean prefix) {
+        if (text == null) {
+            return false;
+        }
+        int termStem = prefix ? term.length() : stemEnd(term, 0, term.length());
+        for (int start = 0, n = text.length(); start < n; ) {
+            if (!Character.isLetterOrDigit(text.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < n && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            if (matchesWord(text, start, end, term, termStem, prefix)) {
+                return true;
+            }
+            start = end;
+        }
+        return false;
+    }
+
+    private static boolean matchesWord(String text, int start, int end, String term, int termStem, boolean prefix) {
+        int length = prefix ? end - start : stemEnd(text, start, end) - start;
+        return (prefix ? length >= termStem : length == termStem) && text.regionMatches(true, start, term, 0, termStem);
+    }
+
+    // End of a word without one trailing "s" and then one trailing "e": bangles, bangle -> bangl
+    private static int stemEnd(String text, int start, int end) {
+        if (end - start > 3 && Character.toLowerCase(text.charAt(end - 1)) == 's') {
+            end--;
+        }
+        if (end - start > 3 && Character.toLowerCase(text.charAt(end - 1)) == 'e') {
+            end--;
+        }
+        return end;
+    }
+
+    // Up to 18 words of the searched text from just before the first match, matches marked as ts_headline does
+    private static String snippet(List<String> terms, PledgeRow row, CustomerRow customer) {
+        StringBuilder joined = new StringBuilder();
+        for (String field : new String[]{row.title(), row.itemType(), row.purity(),
+                customer != null ? customer.name() : null, row.description(), row.notes()}) {
+            if (field != null) {
+                joined.append(joined.length() > 0 ? " | " : "").append(field);
+            }
+        }
+        String text = joined.toString();
+        List<int[]> words = new ArrayList<>();
+        int first = -1;
+        for (int start = 0, n = text.length(); start < n; ) {
+            if (!Character.isLetterOrDigit(text.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < n && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            boolean matched = false;
+            for (int t = 0; t < terms.size() && !matched; t++) {
+                String term = terms.get(t);
+                boolean prefix = t == terms.size() - 1;
+                matched = matchesWord(text, start, end, term, prefix ? term.length() : stemEnd(term, 0, term.length()), prefix);
+            }
+            if (matched && first < 0) {
+                first = words.size();
+            }
+            words.add(new int[]{start, end, matched ? 1 : 0});
+            start = end;
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        int from = Math.max(0, Math.min(first - 2, words.size() - SNIPPET_WORDS));
+        int to = Math.min(words.size(), from + SNIPPET_WORDS);
+        StringBuilder snippet = new StringBuilder();
+        int position = words.get(from)[0];
+        for (int w = from; w < to; w++) {
+            int[] word = words.get(w);
+            snippet.append(text, position, word[0]);
+            if (word[2] == 1) {
+                snippet.append(PledgeSearchService.START_SEL).append(text, word[0], word[1]).append(PledgeSearchService.STOP_SEL);
+            } else {
+                snippet.append(text, word[0], word[1]);
+            }
+            position = word[1];
+        }
+        return PledgeSearchService.highlight(snippet.toString());
+    }
+
+    /**
+     * Dashboard figures from the book. Monthly interest still comes from the reporting
+     * rollups, since it counts pledges that have been archived since.
+     */
+    public DashboardStatsResponse dashboard() {
+        Book book = fresh();
+        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
+        Double monthlyInterest = rollups.interestBookedInMonth(startOfMonth);
+        Double lastMonthInterest = rollups.interestBookedInMonth(startOfMonth.minusMonths(1));
+        Double profitLoss = monthlyInterest - lastMonthInterest;
+        return DashboardStatsResponse.builder()
+                .totalCustomers((long) book.customers.size())
+                .activePledges(book.activePledges)
+                .totalLoans(book.totalLoans)
+                .monthlyInterest(monthlyInterest)
+                .lastMonthInterest(lastMonthInterest)
+                .profitLoss(profitLoss)
+                .profitLossPercentage(lastMonthInterest > 0 ? (profitLoss / lastMonthInterest) * 100 : 0.0)
+                .build();
+    }
+
+    /**
+     * A customer's pledges with balances and totals, as {@link CustomerPortfolioService}
+     * builds them. The book holds no individual payments, so recentPayments is left for
+     * the caller to fill.
+     */
+    public CustomerPortfolioResponse portfolio(Long customerId) {
+        Book book = fresh();
+        CustomerRow customer = book.customers.get(customerId);
+        if (customer == null) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        CustomerPortfolioResponse.Totals totals = new CustomerPortfolioResponse.Totals();
+        List<CustomerPortfolioResponse.Pledge> items = new ArrayList<>();
+        book.forEachPledgeOf(customerId, row -> {
+            boolean open = !"CLOSED".equals(row.status());
+            double principal = orZero(row.amount());
+            double interest = open ? accruedInterest(row, now) : 0.0;
+            double outstanding = open ? principal + interest : 0.0;
+            items.add(CustomerPortfolioResponse.Pledge.builder()
+                    .id(row.id())
+                    .title(row.title())
+                    .itemType(row.itemType())
+                    .weight(number(row.weight()))
+                    .purity(row.purity())
+                    .status(row.status())
+                    .amount(number(row.amount()))
+                    .interestRate(number(row.interestRate()))
+                    .createdAt(time(row.createdAt()))
+                    .deadline(time(row.deadline()))
+                    .lastPaymentDate(time(row.lastPaymentDate()))
+                    .accruedInterest(interest)
+                    .outstanding(outstanding)
+                    .totalPaid(row.totalPaid())
+                    .paymentCount(row.paymentCount())
+                    .marketValue(number(row.marketValue()))
+                    .ltv(number(row.ltv()))
+                    .itemPhoto(row.itemPhoto())
+                    .build());
+            totals.setPledgeCount(totals.getPledgeCount() + 1);
+            totals.setTotalPaid(totals.getTotalPaid() + row.totalPaid());
+            if (open) {
+                totals.setOpenPledges(totals.getOpenPledges() + 1);
+                totals.setPrincipal(totals.getPrincipal() + principal);
+                totals.setAccruedInterest(totals.getAccruedInterest() + interest);
+                totals.setOutstanding(totals.getOutstanding() + outstanding);
+                totals.setMarketValue(totals.getMarketValue() + orZero(row.marketValue()));
+            }
+        });
+        return CustomerPortfolioResponse.builder()
+                .customer(CustomerEntity.builder()
+                        .id(customer.id())
+                        .name(customer.name())
+                        .phone(customer.phone())
+                        .email(customer.email())
+                        .address(customer.address())
+                        .createdAt(time(customer.createdAt()))
+                        .isActive(customer.active())
+                        .build())
+                .pledges(items)
+                .totals(totals)
+                .asOf(now)
+                .build();
+    }
+
+    /**
+     * Compare the book with the database row by row. Differences are re-checked after
+     * pending changes have been applied, so a write that lands during the check is not
+     * reported. With repair, the differing rows are re-read (or the book is reloaded if
+     * there are too many).
+     */
+    public BookConsistencyResponse verify(boolean repair) {
+        long started = System.nanoTime();
+        Book checked = applyChanges();
+        Diff pledgeDiff = new Diff();
+        Diff customerDiff = new Diff();
+        long[] databaseCounts = refreshTransaction.execute(status -> {
+            Cursor<PledgeRow> pledges = new Cursor<>(checked.pledges, pledgeDiff);
+            streamingJdbc.query(ALL_PLEDGES_SQL, rs -> {
+                pledges.compare(pledgeRow(rs));
+            });
+            Cursor<CustomerRow> customers = new Cursor<>(checked.customers, customerDiff);
+            streamingJdbc.query(CUSTOMER_COLUMNS + "ORDER BY c.id", rs -> {
+                customers.compare(customerRow(rs));
+            });
+            return new long[]{pledges.finish(), customers.finish()};
+        });
+
+        // Drop differences explained by writes committed since the book version checked
+        Book latest = applyChanges();
+        if (!pledgeDiff.isEmpty() || !customerDiff.isEmpty()) {
+            refreshTransaction.executeWithoutResult(status -> {
+                pledgeDiff.recheck(latest.pledges, ids -> rowsById(SOME_PLEDGES_SQL + "p.id IN (:ids)", ids, this::pledgeRow, PledgeRow::id));
+                customerDiff.recheck(latest.customers, ids -> rowsById(CUSTOMER_COLUMNS + "WHERE c.id IN (:ids)", ids, this::customerRow, CustomerRow::id));
+            });
+        }
+
+        boolean consistent = pledgeDiff.isEmpty() && customerDiff.isEmpty();
+        boolean repaired = false;
+        if (repair && !consistent) {
+            if (pledgeDiff.overflowed() || customerDiff.overflowed()) {
+                reload();
+            } else {
+                dirtyPledges.addAll(pledgeDiff.ids());
+                dirtyCustomers.addAll(customerDiff.ids());
+                applyChanges();
+            }
+            repaired = true;
+        }
+        log.info("Pledge book v{} checked against the database: {} pledge and {} customer differences{}",
+                checked.version, pledgeDiff.count(), customerDiff.count(), repaired ? " (repaired)" : "");
+        return BookConsistencyResponse.builder()
+                .version(checked.version)
+                .checkedAt(LocalDateTime.now())
+                .consistent(consistent)
+                .repaired(repaired)
+                .pledgesInDatabase(databaseCounts[0])
+                .pledgesInBook(checked.pledges.size())
+                .customersInDatabase(databaseCounts[1])
+                .customersInBook(checked.customers.size())
+                .pledgeDifferences(pledgeDiff.count())
+                .customerDifferences(customerDiff.count())
+                .missingPledges(pledgeDiff.listed(pledgeDiff.missing))
+                .extraPledges(pledgeDiff.listed(pledgeDiff.extra))
+                .changedPledges(pledgeDiff.listed(pledgeDiff.changed))
+                .missingCustomers(customerDiff.listed(customerDiff.missing))
+                .extraCustomers(customerDiff.listed(customerDiff.extra))
+                .changedCustomers(customerDiff.listed(customerDiff.changed))
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    private <R> Map<Long, R> rowsById(String sql, List<Long> ids, RowMapper<R> mapper, ToLongFunction<R> idOf) {
+        Map<Long, R> rows = new TreeMap<>();
+        queryByIds(sql, ids, mapper, row -> rows.put(idOf.applyAsLong(row), row));
+        return rows;
+    }
+
+    private PledgeRow pledgeRow(ResultSet rs) throws SQLException {
+        return pledgeRow(rs, 0);
+    }
+
+    private PledgeRow pledgeRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PledgeRow(rs.getLong("id"), id(rs, "customer_id"), rs.getString("title"),
+                rs.getString("description"), rs.getString("notes"), rs.getString("item_type"), number(rs, "weight"),
+                rs.getString("purity"), rs.getString("status"), number(rs, "amount"), number(rs, "interest_rate"),
+                micros(rs, "created_at"), micros(rs, "deadline"), rs.getObject("pledge_duration", Integer.class),
+                number(rs, "market_value"), number(rs, "ltv"), rs.getString("customer_photo"),
+                rs.getString("item_photo"), rs.getString("receipt_photo"), micros(rs, "last_payment_date"),
+                orZero(number(rs, "total_paid")), rs.getLong("payment_count"));
+    }
+
+    private CustomerRow customerRow(ResultSet rs) throws SQLException {
+        return customerRow(rs, 0);
+    }
+
+    private CustomerRow customerRow(ResultSet rs, int rowNum) throws SQLException {
+        return new CustomerRow(rs.getLong("id"), rs.getString("name"), rs.getString("phone"), rs.getString("email"),
+                rs.getString("address"), micros(rs, "created_at"), rs.getObject("is_active", Boolean.class));
+    }
+
+    private static long id(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? NONE : value;
+    }
+
+    private static double number(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static long micros(ResultSet rs, String column) throws SQLException {
+        LocalDateTime time = rs.getObject(column, LocalDateTime.class);
+        return time == null ? NONE : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime time(long micros) {
+        return micros == NONE ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static Double number(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static double orZero(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    // As PledgeServiceImpl maps an entity: remaining = current principal plus interest accrued since the last payment
+    private static PledgeResponse pledgeResponse(PledgeRow row, LocalDateTime now) {
+        PledgeResponse response = new PledgeResponse();
+        response.setId(row.id());
+        response.setCustomerId(row.customerId() == NONE ? null : row.customerId());
+        response.setTitle(row.title());
+        response.setDescription(row.description());
+        response.setAmount(number(row.amount()));
+        response.setInterestRate(number(row.interestRate()));
+        response.setCreatedAt(time(row.createdAt()));
+        response.setDeadline(time(row.deadline()));
+        response.setPledgeDuration(row.pledgeDuration());
+        response.setStatus(row.status());
+        response.setItemType(row.itemType());
+        response.setWeight(number(row.weight()));
+        response.setPurity(row.purity());
+        response.setNotes(row.notes());
+        response.setCustomerPhoto(row.customerPhoto());
+        response.setItemPhoto(row.itemPhoto());
+        response.setReceiptPhoto(row.receiptPhoto());
+        response.setStorageTier(PledgeArchiveService.HOT);
+        LocalDateTime start = time(row.lastPaymentDate() != NONE ? row.lastPaymentDate() : row.createdAt());
+        if (start != null) {
+            double principal = orZero(row.amount());
+            response.setRemainingAmount(principal + InterestCalculator.accruedInterest(principal,
+                    orZero(row.interestRate()), ChronoUnit.DAYS.between(start, now)));
+        }
+        return response;
+    }
+
+    private static double accruedInterest(PledgeRow row, LocalDateTime now) {
+        LocalDateTime start = time(row.lastPaymentDate() != NONE ? row.lastPaymentDate() : row.createdAt());
+        if (!(row.amount() > 0) || start == null) {
+            return 0.0;
+        }
+        return InterestCalculator.accruedInterest(row.amount(), orZero(row.interestRate()),
+                Math.max(0L, ChronoUnit.DAYS.between(start, now)));
+    }
+
+    /**
+     * Ids that differ between the book and the database, by kind.
+     */
+    private static final class Diff {
+        final List<Long> missing = new ArrayList<>();
+        final List<Long> extra = new ArrayList<>();
+        final List<Long> changed = new ArrayList<>();
+        private long overflow;
+
+        void add(List<Long> kind, long id) {
+            if (missing.size() + extra.size() + changed.size() < MAX_RECHECKED_DIFFERENCES) {
+                kind.add(id);
+            } else {
+                overflow++;
+            }
+        }
+
+        boolean isEmpty() {
+            return count() == 0;
+        }
+
+        boolean overflowed() {
+            return overflow > 0;
+        }
+
+        long count() {
+            return missing.size() + extra.size() + changed.size() + overflow;
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>(missing);
+            ids.addAll(extra);
+            ids.addAll(changed);
+            return ids;
+        }
+
+        List<Long> listed(List<Long> kind) {
+            return List.copyOf(kind.subList(0, Math.min(kind.size(), MAX_LISTED_DIFFERENCES)));
+        }
+
+        /**
+         * Keep only ids whose current database row still disagrees with the latest book.
+         */
+        <R> void recheck(Table<R> latest, Function<List<Long>, Map<Long, R>> load) {
+            List<Long> ids = ids();
+            Map<Long, R> rows = load.apply(ids);
+            missing.clear();
+            extra.clear();
+            changed.clear();
+            for (Long id : ids) {
+                R inDatabase = rows.get(id);
+                R inBook = latest.get(id);
+                if (inBook == null && inDatabase != null) {
+                    missing.add(id);
+                } else if (inBook != null && inDatabase == null) {
+                    extra.add(id);
+                } else if (!Objects.equals(inBook, inDatabase)) {
+                    changed.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks a table in id order alongside id-ordered database rows.
+     */
+    private static final class Cursor<R> {
+        private final Table<R> table;
+        private final Diff diff;
+        private int position;
+        private long seen;
+
+        Cursor(Table<R> table, Diff diff) {
+            this.table = table;
+            this.diff = diff;
+        }
+
+        void compare(R row) {
+            long id = table.idOf.applyAsLong(row);
+            while (position < table.size() && table.ids[position] < id) {
+                diff.add(diff.extra, table.ids[position++]);
+            }
+            if (position < table.size() && table.ids[position] == id) {
+                if (!table.row(position).equals(row)) {
+                    diff.add(diff.changed, id);
+                }
+                position++;
+            } else {
+                diff.add(diff.missing, id);
+            }
+            seen++;
+        }
+
+        long finish() {
+            while (position < table.size()) {
+                diff.add(diff.extra, table.ids[position++]);
+            }
+            return seen;
+        }
+    }
+
+    /**
+     * Rows sorted by a long id, looked up by binary search.
+     */
+    static final class Table<R> {
+        private final long[] ids;
+        private final Object[] rows;
+        private final ToLongFunction<R> idOf;
+
+        private Table(long[] ids, Object[] rows, ToLongFunction<R> idOf) {
+            this.ids = ids;
+            this.rows = rows;
+            this.idOf = idOf;
+        }
+
+        static <R> Table<R> sorted(Collection<R> rows, ToLongFunction<R> idOf) {
+            Object[] sorted = rows.toArray();
+            long[] ids = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                @SuppressWarnings("unchecked") R row = (R) sorted[i];
+                ids[i] = idOf.applyAsLong(row);
+                if (i > 0 && ids[i] <= ids[i - 1]) {
+                    throw new IllegalArgumentException("Rows must be in ascending id order");
+                }
+            }
+            return new Table<>(ids, sorted, idOf);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        R row(int position) {
+            return (R) rows[position];
+        }
+
+        R get(long id) {
+            int position = Arrays.binarySearch(ids, id);
+            return position >= 0 ? row(position) : null;
+        }
+
+        /**
+         * A copy with the changes applied; a null value removes the id.
+         */
+        Table<R> merge(TreeMap<Long, R> changes) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+            long[] mergedIds = new long[ids.length + changes.size()];
+            Object[] mergedRows = new Object[mergedIds.length];
+            int from = 0;
+            int to = 0;
+            for (Map.Entry<Long, R> change : changes.entrySet()) {
+                long id = change.getKey();
+                while (from < ids.length && ids[from] < id) {
+                    mergedIds[to] = ids[from];
+                    mergedRows[to++] = rows[from++];
+                }
+                if (from < ids.length && ids[from] == id) {
+                    from++;
+                }
+                if (change.getValue() != null) {
+                    mergedIds[to] = id;
+                    mergedRows[to++] = change.getValue();
+                }
+            }
+            int rest = ids.length - from;
+            System.arraycopy(ids, from, mergedIds, to, rest);
+            System.arraycopy(rows, from, mergedRows, to, rest);
+            to += rest;
+            return new Table<>(Arrays.copyOf(mergedIds, to), Arrays.copyOf(mergedRows, to), idOf);
+        }
+    }
+
+    /**
+     * One immutable version of the book.
+     */
+    static final class Book {
+        final long version;
+        final LocalDateTime loadedAt;
+        final LocalDateTime refreshedAt;
+        // Rows stamped by transactions below this id are reflected in this version
+        final long changeMark;
+        final Table<PledgeRow> pledges;
+        final Table<CustomerRow> customers;
+        final long activePledges;
+        final double totalLoans;
+        final long activeWithoutPrincipal;
+        // Pledge positions grouped by customer position: byCustomer[customerStart[c] .. customerStart[c + 1])
+        private final int[] customerStart;
+        private final int[] byCustomer;
+
+        Book(long version, LocalDateTime loadedAt, LocalDateTime refreshedAt, long changeMark,
+             Table<PledgeRow> pledges, Table<CustomerRow> customers) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.refreshedAt = refreshedAt;
+            this.changeMark = changeMark;
+            this.pledges = pledges;
+            this.customers = customers;
+
+            long active = 0;
+            double loans = 0.0;
+            long withoutPrincipal = 0;
+            int[] owner = new int[pledges.size()];
+            int[] start = new int[customers.size() + 1];
+            for (int i = 0; i < pledges.size(); i++) {
+                PledgeRow row = pledges.row(i);
+                if ("ACTIVE".equals(row.status()) || "PARTIALLY_PAID".equals(row.status())) {
+                    active++;
+                    loans += orZero(row.amount());
+                }
+                if ("ACTIVE".equals(row.status()) && row.amount() <= 0) {
+                    withoutPrincipal++;
+                }
+                owner[i] = Arrays.binarySearch(customers.ids, row.customerId());
+                if (owner[i] >= 0) {
+                    start[owner[i] + 1]++;
+                }
+            }
+            for (int c = 0; c < customers.size(); c++) {
+                start[c + 1] += start[c];
+            }
+            int[] next = Arrays.copyOf(start, customers.size());
+            int[] grouped = new int[start[customers.size()]];
+            // Ascending pledge order within each customer
+            for (int i = 0; i < owner.length; i++) {
+                if (owner[i] >= 0) {
+                    grouped[next[owner[i]]++] = i;
+                }
+            }
+            this.activePledges = active;
+            this.totalLoans = loans;
+            this.activeWithoutPrincipal = withoutPrincipal;
+            this.customerStart = start;
+            this.byCustomer = grouped;
+        }
+
+        void forEachPledgeOf(long customerId, Consumer<PledgeRow> action) {
+            int c = Arrays.binarySearch(customers.ids, customerId);
+            if (c < 0) {
+                return;
+            }
+            for (int i = customerStart[c]; i < customerStart[c + 1]; i++) {
+                action.accept(pledges.row(byCustomer[i]));
+            }
+        }
+    }
+}
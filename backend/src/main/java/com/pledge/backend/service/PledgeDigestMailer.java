@@ -0,0 +1,226 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.entity.PledgeEntity;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects pledge notifications and mails them to the owner as one HTML digest per window.
+ *
+ * Queuing is an in-memory map put, so the request path no longer talks to SMTP or
+ * downloads photos. Repeated changes to a pledge within a window collapse into one row
+ * showing its latest state. Photos are shown as Cloudinary thumbnails (a resize
+ * transformation on the stored URL) linking to the originals, so nothing is fetched
+ * or attached. Large digests are split into several messages, all sent in one
+ * {@link JavaMailSender#send(MimeMessage...)} call over a single SMTP connection.
+ * Pending rows are flushed on shutdown; a crash loses at most one window.
+ */
+@Slf4j
+@Component
+public class PledgeDigestMailer {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    private final JavaMailSender mailSender;
+    private final String to;
+    private final String from;
+    private final int maxEntriesPerMessage;
+    private final int maxPending;
+
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+    private LocalDateTime windowStart = LocalDateTime.now();
+
+    private record Entry(Long pledgeId, Long customerId, String title, String status, Double amount,
+                         Double interestRate, Double weight, String purity,
+                         String customerPhoto, String itemPhoto, String receiptPhoto,
+                         String firstAction, String lastAction, int changes, LocalDateTime lastAt) {
+    }
+
+    public PledgeDigestMailer(ObjectProvider<JavaMailSender> mailSenderProvider,
+                              @Value("${app.mail.to:godejewellers023@gmail.com}") String to,
+                              @Value("${app.mail.from:}") String from,
+                              @Value("${app.mail.digest.max-entries-per-message:200}") int maxEntriesPerMessage,
+                              @Value("${app.mail.digest.max-pending:5000}") int maxPending) {
+        this.mailSender = mailSenderProvider.getIfAvailable();
+        this.to = to;
+        this.from = from;
+        this.maxEntriesPerMessage = Math.max(1, maxEntriesPerMessage);
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    public void add(PledgeEntity pledge, String action) {
+        boolean full;
+        synchronized (pending) {
+            Entry previous = pending.get(pledge.getId());
+            pending.put(pledge.getId(), new Entry(pledge.getId(), pledge.getCustomerId(), pledge.getTitle(),
+                    pledge.getStatus(), pledge.getAmount(), pledge.getInterestRate(), pledge.getWeight(),
+                    pledge.getPurity(), pledge.getCustomerPhoto(), pledge.getItemPhoto(), pledge.getReceiptPhoto(),
+                    previous != null ? previous.firstAction() : action, action,
+                    previous != null ? previous.changes() + 1 : 1, LocalDateTime.now()));
+            full = pending.size() >= maxPending;
+        }
+        if (full) {
+            log.info("Pledge digest reached {} entries; sending early", maxPending);
+            flush();
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.digest.cron:0 0 20 * * *}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Send everything queued so far. Returns the number of pledges included.
+     */
+    public synchronized int flush() {
+        List<Entry> entries;
+        LocalDateTime start;
+        LocalDateTime end = LocalDateTime.now();
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                windowStart = end;
+                return 0;
+            }
+            entries = new ArrayList<>(pending.values());
+            pending.clear();
+            start = windowStart;
+            windowStart = end;
+        }
+        if (mailSender == null) {
+            log.warn("No JavaMailSender configured; dropping digest of {} pledges", entries.size());
+            return 0;
+        }
+
+        try {
+            int parts = (entries.size() + maxEntriesPerMessage - 1) / maxEntriesPerMessage;
+            MimeMessage[] messages = new MimeMessage[parts];
+            for (int part = 0; part < parts; part++) {
+                List<Entry> slice = entries.subList(part * maxEntriesPerMessage,
+                        Math.min(entries.size(), (part + 1) * maxEntriesPerMessage));
+                messages[part] = buildMessage(slice, start, end, part + 1, parts, entries.size());
+            }
+            mailSender.send(messages);
+            log.info("Pledge digest sent to {}: {} pledges in {} message(s)", to, entries.size(), parts);
+            return entries.size();
+        } catch (MessagingException | RuntimeException e) {
+            log.error("Failed to send pledge digest of {} pledges: {}", entries.size(), e.getMessage());
+            requeue(entries, start);
+            return 0;
+        }
+    }
+
+    // Put unsent rows back under newer changes made while sending
+    private void requeue(List<Entry> entries, LocalDateTime start) {
+        synchronized (pending) {
+            Map<Long, Entry> merged = new LinkedHashMap<>();
+            entries.forEach(e -> merged.put(e.pledgeId(), e));
+            merged.putAll(pending);
+            pending.clear();
+            pending.putAll(merged);
+            windowStart = start;
+        }
+    }
+
+    private MimeMessage buildMessage(List<Entry> entries, LocalDateTime start, LocalDateTime end,
+                                     int part, int parts, int total) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setTo(to);
+        if (StringUtils.hasText(from)) {
+            helper.setFrom(from);
+        }
+        helper.setSubject("Pledge digest: " + total + " pledge(s) changed"
+                + (parts > 1 ? " (" + part + "/" + parts + ")" : ""));
+
+        StringBuilder html = new StringBuilder(1024 + entries.size() * 600);
+        html.append("<html><body style=\"font-family:Arial,sans-serif;font-size:13px\">");
+        html.append("<h2 style=\"margin:0 0 4px\">Pledge activity</h2>");
+        html.append("<p style=\"color:#555;margin:0 0 12px\">").append(TIME.format(start))
+                .append(" to ").append(TIME.format(end)).append("</p>");
+        html.append("<table cellpadding=\"6\" cellspacing=\"0\" border=\"1\" style=\"border-collapse:collapse\">");
+        html.append("<tr style=\"background:#f0f0f0\"><th>Pledge</th><th>Change</th><th>Customer</th>")
+                .append("<th>Amount</th><th>Rate</th><th>Item</th><th>Status</th><th>Photos</th></tr>");
+        for (Entry e : entries) {
+            html.append("<tr><td>#").append(e.pledgeId());
+            if (StringUtils.hasText(e.title())) {
+                html.append("<br>").append(esc(e.title()));
+            }
+            html.append("</td><td>").append(esc(describeChange(e))).append("<br><small>")
+                    .append(TIME.format(e.lastAt())).append("</small></td>");
+            html.append("<td>").append(e.customerId() != null ? e.customerId() : "").append("</td>");
+            html.append("<td align=\"right\">").append(e.amount() != null ? String.format("%,.2f", e.amount()) : "").append("</td>");
+            html.append("<td>").append(e.interestRate() != null ? e.interestRate() + "%" : "").append("</td>");
+            html.append("<td>").append(e.weight() != null ? e.weight() + " g " : "").append(esc(e.purity())).append("</td>");
+            html.append("<td>").append(esc(e.status())).append("</td><td>");
+            thumbnail(html, e.customerPhoto(), "Customer");
+            thumbnail(html, e.itemPhoto(), "Item");
+            thumbnail(html, e.receiptPhoto(), "Receipt");
+            html.append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        helper.setText(html.toString(), true);
+        return message;
+    }
+
+    private static String describeChange(Entry e) {
+        if (e.changes() == 1) {
+            return e.lastAction();
+        }
+        return e.firstAction() + ", then " + (e.changes() - 1) + " more change(s)";
+    }
+
+    private static void thumbnail(StringBuilder html, String url, String label) {
+        if (!StringUtils.hasText(url)) {
+            return;
+        }
+        String link = esc(url);
+        html.append("<a href=\"").append(link).append("\" title=\"").append(label).append("\">")
+                .append("<img src=\"").append(esc(thumbnailUrl(url))).append("\" alt=\"").append(label)
+                .append("\" width=\"64\" height=\"64\" style=\"margin-right:4px;object-fit:cover\"></a>");
+    }
+
+    /**
+     * Cloudinary delivery URLs take a transformation after /upload/; anything else is linked as is.
+     */
+    static String thumbnailUrl(String url) {
+        int upload = url.indexOf("/upload/");
+        if (!url.contains("res.cloudinary.com") || upload < 0) {
+            return url;
+        }
+        int insertAt = upload + "/upload/".length();
+        return url.substring(0, insertAt) + "c_fill,w_128,h_128,q_auto,f_auto/" + url.substring(insertAt);
+    }
+
+    private static String esc(String value) {
+        return value == null ? "" : HtmlUtils.htmlEscape(value);
+    }
+}
@@ -0,0 +1,334 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PledgeBalanceResponse;
+import com.pledge.backend.dto.response.PledgeEventData;
+import com.pledge.backend.dto.response.PortfolioBalanceResponse;
+import com.pledge.backend.entity.PledgeBalanceEventEntity;
+import com.pledge.backend.entity.PledgeBalanceSnapshotEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.repository.PledgeBalanceEventRepository;
+import com.pledge.backend.repository.PledgeBalanceSnapshotRepository;
+import com.pledge.backend.util.InterestCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Balance history for pledges: an append-only event log plus periodic snapshots.
+ *
+ * Every write that changes a pledge's principal, rate or status appends an event holding
+ * the new state. A scheduled job folds the previous snapshot and the events since into a
+ * new snapshot in one INSERT ... SELECT. An "as of" question then loads the nearest
+ * snapshot at or before the date and replays only the events after it, so its cost
+ * depends on activity since the last snapshot, not on the length of history.
+ *
+ * Pledges that predate the log get one OPENING event at startup carrying their current
+ * state, dated at their last payment (or creation), which is when that principal took
+ * effect. History before that point is not available.
+ */
+@Slf4j
+@Service
+public class PledgeLedgerService {
+
+    // Stand-in snapshot time when no snapshot exists yet: replay from the first event
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String[] TERMINAL = {"CLOSED", PledgeBalanceEventEntity.DELETED};
+
+    /**
+     * Every pledge's state at ?3 from the snapshot at ?1 plus events in (?1, ?3].
+     * Parameters: snapshot time, snapshot time, as-of, snapshot time, as-of.
+     */
+    private static final String STATE_AS_OF_SQL =
+            "WITH base AS (SELECT pledge_id, principal, status, interest_rate, accrual_start " +
+            "              FROM pledge_balance_snapshots WHERE snapshot_at = ?), " +
+            "tail AS (SELECT DISTINCT ON (pledge_id) pledge_id, principal_after, status_after, interest_rate_after " +
+            "         FROM pledge_balance_events WHERE occurred_at > ? AND occurred_at <= ? " +
+            "         ORDER BY pledge_id, occurred_at DESC, id DESC), " +
+            "resets AS (SELECT pledge_id, MAX(occurred_at) AS accrual_start FROM pledge_balance_events " +
+            "           WHERE occurred_at > ? AND occurred_at <= ? AND resets_accrual GROUP BY pledge_id) " +
+            "SELECT COALESCE(t.pledge_id, b.pledge_id) AS pledge_id, " +
+            "       COALESCE(t.principal_after, b.principal) AS principal, " +
+            "       CASE WHEN t.pledge_id IS NOT NULL THEN t.status_after ELSE b.status END AS status, " +
+            "       CASE WHEN t.pledge_id IS NOT NULL THEN t.interest_rate_after ELSE b.interest_rate END AS interest_rate, " +
+            "       COALESCE(r.accrual_start, b.accrual_start) AS accrual_start, " +
+            "       t.pledge_id IS NULL AS unchanged " +
+            "FROM base b FULL JOIN tail t ON t.pledge_id = b.pledge_id " +
+            "LEFT JOIN resets r ON r.pledge_id = COALESCE(t.pledge_id, b.pledge_id)";
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO pledge_balance_events (pledge_id, event_type, occurred_at, principal_delta, principal_after, " +
+            "status_after, interest_rate_after, resets_accrual, payment_id) VALUES (?, ?, ?, 0, ?, ?, ?, false, NULL)";
+
+    private static final String INSERT_FULL_EVENT_SQL =
+            "INSERT INTO pledge_balance_events (pledge_id, event_type, occurred_at, principal_delta, principal_after, " +
+            "status_after, interest_rate_after, resets_accrual, payment_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PledgeBalanceEventRepository eventRepository;
+    private final PledgeBalanceSnapshotRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long snapshotLagSeconds;
+
+    public PledgeLedgerService(PledgeBalanceEventRepository eventRepository,
+                               PledgeBalanceSnapshotRepository snapshotRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${app.ledger.snapshot-lag-seconds:300}") long snapshotLagSeconds) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotLagSeconds = Math.max(0, snapshotLagSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOpeningBalances() {
+        try {
+            int opened = jdbcTemplate.update(
+                    "INSERT INTO pledge_balance_events (pledge_id, event_type, occurred_at, principal_delta, " +
+                    "principal_after, status_after, interest_rate_after, resets_accrual) " +
+                    "SELECT p.id, 'OPENING', COALESCE((SELECT MAX(pay.payment_date) FROM payments pay WHERE pay.pledge_id = p.id), " +
+                    "p.created_at, now()), 0, COALESCE(p.amount, 0), p.status, p.interest_rate, true " +
+                    "FROM pledges p WHERE NOT EXISTS (SELECT 1 FROM pledge_balance_events e WHERE e.pledge_id = p.id)");
+            if (opened > 0) {
+                log.info("Balance ledger opened for {} existing pledges", opened);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not open balance ledger for existing pledges", e);
+        }
+    }
+
+    public void recordCreated(PledgeEntity pledge) {
+        append(pledge, PledgeBalanceEventEntity.CREATED, 0.0, null, true);
+    }
+
+    public void recordPayment(PledgeEntity pledge, double principalBefore, Long paymentId) {
+        append(pledge, PledgeBalanceEventEntity.PAYMENT, principalBefore, paymentId, true);
+    }
+
+    public void recordUpdated(PledgeEntity pledge, double principalBefore) {
+        append(pledge, PledgeBalanceEventEntity.UPDATED, principalBefore, null, false);
+    }
+
+    public void recordStatusChanged(PledgeEntity pledge) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        append(pledge, PledgeBalanceEventEntity.STATUS, principal, null, false);
+    }
+
+    public void recordDeleted(PledgeEntity pledge) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        eventRepository.save(PledgeBalanceEventEntity.builder()
+                .pledgeId(pledge.getId())
+                .eventType(PledgeBalanceEventEntity.DELETED)
+                .occurredAt(LocalDateTime.now())
+                .principalDelta(-principal)
+                .principalAfter(0.0)
+                .statusAfter(PledgeBalanceEventEntity.DELETED)
+                .interestRateAfter(pledge.getInterestRate())
+                .resetsAccrual(false)
+                .build());
+    }
+
+    /**
+     * Status changes made by a bulk UPDATE; written in one JDBC batch inside the caller's transaction.
+     */
+    public void recordStatusChanges(List<PledgeEventData> pledges, LocalDateTime at) {
+        if (pledges.isEmpty()) {
+            return;
+        }
+        Timestamp occurredAt = Timestamp.valueOf(at);
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, pledges, pledges.size(), (ps, pledge) -> {
+            ps.setLong(1, pledge.getPledgeId());
+            ps.setString(2, PledgeBalanceEventEntity.STATUS);
+            ps.setTimestamp(3, occurredAt);
+            ps.setDouble(4, pledge.getAmount() == null ? 0.0 : pledge.getAmount());
+            ps.setString(5, pledge.getStatus());
+            ps.setObject(6, pledge.getInterestRate());
+        });
+    }
+
+    /**
+     * The event {@link #recordPayment} would write, built from the pledge's state now and
+     * kept for {@link #appendAll}.
+     */
+    public PledgeBalanceEventEntity paymentEvent(PledgeEntity pledge, double principalBefore, Long paymentId) {
+        return event(pledge, PledgeBalanceEventEntity.PAYMENT, principalBefore, paymentId, true);
+    }
+
+    /**
+     * Events built up by a batch write, in order; written in one JDBC batch inside the caller's transaction.
+     */
+    public void appendAll(List<PledgeBalanceEventEntity> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_FULL_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getPledgeId());
+            ps.setString(2, event.getEventType());
+            ps.setTimestamp(3, Timestamp.valueOf(event.getOccurredAt()));
+            ps.setObject(4, event.getPrincipalDelta());
+            ps.setObject(5, event.getPrincipalAfter());
+            ps.setString(6, event.getStatusAfter());
+            ps.setObject(7, event.getInterestRateAfter());
+            ps.setBoolean(8, Boolean.TRUE.equals(event.getResetsAccrual()));
+            ps.setObject(9, event.getPaymentId());
+        });
+    }
+
+    private void append(PledgeEntity pledge, String type, double principalBefore, Long paymentId, boolean resetsAccrual) {
+        eventRepository.save(event(pledge, type, principalBefore, paymentId, resetsAccrual));
+    }
+
+    private static PledgeBalanceEventEntity event(PledgeEntity pledge, String type, double principalBefore, Long paymentId,
+                                                  boolean resetsAccrual) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        return PledgeBalanceEventEntity.builder()
+                .pledgeId(pledge.getId())
+                .eventType(type)
+                .occurredAt(LocalDateTime.now())
+                .principalDelta(principal - principalBefore)
+                .principalAfter(principal)
+                .statusAfter(pledge.getStatus())
+                .interestRateAfter(pledge.getInterestRate())
+                .resetsAccrual(resetsAccrual)
+                .paymentId(paymentId)
+                .build();
+    }
+
+    /**
+     * Runs daily by default. The snapshot is taken a few minutes in the past so events
+     * from transactions still in flight are not missed.
+     */
+    @Scheduled(cron = "${app.ledger.snapshot-cron:0 15 0 * * *}")
+    public void scheduledSnapshot() {
+        try {
+            takeSnapshot();
+        } catch (RuntimeException e) {
+            log.warn("Balance snapshot failed; will retry at the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fold the latest snapshot and the events since into a new snapshot. Returns the
+     * number of pledges in it.
+     */
+    @Transactional
+    public synchronized int takeSnapshot() {
+        LocalDateTime at = LocalDateTime.now().minusSeconds(snapshotLagSeconds).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime previous = snapshotRepository.findLatestSnapshotTime();
+        if (previous != null && !previous.isBefore(at)) {
+            return 0;
+        }
+        LocalDateTime from = previous != null ? previous : BEGINNING;
+        Timestamp fromTs = Timestamp.valueOf(from);
+        Timestamp atTs = Timestamp.valueOf(at);
+        long started = System.nanoTime();
+        // Pledges already terminal in the previous snapshot and untouched since are dropped
+        int rows = jdbcTemplate.update(
+                "INSERT INTO pledge_balance_snapshots (snapshot_at, pledge_id, principal, status, interest_rate, accrual_start) " +
+                "SELECT ?, s.pledge_id, s.principal, s.status, s.interest_rate, s.accrual_start FROM (" + STATE_AS_OF_SQL + ") s " +
+                "WHERE NOT (s.unchanged AND s.status IN (?, ?))",
+                atTs, fromTs, fromTs, atTs, fromTs, atTs, TERMINAL[0], TERMINAL[1]);
+        log.info("Balance snapshot at {}: {} pledges in {} ms", at, rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public PledgeBalanceResponse balanceAsOf(Long pledgeId, LocalDateTime asOf) {
+        PledgeBalanceSnapshotEntity snapshot = snapshotRepository
+                .findTopByPledgeIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(pledgeId, asOf)
+                .orElse(null);
+        LocalDateTime from = snapshot != null ? snapshot.getSnapshotAt() : BEGINNING;
+        List<PledgeBalanceEventEntity> tail = eventRepository
+                .findByPledgeIdAndOccurredAtGreaterThanAndOccurredAtLessThanEqualOrderByOccurredAtAscIdAsc(pledgeId, from, asOf);
+        if (snapshot == null && tail.isEmpty()) {
+            throw new ResourceNotFoundException("No balance history for pledge " + pledgeId + " as of " + asOf);
+        }
+
+        double principal = snapshot != null ? snapshot.getPrincipal() : 0.0;
+        String status = snapshot != null ? snapshot.getStatus() : null;
+        Double rate = snapshot != null ? snapshot.getInterestRate() : null;
+        LocalDateTime accrualStart = snapshot != null ? snapshot.getAccrualStart() : null;
+        for (PledgeBalanceEventEntity event : tail) {
+            principal = event.getPrincipalAfter();
+            status = event.getStatusAfter();
+            rate = event.getInterestRateAfter();
+            if (Boolean.TRUE.equals(event.getResetsAccrual())) {
+                accrualStart = event.getOccurredAt();
+            }
+        }
+
+        double interest = accrued(principal, rate, status, accrualStart, asOf);
+        return PledgeBalanceResponse.builder()
+                .pledgeId(pledgeId)
+                .asOf(asOf)
+                .status(status)
+                .principal(principal)
+                .interestRate(rate)
+                .accrualStart(accrualStart)
+                .accruedInterest(interest)
+                .balance(isOpen(status) ? principal + interest : 0.0)
+                .snapshotAt(snapshot != null ? snapshot.getSnapshotAt() : null)
+                .eventsReplayed(tail.size())
+                .build();
+    }
+
+    /**
+     * Open pledge totals at a point in time, from the nearest snapshot plus the event tail.
+     */
+    @Transactional(readOnly = true)
+    public PortfolioBalanceResponse portfolioAsOf(LocalDateTime asOf) {
+        LocalDateTime snapshotAt = snapshotRepository.findLatestSnapshotTimeUpTo(asOf);
+        Timestamp fromTs = Timestamp.valueOf(snapshotAt != null ? snapshotAt : BEGINNING);
+        Timestamp asOfTs = Timestamp.valueOf(asOf);
+
+        PortfolioBalanceResponse report = PortfolioBalanceResponse.builder()
+                .asOf(asOf)
+                .snapshotAt(snapshotAt)
+                .byStatus(new TreeMap<>())
+                .build();
+        Map<String, PortfolioBalanceResponse.StatusTotal> byStatus = report.getByStatus();
+        jdbcTemplate.query(STATE_AS_OF_SQL, rs -> {
+            String status = rs.getString("status");
+            if (!isOpen(status)) {
+                return;
+            }
+            double principal = rs.getDouble("principal");
+            Double rate = (Double) rs.getObject("interest_rate");
+            Timestamp start = rs.getTimestamp("accrual_start");
+            double interest = accrued(principal, rate, status, start != null ? start.toLocalDateTime() : null, asOf);
+            report.setOpenPledges(report.getOpenPledges() + 1);
+            report.setPrincipal(report.getPrincipal() + principal);
+            report.setAccruedInterest(report.getAccruedInterest() + interest);
+            report.setBalance(report.getBalance() + principal + interest);
+            PortfolioBalanceResponse.StatusTotal total = byStatus.computeIfAbsent(status,
+                    s -> new PortfolioBalanceResponse.StatusTotal());
+            total.setCount(total.getCount() + 1);
+            total.setBalance(total.getBalance() + principal + interest);
+        }, fromTs, fromTs, asOfTs, fromTs, asOfTs);
+        return report;
+    }
+
+    private static double accrued(double principal, Double rate, String status, LocalDateTime start, LocalDateTime asOf) {
+        if (!isOpen(status) || principal <= 0 || rate == null || start == null || asOf.isBefore(start)) {
+            return 0.0;
+        }
+        return InterestCalculator.accruedInterest(principal, rate, ChronoUnit.DAYS.between(start, asOf));
+    }
+
+    private static boolean isOpen(String status) {
+        return status != null && !"CLOSED".equals(status) && !PledgeBalanceEventEntity.DELETED.equals(status);
+    }
+}
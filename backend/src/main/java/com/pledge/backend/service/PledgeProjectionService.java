@@ -0,0 +1,148 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PledgeProjectionResponse;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.repository.PaymentRepository;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.util.InterestCalculator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projects what a pledge will owe in the future, assuming no further payments.
+ *
+ * The schedule runs month by month from now, or from the accrual start if that is
+ * later, so a pledge past its term or overdue still gets a schedule of what it will owe.
+ * Uses the same accrual rule as payments (one full month for the first 30 days, then
+ * daily pro-rata on the current principal from the last payment or creation date). The
+ * balance at any date is a closed-form function of the day count, so each point is O(1)
+ * and a 60-month schedule costs 60 evaluations regardless of how far out it goes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PledgeProjectionService {
+
+    public static final int DEFAULT_HORIZON_MONTHS = 12;
+    public static final int MAX_HORIZON_MONTHS = 60;
+
+    private final PledgeRepository pledgeRepository;
+    private final PaymentRepository paymentRepository;
+
+    /**
+     * Month-by-month schedule for one pledge. Horizon defaults to the length of the pledge term.
+     */
+    public PledgeProjectionResponse projectSchedule(Long pledgeId, Integer months) {
+        PledgeEntity pledge = findPledge(pledgeId);
+        LocalDateTime lastPayment = paymentRepository.findLastPaymentDateByPledgeId(pledgeId);
+        return project(pledge, lastPayment, resolveHorizon(months, pledge), LocalDateTime.now());
+    }
+
+    /**
+     * Balance of one pledge at a single future (or past) date.
+     */
+    public PledgeProjectionResponse projectAt(Long pledgeId, LocalDateTime date) {
+        PledgeEntity pledge = findPledge(pledgeId);
+        LocalDateTime lastPayment = paymentRepository.findLastPaymentDateByPledgeId(pledgeId);
+        PledgeProjectionResponse response = project(pledge, lastPayment, 0, LocalDateTime.now());
+        response.setPoints(List.of(point(pledge, accrualStart(pledge, lastPayment), null, date)));
+        return response;
+    }
+
+    /**
+     * Schedules for every open pledge whose deadline falls in the window, built from two
+     * queries (pledges, and last payment date per pledge) whatever the number of pledges.
+     */
+    public List<PledgeProjectionResponse> projectDueBetween(LocalDateTime from, LocalDateTime to, Integer months) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A valid from/to window is required");
+        }
+        List<PledgeEntity> pledges = pledgeRepository.findOpenPledgesDueBetween(from, to);
+        Map<Long, LocalDateTime> lastPayments = new HashMap<>();
+        for (Object[] row : paymentRepository.findLastPaymentDatesForPledgesDueBetween(from, to)) {
+            lastPayments.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PledgeProjectionResponse> projections = new ArrayList<>(pledges.size());
+        for (PledgeEntity pledge : pledges) {
+            projections.add(project(pledge, lastPayments.get(pledge.getId()), resolveHorizon(months, pledge), now));
+        }
+        return projections;
+    }
+
+    private PledgeEntity findPledge(Long pledgeId) {
+        return pledgeRepository.findById(pledgeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pledge not found"));
+    }
+
+    private static int resolveHorizon(Integer months, PledgeEntity pledge) {
+        int horizon = months != null ? months
+                : pledge.getPledgeDuration() != null ? pledge.getPledgeDuration()
+                : DEFAULT_HORIZON_MONTHS;
+        if (horizon < 1 || horizon > MAX_HORIZON_MONTHS) {
+            throw new IllegalArgumentException("Projection horizon must be between 1 and " + MAX_HORIZON_MONTHS + " months");
+        }
+        return horizon;
+    }
+
+    private static LocalDateTime accrualStart(PledgeEntity pledge, LocalDateTime lastPayment) {
+        return lastPayment != null ? lastPayment : pledge.getCreatedAt();
+    }
+
+    private PledgeProjectionResponse project(PledgeEntity pledge, LocalDateTime lastPayment, int months,
+                                             LocalDateTime now) {
+        LocalDateTime start = accrualStart(pledge, lastPayment);
+        // Anchored at creation, a pledge past its term would only get dates already gone
+        LocalDateTime from = start == null || start.isBefore(now) ? now : start;
+        List<PledgeProjectionResponse.Point> points = new ArrayList<>(months);
+        if (start != null) {
+            for (int month = 1; month <= months; month++) {
+                points.add(point(pledge, start, month, from.plusMonths(month)));
+            }
+        }
+
+        Double balanceAtDeadline = start != null && pledge.getDeadline() != null
+                ? point(pledge, start, null, pledge.getDeadline()).getBalance()
+                : null;
+
+        return PledgeProjectionResponse.builder()
+                .pledgeId(pledge.getId())
+                .customerId(pledge.getCustomerId())
+                .status(pledge.getStatus())
+                .principal(pledge.getAmount())
+                .interestRate(pledge.getInterestRate())
+                .createdAt(pledge.getCreatedAt())
+                .accrualStart(start)
+                .projectedFrom(from)
+                .deadline(pledge.getDeadline())
+                .pledgeDuration(pledge.getPledgeDuration())
+                .balanceAtDeadline(balanceAtDeadline)
+                .points(points)
+                .build();
+    }
+
+    private static PledgeProjectionResponse.Point point(PledgeEntity pledge, LocalDateTime start, Integer month,
+                                                        LocalDateTime date) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        double rate = pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate();
+        long days = Math.max(0L, ChronoUnit.DAYS.between(start, date));
+        double interest = InterestCalculator.accruedInterest(principal, rate, days);
+        return PledgeProjectionResponse.Point.builder()
+                .month(month)
+                .date(date)
+                .daysAccrued(days)
+                .interest(interest)
+                .balance(principal + interest)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PledgeSearchResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked full-text search over pledges.
+ *
+ * Each pledge carries a trigger-maintained tsvector (db/migration/V9) of its title and item type (weight
+ * A), customer name and purity (B), and description and notes (D), with a GIN index
+ * on it. Whole words are matched on their stem and the last word is prefix-matched as
+ * the user types, so "bangles 22" finds "Bangle pair, 22K".
+ *
+ * Every match the GIN scan hands over is ranked before the page is cut, so the top
+ * results are exact however broad the term; ranking reads only the stored vectors, not
+ * the rows, and a top-N sort keeps just one page in memory. Snippets are built only for
+ * the rows on the page. Pages continue from a (rank, id) keyset cursor rather than an
+ * offset, so later pages skip the rows already shown without sorting them again.
+ *
+ * With app.read-model.enabled=true the search runs over the in-memory {@link PledgeBook}
+ * instead, in the same response shape.
+ */
+@Service
+public class PledgeSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    private static final int MAX_TERMS = 8;
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    // ts_headline markers; the snippet is HTML-escaped before they become <mark> tags
+    static final String START_SEL = "\u0001";
+    static final String STOP_SEL = "\u0002";
+
+    private static final String SEARCH_SQL =
+            "SELECT r.id, r.rank, p.customer_id, c.name AS customer_name, p.title, p.item_type, p.purity, " +
+            "p.weight, p.amount, p.status, p.deadline, " +
+            "ts_headline('english', concat_ws(' | ', p.title, p.item_type, p.purity, c.name, p.description, p.notes), " +
+            "  r.query, 'StartSel=" + START_SEL + ", StopSel=" + STOP_SEL + ", MaxWords=18, MinWords=6, MaxFragments=2') AS snippet " +
+            "FROM (SELECT p.id, ts_rank_cd(p.search_vector, q.query) AS rank, q.query " +
+            "      FROM pledges p, to_tsquery('english', ?) AS q(query) " +
+            "      WHERE p.search_vector @@ q.query %s " +
+            "      ORDER BY rank DESC, p.id DESC LIMIT ?) r " +
+            "JOIN pledges p ON p.id = r.id " +
+            "LEFT JOIN customers c ON c.id = p.customer_id " +
+            "ORDER BY r.rank DESC, r.id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PledgeBook book;
+
+    public PledgeSearchService(JdbcTemplate jdbcTemplate, ObjectProvider<PledgeBook> bookProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.book = bookProvider.getIfAvailable();
+    }
+
+    @Transactional(readOnly = true)
+    public PledgeSearchResponse search(String text, String status, Integer limit, String cursor) {
+        if (book != null) {
+            return book.search(text, status, limit, cursor);
+        }
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String tsQuery = toPrefixQuery(text);
+        if (tsQuery == null) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit");
+        }
+
+        StringBuilder filters = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        args.add(tsQuery);
+        if (status != null && !status.isBlank()) {
+            filters.append(" AND p.status = ?");
+            args.add(status.trim().toUpperCase(Locale.ROOT));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] after = decodeCursor(cursor);
+            filters.append(" AND (ts_rank_cd(p.search_vector, q.query) < ? " +
+                    "OR (ts_rank_cd(p.search_vector, q.query) = ? AND p.id < ?))");
+            args.add(after[0]);
+            args.add(after[0]);
+            args.add(after[1]);
+        }
+        // One extra row tells us whether there is a next page
+        args.add(pageSize + 1);
+
+        List<PledgeSearchResponse.Hit> hits = jdbcTemplate.query(String.format(SEARCH_SQL, filters), (rs, row) -> {
+            Timestamp deadline = rs.getTimestamp("deadline");
+            return PledgeSearchResponse.Hit.builder()
+                    .pledgeId(rs.getLong("id"))
+                    .rank(rs.getFloat("rank"))
+                    .customerId((Long) rs.getObject("customer_id"))
+                    .customerName(rs.getString("customer_name"))
+                    .title(rs.getString("title"))
+                    .itemType(rs.getString("item_type"))
+                    .purity(rs.getString("purity"))
+                    .weight((Double) rs.getObject("weight"))
+                    .amount((Double) rs.getObject("amount"))
+                    .status(rs.getString("status"))
+                    .deadline(deadline != null ? deadline.toLocalDateTime() : null)
+                    .snippet(highlight(rs.getString("snippet")))
+                    .build();
+        }, args.toArray());
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = new ArrayList<>(hits.subList(0, pageSize));
+            PledgeSearchResponse.Hit last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(last.getRank(), last.getPledgeId());
+        }
+        return PledgeSearchResponse.builder()
+                .query(text)
+                .results(hits)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * "gold chain 22" → "gold & chain & 22:*". Only letters and digits reach to_tsquery,
+     * so user input can never produce a tsquery syntax error.
+     */
+    static String toPrefixQuery(String text) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        // Exact lexemes are far cheaper to intersect in the GIN index than prefix expansions
+        return String.join(" & ", terms) + ":*";
+    }
+
+    /**
+     * The lower-cased letter-and-digit runs of the search text, at most MAX_TERMS of them.
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = TERM.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            terms.add(matcher.group());
+        }
+        return terms;
+    }
+
+    static String highlight(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet).replace(START_SEL, "<mark>").replace(STOP_SEL, "</mark>");
+    }
+
+    static String encodeCursor(float rank, long id) {
+        String raw = Float.toString(rank) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            return new Object[]{Float.parseFloat(raw.substring(0, colon)), Long.parseLong(raw.substring(colon + 1))};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
@@ -4,11 +4,12 @@ package com.pledge.backend.service;
 import com.pledge.backend.dto.request.PledgeRequest;
 import com.pledge.backend.dto.response.PledgeResponse;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PledgeService {
 	PledgeResponse createPledge(PledgeRequest request);
 	PledgeResponse getPledgeById(Long id);
-	List<PledgeResponse> getAllPledges();
+	void forEachPledge(Consumer<? super PledgeResponse> action);
 	List<PledgeResponse> getPledgesByCustomerId(Long customerId);
 	PledgeResponse updatePledge(Long id, PledgeRequest request);
 	void deletePledge(Long id);
@@ -0,0 +1,76 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.util.StripedLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes writes to the same pledge and retries optimistic lock conflicts.
+ *
+ * Writes in this instance queue on a striped lock keyed by pledge id, so two counters
+ * paying the same pledge simply wait for each other. The {@code @Version} column on the
+ * pledge still catches conflicts from other instances or other code paths; those are
+ * retried a bounded number of times, each attempt in a fresh transaction.
+ *
+ * Call this from outside the transactional service (i.e. from the controller) so every
+ * attempt re-reads the pledge.
+ */
+@Slf4j
+@Component
+public class PledgeWriteCoordinator {
+
+    private final StripedLock locks;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public PledgeWriteCoordinator(@Value("${app.pledge-writes.lock-stripes:256}") int stripes,
+                                  @Value("${app.pledge-writes.max-attempts:3}") int maxAttempts,
+                                  @Value("${app.pledge-writes.retry-backoff-ms:20}") long backoffMillis) {
+        this.locks = new StripedLock(stripes);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = Math.max(0, backoffMillis);
+    }
+
+    public <T> T write(Long pledgeId, Supplier<T> work) {
+        if (pledgeId == null) {
+            return work.get();
+        }
+        ReentrantLock lock = locks.get(pledgeId);
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return work.get();
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        log.warn("Pledge {} update still conflicting after {} attempts", pledgeId, attempt);
+                        throw e;
+                    }
+                    log.info("Pledge {} changed concurrently; retrying (attempt {} of {})", pledgeId, attempt + 1, maxAttempts);
+                    pause(attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause(int attempt) {
+        if (backoffMillis == 0) {
+            return;
+        }
+        try {
+            // Jittered linear backoff so retrying writers on other instances do not collide again
+            Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying pledge update", e);
+        }
+    }
+}
@@ -0,0 +1,628 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse;
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse.AgeBucket;
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse.CustomerExposure;
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse.PledgeItem;
+import com.pledge.backend.dto.response.PortfolioAnalyticsResponse.PurityHolding;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Whole-book analytics for the owner: aging, customer concentration, weight held by
+ * purity, yield and the largest and oldest pledges.
+ *
+ * Open pledges are streamed from cursors into primitive column arrays (no entities,
+ * customers and purities dictionary-encoded to ints); large books are read as parallel
+ * id ranges. Every metric is then computed in
+ * a single fork/join pass: each leaf folds its slice into a partial result and partials
+ * are merged pairwise, so the pass scales with cores and allocates a handful of arrays
+ * per leaf rather than an object per pledge. Names and titles are looked up afterwards
+ * for the few rows that make the top lists.
+ *
+ * Results are reused for app.analytics.cache-seconds so a dashboard refreshing on
+ * several screens does not recompute the book each time.
+ */
+@Slf4j
+@Service
+public class PortfolioAnalyticsService {
+
+    public static final int DEFAULT_TOP = 10;
+    public static final int MAX_TOP = 100;
+
+    private static final String LOAD_SQL =
+            "SELECT p.id, p.customer_id, COALESCE(p.amount, 0), COALESCE(p.interest_rate, 0), COALESCE(p.weight, 0), " +
+            "p.market_value, COALESCE(p.purity, ''), " +
+            "CAST(p.created_at AS date) - DATE '1970-01-01', CAST(p.deadline AS date) - DATE '1970-01-01' " +
+            "FROM pledges p WHERE p.status IN ('ACTIVE', 'PARTIALLY_PAID', 'DEFAULTED') AND p.id BETWEEN ? AND ?";
+
+    // Below this many ids per segment the book is read over a single cursor
+    private static final long MIN_SEGMENT_IDS = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate readTransaction;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ForkJoinPool pool;
+    private final int[] ageBuckets;
+    private final long cacheMillis;
+    private final int maxConnections;
+
+    private volatile Cached cached;
+
+    private record Cached(int top, long computedAt, PortfolioAnalyticsResponse response) {
+    }
+
+    public PortfolioAnalyticsService(JdbcTemplate jdbcTemplate,
+                                     NamedParameterJdbcTemplate namedJdbc,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.analytics.parallelism:0}") int parallelism,
+                                     @Value("${app.analytics.fetch-size:10000}") int fetchSize,
+                                     @Value("${app.analytics.age-buckets:30,90,180,365}") int[] ageBuckets,
+                                     @Value("${app.analytics.cache-seconds:30}") long cacheSeconds,
+                                     @Value("${app.analytics.max-connections:2}") int maxConnections) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbc = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbc.setFetchSize(Math.max(100, fetchSize));
+        this.namedJdbc = namedJdbc;
+        // Postgres only streams with a fetch size inside a transaction
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.ageBuckets = Arrays.stream(ageBuckets).filter(d -> d > 0).sorted().distinct().toArray();
+        this.cacheMillis = Math.max(0, cacheSeconds) * 1000;
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Portfolio analytics with the given top-list size; a result up to cache-seconds old
+     * is returned unless refresh is set.
+     */
+    public PortfolioAnalyticsResponse portfolio(Integer top, boolean refresh) {
+        int n = top != null ? top : DEFAULT_TOP;
+        if (n < 1 || n > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+        Cached last = cached;
+        if (!refresh && last != null && last.top() == n
+                && System.currentTimeMillis() - last.computedAt() < cacheMillis) {
+            return last.response();
+        }
+
+        long started = System.nanoTime();
+        Columns columns = load();
+        long loaded = System.nanoTime();
+        int today = (int) LocalDate.now().toEpochDay();
+        Partial total = columns.size == 0
+                ? new Partial(columns, ageBuckets.length + 1, n)
+                : pool.invoke(new Pass(columns, today, ageBuckets, n, 0, columns.size,
+                        Math.max(10_000, columns.size / (pool.getParallelism() * 4) + 1)));
+        PortfolioAnalyticsResponse response = toResponse(columns, total, today, n);
+        long finished = System.nanoTime();
+        response.setLoadMs((loaded - started) / 1_000_000);
+        response.setComputeMs((finished - loaded) / 1_000_000);
+        log.debug("Portfolio analytics over {} pledges: load {} ms, compute {} ms",
+                columns.size, response.getLoadMs(), response.getComputeMs());
+
+        cached = new Cached(n, System.currentTimeMillis(), response);
+        return response;
+    }
+
+    /**
+     * Reads the open book into columns. Large books are split into id ranges streamed
+     * over separate connections in parallel, then concatenated; each range is its own
+     * read-only transaction, so the figures can straddle a write or two, which is fine
+     * for analytics. At most app.analytics.max-connections ranges are read at once, so a
+     * refresh leaves the rest of the connection pool to requests.
+     */
+    private Columns load() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM pledges");
+        if (bounds.get("lo") == null) {
+            return new Columns();
+        }
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+        int segments = (int) Math.max(1, Math.min(Math.min(pool.getParallelism(), maxConnections),
+                (hi - lo + 1) / MIN_SEGMENT_IDS));
+        if (segments == 1) {
+            return loadRange(lo, hi);
+        }
+        long span = (hi - lo + segments) / segments;
+        List<Callable<Columns>> loads = new ArrayList<>(segments);
+        for (long from = lo; from <= hi; from += span) {
+            long start = from;
+            long end = Math.min(hi, from + span - 1);
+            loads.add(() -> loadRange(start, end));
+        }
+        List<Columns> parts = new ArrayList<>(loads.size());
+        for (Future<Columns> part : pool.invokeAll(loads)) {
+            try {
+                parts.add(part.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Portfolio load interrupted", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re
+                        : new IllegalStateException("Portfolio load failed", e.getCause());
+            }
+        }
+        return Columns.concat(parts);
+    }
+
+    private Columns loadRange(long fromId, long toId) {
+        return readTransaction.execute(status -> {
+            Columns c = new Columns();
+            Map<Long, Integer> customerIndex = new HashMap<>();
+            Map<String, Integer> purityIndex = new HashMap<>();
+            streamingJdbc.query(LOAD_SQL, rs -> {
+                int i = c.add();
+                c.id[i] = rs.getLong(1);
+                long customerId = rs.getLong(2);
+                Integer ci = customerIndex.get(customerId);
+                if (ci == null) {
+                    ci = customerIndex.size();
+                    customerIndex.put(customerId, ci);
+                    c.customerIds.add(customerId);
+                }
+                c.customer[i] = ci;
+                c.amount[i] = rs.getDouble(3);
+                c.rate[i] = rs.getDouble(4);
+                c.weight[i] = rs.getDouble(5);
+                double marketValue = rs.getDouble(6);
+                c.marketValue[i] = rs.wasNull() ? Double.NaN : marketValue;
+                c.purity[i] = purityIndex.computeIfAbsent(rs.getString(7), purity -> {
+                    c.purities.add(purity);
+                    return c.purities.size() - 1;
+                });
+                int created = rs.getInt(8);
+                c.createdDay[i] = rs.wasNull() ? Integer.MIN_VALUE : created;
+                int deadline = rs.getInt(9);
+                c.deadlineDay[i] = rs.wasNull() ? Integer.MAX_VALUE : deadline;
+            }, fromId, toId);
+            return c;
+        });
+    }
+
+    /**
+     * Open pledges in column form. Arrays grow by doubling while loading; {@code size} is
+     * the number of filled rows.
+     */
+    private static final class Columns {
+        int size;
+        long[] id = new long[1024];
+        int[] customer = new int[1024];
+        double[] amount = new double[1024];
+        double[] rate = new double[1024];
+        double[] weight = new double[1024];
+        double[] marketValue = new double[1024];
+        int[] purity = new int[1024];
+        int[] createdDay = new int[1024];
+        int[] deadlineDay = new int[1024];
+        final List<Long> customerIds = new ArrayList<>();
+        final List<String> purities = new ArrayList<>();
+
+        int add() {
+            if (size == id.length) {
+                int capacity = size * 2;
+                id = Arrays.copyOf(id, capacity);
+                customer = Arrays.copyOf(customer, capacity);
+                amount = Arrays.copyOf(amount, capacity);
+                rate = Arrays.copyOf(rate, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                marketValue = Arrays.copyOf(marketValue, capacity);
+                purity = Arrays.copyOf(purity, capacity);
+                createdDay = Arrays.copyOf(createdDay, capacity);
+                deadlineDay = Arrays.copyOf(deadlineDay, capacity);
+            }
+            return size++;
+        }
+
+        /**
+         * Appends segments into one set of columns, merging their customer and purity
+         * dictionaries.
+         */
+        static Columns concat(List<Columns> parts) {
+            Columns all = new Columns();
+            int total = parts.stream().mapToInt(part -> part.size).sum();
+            all.size = total;
+            all.id = new long[total];
+            all.customer = new int[total];
+            all.amount = new double[total];
+            all.rate = new double[total];
+            all.weight = new double[total];
+            all.marketValue = new double[total];
+            all.purity = new int[total];
+            all.createdDay = new int[total];
+            all.deadlineDay = new int[total];
+            Map<Long, Integer> customerIndex = new HashMap<>();
+            Map<String, Integer> purityIndex = new HashMap<>();
+            int offset = 0;
+            for (Columns part : parts) {
+                int[] customerMap = new int[part.customerIds.size()];
+                for (int k = 0; k < customerMap.length; k++) {
+                    customerMap[k] = customerIndex.computeIfAbsent(part.customerIds.get(k), id -> {
+                        all.customerIds.add(id);
+                        return all.customerIds.size() - 1;
+                    });
+                }
+                int[] purityMap = new int[part.purities.size()];
+                for (int k = 0; k < purityMap.length; k++) {
+                    purityMap[k] = purityIndex.computeIfAbsent(part.purities.get(k), purity -> {
+                        all.purities.add(purity);
+                        return all.purities.size() - 1;
+                    });
+                }
+                int n = part.size;
+                System.arraycopy(part.id, 0, all.id, offset, n);
+                System.arraycopy(part.amount, 0, all.amount, offset, n);
+                System.arraycopy(part.rate, 0, all.rate, offset, n);
+                System.arraycopy(part.weight, 0, all.weight, offset, n);
+                System.arraycopy(part.marketValue, 0, all.marketValue, offset, n);
+                System.arraycopy(part.createdDay, 0, all.createdDay, offset, n);
+                System.arraycopy(part.deadlineDay, 0, all.deadlineDay, offset, n);
+                for (int i = 0; i < n; i++) {
+                    all.customer[offset + i] = customerMap[part.customer[i]];
+                    all.purity[offset + i] = purityMap[part.purity[i]];
+                }
+                offset += n;
+            }
+            return all;
+        }
+    }
+
+    /**
+     * Everything one slice of rows contributes; two partials merge by adding arrays and
+     * combining the top-N heaps.
+     */
+    private static final class Partial {
+        long count;
+        double principal;
+        double weight;
+        double valuedPrincipal;
+        double marketValue;
+        double rateWeighted;
+        long overdueCount;
+        double overduePrincipal;
+        final long[] ageCount;
+        final double[] agePrincipal;
+        final long[] purityCount;
+        final double[] purityWeight;
+        final double[] purityPrincipal;
+        final double[] purityMarketValue;
+        final int[] customerPledges;
+        final double[] customerPrincipal;
+        // Min-heap of row indexes by amount, and max-heap by age (oldest kept)
+        final PriorityQueue<Integer> largest;
+        final PriorityQueue<Integer> oldest;
+
+        Partial(Columns c, int buckets, int top) {
+            ageCount = new long[buckets];
+            agePrincipal = new double[buckets];
+            int purities = c.purities.size();
+            purityCount = new long[purities];
+            purityWeight = new double[purities];
+            purityPrincipal = new double[purities];
+            purityMarketValue = new double[purities];
+            customerPledges = new int[c.customerIds.size()];
+            customerPrincipal = new double[c.customerIds.size()];
+            largest = new PriorityQueue<>(top + 1, largestOrder(c).reversed());
+            oldest = new PriorityQueue<>(top + 1, oldestOrder(c).reversed());
+        }
+
+        void merge(Partial other, int top) {
+            count += other.count;
+            principal += other.principal;
+            weight += other.weight;
+            valuedPrincipal += other.valuedPrincipal;
+            marketValue += other.marketValue;
+            rateWeighted += other.rateWeighted;
+            overdueCount += other.overdueCount;
+            overduePrincipal += other.overduePrincipal;
+            add(ageCount, other.ageCount);
+            add(agePrincipal, other.agePrincipal);
+            add(purityCount, other.purityCount);
+            add(purityWeight, other.purityWeight);
+            add(purityPrincipal, other.purityPrincipal);
+            add(purityMarketValue, other.purityMarketValue);
+            for (int i = 0; i < customerPledges.length; i++) {
+                customerPledges[i] += other.customerPledges[i];
+                customerPrincipal[i] += other.customerPrincipal[i];
+            }
+            for (Integer row : other.largest) {
+                offer(largest, row, top);
+            }
+            for (Integer row : other.oldest) {
+                offer(oldest, row, top);
+            }
+        }
+
+        private static void add(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+
+        private static void add(double[] into, double[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+
+    // Best first: bigger amount, then lower id
+    private static Comparator<Integer> largestOrder(Columns c) {
+        return (a, b) -> {
+            int byAmount = Double.compare(c.amount[b], c.amount[a]);
+            return byAmount != 0 ? byAmount : Long.compare(c.id[a], c.id[b]);
+        };
+    }
+
+    // Best first: earlier creation day, then lower id
+    private static Comparator<Integer> oldestOrder(Columns c) {
+        return (a, b) -> {
+            int byDay = Integer.compare(c.createdDay[a], c.createdDay[b]);
+            return byDay != 0 ? byDay : Long.compare(c.id[a], c.id[b]);
+        };
+    }
+
+    // Heaps are ordered worst-first, so the head is the entry to evict
+    private static void offer(PriorityQueue<Integer> heap, int row, int top) {
+        if (heap.size() < top) {
+            heap.add(row);
+        } else if (heap.comparator().compare(row, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(row);
+        }
+    }
+
+    private static final class Pass extends RecursiveTask<Partial> {
+        private final Columns c;
+        private final int today;
+        private final int[] ageBuckets;
+        private final int top;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        Pass(Columns c, int today, int[] ageBuckets, int top, int from, int to, int leafSize) {
+            this.c = c;
+            this.today = today;
+            this.ageBuckets = ageBuckets;
+            this.top = top;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > leafSize) {
+                int mid = (from + to) >>> 1;
+                Pass left = new Pass(c, today, ageBuckets, top, from, mid, leafSize);
+                left.fork();
+                Partial right = new Pass(c, today, ageBuckets, top, mid, to, leafSize).compute();
+                Partial merged = left.join();
+                merged.merge(right, top);
+                return merged;
+            }
+            Partial p = new Partial(c, ageBuckets.length + 1, top);
+            for (int i = from; i < to; i++) {
+                double amount = c.amount[i];
+                p.count++;
+                p.principal += amount;
+                p.weight += c.weight[i];
+                p.rateWeighted += amount * c.rate[i];
+                double marketValue = c.marketValue[i];
+                if (!Double.isNaN(marketValue)) {
+                    p.marketValue += marketValue;
+                    p.valuedPrincipal += amount;
+                }
+                if (c.deadlineDay[i] < today) {
+                    p.overdueCount++;
+                    p.overduePrincipal += amount;
+                }
+                int created = c.createdDay[i];
+                if (created != Integer.MIN_VALUE) {
+                    int bucket = bucket(today - created);
+                    p.ageCount[bucket]++;
+                    p.agePrincipal[bucket] += amount;
+                    offer(p.oldest, i, top);
+                }
+                int purity = c.purity[i];
+                p.purityCount[purity]++;
+                p.purityWeight[purity] += c.weight[i];
+                p.purityPrincipal[purity] += amount;
+                if (!Double.isNaN(marketValue)) {
+                    p.purityMarketValue[purity] += marketValue;
+                }
+                int customer = c.customer[i];
+                p.customerPledges[customer]++;
+                p.customerPrincipal[customer] += amount;
+                offer(p.largest, i, top);
+            }
+            return p;
+        }
+
+        private int bucket(int ageDays) {
+            for (int b = 0; b < ageBuckets.length; b++) {
+                if (ageDays <= ageBuckets[b]) {
+                    return b;
+                }
+            }
+            return ageBuckets.length;
+        }
+    }
+
+    private PortfolioAnalyticsResponse toResponse(Columns c, Partial p, int today, int top) {
+        List<AgeBucket> aging = new ArrayList<>(ageBuckets.length + 1);
+        int lower = 0;
+        for (int b = 0; b <= ageBuckets.length; b++) {
+            Integer upper = b < ageBuckets.length ? ageBuckets[b] : null;
+            aging.add(AgeBucket.builder()
+                    .label(upper != null ? lower + "-" + upper : lower + "+")
+                    .minDays(lower)
+                    .maxDays(upper)
+                    .count(p.ageCount[b])
+                    .principal(p.agePrincipal[b])
+                    .build());
+            lower = upper != null ? upper + 1 : lower;
+        }
+
+        List<PurityHolding> byPurity = new ArrayList<>();
+        for (int i = 0; i < c.purities.size(); i++) {
+            byPurity.add(PurityHolding.builder()
+                    .purity(c.purities.get(i))
+                    .count(p.purityCount[i])
+                    .weightGrams(p.purityWeight[i])
+                    .principal(p.purityPrincipal[i])
+                    .marketValue(p.purityMarketValue[i])
+                    .build());
+        }
+        byPurity.sort(Comparator.comparingDouble(PurityHolding::getPrincipal).reversed());
+
+        // Top customers by principal, plus HHI over every customer's share
+        double hhi = 0.0;
+        PriorityQueue<Integer> topCustomers = new PriorityQueue<>(top + 1,
+                Comparator.<Integer>comparingDouble(i -> p.customerPrincipal[i])
+                        .thenComparing(i -> c.customerIds.get(i), Comparator.reverseOrder()));
+        for (int i = 0; i < p.customerPrincipal.length; i++) {
+            if (p.principal > 0) {
+                double share = p.customerPrincipal[i] / p.principal;
+                hhi += share * share;
+            }
+            if (topCustomers.size() < top) {
+                topCustomers.add(i);
+            } else if (topCustomers.comparator().compare(i, topCustomers.peek()) > 0) {
+                topCustomers.poll();
+                topCustomers.add(i);
+            }
+        }
+        List<Integer> customerRows = new ArrayList<>(topCustomers);
+        customerRows.sort(topCustomers.comparator().reversed());
+        List<Integer> largestRows = sorted(p.largest, largestOrder(c));
+        List<Integer> oldestRows = sorted(p.oldest, oldestOrder(c));
+
+        List<Long> customerIds = new ArrayList<>();
+        customerRows.forEach(i -> customerIds.add(c.customerIds.get(i)));
+        largestRows.forEach(i -> customerIds.add(c.customerIds.get(c.customer[i])));
+        oldestRows.forEach(i -> customerIds.add(c.customerIds.get(c.customer[i])));
+        Map<Long, String> names = customerNames(customerIds);
+
+        double topPrincipal = 0.0;
+        List<CustomerExposure> exposures = new ArrayList<>(customerRows.size());
+        for (int i : customerRows) {
+            topPrincipal += p.customerPrincipal[i];
+            long customerId = c.customerIds.get(i);
+            exposures.add(CustomerExposure.builder()
+                    .customerId(customerId)
+                    .customerName(names.get(customerId))
+                    .pledges(p.customerPledges[i])
+                    .principal(p.customerPrincipal[i])
+                    .share(p.principal > 0 ? p.customerPrincipal[i] / p.principal : 0.0)
+                    .build());
+        }
+
+        Map<Long, PledgeItem> items = pledgeItems(c, largestRows, oldestRows, names, today);
+        double monthlyRate = p.principal > 0 ? p.rateWeighted / p.principal : 0.0;
+        return PortfolioAnalyticsResponse.builder()
+                .asOf(LocalDateTime.now())
+                .openPledges(p.count)
+                .customers(Arrays.stream(p.customerPledges).filter(k -> k > 0).count())
+                .principal(p.principal)
+                .weightGrams(p.weight)
+                .marketValue(p.marketValue)
+                .ltv(p.marketValue > 0 ? p.valuedPrincipal / p.marketValue : null)
+                .weightedMonthlyRate(monthlyRate)
+                .annualizedYield(monthlyRate * 12)
+                .overduePledges(p.overdueCount)
+                .overduePrincipal(p.overduePrincipal)
+                .aging(aging)
+                .byPurity(byPurity)
+                .concentration(PortfolioAnalyticsResponse.Concentration.builder()
+                        .topShare(p.principal > 0 ? topPrincipal / p.principal : 0.0)
+                        .hhi(hhi)
+                        .topCustomers(exposures)
+                        .build())
+                .largest(largestRows.stream().map(i -> items.get(c.id[i])).filter(Objects::nonNull).toList())
+                .oldest(oldestRows.stream().map(i -> items.get(c.id[i])).filter(Objects::nonNull).toList())
+                .build();
+    }
+
+    private static List<Integer> sorted(PriorityQueue<Integer> heap, Comparator<Integer> bestFirst) {
+        List<Integer> rows = new ArrayList<>(heap);
+        rows.sort(bestFirst);
+        return rows;
+    }
+
+    private Map<Long, String> customerNames(List<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            namedJdbc.query("SELECT id, name FROM customers WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", ids),
+                    rs -> { names.put(rs.getLong("id"), rs.getString("name")); });
+        }
+        return names;
+    }
+
+    // Title, status and timestamps for the handful of pledges in the top lists
+    private Map<Long, PledgeItem> pledgeItems(Columns c, List<Integer> largest, List<Integer> oldest,
+                                              Map<Long, String> names, int today) {
+        Map<Long, Integer> rows = new HashMap<>();
+        largest.forEach(i -> rows.put(c.id[i], i));
+        oldest.forEach(i -> rows.put(c.id[i], i));
+        Map<Long, PledgeItem> items = new HashMap<>();
+        if (rows.isEmpty()) {
+            return items;
+        }
+        namedJdbc.query("SELECT id, title, status, created_at, deadline FROM pledges WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", rows.keySet()), rs -> {
+                    long id = rs.getLong("id");
+                    int i = rows.get(id);
+                    long customerId = c.customerIds.get(c.customer[i]);
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    Timestamp deadline = rs.getTimestamp("deadline");
+                    items.put(id, PledgeItem.builder()
+                            .pledgeId(id)
+                            .customerId(customerId)
+                            .customerName(names.get(customerId))
+                            .title(rs.getString("title"))
+                            .status(rs.getString("status"))
+                            .amount(c.amount[i])
+                            .interestRate(c.rate[i])
+                            .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                            .deadline(deadline != null ? deadline.toLocalDateTime() : null)
+                            .ageDays(c.createdDay[i] != Integer.MIN_VALUE ? today - c.createdDay[i] : 0)
+                            .build());
+                });
+        return items;
+    }
+}
@@ -0,0 +1,351 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.TimeseriesResponse;
+import com.pledge.backend.entity.PledgeEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pre-aggregated daily and monthly reporting figures.
+ *
+ * report_rollups (db/migration/V11) holds one row per (period, period start, purity, item type) with
+ * pledges opened, principal disbursed, interest booked at origination, payments,
+ * amount collected and the interest part of it. Pledge and payment writes add their
+ * figures to the day and month rows with an ON CONFLICT upsert inside the writing
+ * transaction, so charts spanning years read a few hundred rows instead of the
+ * pledge and payment tables.
+ *
+ * {@link #rebuild()} recomputes everything from pledges, payments and the balance
+ * ledger. It runs at startup when the table is empty and on app.reports.rebuild-cron
+ * to reconcile. Pledges that predate the balance ledger have no recorded opening
+ * principal or payment split: their disbursement is taken as current principal plus
+ * the principal repaid since, and payments made before the ledger count as principal only.
+ * Pledges moved to cold storage are counted from report_rollups_archived instead.
+ */
+@Slf4j
+@Service
+public class ReportRollupService {
+
+    public static final String DAY = "DAY";
+    public static final String MONTH = "MONTH";
+
+    private static final String METRICS = "pledges_opened, disbursed, interest_booked, payments, collected, interest_income";
+
+    // Day and month rows in one statement, always in that order so concurrent writers lock them alike
+    private static final String UPSERT_SQL =
+            "INSERT INTO report_rollups (period, period_start, purity, item_type, " + METRICS + ") " +
+            "VALUES ('DAY', ?, ?, ?, ?, ?, ?, ?, ?, ?), ('MONTH', ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            addOnConflict("report_rollups", "period, period_start, purity, item_type");
+
+    // Day figures straight from pledges and payments; %1$s narrows both halves to some pledges
+    private static final String DAY_FIGURES_SQL =
+            "SELECT f.day, f.purity, f.item_type, SUM(f.opened), SUM(f.disbursed), SUM(f.interest_booked), " +
+            "       SUM(f.payments), SUM(f.collected), SUM(f.interest_income) " +
+            "FROM (" +
+            "  SELECT CAST(p.created_at AS date) AS day, COALESCE(p.purity, '') AS purity, COALESCE(p.item_type, '') AS item_type, " +
+            "         1 AS opened, o.principal AS disbursed, o.principal * o.rate / 100.0 AS interest_booked, " +
+            "         0 AS payments, 0.0 AS collected, 0.0 AS interest_income " +
+            "  FROM pledges p " +
+            "  LEFT JOIN (SELECT pay.pledge_id, SUM(COALESCE(-e.principal_delta, pay.amount)) AS paid FROM payments pay " +
+            "             LEFT JOIN pledge_balance_events e ON e.payment_id = pay.id AND e.event_type = 'PAYMENT' " +
+            "             GROUP BY pay.pledge_id) paid ON paid.pledge_id = p.id " +
+            "  LEFT JOIN LATERAL (SELECT e.principal_after, e.interest_rate_after FROM pledge_balance_events e " +
+            "                     WHERE e.pledge_id = p.id AND e.event_type = 'CREATED' ORDER BY e.id LIMIT 1) c ON true " +
+            "  CROSS JOIN LATERAL (SELECT COALESCE(c.principal_after, COALESCE(p.amount, 0) + COALESCE(paid.paid, 0)) AS principal, " +
+            "                             COALESCE(c.interest_rate_after, p.interest_rate, 0) AS rate) o " +
+            "  WHERE p.created_at IS NOT NULL%1$s " +
+            "  UNION ALL " +
+            "  SELECT CAST(pay.payment_date AS date), COALESCE(p.purity, ''), COALESCE(p.item_type, ''), " +
+            "         0, 0.0, 0.0, 1, pay.amount, " +
+            "         GREATEST(0.0, LEAST(pay.amount, pay.amount + COALESCE(e.principal_delta, -pay.amount))) " +
+            "  FROM payments pay JOIN pledges p ON p.id = pay.pledge_id " +
+            "  LEFT JOIN pledge_balance_events e ON e.payment_id = pay.id AND e.event_type = 'PAYMENT' " +
+            "  WHERE pay.payment_date IS NOT NULL%1$s" +
+            ") f GROUP BY f.day, f.purity, f.item_type";
+
+    private static final String REBUILD_DAYS_SQL =
+            "INSERT INTO report_rollups (period, period_start, purity, item_type, " + METRICS + ") " +
+            "SELECT 'DAY', d.* FROM (" + DAY_FIGURES_SQL.formatted("") + ") d";
+
+    // Figures of archived pledges, whose source rows are no longer there to rebuild from
+    private static final String REBUILD_ARCHIVED_DAYS_SQL =
+            "INSERT INTO report_rollups (period, period_start, purity, item_type, " + METRICS + ") " +
+            "SELECT 'DAY', period_start, purity, item_type, " + METRICS + " FROM report_rollups_archived " +
+            addOnConflict("report_rollups", "period, period_start, purity, item_type");
+
+    private static final String RETAIN_ARCHIVED_SQL =
+            "INSERT INTO report_rollups_archived (period_start, purity, item_type, " + METRICS + ") " +
+            DAY_FIGURES_SQL.formatted(" AND p.id IN (:ids)") + " " +
+            addOnConflict("report_rollups_archived", "period_start, purity, item_type");
+
+    private static final String REBUILD_MONTHS_SQL =
+            "INSERT INTO report_rollups (period, period_start, purity, item_type, " + METRICS + ") " +
+            "SELECT 'MONTH', CAST(date_trunc('month', period_start) AS date), purity, item_type, " +
+            "       SUM(pledges_opened), SUM(disbursed), SUM(interest_booked), SUM(payments), SUM(collected), SUM(interest_income) " +
+            "FROM report_rollups WHERE period = 'DAY' " +
+            "GROUP BY CAST(date_trunc('month', period_start) AS date), purity, item_type";
+
+    private static final String TIMESERIES_SQL =
+            "SELECT period_start, %s AS series_key, SUM(pledges_opened) AS pledges_opened, SUM(disbursed) AS disbursed, " +
+            "SUM(interest_booked) AS interest_booked, SUM(payments) AS payments, SUM(collected) AS collected, " +
+            "SUM(interest_income) AS interest_income " +
+            "FROM report_rollups WHERE period = ? AND period_start >= ? AND period_start <= ? " +
+            "GROUP BY period_start%s ORDER BY period_start%s";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate writeTransaction;
+    private final int maxDays;
+
+    public ReportRollupService(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedJdbc,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.reports.max-daily-points:1100}") int maxDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = namedJdbc;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.maxDays = Math.max(1, maxDays);
+    }
+
+    /**
+     * Fills the table from history on first start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM report_rollups)", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not initialize report rollups; /api/reports/timeseries will be empty until rebuilt", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.reports.rebuild-cron:0 30 3 * * SUN}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Report rollup rebuild failed; incremental figures kept: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute every rollup row from source tables. Incremental writes wait on the
+     * table lock for the duration, so none is lost or counted twice. Archiving waits
+     * too (it writes report_rollups_archived before deleting the pledges), so a pledge
+     * cannot move to cold storage between the live and the archived statement and be
+     * counted in both or neither.
+     */
+    public int rebuild() {
+        long started = System.nanoTime();
+        int[] rows = writeTransaction.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE report_rollups IN EXCLUSIVE MODE");
+            jdbcTemplate.execute("LOCK TABLE report_rollups_archived IN SHARE MODE");
+            jdbcTemplate.update("DELETE FROM report_rollups");
+            int days = jdbcTemplate.update(REBUILD_DAYS_SQL) + jdbcTemplate.update(REBUILD_ARCHIVED_DAYS_SQL);
+            return new int[]{days, jdbcTemplate.update(REBUILD_MONTHS_SQL)};
+        });
+        log.info("Report rollups rebuilt: {} day rows, {} month rows in {} ms",
+                rows[0], rows[1], (System.nanoTime() - started) / 1_000_000);
+        return rows[0] + rows[1];
+    }
+
+    /**
+     * Keep the figures of pledges about to move to cold storage in report_rollups_archived,
+     * so {@link #rebuild()} still counts them once their rows are gone. The live rollup rows
+     * are left as they are. Call in the archiving transaction, before the rows are deleted.
+     */
+    public void retainArchived(Collection<Long> pledgeIds) {
+        if (!pledgeIds.isEmpty()) {
+            namedJdbc.update(RETAIN_ARCHIVED_SQL, Map.of("ids", pledgeIds));
+        }
+    }
+
+    public void recordPledgeOpened(PledgeEntity pledge) {
+        double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+        double rate = pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate();
+        upsert(pledge, pledge.getCreatedAt(), 1, principal, principal * rate / 100.0, 0, 0.0, 0.0);
+    }
+
+    /**
+     * Take a deleted pledge's origination back out, using the principal and rate it was opened with.
+     */
+    public void recordPledgeRemoved(PledgeEntity pledge) {
+        List<double[]> opened = jdbcTemplate.query(
+                "SELECT principal_after, COALESCE(interest_rate_after, 0) FROM pledge_balance_events " +
+                "WHERE pledge_id = ? AND event_type = 'CREATED' ORDER BY id LIMIT 1",
+                (rs, i) -> new double[]{rs.getDouble(1), rs.getDouble(2)}, pledge.getId());
+        double principal = !opened.isEmpty() ? opened.get(0)[0] : (pledge.getAmount() == null ? 0.0 : pledge.getAmount());
+        double rate = !opened.isEmpty() ? opened.get(0)[1] : (pledge.getInterestRate() == null ? 0.0 : pledge.getInterestRate());
+        upsert(pledge, pledge.getCreatedAt(), -1, -principal, -principal * rate / 100.0, 0, 0.0, 0.0);
+    }
+
+    /**
+     * A payment of {@code amount} that took the principal from principalBefore to the
+     * pledge's current amount; whatever did not reduce principal was interest.
+     */
+    public void recordPayment(PledgeEntity pledge, double amount, double principalBefore, LocalDateTime paidAt) {
+        PaymentFigures payment = PaymentFigures.of(pledge, amount, principalBefore, paidAt);
+        upsert(pledge, paidAt, 0, 0.0, 0.0, 1, amount, payment.interest());
+    }
+
+    /**
+     * One payment as {@link #recordPayment} sees it, captured right after it was applied
+     * to the pledge so several payments can be recorded together.
+     */
+    public record PaymentFigures(LocalDate day, String purity, String itemType, double amount, double interest) {
+        public static PaymentFigures of(PledgeEntity pledge, double amount, double principalBefore, LocalDateTime paidAt) {
+            double principalAfter = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
+            double interest = Math.max(0.0, Math.min(amount, amount - (principalBefore - principalAfter)));
+            return new PaymentFigures((paidAt != null ? paidAt : LocalDateTime.now()).toLocalDate(),
+                    pledge.getPurity() == null ? "" : pledge.getPurity(),
+                    pledge.getItemType() == null ? "" : pledge.getItemType(),
+                    amount, interest);
+        }
+    }
+
+    /**
+     * Payments from a batch write, added up per day, purity and item type and upserted in
+     * one JDBC batch. Rows go out in key order so concurrent batches lock them alike.
+     */
+    public void recordPayments(List<PaymentFigures> payments) {
+        TreeMap<RollupKey, double[]> totals = new TreeMap<>(Comparator.comparing(RollupKey::day)
+                .thenComparing(RollupKey::purity).thenComparing(RollupKey::itemType));
+        for (PaymentFigures payment : payments) {
+            double[] sums = totals.computeIfAbsent(new RollupKey(payment.day(), payment.purity(), payment.itemType()),
+                    key -> new double[3]);
+            sums[0]++;
+            sums[1] += payment.amount();
+            sums[2] += payment.interest();
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(totals.entrySet()), totals.size(), (ps, row) -> {
+            RollupKey key = row.getKey();
+            double[] sums = row.getValue();
+            Object[] values = {key.purity(), key.itemType(), 0L, 0.0, 0.0, (long) sums[0], sums[1], sums[2]};
+            ps.setDate(1, Date.valueOf(key.day()));
+            ps.setDate(10, Date.valueOf(key.day().withDayOfMonth(1)));
+            for (int i = 0; i < values.length; i++) {
+                ps.setObject(2 + i, values[i]);
+                ps.setObject(11 + i, values[i]);
+            }
+        });
+    }
+
+    // Upsert tail that adds the new figures to an existing row
+    private static String addOnConflict(String table, String key) {
+        StringBuilder sql = new StringBuilder("ON CONFLICT (").append(key).append(") DO UPDATE SET ");
+        String[] metrics = METRICS.split(", ");
+        for (int i = 0; i < metrics.length; i++) {
+            sql.append(i > 0 ? ", " : "").append(metrics[i]).append(" = ").append(table).append('.')
+                    .append(metrics[i]).append(" + EXCLUDED.").append(metrics[i]);
+        }
+        return sql.toString();
+    }
+
+    private record RollupKey(LocalDate day, String purity, String itemType) {
+    }
+
+    private void upsert(PledgeEntity pledge, LocalDateTime at, long opened, double disbursed, double interestBooked,
+                        long payments, double collected, double interestIncome) {
+        LocalDate day = (at != null ? at : LocalDateTime.now()).toLocalDate();
+        String purity = pledge.getPurity() == null ? "" : pledge.getPurity();
+        String itemType = pledge.getItemType() == null ? "" : pledge.getItemType();
+        jdbcTemplate.update(UPSERT_SQL,
+                Date.valueOf(day), purity, itemType, opened, disbursed, interestBooked, payments, collected, interestIncome,
+                Date.valueOf(day.withDayOfMonth(1)), purity, itemType, opened, disbursed, interestBooked, payments, collected, interestIncome);
+    }
+
+    /**
+     * Interest booked on pledges opened in the month starting at monthStart.
+     */
+    @Transactional(readOnly = true)
+    public double interestBookedInMonth(LocalDate monthStart) {
+        Double total = jdbcTemplate.queryForObject(
+                "SELECT SUM(interest_booked) FROM report_rollups WHERE period = 'MONTH' AND period_start = ?",
+                Double.class, Date.valueOf(monthStart.withDayOfMonth(1)));
+        return total != null ? total : 0.0;
+    }
+
+    @Transactional(readOnly = true)
+    public TimeseriesResponse timeseries(String granularity, LocalDate from, LocalDate to, String groupBy) {
+        String period = granularity == null || granularity.isBlank() ? MONTH : granularity.trim().toUpperCase(Locale.ROOT);
+        if (!DAY.equals(period) && !MONTH.equals(period)) {
+            throw new IllegalArgumentException("granularity must be day or month");
+        }
+        String column = null;
+        String dimension = null;
+        if (groupBy != null && !groupBy.isBlank()) {
+            switch (groupBy.trim()) {
+                case "purity" -> { column = "purity"; dimension = "purity"; }
+                case "itemType", "item_type" -> { column = "item_type"; dimension = "itemType"; }
+                default -> throw new IllegalArgumentException("groupBy must be purity or itemType");
+            }
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : (DAY.equals(period) ? end.minusDays(89) : end.minusYears(3).withDayOfMonth(1));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (DAY.equals(period) && ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new IllegalArgumentException("Daily series are limited to " + maxDays + " days; use granularity=month");
+        }
+        if (MONTH.equals(period)) {
+            start = start.withDayOfMonth(1);
+        }
+
+        String sql = String.format(TIMESERIES_SQL,
+                column != null ? column : "NULL",
+                column != null ? ", " + column : "",
+                column != null ? ", " + column : "");
+        List<TimeseriesResponse.Point> points = jdbcTemplate.query(sql, (rs, i) -> {
+            double collected = rs.getDouble("collected");
+            double interest = rs.getDouble("interest_income");
+            return TimeseriesResponse.Point.builder()
+                    .periodStart(rs.getDate("period_start").toLocalDate())
+                    .key(rs.getString("series_key"))
+                    .pledgesOpened(rs.getLong("pledges_opened"))
+                    .disbursed(rs.getDouble("disbursed"))
+                    .interestBooked(rs.getDouble("interest_booked"))
+                    .payments(rs.getLong("payments"))
+                    .collected(collected)
+                    .interestIncome(interest)
+                    .principalRepaid(collected - interest)
+                    .build();
+        }, period, Date.valueOf(start), Date.valueOf(end));
+
+        return TimeseriesResponse.builder()
+                .granularity(period.toLowerCase(Locale.ROOT))
+                .from(start)
+                .to(end)
+                .groupBy(dimension)
+                .points(points)
+                .build();
+    }
+}
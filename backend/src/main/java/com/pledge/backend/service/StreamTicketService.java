@@ -0,0 +1,67 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.StreamTicketResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, single-use tickets for opening the live event stream.
+ *
+ * EventSource cannot send an Authorization header, so the stream URL has to carry the
+ * credential, and URLs end up in access logs and proxy logs. A ticket is issued to a
+ * caller who is already authenticated (POST with the bearer token), is good for one
+ * connection within app.events.ticket-seconds, and is worthless once used or expired,
+ * so a logged ticket cannot be replayed. The JWT itself never appears in a URL.
+ */
+@Service
+public class StreamTicketService {
+
+    private record Ticket(String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Duration lifetime;
+
+    public StreamTicketService(@Value("${app.events.ticket-seconds:30}") long lifetimeSeconds) {
+        this.lifetime = Duration.ofSeconds(Math.max(1, lifetimeSeconds));
+    }
+
+    /**
+     * A new ticket for the given caller.
+     */
+    public StreamTicketResponse issue(Authentication caller) {
+        Instant now = Instant.now();
+        // Unused tickets are dropped as new ones are issued, so the map stays small
+        tickets.values().removeIf(ticket -> ticket.expiresAt().isBefore(now));
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(lifetime);
+        tickets.put(value, new Ticket(caller.getName(), List.copyOf(caller.getAuthorities()), expiresAt));
+        return StreamTicketResponse.builder().ticket(value).expiresAt(expiresAt).build();
+    }
+
+    /**
+     * The caller a ticket was issued to, or null if it is unknown, used or expired.
+     * A ticket is removed by the first attempt to redeem it.
+     */
+    public Authentication redeem(String value) {
+        Ticket ticket = value == null ? null : tickets.remove(value);
+        if (ticket == null || ticket.expiresAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(ticket.username(), null, ticket.authorities());
+    }
+}
@@ -0,0 +1,244 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.SyncResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Delta sync for the offline PWA (GET /api/sync).
+ *
+ * Triggers (db/migration/V13) stamp every inserted or changed customer, pledge and payment with
+ * updated_at and change_xid (the writing transaction's id), and deletes leave a row in
+ * sync_tombstones; archiving to cold storage does not (V17). Pledge valuation columns
+ * (market value, LTV, version) are not synced, and an update that only touches them (a
+ * revaluation) does not restamp the row (V16). A sync covers the rows stamped between
+ * the previous token and the oldest transaction still running when it starts:
+ * everything below that point has committed or rolled back, so a late commit can never
+ * land behind a token that was already handed out. Rows written meanwhile are picked up
+ * by the next sync.
+ *
+ * A sync is paged customers, then pledges, then payments, then deletions, each by id;
+ * the token records where the page stopped. Without a token, or with one older than
+ * app.sync.tombstone-retention-days (its deletions may have been pruned), the client
+ * gets everything with reset set.
+ */
+@Slf4j
+@Service
+public class SyncService {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 2000;
+
+    private static final int CUSTOMERS = 0;
+    private static final int PLEDGES = 1;
+    private static final int PAYMENTS = 2;
+    private static final int DELETIONS = 3;
+    private static final int DONE = 4;
+
+    private static final String RANGE = " WHERE change_xid >= CAST(? AS xid8) AND change_xid < CAST(? AS xid8) " +
+            "AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String CUSTOMERS_SQL =
+            "SELECT id, name, phone, email, address, created_at, is_active, updated_at FROM customers" + RANGE;
+    private static final String PLEDGES_SQL =
+            "SELECT id, customer_id, title, description, amount, interest_rate, created_at, deadline, pledge_duration, " +
+            "status, item_type, weight, purity, notes, customer_photo, item_photo, receipt_photo, updated_at " +
+            "FROM pledges" + RANGE;
+    private static final String PAYMENTS_SQL =
+            "SELECT id, pledge_id, amount, payment_date, payment_type, notes, created_at, updated_at FROM payments" + RANGE;
+    private static final String DELETIONS_SQL =
+            "SELECT id, entity, entity_id FROM sync_tombstones" + RANGE;
+
+    /**
+     * Position in a sync: rows stamped in [from, to), continuing at stage after lastId.
+     * to is -1 once the sync has finished; since is when {@code from} was reached.
+     */
+    private record Token(long from, long to, int stage, long lastId, long since) {
+        String encode() {
+            String raw = "v1:" + from + ":" + to + ":" + stage + ":" + lastId + ":" + since;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Token decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+                if (parts.length != 6 || !"v1".equals(parts[0])) {
+                    throw new IllegalArgumentException();
+                }
+                return new Token(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Integer.parseInt(parts[3]),
+                        Long.parseLong(parts[4]), Long.parseLong(parts[5]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration tombstoneRetention;
+
+    public SyncService(JdbcTemplate jdbcTemplate,
+                       @Value("${app.sync.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tombstoneRetention = Duration.ofDays(Math.max(1, tombstoneRetentionDays));
+    }
+
+    @Scheduled(cron = "${app.sync.tombstone-prune-cron:0 45 3 * * *}")
+    public void pruneTombstones() {
+        try {
+            int pruned = jdbcTemplate.update("DELETE FROM sync_tombstones WHERE deleted_at < ?",
+                    LocalDateTime.now().minus(tombstoneRetention));
+            if (pruned > 0) {
+                log.info("Pruned {} sync tombstones", pruned);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sync tombstone pruning failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The oldest transaction still running: every change stamped below it is final.
+     */
+    public long stableXid() {
+        return Long.parseLong(jdbcTemplate.queryForObject(
+                "SELECT CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text)", String.class));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(String since, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long now = System.currentTimeMillis();
+        Token token = since == null || since.isBlank() ? null : Token.decode(since);
+        boolean reset = token == null || token.since() < now - tombstoneRetention.toMillis();
+        if (reset) {
+            token = new Token(0, -1, CUSTOMERS, 0, now);
+        }
+        if (token.to() < 0) {
+            // Start the next sync at the current stable point
+            token = new Token(token.from(), Math.max(token.from(), stableXid()), CUSTOMERS, 0, token.since());
+        }
+
+        List<SyncResponse.Customer> customers = new ArrayList<>();
+        List<SyncResponse.Pledge> pledges = new ArrayList<>();
+        List<SyncResponse.Payment> payments = new ArrayList<>();
+        SyncResponse.Deleted deleted = new SyncResponse.Deleted(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        int stage = token.stage();
+        long lastId = token.lastId();
+        int remaining = pageSize;
+        while (stage < DONE && remaining > 0) {
+            int fetched;
+            long[] last = {lastId};
+            Object[] args = {Long.toString(token.from()), Long.toString(token.to()), lastId, remaining};
+            switch (stage) {
+                case CUSTOMERS -> fetched = jdbcTemplate.query(CUSTOMERS_SQL, (rs, i) -> {
+                    customers.add(customer(rs));
+                    return last[0] = rs.getLong("id");
+                }, args).size();
+                case PLEDGES -> fetched = jdbcTemplate.query(PLEDGES_SQL, (rs, i) -> {
+                    pledges.add(pledge(rs));
+                    return last[0] = rs.getLong("id");
+                }, args).size();
+                case PAYMENTS -> fetched = jdbcTemplate.query(PAYMENTS_SQL, (rs, i) -> {
+                    payments.add(payment(rs));
+                    return last[0] = rs.getLong("id");
+                }, args).size();
+                default -> fetched = token.from() == 0 ? 0 : jdbcTemplate.query(DELETIONS_SQL, (rs, i) -> {
+                    // A full download has nothing to delete
+                    long id = rs.getLong("entity_id");
+                    switch (rs.getString("entity")) {
+                        case "customers" -> deleted.getCustomers().add(id);
+                        case "pledges" -> deleted.getPledges().add(id);
+                        case "payments" -> deleted.getPayments().add(id);
+                        default -> { }
+                    }
+                    return last[0] = rs.getLong("id");
+                }, args).size();
+            }
+            remaining -= fetched;
+            if (remaining > 0) {
+                stage++;
+                lastId = 0;
+            } else {
+                lastId = last[0];
+            }
+        }
+
+        Token next = stage == DONE
+                ? new Token(token.to(), -1, CUSTOMERS, 0, now)
+                : new Token(token.from(), token.to(), stage, lastId, token.since());
+        return SyncResponse.builder()
+                .token(next.encode())
+                .hasMore(stage != DONE)
+                .reset(reset)
+                .customers(customers)
+                .pledges(pledges)
+                .payments(payments)
+                .deleted(deleted)
+                .build();
+    }
+
+    private static SyncResponse.Customer customer(ResultSet rs) throws SQLException {
+        return SyncResponse.Customer.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .phone(rs.getString("phone"))
+                .email(rs.getString("email"))
+                .address(rs.getString("address"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .isActive(rs.getObject("is_active", Boolean.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static SyncResponse.Pledge pledge(ResultSet rs) throws SQLException {
+        return SyncResponse.Pledge.builder()
+                .id(rs.getLong("id"))
+                .customerId(rs.getObject("customer_id", Long.class))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .amount(rs.getObject("amount", Double.class))
+                .interestRate(rs.getObject("interest_rate", Double.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .deadline(rs.getObject("deadline", LocalDateTime.class))
+                .pledgeDuration(rs.getObject("pledge_duration", Integer.class))
+                .status(rs.getString("status"))
+                .itemType(rs.getString("item_type"))
+                .weight(rs.getObject("weight", Double.class))
+                .purity(rs.getString("purity"))
+                .notes(rs.getString("notes"))
+                .customerPhoto(rs.getString("customer_photo"))
+                .itemPhoto(rs.getString("item_photo"))
+                .receiptPhoto(rs.getString("receipt_photo"))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static SyncResponse.Payment payment(ResultSet rs) throws SQLException {
+        return SyncResponse.Payment.builder()
+                .id(rs.getLong("id"))
+                .pledgeId(rs.getLong("pledge_id"))
+                .amount(rs.getObject("amount", Double.class))
+                .paymentDate(rs.getObject("payment_date", LocalDateTime.class))
+                .paymentType(rs.getString("payment_type"))
+                .notes(rs.getString("notes"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,239 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PartitionResponse;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monthly range partitions for the two history tables that only ever grow: payments by
+ * payment_date and transactions by transaction_date.
+ *
+ * The tables are converted by db/partitioning/partition_payments_transactions.sql, run
+ * on demand through {@link #partitionTables} in a maintenance window rather than as a
+ * migration, since it locks both tables for the whole copy. Each is renamed aside, a
+ * partitioned table takes its name with one partition per month of existing data and
+ * the rows are copied across. Postgres needs the date column in the primary key, so it
+ * becomes (id, date); ids still come from the same sequence and JPA keeps mapping id
+ * alone. Until then the tables stay as they are and this service does nothing.
+ *
+ * At startup and daily, partitions are kept app.partitions.months-ahead months ahead. A DEFAULT
+ * partition takes rows dated outside every partition (and transactions without a date)
+ * so an insert never fails for want of one; the job warns when it is not empty.
+ *
+ * Queries that filter on the date column only read the matching partitions. A past month
+ * can be detached into a standalone table ({@link #detach}) once none of its rows belong
+ * to a pledge still in the pledges table, i.e. once PledgeArchiveService has moved them
+ * to cold storage.
+ */
+@Slf4j
+@Service
+public class TablePartitionService {
+
+    private record Partitioned(String table, String column) {
+    }
+
+    private static final List<Partitioned> TABLES = List.of(
+            new Partitioned("payments", "payment_date"),
+            new Partitioned("transactions", "transaction_date"));
+
+    private static final String PARTITION_SCRIPT = "db/partitioning/partition_payments_transactions.sql";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound, GREATEST(c.reltuples, 0) AS estimated_rows, " +
+            "pg_total_relation_size(c.oid) AS bytes " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = CAST(? AS regclass) ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final int monthsAhead;
+
+    public TablePartitionService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        for (Partitioned target : TABLES) {
+            try {
+                if (isPartitioned(target.table())) {
+                    createAhead(target);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not create partitions ahead for {}: {}", target.table(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 5 0 * * *}")
+    public void scheduledMaintenance() {
+        for (Partitioned target : TABLES) {
+            try {
+                if (Boolean.TRUE.equals(partitioned(target.table()))) {
+                    createAhead(target);
+                    Boolean strays = jdbcTemplate.queryForObject(
+                            "SELECT EXISTS (SELECT 1 FROM " + target.table() + "_default)", Boolean.class);
+                    if (Boolean.TRUE.equals(strays)) {
+                        log.warn("{}_default holds rows outside the monthly partitions", target.table());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Partition maintenance for {} failed: {}", target.table(), e.getMessage());
+            }
+        }
+    }
+
+    public boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(partitioned(table));
+    }
+
+    public List<PartitionResponse> partitions() {
+        List<PartitionResponse> partitions = new ArrayList<>();
+        for (Partitioned target : TABLES) {
+            if (isPartitioned(target.table())) {
+                partitions.addAll(jdbcTemplate.query(PARTITIONS_SQL, (rs, i) -> PartitionResponse.builder()
+                        .table(target.table())
+                        .partition(rs.getString("relname"))
+                        .month(month(target, rs.getString("relname")))
+                        .bound(rs.getString("bound"))
+                        .estimatedRows(rs.getLong("estimated_rows"))
+                        .bytes(rs.getLong("bytes"))
+                        .attached(true)
+                        .build(), target.table()));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Convert payments and transactions to partitioned tables. Holds an ACCESS EXCLUSIVE
+     * lock on each for the whole copy, so payments wait until it is done; a table that is
+     * already partitioned is left alone.
+     */
+    public List<PartitionResponse> partitionTables() {
+        String script;
+        try {
+            script = StreamUtils.copyToString(new ClassPathResource(PARTITION_SCRIPT).getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + PARTITION_SCRIPT, e);
+        }
+        long started = System.currentTimeMillis();
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.execute(script));
+        log.info("Partitioned payments and transactions in {} ms", System.currentTimeMillis() - started);
+        initialize();
+        return partitions();
+    }
+
+    /**
+     * Detach one past month into a standalone table of the same name, to be dumped and
+     * dropped at leisure. Its rows leave every query on the parent: the report rollup
+     * rebuild would lose the month's collections and archiving would write pledges out
+     * without those payments. So this is refused while any row belongs to a pledge that
+     * is still in the pledges table, closed or not; archiving (which keeps the figures in
+     * report_rollups_archived) comes first. The detached table keeps its indexes but not
+     * its foreign keys.
+     */
+    public PartitionResponse detach(String table, String month) {
+        Partitioned target = TABLES.stream().filter(t -> t.table().equals(table)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown partitioned table: " + table));
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("month must be yyyy-MM");
+        }
+        if (!yearMonth.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Only past months can be detached");
+        }
+        String partition = table + yearMonth.format(SUFFIX);
+        Boolean attached = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?))",
+                Boolean.class, partition, table);
+        if (!Boolean.TRUE.equals(attached)) {
+            throw new ResourceNotFoundException("No attached partition " + partition);
+        }
+
+        return writeTransaction.execute(status -> {
+            // Detach first: from here on no new row can land in it, so the check below is final
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            Boolean live = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " r JOIN pledges p ON p.id = r.pledge_id)", Boolean.class);
+            if (Boolean.TRUE.equals(live)) {
+                throw new IllegalArgumentException(partition + " still holds rows of pledges that are not archived");
+            }
+            for (String constraint : jdbcTemplate.queryForList(
+                    "SELECT conname FROM pg_constraint WHERE conrelid = CAST(? AS regclass) AND contype = 'f'",
+                    String.class, partition)) {
+                jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+            log.info("Detached {} ({} rows) from {}", partition, rows, table);
+            return PartitionResponse.builder()
+                    .table(table)
+                    .partition(partition)
+                    .month(month(target, partition))
+                    .estimatedRows(rows == null ? 0 : rows)
+                    .bytes(jdbcTemplate.queryForObject("SELECT pg_total_relation_size(CAST(? AS regclass))", Long.class, partition))
+                    .attached(false)
+                    .build();
+        });
+    }
+
+    private void createAhead(Partitioned target) {
+        createPartitions(target, YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+    }
+
+    // A month that already exists, attached or detached, is left alone
+    private void createPartitions(Partitioned target, YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String partition = target.table() + month.format(SUFFIX);
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+            if (Boolean.TRUE.equals(exists)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + target.table() +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            log.info("Created partition {}", partition);
+        }
+    }
+
+    // null when the table does not exist (yet)
+    private Boolean partitioned(String table) {
+        List<Boolean> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)", Boolean.class, table);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private static String month(Partitioned target, String partition) {
+        String suffix = partition.substring(target.table().length());
+        if (!suffix.matches("_p\\d{4}_\\d{2}")) {
+            return null;
+        }
+        return suffix.substring(2, 6) + "-" + suffix.substring(7);
+    }
+}
@@ -2,13 +2,13 @@ package com.pledge.backend.service;
 
 import com.pledge.backend.dto.request.TransactionRequest;
 import com.pledge.backend.dto.response.TransactionResponse;
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     TransactionResponse createTransaction(TransactionRequest request);
     TransactionResponse getTransactionById(Long id);
-    List<TransactionResponse> getAllTransactionsByPledgeId(Long pledgeId);
-    List<TransactionResponse> getAllTransactionsByUserId(Long userId);
+    void forEachTransactionByPledgeId(Long pledgeId, Consumer<? super TransactionResponse> action);
+    void forEachTransactionByUserId(Long userId, Consumer<? super TransactionResponse> action);
     TransactionResponse updateTransactionStatus(Long id, String status);
     void deleteTransaction(Long id);
 }
@@ -1,13 +1,13 @@
 package com.pledge.backend.service;
 
 import com.pledge.backend.dto.UserDto;
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto createUser(UserDto userDto);
     UserDto getUserById(Long id);
     UserDto getUserByEmail(String email);
-    List<UserDto> getAllUsers();
+    void forEachUser(Consumer<? super UserDto> action);
     UserDto updateUser(Long id, UserDto userDto);
     void deleteUser(Long id);
     boolean existsByEmail(String email);
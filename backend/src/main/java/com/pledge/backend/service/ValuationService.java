@@ -0,0 +1,292 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PledgeRiskResponse;
+import com.pledge.backend.entity.GoldRateEntity;
+import com.pledge.backend.entity.PledgeEntity;
+import com.pledge.backend.entity.PurityMultiplierEntity;
+import com.pledge.backend.exception.ResourceNotFoundException;
+import com.pledge.backend.repository.GoldRateRepository;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.repository.PurityMultiplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Values pledged gold at the latest posted rate and keeps each open pledge's
+ * loan-to-value (amount / market value) current.
+ *
+ * The latest rate and the purity multipliers are cached in memory so single-pledge writes
+ * are valued without a query. When the rate or a multiplier changes, open pledges are
+ * revalued in the database: the id range is split into chunks and each chunk is one
+ * set-based UPDATE on its own connection, run in parallel on at most
+ * app.valuation.max-connections connections, so a rate post leaves the rest of the
+ * connection pool to requests; runs are taken one at a time. Rows whose value would not
+ * change are skipped, and every touched row gets its version bumped so a concurrent JPA
+ * save of a stale copy fails the optimistic lock and is retried instead of writing an
+ * old valuation back. A pledge with no weight, or whose purity has no multiplier, has
+ * its valuation cleared rather than left at an old rate, as {@link #apply} does.
+ */
+@Slf4j
+@Service
+public class ValuationService {
+
+    // Fine gold content; 28K is not a real grade but is accepted on pledges, so treat it as pure
+    private static final Map<String, Double> DEFAULT_MULTIPLIERS = Map.of(
+            "28K", 0.999,
+            "24K", 0.999,
+            "22K", 0.916,
+            "18K", 0.750,
+            "14K", 0.585);
+
+    public static final int MAX_RISK_LIMIT = 1000;
+
+    // The value is NULL without a weight or a multiplier for the purity
+    private static final String REVALUE_SQL =
+            "UPDATE pledges p SET market_value = v.value, " +
+            "ltv = CASE WHEN v.value > 0 THEN p.amount / v.value END, " +
+            "valued_at = CASE WHEN v.value IS NOT NULL THEN CAST(? AS timestamp) END, version = p.version + 1 " +
+            "FROM (SELECT pl.id, pl.weight * m.multiplier * ? AS value FROM pledges pl " +
+            "      LEFT JOIN purity_multipliers m ON m.purity = pl.purity " +
+            "      WHERE pl.id BETWEEN ? AND ? AND pl.status <> 'CLOSED'" +
+            "      %s) v " +
+            "WHERE p.id = v.id AND p.market_value IS DISTINCT FROM v.value";
+
+    private final GoldRateRepository goldRateRepository;
+    private final PurityMultiplierRepository purityRepository;
+    private final PledgeRepository pledgeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final int chunkSize;
+    private final int threads;
+    private final Object revaluationLock = new Object();
+
+    private volatile Rates rates = new Rates(null, Map.of());
+
+    public ValuationService(GoldRateRepository goldRateRepository,
+                            PurityMultiplierRepository purityRepository,
+                            PledgeRepository pledgeRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.valuation.chunk-size:2000}") int chunkSize,
+                            @Value("${app.valuation.threads:4}") int threads,
+                            @Value("${app.valuation.max-connections:2}") int maxConnections) {
+        this.goldRateRepository = goldRateRepository;
+        this.purityRepository = purityRepository;
+        this.pledgeRepository = pledgeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = Math.max(1, Math.min(threads, maxConnections));
+    }
+
+    private record Rates(GoldRateEntity latest, Map<String, Double> multipliers) {
+    }
+
+    /**
+     * Outcome of a revaluation run.
+     */
+    public record RevaluationResult(Double ratePerGram, int chunks, int pledgesUpdated, long elapsedMs) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (purityRepository.count() == 0) {
+                log.info("Purity multiplier table is empty; seeding defaults");
+                List<PurityMultiplierEntity> defaults = new ArrayList<>();
+                DEFAULT_MULTIPLIERS.forEach((purity, multiplier) -> defaults.add(
+                        PurityMultiplierEntity.builder().purity(purity).multiplier(multiplier).build()));
+                purityRepository.saveAll(defaults);
+            }
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Could not load gold rates; pledges stay unvalued until a rate is posted", e);
+        }
+    }
+
+    public synchronized void reload() {
+        Map<String, Double> multipliers = new HashMap<>();
+        purityRepository.findAll().forEach(m -> multipliers.put(m.getPurity(), m.getMultiplier()));
+        rates = new Rates(goldRateRepository.findTopByOrderByEffectiveAtDescIdDesc().orElse(null), Map.copyOf(multipliers));
+        log.info("Valuation loaded: rate {} per gram, {} purity grades",
+                rates.latest() != null ? rates.latest().getRatePerGram() : "none", multipliers.size());
+    }
+
+    public GoldRateEntity getLatestRate() {
+        return rates.latest();
+    }
+
+    /**
+     * Value a pledge in memory at the cached rate. Call before saving any write that
+     * changes amount, weight, purity or status.
+     */
+    public void apply(PledgeEntity pledge) {
+        Rates current = rates;
+        if (current.latest() == null) {
+            return;
+        }
+        Double multiplier = pledge.getPurity() != null ? current.multipliers().get(pledge.getPurity()) : null;
+        if (multiplier == null || pledge.getWeight() == null) {
+            pledge.setMarketValue(null);
+            pledge.setLtv(null);
+            pledge.setValuedAt(null);
+            return;
+        }
+        double value = pledge.getWeight() * multiplier * current.latest().getRatePerGram();
+        pledge.setMarketValue(value);
+        pledge.setLtv(value > 0 && pledge.getAmount() != null ? pledge.getAmount() / value : null);
+        pledge.setValuedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Record a new 24K rate and revalue every open pledge at it.
+     */
+    public RevaluationResult postRate(Double ratePerGram, LocalDateTime effectiveAt, String source) {
+        if (ratePerGram == null || ratePerGram <= 0) {
+            throw new IllegalArgumentException("Gold rate must be greater than 0");
+        }
+        goldRateRepository.save(GoldRateEntity.builder()
+                .ratePerGram(ratePerGram)
+                .effectiveAt(effectiveAt)
+                .source(source != null ? source : "manual")
+                .build());
+        reload();
+        return revalue(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GoldRateEntity> getRecentRates() {
+        return goldRateRepository.findTop30ByOrderByEffectiveAtDescIdDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PurityMultiplierEntity> getPurities() {
+        return purityRepository.findAll();
+    }
+
+    /**
+     * Change one grade's multiplier and revalue only the pledges of that grade.
+     */
+    public RevaluationResult setPurity(String purity, Double multiplier) {
+        if (multiplier == null || multiplier <= 0 || multiplier > 1) {
+            throw new IllegalArgumentException("Purity multiplier must be greater than 0 and at most 1");
+        }
+        PurityMultiplierEntity entity = purityRepository.findById(purity)
+                .orElseThrow(() -> new ResourceNotFoundException("Purity grade not found"));
+        entity.setMultiplier(multiplier);
+        purityRepository.save(entity);
+        reload();
+        return revalue(purity);
+    }
+
+    /**
+     * Open pledges with LTV at or above the threshold, largest uncovered exposure first.
+     */
+    @Transactional(readOnly = true)
+    public List<PledgeRiskResponse> findAtRisk(double minLtv, int limit) {
+        if (limit < 1 || limit > MAX_RISK_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RISK_LIMIT);
+        }
+        List<PledgeEntity> pledges = pledgeRepository.findAtRisk(minLtv, PageRequest.of(0, limit));
+        List<PledgeRiskResponse> risks = new ArrayList<>(pledges.size());
+        for (PledgeEntity p : pledges) {
+            risks.add(PledgeRiskResponse.builder()
+                    .pledgeId(p.getId())
+                    .customerId(p.getCustomerId())
+                    .customerName(p.getCustomer() != null ? p.getCustomer().getName() : null)
+                    .status(p.getStatus())
+                    .amount(p.getAmount())
+                    .weight(p.getWeight())
+                    .purity(p.getPurity())
+                    .marketValue(p.getMarketValue())
+                    .ltv(p.getLtv())
+                    .exposure(p.getAmount() - p.getMarketValue())
+                    .valuedAt(p.getValuedAt())
+                    .deadline(p.getDeadline())
+                    .build());
+        }
+        return risks;
+    }
+
+    /**
+     * Revalue open pledges at the cached rate, optionally only those of one purity grade.
+     */
+    public RevaluationResult revalue(String purity) {
+        // Two runs at once would each take a full share of connections
+        synchronized (revaluationLock) {
+            return revalueChunks(purity);
+        }
+    }
+
+    private RevaluationResult revalueChunks(String purity) {
+        long started = System.nanoTime();
+        GoldRateEntity latest = rates.latest();
+        if (latest == null) {
+            return new RevaluationResult(null, 0, 0, 0);
+        }
+        Long[] bounds = jdbcTemplate.queryForObject(
+                "SELECT MIN(id), MAX(id) FROM pledges WHERE status <> 'CLOSED'",
+                (rs, row) -> new Long[]{(Long) rs.getObject(1), (Long) rs.getObject(2)});
+        if (bounds == null || bounds[0] == null) {
+            return new RevaluationResult(latest.getRatePerGram(), 0, 0, elapsedMs(started));
+        }
+
+        String sql = String.format(REVALUE_SQL, purity != null ? "AND pl.purity = ?" : "");
+        Timestamp valuedAt = Timestamp.valueOf(LocalDateTime.now());
+        double rate = latest.getRatePerGram();
+
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = bounds[0]; from <= bounds[1]; from += chunkSize) {
+            ranges.add(new long[]{from, Math.min(bounds[1], from + chunkSize - 1)});
+        }
+
+        int updated = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, ranges.size()));
+        try {
+            List<Future<Integer>> jobs = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                jobs.add(pool.submit(() -> writeTransaction.execute(status -> purity != null
+                        ? jdbcTemplate.update(sql, valuedAt, rate, range[0], range[1], purity)
+                        : jdbcTemplate.update(sql, valuedAt, rate, range[0], range[1]))));
+            }
+            for (Future<Integer> job : jobs) {
+                Integer rows = job.get();
+                updated += rows != null ? rows : 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Revaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Revaluation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        RevaluationResult result = new RevaluationResult(rate, ranges.size(), updated, elapsedMs(started));
+        log.info("Revalued pledges{}: {}", purity != null ? " of " + purity : "", result);
+        return result;
+    }
+
+    private static long elapsedMs(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
@@ -4,14 +4,18 @@ import com.pledge.backend.dto.request.CustomerRequest;
 import com.pledge.backend.entity.CustomerEntity;
 import com.pledge.backend.exception.ResourceNotFoundException;
 import com.pledge.backend.repository.CustomerRepository;
+import com.pledge.backend.service.CustomerContactIndex;
 import com.pledge.backend.service.CustomerService;
+import com.pledge.backend.service.LiveEventPublisher;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -20,6 +24,9 @@ import java.util.List;
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerContactIndex contactIndex;
+    private final LiveEventPublisher liveEvents;
+    private final EntityManager entityManager;
 
     @Override
     public CustomerEntity createCustomer(CustomerRequest request) {
@@ -27,14 +34,14 @@ public class CustomerServiceImpl implements CustomerService {
 
         // Only check email uniqueness if email is provided
         if (request.getEmail() != null && !request.getEmail().trim().isEmpty()) {
-            if (customerRepository.existsByEmail(request.getEmail())) {
+            if (existsByEmail(request.getEmail())) {
                 throw new IllegalArgumentException("Email already exists");
             }
         }
 
         // Only check phone uniqueness if phone is provided
         if (request.getPhone() != null && !request.getPhone().trim().isEmpty()) {
-            if (customerRepository.existsByPhone(request.getPhone())) {
+            if (existsByPhone(request.getPhone())) {
                 throw new IllegalArgumentException("Phone number already exists");
             }
         }
@@ -48,13 +55,16 @@ public class CustomerServiceImpl implements CustomerService {
                 .isActive(true)
                 .build();
 
+        contactIndex.add(customer.getEmail(), customer.getPhone());
         CustomerEntity savedCustomer = customerRepository.save(customer);
+        liveEvents.customerCreated(savedCustomer);
         log.info("Customer created successfully with ID: {}", savedCustomer.getId());
 
         return savedCustomer;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerEntity getCustomerById(Long id) {
         log.info("Fetching customer with ID: {}", id);
         return customerRepository.findById(id)
@@ -62,9 +72,16 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public List<CustomerEntity> getAllCustomers() {
-        log.info("Fetching all customers");
-        return customerRepository.findAll();
+    @Transactional(readOnly = true)
+    public void forEachCustomer(Consumer<? super CustomerEntity> action) {
+        log.info("Streaming all customers");
+        try (Stream<CustomerEntity> customers = customerRepository.streamAllByOrderByIdAsc()) {
+            // Detach as we go so the persistence context stays one row deep
+            customers.forEach(customer -> {
+                action.accept(customer);
+                entityManager.detach(customer);
+            });
+        }
     }
 
     @Override
@@ -78,7 +95,7 @@ public class CustomerServiceImpl implements CustomerService {
         if (request.getEmail() != null && !request.getEmail().trim().isEmpty()) {
             String existingEmail = existingCustomer.getEmail() != null ? existingCustomer.getEmail() : "";
             if (!existingEmail.equals(request.getEmail())
-                    && customerRepository.existsByEmail(request.getEmail())) {
+                    && existsByEmail(request.getEmail())) {
                 throw new IllegalArgumentException("Email already exists");
             }
         }
@@ -87,7 +104,7 @@ public class CustomerServiceImpl implements CustomerService {
         if (request.getPhone() != null && !request.getPhone().trim().isEmpty()) {
             String existingPhone = existingCustomer.getPhone() != null ? existingCustomer.getPhone() : "";
             if (!existingPhone.equals(request.getPhone())
-                    && customerRepository.existsByPhone(request.getPhone())) {
+                    && existsByPhone(request.getPhone())) {
                 throw new IllegalArgumentException("Phone number already exists");
             }
         }
@@ -97,7 +114,9 @@ public class CustomerServiceImpl implements CustomerService {
         existingCustomer.setPhone(request.getPhone());
         existingCustomer.setAddress(request.getAddress());
 
+        contactIndex.add(existingCustomer.getEmail(), existingCustomer.getPhone());
         CustomerEntity updatedCustomer = customerRepository.save(existingCustomer);
+        liveEvents.customerUpdated(updatedCustomer);
         log.info("Customer updated successfully");
 
         return updatedCustomer;
@@ -112,16 +131,26 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         customerRepository.deleteById(id);
+        liveEvents.customerDeleted(id);
         log.info("Customer deleted successfully");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
+        // Definite negatives are answered from memory; only possible matches hit the database
+        if (!contactIndex.mightContainEmail(email)) {
+            return false;
+        }
         return customerRepository.existsByEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByPhone(String phone) {
+        if (!contactIndex.mightContainPhone(phone)) {
+            return false;
+        }
         return customerRepository.existsByPhone(phone);
     }
 }
@@ -2,6 +2,8 @@ package com.pledge.backend.serviceimpl;
 
 import com.pledge.backend.entity.PledgeEntity;
 import com.pledge.backend.service.EmailService;
+import com.pledge.backend.service.PledgeDigestMailer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.io.ByteArrayResource;
@@ -14,10 +16,12 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 
 import jakarta.mail.internet.MimeMessage;
 
+@Slf4j
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final PledgeDigestMailer digestMailer;
 
 	@Value("${app.mail.enabled:true}")
 	private boolean mailEnabled;
@@ -25,19 +29,37 @@ public class EmailServiceImpl implements EmailService {
 	@Value("${app.mail.to:godejewellers023@gmail.com}")
 	private String defaultToEmail;
 
-    public EmailServiceImpl(ObjectProvider<JavaMailSender> mailSenderProvider) {
+	// immediate = one email (with downloaded photos) per change, digest = PledgeDigestMailer
+	@Value("${app.mail.mode:immediate}")
+	private String mailMode;
+
+    public EmailServiceImpl(ObjectProvider<JavaMailSender> mailSenderProvider, PledgeDigestMailer digestMailer) {
         this.mailSender = mailSenderProvider.getIfAvailable();
+        this.digestMailer = digestMailer;
     }
 
+	@Override
+	public void notifyPledgeChanged(PledgeEntity pledge, String action) {
+		if (!mailEnabled) {
+			log.debug("Mail disabled; skipping notification for pledge {}", pledge.getId());
+			return;
+		}
+		if ("digest".equalsIgnoreCase(mailMode)) {
+			digestMailer.add(pledge, action);
+		} else {
+			sendPledgePhotosEmail(pledge, defaultToEmail);
+		}
+	}
+
 	@Override
 	public void sendPledgePhotosEmail(PledgeEntity pledge, String toEmailAddress) {
 		if (!mailEnabled) {
-			System.out.println("Mail disabled; skipping send for pledge " + pledge.getId());
+			log.debug("Mail disabled; skipping send for pledge {}", pledge.getId());
 			return;
 		}
         try {
             if (this.mailSender == null) {
-                System.out.println("No JavaMailSender configured; skipping email for pledge " + pledge.getId());
+                log.warn("No JavaMailSender configured; skipping email for pledge {}", pledge.getId());
                 return;
             }
 			String to = StringUtils.hasText(toEmailAddress) ? toEmailAddress : defaultToEmail;
@@ -62,9 +84,9 @@ public class EmailServiceImpl implements EmailService {
 			tryAttach(rt, helper, pledge.getReceiptPhoto(), "receipt-photo");
 
 			mailSender.send(message);
-			System.out.println("Mail sent for pledge " + pledge.getId() + " to " + to);
+			log.info("Mail sent for pledge {} to {}", pledge.getId(), to);
 		} catch (Exception ex) {
-			System.err.println("Failed to send mail for pledge " + pledge.getId() + ": " + ex.getMessage());
+			log.error("Failed to send mail for pledge {}: {}", pledge.getId(), ex.getMessage());
 		}
 	}
 
@@ -1,30 +1,82 @@
 package com.pledge.backend.serviceimpl;
 
+import com.pledge.backend.dto.request.PaymentBatchRequest;
 import com.pledge.backend.dto.request.PaymentCreateRequest;
+import com.pledge.backend.dto.response.PaymentBatchResponse;
 import com.pledge.backend.dto.response.PaymentResponse;
 import com.pledge.backend.entity.PaymentEntity;
+import com.pledge.backend.entity.PledgeBalanceEventEntity;
 import com.pledge.backend.entity.PledgeEntity;
 import com.pledge.backend.repository.PaymentRepository;
 import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.service.LiveEventPublisher;
+import com.pledge.backend.service.LiveEventPublisher.PledgeSnapshot;
+import com.pledge.backend.service.OverdueService;
 import com.pledge.backend.service.PaymentService;
+import com.pledge.backend.service.PledgeLedgerService;
+import com.pledge.backend.service.ReportRollupService;
+import com.pledge.backend.service.ReportRollupService.PaymentFigures;
+import com.pledge.backend.service.ValuationService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    // Ids for a batch of payments in one round trip, so their inserts can be batched (payments.id is an identity column)
+    private static final String NEXT_PAYMENT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('payments', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_PAYMENT_SQL =
+            "INSERT INTO payments (id, pledge_id, amount, payment_date, payment_type, notes, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
     private final PaymentRepository paymentRepository;
     private final PledgeRepository pledgeRepository;
+    private final LiveEventPublisher liveEvents;
+    private final ValuationService valuationService;
+    private final PledgeLedgerService ledger;
+    private final ReportRollupService rollups;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final int batchMaxSize;
+    private final int batchJdbcSize;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository, PledgeRepository pledgeRepository) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository, PledgeRepository pledgeRepository,
+                              LiveEventPublisher liveEvents, ValuationService valuationService,
+                              PledgeLedgerService ledger, ReportRollupService rollups, JdbcTemplate jdbcTemplate,
+                              EntityManager entityManager,
+                              @Value("${app.payments.batch-max-size:500}") int batchMaxSize,
+                              @Value("${app.payments.batch-jdbc-size:50}") int batchJdbcSize) {
         this.paymentRepository = paymentRepository;
         this.pledgeRepository = pledgeRepository;
+        this.liveEvents = liveEvents;
+        this.valuationService = valuationService;
+        this.ledger = ledger;
+        this.rollups = rollups;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.batchMaxSize = Math.max(1, batchMaxSize);
+        this.batchJdbcSize = Math.max(1, batchJdbcSize);
     }
 
     @Override
@@ -37,6 +89,7 @@ public class PaymentServiceImpl implements PaymentService {
         if ("CLOSED".equals(pledge.getStatus())) {
             throw new IllegalArgumentException("Cannot make payment on a closed pledge");
         }
+        PledgeSnapshot before = PledgeSnapshot.of(pledge);
 
         // 1) Compute accrued interest since last cycle on current principal
         double principal = pledge.getAmount() == null ? 0.0 : pledge.getAmount();
@@ -48,11 +101,7 @@ public class PaymentServiceImpl implements PaymentService {
         if (paymentsSoFar != null && !paymentsSoFar.isEmpty()) {
             accrualStart = paymentsSoFar.get(0).getPaymentDate();
         }
-        long daysElapsed = ChronoUnit.DAYS.between(accrualStart, LocalDateTime.now());
-
-        double monthlyInterest = principal * (monthlyRatePercent / 100.0);
-        double dailyInterestRate = (monthlyRatePercent / 100.0) / 30.0;
-        double accruedInterest = daysElapsed <= 30 ? monthlyInterest : (monthlyInterest + principal * dailyInterestRate * (daysElapsed - 30L));
+        double accruedInterest = interestSince(principal, monthlyRatePercent, accrualStart, LocalDateTime.now());
 
         // 2) Add interest to principal for this cycle
         double totalBeforePayment = principal + accruedInterest;
@@ -62,6 +111,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         // 4) Update pledge principal to remaining (this becomes the new base for next cycle)
         pledge.setAmount(remainingAfterPayment);
+        valuationService.apply(pledge);
         pledgeRepository.save(pledge);
 
         // 5) Now create payment record (dated now)
@@ -81,11 +131,187 @@ public class PaymentServiceImpl implements PaymentService {
 
         // Update pledge status based on payment
         updatePledgeStatus(pledge, remainingAmount, totalPaid);
+        ledger.recordPayment(pledge, principal, saved.getId());
+        rollups.recordPayment(pledge, request.getAmount(), principal, saved.getPaymentDate());
+        liveEvents.paymentRecorded(before, saved);
 
         return toResponse(saved);
     }
 
+    /**
+     * Record many payments in one transaction. The pledges involved are locked in id order
+     * and loaded with their last payment date and total paid in one query. Each payment is
+     * then applied in memory, in request order, with the same accrual and status rules as
+     * {@link #createPayment}, so several payments on one pledge behave as if entered one
+     * by one. Pledge updates are flushed as Hibernate JDBC batches; payments, ledger events
+     * and rollups go out as JDBC batches.
+     *
+     * A payment on a missing or closed pledge (including one closed earlier in the batch)
+     * fails on its own and the rest are recorded, unless allOrNothing is set, in which
+     * case nothing is written.
+     */
+    @Override
+    public PaymentBatchResponse createPayments(PaymentBatchRequest request) {
+        List<PaymentCreateRequest> items = request.getPayments();
+        if (items.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch can hold at most " + batchMaxSize + " payments");
+        }
+        Set<Long> pledgeIds = items.stream().map(PaymentCreateRequest::getPledgeId).collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, BatchPledge> pledges = new HashMap<>();
+        for (Object[] row : pledgeRepository.lockWithPaymentSummary(pledgeIds)) {
+            PledgeEntity pledge = (PledgeEntity) row[0];
+            pledges.put(pledge.getId(), new BatchPledge(pledge, (LocalDateTime) row[1], ((Number) row[2]).doubleValue()));
+        }
+
+        // 1) Apply every payment to a working copy of its pledge
+        LocalDateTime now = LocalDateTime.now();
+        PaymentBatchResponse.Result[] results = new PaymentBatchResponse.Result[items.size()];
+        List<BatchPayment> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            PaymentCreateRequest item = items.get(i);
+            BatchPledge pledge = pledges.get(item.getPledgeId());
+            if (pledge == null) {
+                results[i] = failure(i, item, "Pledge not found");
+            } else if ("CLOSED".equals(pledge.status)) {
+                results[i] = failure(i, item, "Cannot make payment on a closed pledge");
+            } else {
+                accepted.add(pledge.pay(i, item, now));
+            }
+        }
+        int failed = items.size() - accepted.size();
+        if (accepted.isEmpty() || (failed > 0 && request.isAllOrNothing())) {
+            accepted.forEach(payment -> results[payment.index()] =
+                    failure(payment.index(), payment.request(), "Not recorded; another payment in the batch failed"));
+            return PaymentBatchResponse.builder()
+                    .requested(items.size())
+                    .recorded(0)
+                    .failed(items.size())
+                    .applied(false)
+                    .results(Arrays.asList(results))
+                    .build();
+        }
+
+        // 2) Replay the accepted payments onto the pledges in order, collecting the writes
+        List<Long> paymentIds = jdbcTemplate.queryForList(NEXT_PAYMENT_IDS_SQL, Long.class, accepted.size());
+        List<PaymentEntity> payments = new ArrayList<>(accepted.size());
+        List<PledgeBalanceEventEntity> ledgerEvents = new ArrayList<>(accepted.size());
+        List<PaymentFigures> rollupFigures = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            BatchPayment applied = accepted.get(k);
+            PledgeEntity pledge = applied.pledge();
+            PledgeSnapshot before = PledgeSnapshot.of(pledge);
+            pledge.setAmount(applied.principalAfter());
+            pledge.setStatus(applied.status());
+            PaymentEntity payment = PaymentEntity.builder()
+                    .id(paymentIds.get(k))
+                    .pledge(pledge)
+                    .amount(applied.request().getAmount())
+                    .paymentDate(now)
+                    .paymentType(applied.request().getPaymentType())
+                    .notes(applied.request().getNotes())
+                    .createdAt(now)
+                    .build();
+            payments.add(payment);
+            ledgerEvents.add(ledger.paymentEvent(pledge, applied.principalBefore(), payment.getId()));
+            rollupFigures.add(PaymentFigures.of(pledge, payment.getAmount(), applied.principalBefore(), now));
+            liveEvents.paymentRecorded(before, payment);
+            results[applied.index()] = PaymentBatchResponse.Result.builder()
+                    .index(applied.index())
+                    .pledgeId(pledge.getId())
+                    .success(true)
+                    .message("Payment recorded")
+                    .payment(toResponse(payment))
+                    .build();
+        }
+
+        // 3) Write everything
+        pledges.values().stream().filter(pledge -> pledge.touched).forEach(pledge -> valuationService.apply(pledge.entity));
+        // JDBC batching for this session only; elsewhere a version conflict should fail its own statement
+        Session session = entityManager.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchJdbcSize);
+        try {
+            pledgeRepository.flush();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, payments, payments.size(), (ps, payment) -> {
+            ps.setLong(1, payment.getId());
+            ps.setLong(2, payment.getPledge().getId());
+            ps.setDouble(3, payment.getAmount());
+            ps.setTimestamp(4, Timestamp.valueOf(payment.getPaymentDate()));
+            ps.setString(5, payment.getPaymentType());
+            ps.setString(6, payment.getNotes());
+            ps.setTimestamp(7, Timestamp.valueOf(payment.getCreatedAt()));
+        });
+        ledger.appendAll(ledgerEvents);
+        rollups.recordPayments(rollupFigures);
+        log.info("Recorded {} of {} batched payments on {} pledges", accepted.size(), items.size(),
+                pledges.values().stream().filter(pledge -> pledge.touched).count());
+
+        return PaymentBatchResponse.builder()
+                .requested(items.size())
+                .recorded(accepted.size())
+                .failed(failed)
+                .applied(true)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private static PaymentBatchResponse.Result failure(int index, PaymentCreateRequest item, String message) {
+        return PaymentBatchResponse.Result.builder()
+                .index(index)
+                .pledgeId(item.getPledgeId())
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * A pledge's principal, status and payment totals as a batch moves through it; the
+     * entity itself is only changed once the batch is known to go ahead.
+     */
+    private static final class BatchPledge {
+        final PledgeEntity entity;
+        double amount;
+        String status;
+        LocalDateTime lastPaymentDate;
+        double totalPaid;
+        boolean touched;
+
+        BatchPledge(PledgeEntity entity, LocalDateTime lastPaymentDate, double totalPaid) {
+            this.entity = entity;
+            this.amount = entity.getAmount() == null ? 0.0 : entity.getAmount();
+            this.status = entity.getStatus();
+            this.lastPaymentDate = lastPaymentDate;
+            this.totalPaid = totalPaid;
+        }
+
+        // Steps 1-4 and 6 of createPayment, on this copy
+        BatchPayment pay(int index, PaymentCreateRequest request, LocalDateTime now) {
+            double principal = amount;
+            double monthlyRatePercent = entity.getInterestRate() == null ? 0.0 : entity.getInterestRate();
+            LocalDateTime accrualStart = lastPaymentDate != null ? lastPaymentDate : entity.getCreatedAt();
+            double totalBeforePayment = principal + interestSince(principal, monthlyRatePercent, accrualStart, now);
+            amount = Math.max(0.0, totalBeforePayment - request.getAmount());
+
+            // The new payment is now the last one, so the next cycle starts today
+            lastPaymentDate = now;
+            totalPaid += request.getAmount();
+            double totalAmountDue = entity.getInterestRate() == null || entity.getCreatedAt() == null
+                    ? amount : amount + interestSince(amount, monthlyRatePercent, now, now);
+            status = statusAfterPayment(entity.getId(), status, amount, totalAmountDue - totalPaid, totalPaid);
+            touched = true;
+            return new BatchPayment(index, request, entity, principal, amount, status);
+        }
+    }
+
+    private record BatchPayment(int index, PaymentCreateRequest request, PledgeEntity pledge,
+                                double principalBefore, double principalAfter, String status) {
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getPaymentsByPledgeId(Long pledgeId) {
         List<PaymentEntity> payments = paymentRepository.findByPledgeIdOrderByPaymentDateDesc(pledgeId);
         return payments.stream()
@@ -94,11 +320,13 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double getTotalPaymentsByPledgeId(Long pledgeId) {
         return paymentRepository.getTotalPaymentsByPledgeId(pledgeId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaymentResponse getPaymentById(Long id) {
         PaymentEntity payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
@@ -125,50 +353,60 @@ public class PaymentServiceImpl implements PaymentService {
             accrualStart = payments.get(0).getPaymentDate();
         }
 
-        long daysElapsed = ChronoUnit.DAYS.between(accrualStart, LocalDateTime.now());
+        // Return principal + interest
+        return pledge.getAmount() + interestSince(pledge.getAmount(), pledge.getInterestRate(), accrualStart, LocalDateTime.now());
+    }
 
-        // Treat stored interestRate as monthly percent (e.g., 2% per month)
-        double monthlyRatePercent = pledge.getInterestRate();
-        double monthlyInterest = pledge.getAmount() * (monthlyRatePercent / 100.0);
-        double dailyInterestRate = (monthlyRatePercent / 100.0) / 30.0; // 30-day month basis
+    /**
+     * Interest on a principal from accrualStart to now. The stored interestRate is a
+     * monthly percent (e.g., 2% per month) on a 30-day month basis.
+     */
+    private static double interestSince(double principal, double monthlyRatePercent, LocalDateTime accrualStart,
+                                        LocalDateTime now) {
+        long daysElapsed = ChronoUnit.DAYS.between(accrualStart, now);
+        double monthlyInterest = principal * (monthlyRatePercent / 100.0);
+        double dailyInterestRate = (monthlyRatePercent / 100.0) / 30.0;
 
         // Business rule relative to accrualStart:
         // - First 30 days: full month interest
         // - After that: daily pro-rata on extra days
-        double totalInterest;
         if (daysElapsed <= 30) {
-            totalInterest = monthlyInterest;
-        } else {
-            long extraDays = daysElapsed - 30L;
-            totalInterest = monthlyInterest + (pledge.getAmount() * dailyInterestRate * extraDays);
+            return monthlyInterest;
         }
-        
-        // Return principal + interest
-        return pledge.getAmount() + totalInterest;
+        long extraDays = daysElapsed - 30L;
+        return monthlyInterest + (principal * dailyInterestRate * extraDays);
     }
 
     /**
      * Update pledge status based on payment amount
      */
     private void updatePledgeStatus(PledgeEntity pledge, Double remainingAmount, Double totalPaid) {
+        pledge.setStatus(statusAfterPayment(pledge.getId(), pledge.getStatus(), pledge.getAmount(), remainingAmount,
+                totalPaid));
+        pledgeRepository.save(pledge);
+    }
+
+    private static String statusAfterPayment(Long pledgeId, String currentStatus, double amount, double remainingAmount,
+                                             double totalPaid) {
         // Check if pledge amount is 0 or negative - automatically close
-        if (pledge.getAmount() <= 0) {
-            pledge.setStatus("CLOSED");
-            System.out.println("DEBUG: Pledge " + pledge.getId() + " closed - amount is 0 or negative");
+        if (amount <= 0) {
+            log.info("Pledge {} closed - amount is 0 or negative", pledgeId);
+            return "CLOSED";
         } else if (remainingAmount <= 0) {
             // Fully paid - close the pledge
-            pledge.setStatus("CLOSED");
-            System.out.println("DEBUG: Pledge " + pledge.getId() + " closed - fully paid. Total paid: " + totalPaid);
+            log.info("Pledge {} closed - fully paid. Total paid: {}", pledgeId, totalPaid);
+            return "CLOSED";
+        } else if (OverdueService.DEFAULTED.equals(currentStatus)) {
+            // A part payment does not cure a default; only paying off or renewing the pledge does
+            log.info("Pledge {} stays DEFAULTED. Remaining: {}", pledgeId, remainingAmount);
+            return OverdueService.DEFAULTED;
         } else if (totalPaid > 0) {
             // Partially paid
-            pledge.setStatus("PARTIALLY_PAID");
-            System.out.println("DEBUG: Pledge " + pledge.getId() + " marked as PARTIALLY_PAID. Remaining: " + remainingAmount);
-        } else {
-            // No payments made yet
-            pledge.setStatus("ACTIVE");
+            log.info("Pledge {} marked as PARTIALLY_PAID. Remaining: {}", pledgeId, remainingAmount);
+            return "PARTIALLY_PAID";
         }
-        
-        pledgeRepository.save(pledge);
+        // No payments made yet
+        return "ACTIVE";
     }
 
     private PaymentResponse toResponse(PaymentEntity entity) {
@@ -9,13 +9,30 @@ import com.pledge.backend.repository.PledgeRepository;
 import com.pledge.backend.repository.CustomerRepository;
 import com.pledge.backend.repository.PaymentRepository;
 import com.pledge.backend.service.PledgeService;
+import com.pledge.backend.service.ValuationService;
 import com.pledge.backend.service.InterestCalculationService;
+import com.pledge.backend.service.LiveEventPublisher;
+import com.pledge.backend.service.LiveEventPublisher.PledgeSnapshot;
+import com.pledge.backend.service.PledgeLedgerService;
+import com.pledge.backend.service.PledgeArchiveService;
+import com.pledge.backend.service.PledgeBook;
+import com.pledge.backend.service.ReportRollupService;
+import com.pledge.backend.util.InterestCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional
 public class PledgeServiceImpl implements PledgeService {
@@ -24,17 +41,44 @@ public class PledgeServiceImpl implements PledgeService {
 	private final CustomerRepository customerRepository;
 	private final PaymentRepository paymentRepository;
 	private final InterestCalculationService interestCalculationService;
+	private final LiveEventPublisher liveEvents;
+	private final ValuationService valuationService;
+	private final PledgeLedgerService ledger;
+	private final ReportRollupService rollups;
+	private final JdbcTemplate streamingJdbc;
+	// In-memory read model; null unless app.read-model.enabled=true
+	private final PledgeBook book;
+
+	private static final String STREAM_ALL_SQL =
+		"SELECT p.id, p.customer_id, p.title, p.description, p.amount, p.interest_rate, p.created_at, p.deadline, " +
+		"p.pledge_duration, p.status, p.item_type, p.weight, p.purity, p.notes, p.customer_photo, p.item_photo, " +
+		"p.receipt_photo, (SELECT MAX(pay.payment_date) FROM payments pay WHERE pay.pledge_id = p.id) AS last_payment_date " +
+		"FROM pledges p ORDER BY p.id";
 
 	public PledgeServiceImpl(
 		PledgeRepository pledgeRepository, 
 		CustomerRepository customerRepository,
 		PaymentRepository paymentRepository,
-		InterestCalculationService interestCalculationService
+		InterestCalculationService interestCalculationService,
+		LiveEventPublisher liveEvents,
+		ValuationService valuationService,
+		PledgeLedgerService ledger,
+		ReportRollupService rollups,
+		JdbcTemplate jdbcTemplate,
+		ObjectProvider<PledgeBook> bookProvider,
+		@Value("${app.streaming.fetch-size:500}") int fetchSize
 	) {
 		this.pledgeRepository = pledgeRepository;
 		this.customerRepository = customerRepository;
 		this.paymentRepository = paymentRepository;
 		this.interestCalculationService = interestCalculationService;
+		this.liveEvents = liveEvents;
+		this.valuationService = valuationService;
+		this.ledger = ledger;
+		this.rollups = rollups;
+		this.streamingJdbc = new JdbcTemplate(jdbcTemplate.getDataSource());
+		this.streamingJdbc.setFetchSize(Math.max(1, fetchSize));
+		this.book = bookProvider.getIfAvailable();
 	}
 
 	@Override
@@ -56,6 +100,7 @@ public class PledgeServiceImpl implements PledgeService {
 										  .createdAt(java.time.LocalDateTime.now())
 										  .lastInterestAccruedAt(java.time.LocalDateTime.now())
 										  .deadline(request.getDeadline())
+										  .pledgeDuration(request.getPledgeDuration())
 									  .status(request.getStatus())
 									  .itemType(request.getItemType())
 									  .weight(request.getWeight())
@@ -66,11 +111,16 @@ public class PledgeServiceImpl implements PledgeService {
 								  .receiptPhoto(request.getReceiptPhoto())
 										  .build();
 
+		valuationService.apply(pledge);
 		PledgeEntity saved = pledgeRepository.save(pledge);
+		ledger.recordCreated(saved);
+		rollups.recordPledgeOpened(saved);
+		liveEvents.pledgeCreated(saved);
 		return toResponse(saved);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PledgeResponse getPledgeById(Long id) {
 		PledgeEntity pledge = pledgeRepository.findById(id)
 											  .orElseThrow(() -> new IllegalArgumentException("Pledge not found"));
@@ -84,17 +134,58 @@ public class PledgeServiceImpl implements PledgeService {
 	// 						   .collect(Collectors.toList());
 	// }
 
+	/**
+	 * Streams every pledge off a cursor. The accrual start (latest payment) comes from
+	 * the same query, so there is no per-pledge payment lookup and nothing is kept in
+	 * the persistence context.
+	 */
 	@Override
-	public List<PledgeResponse> getAllPledges() {
-		return pledgeRepository.findAllWithCustomer().stream()
-							   .map(this::toResponse)
-							   .collect(Collectors.toList());
+	@Transactional(readOnly = true)
+	public void forEachPledge(Consumer<? super PledgeResponse> action) {
+		if (book != null) {
+			book.forEachPledge(action);
+			return;
+		}
+		streamingJdbc.query(STREAM_ALL_SQL, rs -> {
+			PledgeResponse response = new PledgeResponse();
+			response.setId(rs.getLong("id"));
+			response.setCustomerId(rs.getObject("customer_id", Long.class));
+			response.setTitle(rs.getString("title"));
+			response.setDescription(rs.getString("description"));
+			response.setAmount(rs.getObject("amount", Double.class));
+			response.setInterestRate(rs.getObject("interest_rate", Double.class));
+			response.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+			response.setDeadline(rs.getObject("deadline", LocalDateTime.class));
+			response.setPledgeDuration(rs.getObject("pledge_duration", Integer.class));
+			response.setStatus(rs.getString("status"));
+			response.setItemType(rs.getString("item_type"));
+			response.setWeight(rs.getObject("weight", Double.class));
+			response.setPurity(rs.getString("purity"));
+			response.setNotes(rs.getString("notes"));
+			response.setCustomerPhoto(rs.getString("customer_photo"));
+			response.setItemPhoto(rs.getString("item_photo"));
+			response.setReceiptPhoto(rs.getString("receipt_photo"));
+			LocalDateTime lastPayment = rs.getObject("last_payment_date", LocalDateTime.class);
+			response.setRemainingAmount(remainingAmount(response.getAmount(), response.getInterestRate(),
+					lastPayment != null ? lastPayment : response.getCreatedAt()));
+			response.setStorageTier(PledgeArchiveService.HOT);
+			action.accept(response);
+		});
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<PledgeResponse> getPledgesByCustomerId(Long customerId) {
+		if (book != null) {
+			return book.pledgesOf(customerId);
+		}
+		// Last payment dates for all of the customer's pledges in one grouped query
+		Map<Long, LocalDateTime> lastPayments = new HashMap<>();
+		for (Object[] row : paymentRepository.summarizeByPledgeForCustomer(customerId)) {
+			lastPayments.put((Long) row[0], (LocalDateTime) row[1]);
+		}
 		return pledgeRepository.findByCustomer_Id(customerId).stream()
-							   .map(this::toResponse)
+							   .map(pledge -> toResponse(pledge, lastPayments.get(pledge.getId())))
 							   .collect(Collectors.toList());
 	}
 
@@ -102,6 +193,7 @@ public class PledgeServiceImpl implements PledgeService {
 	public PledgeResponse updatePledge(Long id, PledgeRequest request) {
 		PledgeEntity pledge = pledgeRepository.findById(id)
 											  .orElseThrow(() -> new IllegalArgumentException("Pledge not found"));
+		PledgeSnapshot before = PledgeSnapshot.of(pledge);
 
 		// Determine if the interest rate is changing; only then accrue up to now
 		boolean isRateChanging = request.getInterestRate() != null
@@ -124,6 +216,9 @@ public class PledgeServiceImpl implements PledgeService {
 		pledge.setTitle(request.getTitle());
 		pledge.setDescription(request.getDescription());
 		pledge.setDeadline(request.getDeadline());
+		if (request.getPledgeDuration() != null) {
+			pledge.setPledgeDuration(request.getPledgeDuration());
+		}
 		pledge.setItemType(request.getItemType());
 		pledge.setWeight(request.getWeight());
 		pledge.setPurity(request.getPurity());
@@ -143,16 +238,26 @@ public class PledgeServiceImpl implements PledgeService {
 			pledge.setAmount(request.getAmount());
 		}
 
+		valuationService.apply(pledge);
 		PledgeEntity updated = pledgeRepository.save(pledge);
+		ledger.recordUpdated(updated, before.amount());
+		liveEvents.pledgeUpdated(before, updated);
 		return toResponse(updated);
 	}
 
 	@Override
 	public void deletePledge(Long id) {
-		pledgeRepository.deleteById(id);
+		pledgeRepository.findById(id).ifPresent(pledge -> {
+			PledgeSnapshot before = PledgeSnapshot.of(pledge);
+			rollups.recordPledgeRemoved(pledge);
+			pledgeRepository.delete(pledge);
+			ledger.recordDeleted(pledge);
+			liveEvents.pledgeDeleted(before, pledge);
+		});
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Double calculateInterestForPledge(Long id) {
 		PledgeEntity pledge = pledgeRepository.findById(id)
 											  .orElseThrow(() -> new IllegalArgumentException("Pledge not found"));
@@ -160,6 +265,7 @@ public class PledgeServiceImpl implements PledgeService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Double getTotalAmountForPledge(Long id) {
 		PledgeEntity pledge = pledgeRepository.findById(id)
 											  .orElseThrow(() -> new IllegalArgumentException("Pledge not found"));
@@ -170,6 +276,7 @@ public class PledgeServiceImpl implements PledgeService {
 	public PledgeResponse recordPayment(Long pledgeId, Double amount) {
 		PledgeEntity pledge = pledgeRepository.findById(pledgeId)
 											  .orElseThrow(() -> new IllegalArgumentException("Pledge not found"));
+		PledgeSnapshot before = PledgeSnapshot.of(pledge);
 
 		// Calculate new amount after payment
 		double newAmount = pledge.getAmount() - amount;
@@ -195,33 +302,53 @@ public class PledgeServiceImpl implements PledgeService {
 		// Auto-close if amount becomes 0 or negative
 		if (newAmount <= 0) {
 			pledge.setStatus("CLOSED");
-			System.out.println("DEBUG: Pledge " + pledge.getId() + " auto-closed due to zero amount");
+			log.info("Pledge {} auto-closed due to zero amount", pledge.getId());
 		}
 
+		valuationService.apply(pledge);
 		PledgeEntity updated = pledgeRepository.save(pledge);
+		ledger.recordPayment(updated, before.amount(), payment.getId());
+		rollups.recordPayment(updated, amount, before.amount(), payment.getPaymentDate());
+		liveEvents.paymentRecorded(before, payment);
 		return toResponse(updated);
 	}
 
 	@Override
 	public void autoCloseZeroAmountPledges() {
+		// The listings call this on every request; the book answers "nothing to close" without a query
+		if (book != null && !book.hasActiveWithoutPrincipal()) {
+			return;
+		}
 		// Find all active pledges with amount <= 0
-		List<PledgeEntity> zeroAmountPledges = pledgeRepository.findAll().stream()
-				.filter(pledge -> "ACTIVE".equals(pledge.getStatus()) && pledge.getAmount() <= 0)
-				.collect(java.util.stream.Collectors.toList());
+		List<PledgeEntity> zeroAmountPledges = pledgeRepository.findByStatusAndAmountLessThanEqual("ACTIVE", 0.0);
 		
 		// Close all zero amount pledges
 		for (PledgeEntity pledge : zeroAmountPledges) {
+			PledgeSnapshot before = PledgeSnapshot.of(pledge);
 			pledge.setStatus("CLOSED");
 			pledgeRepository.save(pledge);
-			System.out.println("DEBUG: Auto-closed pledge " + pledge.getId() + " with amount: " + pledge.getAmount());
+			ledger.recordStatusChanged(pledge);
+			liveEvents.pledgeUpdated(before, pledge);
+			log.debug("Auto-closed pledge {} with amount: {}", pledge.getId(), pledge.getAmount());
 		}
 		
 		if (!zeroAmountPledges.isEmpty()) {
-			System.out.println("DEBUG: Auto-closed " + zeroAmountPledges.size() + " pledges with zero amounts");
+			log.info("Auto-closed {} pledges with zero amounts", zeroAmountPledges.size());
 		}
 	}
 
 	private PledgeResponse toResponse(PledgeEntity entity) {
+		LocalDateTime lastPayment = null;
+		try {
+			lastPayment = paymentRepository.findLastPaymentDateByPledgeId(entity.getId());
+		} catch (Exception ignored) { }
+		return toResponse(entity, lastPayment);
+	}
+
+	/**
+	 * Interest accrues from the last payment date (if any) or createdAt.
+	 */
+	private PledgeResponse toResponse(PledgeEntity entity, LocalDateTime lastPayment) {
 		PledgeResponse response = new PledgeResponse();
 		response.setId(entity.getId());
 		response.setCustomerId(entity.getCustomerId());
@@ -231,6 +358,7 @@ public class PledgeServiceImpl implements PledgeService {
 		response.setInterestRate(entity.getInterestRate());
 		response.setCreatedAt(entity.getCreatedAt());
 		response.setDeadline(entity.getDeadline());
+		response.setPledgeDuration(entity.getPledgeDuration());
 		response.setStatus(entity.getStatus());
 		response.setItemType(entity.getItemType());
 		response.setWeight(entity.getWeight());
@@ -239,26 +367,23 @@ public class PledgeServiceImpl implements PledgeService {
 		response.setCustomerPhoto(entity.getCustomerPhoto());
 		response.setItemPhoto(entity.getItemPhoto());
 		response.setReceiptPhoto(entity.getReceiptPhoto());
+		response.setStorageTier(PledgeArchiveService.HOT);
 
 		// Compute remaining amount = principal + accrued interest - total paid
-		try {
-			// Accrual from last payment date (if any) or createdAt
-			java.time.LocalDateTime accrualStart = entity.getCreatedAt();
-			java.util.List<com.pledge.backend.entity.PaymentEntity> payments = paymentRepository.findByPledgeIdOrderByPaymentDateDesc(entity.getId());
-			if (payments != null && !payments.isEmpty()) {
-				accrualStart = payments.get(0).getPaymentDate();
-			}
-			long daysElapsed = java.time.temporal.ChronoUnit.DAYS.between(accrualStart, java.time.LocalDateTime.now());
-			double principal = entity.getAmount() == null ? 0.0 : entity.getAmount();
-			double monthlyRatePercent = entity.getInterestRate() == null ? 0.0 : entity.getInterestRate();
-			double monthlyInterest = principal * (monthlyRatePercent / 100.0);
-			double dailyInterestRate = (monthlyRatePercent / 100.0) / 30.0;
-			double accruedInterest = daysElapsed <= 30 ? monthlyInterest : (monthlyInterest + principal * dailyInterestRate * (daysElapsed - 30L));
-			double remaining = principal + accruedInterest; // principal already reflects payments
-			response.setRemainingAmount(remaining);
-		} catch (Exception ignored) { }
+		response.setRemainingAmount(remainingAmount(entity.getAmount(), entity.getInterestRate(),
+				lastPayment != null ? lastPayment : entity.getCreatedAt()));
 
 		return response;
 	}
 
+	private static Double remainingAmount(Double amount, Double interestRate, LocalDateTime accrualStart) {
+		if (accrualStart == null) {
+			return null;
+		}
+		long daysElapsed = java.time.temporal.ChronoUnit.DAYS.between(accrualStart, LocalDateTime.now());
+		double principal = amount == null ? 0.0 : amount;
+		double monthlyRatePercent = interestRate == null ? 0.0 : interestRate;
+		return principal + InterestCalculator.accruedInterest(principal, monthlyRatePercent, daysElapsed); // principal already reflects payments
+	}
+
 }
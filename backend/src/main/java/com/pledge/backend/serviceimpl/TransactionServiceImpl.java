@@ -7,14 +7,17 @@ import com.pledge.backend.entity.TransactionEntity;
 import com.pledge.backend.repository.PledgeRepository;
 import com.pledge.backend.repository.TransactionRepository;
 import com.pledge.backend.service.TransactionService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -24,6 +27,7 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final PledgeRepository pledgeRepository;
+    private final EntityManager entityManager;
 
     @Override
     public TransactionResponse createTransaction(TransactionRequest request) {
@@ -64,6 +68,7 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long id) {
         log.info("Fetching transaction with ID: {}", id);
 
@@ -77,34 +82,48 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public List<TransactionResponse> getAllTransactionsByPledgeId(Long pledgeId) {
-        log.info("Fetching all transactions for pledge ID: {}", pledgeId);
+    @Transactional(readOnly = true)
+    public void forEachTransactionByPledgeId(Long pledgeId, Consumer<? super TransactionResponse> action) {
+        log.info("Streaming transactions for pledge ID: {}", pledgeId);
 
         PledgeEntity pledge = pledgeRepository.findById(pledgeId)
                 .orElseThrow(() -> new RuntimeException("Pledge not found"));
+        PledgeTotals totals = totalsFor(pledge);
 
-        List<TransactionEntity> transactions = transactionRepository.findByPledgeId(pledgeId);
-
-        return transactions.stream()
-                .map(transaction -> mapToResponse(transaction, pledge, "Transaction retrieved successfully"))
-                .collect(Collectors.toList());
+        try (Stream<TransactionEntity> transactions = transactionRepository.streamByPledgeIdOrderByIdAsc(pledgeId)) {
+            transactions.forEach(transaction -> {
+                action.accept(mapToResponse(transaction, totals, "Transaction retrieved successfully"));
+                entityManager.detach(transaction);
+            });
+        }
     }
 
     @Override
-    public List<TransactionResponse> getAllTransactionsByUserId(Long userId) {
-        log.info("Fetching all transactions for user ID: {}", userId);
-
-        List<TransactionEntity> transactions = transactionRepository.findAll().stream()
-                .filter(t -> t.getUserId().equals(userId))
-                .collect(Collectors.toList());
-
-        return transactions.stream()
-                .map(transaction -> {
-                    PledgeEntity pledge = pledgeRepository.findById(transaction.getPledgeId())
-                            .orElseThrow(() -> new RuntimeException("Associated pledge not found"));
-                    return mapToResponse(transaction, pledge, "Transaction retrieved successfully");
-                })
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachTransactionByUserId(Long userId, Consumer<? super TransactionResponse> action) {
+        log.info("Streaming transactions for user ID: {}", userId);
+
+        // Pledge figures for all of the user's pledges up front, in two queries
+        Map<Long, Double> paidByPledge = new HashMap<>();
+        for (Object[] row : transactionRepository.sumCompletedPaymentsForPledgesOfUser(userId)) {
+            paidByPledge.put((Long) row[0], (Double) row[1]);
+        }
+        Map<Long, PledgeTotals> totalsByPledge = new HashMap<>();
+        for (PledgeEntity pledge : pledgeRepository.findWithTransactionsByUser(userId)) {
+            totalsByPledge.put(pledge.getId(), totalsFor(pledge, paidByPledge.getOrDefault(pledge.getId(), 0.0)));
+            entityManager.detach(pledge);
+        }
+
+        try (Stream<TransactionEntity> transactions = transactionRepository.streamByUserIdOrderByIdAsc(userId)) {
+            transactions.forEach(transaction -> {
+                PledgeTotals totals = totalsByPledge.get(transaction.getPledgeId());
+                if (totals == null) {
+                    throw new RuntimeException("Associated pledge not found");
+                }
+                action.accept(mapToResponse(transaction, totals, "Transaction retrieved successfully"));
+                entityManager.detach(transaction);
+            });
+        }
     }
 
     @Override
@@ -139,22 +158,29 @@ public class TransactionServiceImpl implements TransactionService {
         log.info("Transaction deleted successfully");
     }
 
-    private TransactionResponse mapToResponse(TransactionEntity transaction, PledgeEntity pledge, String message) {
-        Double totalInterestToDate = pledge.calculateTotalInterestToDate();
-        Double remainingBalance = pledge.getAmount() + totalInterestToDate;
+    /**
+     * Pledge-level figures repeated on each of its transactions.
+     */
+    private record PledgeTotals(Double pledgeAmount, Double interestRate, Double totalInterestToDate,
+                                Double remainingBalance) {
+    }
 
-        // Subtract completed payments from remaining balance
-        List<TransactionEntity> completedPayments = transactionRepository.findByPledgeId(pledge.getId())
-                .stream()
-                .filter(t -> t.getStatus().equals("COMPLETED") && t.getType().equals("PAYMENT"))
-                .collect(Collectors.toList());
+    private PledgeTotals totalsFor(PledgeEntity pledge) {
+        return totalsFor(pledge, transactionRepository.sumCompletedPayments(pledge.getId()));
+    }
 
-        Double totalPaid = completedPayments.stream()
-                .mapToDouble(TransactionEntity::getAmount)
-                .sum();
+    private PledgeTotals totalsFor(PledgeEntity pledge, Double totalPaid) {
+        Double totalInterestToDate = pledge.calculateTotalInterestToDate();
+        // Subtract completed payments from remaining balance
+        Double remainingBalance = pledge.getAmount() + totalInterestToDate - totalPaid;
+        return new PledgeTotals(pledge.getAmount(), pledge.getInterestRate(), totalInterestToDate, remainingBalance);
+    }
 
-        remainingBalance -= totalPaid;
+    private TransactionResponse mapToResponse(TransactionEntity transaction, PledgeEntity pledge, String message) {
+        return mapToResponse(transaction, totalsFor(pledge), message);
+    }
 
+    private TransactionResponse mapToResponse(TransactionEntity transaction, PledgeTotals totals, String message) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .pledgeId(transaction.getPledgeId())
@@ -165,10 +191,10 @@ public class TransactionServiceImpl implements TransactionService {
                 .transactionDate(transaction.getTransactionDate())
                 .description(transaction.getDescription())
                 .message(message)
-                .pledgeAmount(pledge.getAmount())
-                .currentInterestRate(pledge.getInterestRate())
-                .totalInterestToDate(totalInterestToDate)
-                .remainingBalance(remainingBalance)
+                .pledgeAmount(totals.pledgeAmount())
+                .currentInterestRate(totals.interestRate())
+                .totalInterestToDate(totals.totalInterestToDate())
+                .remainingBalance(totals.remainingBalance())
                 .build();
     }
 }
@@ -5,6 +5,7 @@ import com.pledge.backend.entity.UserEntity;
 import com.pledge.backend.exception.ResourceNotFoundException;
 import com.pledge.backend.repository.UserRepository;
 import com.pledge.backend.service.UserService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,8 +13,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -23,6 +24,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -44,6 +46,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         log.info("Fetching user with ID: {}", id);
 
@@ -54,6 +57,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserByEmail(String email) {
         log.info("Fetching user with email: {}", email);
 
@@ -66,12 +70,16 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        log.info("Fetching all users");
-
-        return userRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<? super UserDto> action) {
+        log.info("Streaming all users");
+
+        try (Stream<UserEntity> users = userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(user -> {
+                action.accept(mapToDto(user));
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Override
@@ -107,6 +115,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -0,0 +1,34 @@
+package com.pledge.backend.util;
+
+/**
+ * Formats whole rupee amounts with Indian digit grouping (1,00,000 rather than 100,000).
+ */
+public final class IndianNumberFormat {
+
+    private IndianNumberFormat() {
+    }
+
+    public static String format(long value) {
+        String digits = Long.toString(Math.abs(value));
+        StringBuilder sb = new StringBuilder();
+        int length = digits.length();
+        if (length <= 3) {
+            sb.append(digits);
+        } else {
+            String head = digits.substring(0, length - 3);
+            String tail = digits.substring(length - 3);
+            int firstGroup = head.length() % 2;
+            if (firstGroup > 0) {
+                sb.append(head, 0, firstGroup);
+            }
+            for (int i = firstGroup; i < head.length(); i += 2) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(head, i, i + 2);
+            }
+            sb.append(',').append(tail);
+        }
+        return value < 0 ? "-" + sb : sb.toString();
+    }
+}
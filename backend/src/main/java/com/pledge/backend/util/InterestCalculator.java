@@ -5,10 +5,8 @@ package com.pledge.backend.util;
  */
 public class InterestCalculator {
     /**
-     * Calculate monthly interest based on slab rates:
-     * - 0-49,999 → 3%
-     * - 50,000-99,999 → 2.5%
-     * - 100,000+ → 2%
+     * Calculate monthly interest based on the default slab rates
+     * (see {@link InterestSlabSchedule#DEFAULT}).
      *
      * @param amount principal amount in currency units
      * @return monthly interest amount
@@ -16,18 +14,30 @@ public class InterestCalculator {
     public static double calculateMonthlyInterest(double amount) {
         if (amount <= 0.0) return 0.0;
 
-        double monthlyRate;
-        if (amount < 50_000) {
-            monthlyRate = 3.0;
-        } else if (amount < 100_000) {
-            monthlyRate = 2.5;
-        } else {
-            monthlyRate = 2.0;
-        }
-
+        double monthlyRate = InterestSlabSchedule.DEFAULT.rateFor(amount);
         return roundTo2(amount * monthlyRate / 100.0);
     }
 
+    /**
+     * Interest accrued on a principal after a number of days, using the shop's rule:
+     * - the first 30 days always cost one full month of interest
+     * - every day after that costs 1/30 of the monthly interest
+     *
+     * @param principal outstanding principal
+     * @param monthlyRatePercent monthly interest rate in percent
+     * @param daysElapsed days since the accrual start (last payment or pledge creation)
+     * @return accrued interest
+     */
+    public static double accruedInterest(double principal, double monthlyRatePercent, long daysElapsed) {
+        // Same arithmetic as the listings have always used, so every path agrees to the last digit
+        double monthlyInterest = principal * (monthlyRatePercent / 100.0);
+        if (daysElapsed <= 30L) {
+            return monthlyInterest;
+        }
+        double dailyInterestRate = (monthlyRatePercent / 100.0) / 30.0;
+        return monthlyInterest + principal * dailyInterestRate * (daysElapsed - 30L);
+    }
+
     /**
      * Apply a payment to current principal and recalculate interest.
      *
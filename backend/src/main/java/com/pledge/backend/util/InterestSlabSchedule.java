@@ -0,0 +1,155 @@
+package com.pledge.backend.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, array-backed interest slab schedule.
+ *
+ * Holds one or more slab versions ordered by effective date. Each version is a sorted
+ * array of lower bounds with the monthly rate (percent) that applies from that bound up
+ * to the next one. Lookups are two binary searches over primitive arrays and never
+ * allocate, so pricing thousands of amounts per request is cheap.
+ */
+public final class InterestSlabSchedule {
+
+    /**
+     * Built-in slabs, used until the slab table is loaded and to seed an empty table:
+     * 0-49,999 → 3%, 50,000-99,999 → 2.5%, 1,00,000+ → 2% (monthly).
+     */
+    public static final InterestSlabSchedule DEFAULT = builder()
+            .slab(LocalDate.of(1970, 1, 1), 0, 3.0)
+            .slab(LocalDate.of(1970, 1, 1), 50_000, 2.5)
+            .slab(LocalDate.of(1970, 1, 1), 100_000, 2.0)
+            .build();
+
+    private final long[] effectiveEpochDays;
+    private final double[][] thresholds;
+    private final double[][] rates;
+
+    private InterestSlabSchedule(long[] effectiveEpochDays, double[][] thresholds, double[][] rates) {
+        this.effectiveEpochDays = effectiveEpochDays;
+        this.thresholds = thresholds;
+        this.rates = rates;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Monthly rate percent for an amount under the slabs in force today.
+     */
+    public double rateFor(double amount) {
+        return rateFor(amount, LocalDate.now());
+    }
+
+    /**
+     * Monthly rate percent for an amount under the slabs in force on the given date.
+     * Dates before the first version use the first version.
+     */
+    public double rateFor(double amount, LocalDate date) {
+        if (amount <= 0) {
+            return 0.0;
+        }
+        int version = versionAt(date.toEpochDay());
+        return rates[version][slabIndex(thresholds[version], amount)];
+    }
+
+    /**
+     * Human readable slab range for an amount, e.g. "50,000-99,999 (2.5%)".
+     */
+    public String describe(double amount, LocalDate date) {
+        int version = versionAt(date.toEpochDay());
+        double[] bounds = thresholds[version];
+        int index = slabIndex(bounds, Math.max(amount, bounds[0]));
+        String from = IndianNumberFormat.format((long) bounds[index]);
+        String rate = new BigDecimal(Double.toString(rates[version][index])).stripTrailingZeros().toPlainString();
+        if (index == bounds.length - 1) {
+            return from + "+ (" + rate + "%)";
+        }
+        String to = IndianNumberFormat.format((long) Math.ceil(bounds[index + 1]) - 1);
+        return from + "-" + to + " (" + rate + "%)";
+    }
+
+    public int versionCount() {
+        return effectiveEpochDays.length;
+    }
+
+    private int versionAt(long epochDay) {
+        int index = Arrays.binarySearch(effectiveEpochDays, epochDay);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        return Math.max(0, insertion - 1);
+    }
+
+    /**
+     * Index of the last bound that is <= amount. The loop has a fixed trip count for a
+     * given array length and the comparison compiles to a conditional move, so there is
+     * no data-dependent branch to mispredict.
+     */
+    private static int slabIndex(double[] bounds, double amount) {
+        int base = 0;
+        int n = bounds.length;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = bounds[base + half] <= amount ? base + half : base;
+            n -= half;
+        }
+        return base;
+    }
+
+    public static final class Builder {
+        private record Row(long epochDay, double minAmount, double ratePercent) {
+        }
+
+        private final List<Row> rows = new ArrayList<>();
+
+        public Builder slab(LocalDate effectiveFrom, double minAmount, double ratePercent) {
+            rows.add(new Row(effectiveFrom.toEpochDay(), minAmount, ratePercent));
+            return this;
+        }
+
+        public InterestSlabSchedule build() {
+            if (rows.isEmpty()) {
+                throw new IllegalStateException("Slab schedule needs at least one slab");
+            }
+            List<Row> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparingLong(Row::epochDay).thenComparingDouble(Row::minAmount));
+
+            List<Long> dates = new ArrayList<>();
+            List<double[]> bounds = new ArrayList<>();
+            List<double[]> rateList = new ArrayList<>();
+            int i = 0;
+            while (i < sorted.size()) {
+                long date = sorted.get(i).epochDay();
+                int j = i;
+                while (j < sorted.size() && sorted.get(j).epochDay() == date) {
+                    j++;
+                }
+                double[] versionBounds = new double[j - i];
+                double[] versionRates = new double[j - i];
+                for (int k = i; k < j; k++) {
+                    versionBounds[k - i] = sorted.get(k).minAmount();
+                    versionRates[k - i] = sorted.get(k).ratePercent();
+                }
+                // The lowest slab always starts at zero so every positive amount has a rate
+                versionBounds[0] = 0;
+                dates.add(date);
+                bounds.add(versionBounds);
+                rateList.add(versionRates);
+                i = j;
+            }
+            return new InterestSlabSchedule(
+                    dates.stream().mapToLong(Long::longValue).toArray(),
+                    bounds.toArray(new double[0][]),
+                    rateList.toArray(new double[0][]));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.pledge.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in every N calls, for per-row debug output that would otherwise
+ * flood the log on large lists.
+ */
+public class LogSampler {
+
+    private final int everyN;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(int everyN) {
+        if (everyN < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1");
+        }
+        this.everyN = everyN;
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % everyN == 0;
+    }
+}
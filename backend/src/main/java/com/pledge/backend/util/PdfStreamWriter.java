@@ -0,0 +1,436 @@
+package com.pledge.backend.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal streaming PDF 1.4 writer for text documents (tickets, statements).
+ *
+ * Each page is emitted as soon as it is finished, so memory use is one page of content
+ * regardless of document length; only object offsets and the glyphs used so far are kept
+ * until {@link #close()} writes the fonts and the cross-reference table.
+ *
+ * Text is drawn with embedded TrueType fonts ({@link Fonts}), subset to the glyphs the
+ * document uses, so customer names in any script the fonts cover print as written and
+ * can be copied out of the PDF. Each character comes from the first font in the chain
+ * that has it; characters no font has print as '?'. Glyphs are placed one per character
+ * without complex-script shaping, so Indic conjuncts show as their component letters.
+ */
+public final class PdfStreamWriter implements Closeable {
+
+    public static final float PAGE_WIDTH = 595f;   // A4 in points
+    public static final float PAGE_HEIGHT = 842f;
+
+    public enum Font {
+        REGULAR, BOLD
+    }
+
+    /**
+     * Regular and bold font chains: the first face of each is the primary font, the rest
+     * are fallbacks for characters it lacks.
+     */
+    public record Fonts(List<TrueTypeFace> regular, List<TrueTypeFace> bold) {
+
+        public Fonts {
+            if (regular.isEmpty() || bold.isEmpty()) {
+                throw new IllegalArgumentException("A regular and a bold font are required");
+            }
+            regular = List.copyOf(regular);
+            bold = List.copyOf(bold);
+        }
+
+        List<TrueTypeFace> chain(Font font) {
+            return font == Font.BOLD ? bold : regular;
+        }
+    }
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int MISSING = '?';
+    private static final int CMAP_BLOCK = 100;
+
+    private final CountingOutputStream out;
+    private final Fonts fonts;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+    private final StringBuilder content = new StringBuilder(4096);
+    // Faces are shared between writers, so compare them by identity
+    private final Map<TrueTypeFace, Embedded> embedded = new IdentityHashMap<>();
+    private final Set<Embedded> pageFonts = new LinkedHashSet<>();
+    private boolean pageOpen;
+    private boolean closed;
+
+    public PdfStreamWriter(OutputStream target, Fonts fonts) throws IOException {
+        this.out = new CountingOutputStream(target);
+        this.fonts = fonts;
+        // Reserve ids for the catalog and page tree; they are written last
+        offsets.add(-1L);
+        offsets.add(-1L);
+        write("%PDF-1.4\n%âãÏÓ\n");
+    }
+
+    public void beginPage() throws IOException {
+        if (pageOpen) {
+            endPage();
+        }
+        openPage();
+    }
+
+    /**
+     * Draw text with its baseline starting at (x, y), measured from the bottom-left corner.
+     */
+    public void text(float x, float y, Font font, float size, String text) {
+        ensurePage();
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        content.append("BT ").append(format(x)).append(' ').append(format(y)).append(" Td");
+        for (Run run : runs(font, text)) {
+            Embedded target = embed(run.face);
+            pageFonts.add(target);
+            content.append(" /").append(target.resource).append(' ').append(format(size)).append(" Tf <");
+            for (int i = 0; i < run.glyphs.size(); i++) {
+                int gid = run.glyphs.get(i);
+                target.use(gid, run.codePoints.get(i));
+                content.append(String.format(Locale.ROOT, "%04X", gid));
+            }
+            content.append("> Tj");
+        }
+        content.append(" ET\n");
+    }
+
+    public void line(float x1, float y1, float x2, float y2, float width) {
+        ensurePage();
+        content.append(format(width)).append(" w ")
+                .append(format(x1)).append(' ').append(format(y1)).append(" m ")
+                .append(format(x2)).append(' ').append(format(y2)).append(" l S\n");
+    }
+
+    /**
+     * Width of text as {@link #text} would draw it, for right-aligning.
+     */
+    public float textWidth(Font font, float size, String text) {
+        if (text == null || text.isEmpty()) {
+            return 0f;
+        }
+        int units = 0;
+        for (Run run : runs(font, text)) {
+            for (int gid : run.glyphs) {
+                units += run.face.advance(gid);
+            }
+        }
+        return units * size / 1000f;
+    }
+
+    public void endPage() throws IOException {
+        if (!pageOpen) {
+            return;
+        }
+        pageOpen = false;
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int contentId = nextId();
+        writeStream(contentId, "", stream);
+
+        StringBuilder resources = new StringBuilder();
+        for (Embedded font : pageFonts) {
+            resources.append('/').append(font.resource).append(' ').append(font.id).append(" 0 R ");
+        }
+        int pageId = nextId();
+        writeObject(pageId, "<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + format(PAGE_WIDTH) + " "
+                + format(PAGE_HEIGHT) + "] /Resources << /Font << " + resources + ">> >> /Contents "
+                + contentId + " 0 R >>");
+        pageIds.add(pageId);
+        // Let the servlet or file stream push the finished page out
+        out.flush();
+    }
+
+    public int getPageCount() {
+        return pageIds.size() + (pageOpen ? 1 : 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        endPage();
+        if (pageIds.isEmpty()) {
+            beginPage();
+            endPage();
+        }
+        for (Embedded font : embedded.values()) {
+            writeFont(font);
+        }
+        StringBuilder kids = new StringBuilder();
+        for (int id : pageIds) {
+            kids.append(id).append(" 0 R ");
+        }
+        writeObject(PAGES, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageIds.size() + " >>");
+        writeObject(CATALOG, "<< /Type /Catalog /Pages " + PAGES + " 0 R >>");
+
+        long xref = out.count;
+        StringBuilder table = new StringBuilder();
+        table.append("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root ").append(CATALOG)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+    }
+
+    /**
+     * Split text into runs drawn from one face each. A combining mark stays with the face
+     * of the character it sits on when that face has it.
+     */
+    private List<Run> runs(Font font, String text) {
+        List<TrueTypeFace> chain = fonts.chain(font);
+        List<Run> runs = new ArrayList<>();
+        Run run = null;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint < 32) {
+                codePoint = MISSING;
+            }
+            TrueTypeFace face = null;
+            int gid = 0;
+            if (run != null && isMark(codePoint)) {
+                gid = run.face.glyph(codePoint);
+                face = gid == 0 ? null : run.face;
+            }
+            for (int f = 0; face == null && f < chain.size(); f++) {
+                gid = chain.get(f).glyph(codePoint);
+                face = gid == 0 ? null : chain.get(f);
+            }
+            if (face == null) {
+                codePoint = MISSING;
+                face = chain.get(0);
+                gid = face.glyph(MISSING);
+            }
+            if (run == null || run.face != face) {
+                run = new Run(face);
+                runs.add(run);
+            }
+            run.glyphs.add(gid);
+            run.codePoints.add(codePoint);
+        }
+        return runs;
+    }
+
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private Embedded embed(TrueTypeFace face) {
+        return embedded.computeIfAbsent(face, f -> new Embedded(f, "F" + (embedded.size() + 1), nextId()));
+    }
+
+    /**
+     * The font as a Type0 composite font whose CIDs are the glyph ids of the full font:
+     * a CIDToGIDMap points them at the subset, and a ToUnicode map keeps the text searchable.
+     */
+    private void writeFont(Embedded font) throws IOException {
+        TrueTypeFace face = font.face;
+        String prefix = tag(font) + "+";
+        String baseName = prefix + face.getName();
+        TrueTypeFace.Subset subset = face.subset(font.codePoints, prefix);
+
+        int cidFontId = nextId();
+        int descriptorId = nextId();
+        int programId = nextId();
+        int cidToGidId = nextId();
+        int toUnicodeId = nextId();
+
+        writeObject(font.id, "<< /Type /Font /Subtype /Type0 /BaseFont /" + baseName
+                + " /Encoding /Identity-H /DescendantFonts [" + cidFontId + " 0 R] /ToUnicode " + toUnicodeId + " 0 R >>");
+
+        StringBuilder widths = new StringBuilder();
+        for (Map.Entry<Integer, Integer> entry : font.widths.entrySet()) {
+            widths.append(entry.getKey()).append(" [").append(entry.getValue()).append("] ");
+        }
+        writeObject(cidFontId, "<< /Type /Font /Subtype /CIDFontType2 /BaseFont /" + baseName
+                + " /CIDSystemInfo << /Registry (Adobe) /Ordering (Identity) /Supplement 0 >> /FontDescriptor "
+                + descriptorId + " 0 R /DW " + face.advance(0) + " /W [" + widths + "] /CIDToGIDMap "
+                + cidToGidId + " 0 R >>");
+
+        int[] bbox = face.getBBox();
+        // Symbolic (4), as the glyphs are addressed by id rather than a standard encoding
+        writeObject(descriptorId, "<< /Type /FontDescriptor /FontName /" + baseName + " /Flags "
+                + (face.isFixedPitch() ? 5 : 4) + " /FontBBox [" + bbox[0] + " " + bbox[1] + " " + bbox[2] + " "
+                + bbox[3] + "] /ItalicAngle " + format(face.getItalicAngle()) + " /Ascent " + face.getAscent()
+                + " /Descent " + face.getDescent() + " /CapHeight " + face.getCapHeight()
+                + " /StemV 80 /FontFile2 " + programId + " 0 R >>");
+        writeStream(programId, " /Length1 " + subset.program().length, subset.program());
+
+        int maxCid = font.widths.isEmpty() ? 0 : font.widths.lastKey();
+        byte[] cidToGid = new byte[(maxCid + 1) * 2];
+        for (Map.Entry<Integer, Integer> entry : subset.newToOldGid().entrySet()) {
+            int cid = entry.getValue();
+            if (cid <= maxCid) {
+                cidToGid[cid * 2] = (byte) (entry.getKey() >> 8);
+                cidToGid[cid * 2 + 1] = (byte) (int) entry.getKey();
+            }
+        }
+        writeStream(cidToGidId, "", cidToGid);
+        writeStream(toUnicodeId, "", toUnicode(font).getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String toUnicode(Embedded font) {
+        StringBuilder cmap = new StringBuilder(256 + font.unicode.size() * 20);
+        cmap.append("/CIDInit /ProcSet findresource begin\n12 dict begin\nbegincmap\n")
+                .append("/CIDSystemInfo << /Registry (Adobe) /Ordering (UCS) /Supplement 0 >> def\n")
+                .append("/CMapName /Adobe-Identity-UCS def\n/CMapType 2 def\n")
+                .append("1 begincodespacerange\n<0000> <FFFF>\nendcodespacerange\n");
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(font.unicode.entrySet());
+        for (int start = 0; start < entries.size(); start += CMAP_BLOCK) {
+            List<Map.Entry<Integer, Integer>> block = entries.subList(start, Math.min(entries.size(), start + CMAP_BLOCK));
+            cmap.append(block.size()).append(" beginbfchar\n");
+            for (Map.Entry<Integer, Integer> entry : block) {
+                cmap.append(String.format(Locale.ROOT, "<%04X> <", entry.getKey()));
+                for (char c : Character.toChars(entry.getValue())) {
+                    cmap.append(String.format(Locale.ROOT, "%04X", (int) c));
+                }
+                cmap.append(">\n");
+            }
+            cmap.append("endbfchar\n");
+        }
+        cmap.append("endcmap\nCMapName currentdict /CMap defineresource pop\nend\nend\n");
+        return cmap.toString();
+    }
+
+    // Six capital letters naming the subset, different for each font and glyph set in the document
+    private static String tag(Embedded font) {
+        long hash = Integer.toUnsignedLong((font.face.getName() + font.resource + font.codePoints).hashCode());
+        char[] tag = new char[6];
+        for (int i = 0; i < tag.length; i++) {
+            tag[i] = (char) ('A' + hash % 26);
+            hash /= 26;
+        }
+        return new String(tag);
+    }
+
+    private void ensurePage() {
+        if (!pageOpen) {
+            openPage();
+        }
+    }
+
+    private void openPage() {
+        pageOpen = true;
+        content.setLength(0);
+        pageFonts.clear();
+    }
+
+    private int nextId() {
+        offsets.add(-1L);
+        return offsets.size();
+    }
+
+    private void beginObject(int id) throws IOException {
+        while (offsets.size() < id) {
+            offsets.add(-1L);
+        }
+        offsets.set(id - 1, out.count);
+        write(id + " 0 obj\n");
+    }
+
+    private void writeObject(int id, String body) throws IOException {
+        beginObject(id);
+        write(body + "\nendobj\n");
+    }
+
+    private void writeStream(int id, String extraEntries, byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(data);
+        }
+        beginObject(id);
+        write("<< /Length " + compressed.size() + " /Filter /FlateDecode" + extraEntries + " >>\nstream\n");
+        compressed.writeTo(out);
+        write("\nendstream\nendobj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String format(float value) {
+        if (value == (long) value) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static final class Run {
+        private final TrueTypeFace face;
+        private final List<Integer> glyphs = new ArrayList<>();
+        private final List<Integer> codePoints = new ArrayList<>();
+
+        Run(TrueTypeFace face) {
+            this.face = face;
+        }
+    }
+
+    /**
+     * A face used by this document: its resource name, object id and the glyphs drawn so far.
+     */
+    private static final class Embedded {
+        private final TrueTypeFace face;
+        private final String resource;
+        private final int id;
+        private final Set<Integer> codePoints = new TreeSet<>();
+        private final TreeMap<Integer, Integer> widths = new TreeMap<>();
+        private final TreeMap<Integer, Integer> unicode = new TreeMap<>();
+
+        Embedded(TrueTypeFace face, String resource, int id) {
+            this.face = face;
+            this.resource = resource;
+            this.id = id;
+        }
+
+        void use(int gid, int codePoint) {
+            codePoints.add(codePoint);
+            widths.putIfAbsent(gid, face.advance(gid));
+            unicode.putIfAbsent(gid, codePoint);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.pledge.backend.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-bound JDBC statement counter.
+ *
+ * A scope is opened with {@link #start()} (per HTTP request by the query budget filter,
+ * or explicitly from an integration test) and every statement executed through the
+ * counting DataSource on that thread is recorded against it. Statements are grouped by
+ * their normalized SQL so repeated shapes (the usual N+1 signature) can be reported.
+ *
+ * Example:
+ * <pre>
+ *     QueryCounter.start();
+ *     pledgeService.getPledgesByCustomerId(customerId);
+ *     QueryCounter.stop().assertStatementCountAtMost(3);
+ * </pre>
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Open a new counting scope on the current thread, replacing any previous one.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Close the current scope and return what it recorded (empty stats if none was open).
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : new QueryStats();
+    }
+
+    /**
+     * Stats of the open scope, or null when nothing is being counted on this thread.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make the given scope current on this thread (or clear it for null), so work handed
+     * to another thread, such as a streamed response body, is counted with the request
+     * that started it.
+     */
+    public static void bind(QueryStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql, elapsedNanos);
+        }
+    }
+
+    /**
+     * Collapse whitespace and strip literals so statements that differ only by
+     * parameter values are grouped together.
+     */
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        return sql.replaceAll("'[^']*'", "?")
+                .replaceAll("\\b\\d+\\b", "?")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * Statements recorded within one scope. A scope may be bound to more than one thread
+     * (see {@link #bind}), so updates and reads are synchronized.
+     */
+    public static final class QueryStats {
+        private int statementCount;
+        private long totalNanos;
+        private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+
+        synchronized void record(String sql, long elapsedNanos) {
+            statementCount++;
+            totalNanos += elapsedNanos;
+            countsBySql.merge(normalize(sql), 1, Integer::sum);
+        }
+
+        public synchronized int getStatementCount() {
+            return statementCount;
+        }
+
+        public synchronized double getTotalTimeMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public synchronized Map<String, Integer> getCountsBySql() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(countsBySql));
+        }
+
+        /**
+         * Statement shapes executed more than once in this scope.
+         */
+        public synchronized Map<String, Integer> getDuplicates() {
+            return countsBySql.entrySet().stream()
+                    .filter(e -> e.getValue() > 1)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                            (a, b) -> a, LinkedHashMap::new));
+        }
+
+        /**
+         * Highest repeat count of any single statement shape.
+         */
+        public synchronized int getMaxRepeats() {
+            return countsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        public void assertStatementCountAtMost(int max) {
+            if (statementCount > max) {
+                throw new AssertionError("Expected at most " + max + " statements but " + statementCount
+                        + " were executed" + describeDuplicates());
+            }
+        }
+
+        public void assertNoRepeatedStatementsAbove(int maxRepeats) {
+            if (getMaxRepeats() > maxRepeats) {
+                throw new AssertionError("Statement repeated more than " + maxRepeats + " times (possible N+1)"
+                        + describeDuplicates());
+            }
+        }
+
+        private String describeDuplicates() {
+            Map<String, Integer> duplicates = getDuplicates();
+            if (duplicates.isEmpty()) {
+                return "";
+            }
+            StringBuilder sb = new StringBuilder("; repeated statements:");
+            duplicates.forEach((sql, count) -> sb.append("\n  ").append(count).append("x ").append(sql));
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements in %.1f ms", statementCount, getTotalTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.pledge.backend.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every executed statement to {@link QueryCounter}.
+ * Connections and statements are wrapped with JDK proxies, so pool and driver
+ * behaviour is otherwise unchanged.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement((Statement) result, Statement.class, null);
+                case "prepareStatement":
+                    return wrapStatement((Statement) result, PreparedStatement.class, sql);
+                case "prepareCall":
+                    return wrapStatement((Statement) result, CallableStatement.class, sql);
+                default:
+                    return result;
+            }
+        }
+
+        private static Object wrapStatement(Statement target, Class<?> type, String preparedSql) {
+            return Proxy.newProxyInstance(
+                    QueryCountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(target, preparedSql));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return QueryCountingDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return QueryCountingDataSource.invoke(target, method, args);
+            } finally {
+                QueryCounter.record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
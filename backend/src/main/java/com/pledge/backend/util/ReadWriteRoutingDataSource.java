@@ -0,0 +1,78 @@
+package com.pledge.backend.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the
+ * primary.
+ *
+ * The decision is made when the connection is requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the JPA
+ * transaction manager only marks the transaction read-only after it has started, and the
+ * lazy proxy defers the real connection until the first statement. If the replica
+ * cannot hand out a connection, reads go to the primary and the replica is skipped for
+ * a cool-down period instead of timing out on every request.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long coolDownNanos;
+    private final LogSampler fallbackLog = new LogSampler(100);
+
+    private volatile long replicaDownUntil;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long coolDownMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.coolDownNanos = TimeUnit.MILLISECONDS.toNanos(coolDownMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            return fallBack(e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            return fallBack(e);
+        }
+    }
+
+    /**
+     * True when the current transaction is read-only and the replica is not cooling down.
+     */
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.nanoTime() - replicaDownUntil >= 0;
+    }
+
+    private Connection fallBack(SQLException e) throws SQLException {
+        replicaDownUntil = System.nanoTime() + coolDownNanos;
+        if (fallbackLog.sample()) {
+            log.warn("Read replica unavailable, sending reads to the primary: {}", e.getMessage());
+        }
+        return primary.getConnection();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pledge.backend.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash.
+ *
+ * Writes for the same key always take the same lock and run one after another, while
+ * different keys spread over the stripes and mostly run in parallel. Memory is bounded by
+ * the stripe count no matter how many keys are seen.
+ */
+public final class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        // Round up to a power of two so the stripe is picked with a mask
+        int size = stripes == 1 ? 1 : Integer.highestOneBit((stripes - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(long key) {
+        // Spread the bits so sequential ids do not cluster on neighbouring stripes
+        long h = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & mask];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pledge.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled "{0} ... {1}" line template.
+ *
+ * The pattern is parsed once into literal and argument segments, so rendering is a
+ * single pass of appends with no parsing or regex per line. Unlike MessageFormat,
+ * arguments are inserted with {@code String.valueOf} and quotes have no special meaning.
+ */
+public final class TextTemplate {
+
+    private final String[] literals;
+    private final int[] arguments;
+    private final int sizeHint;
+
+    private TextTemplate(String[] literals, int[] arguments, int sizeHint) {
+        this.literals = literals;
+        this.arguments = arguments;
+        this.sizeHint = sizeHint;
+    }
+
+    public static TextTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? pattern.indexOf('}', i) : -1;
+            if (close > i + 1 && pattern.substring(i + 1, close).chars().allMatch(Character::isDigit)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                arguments.add(Integer.parseInt(pattern.substring(i + 1, close)));
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new TextTemplate(literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray(),
+                pattern.length() + 16 * arguments.size());
+    }
+
+    public String render(Object... args) {
+        StringBuilder sb = new StringBuilder(sizeHint);
+        for (int i = 0; i < arguments.length; i++) {
+            sb.append(literals[i]);
+            int index = arguments[i];
+            sb.append(index < args.length ? String.valueOf(args[index]) : "");
+        }
+        return sb.append(literals[literals.length - 1]).toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.pledge.backend.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The bucket holds up to {@code capacity} tokens and refills continuously at
+ * {@code refillPerSecond}. State is a single immutable snapshot swapped with CAS, so
+ * concurrent callers never block; a losing CAS simply recomputes from the new snapshot.
+ */
+public final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs capacity >= 1 and a positive refill rate");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    /**
+     * Take one token if available. Returns the tokens left (>= 0) on success, or a
+     * negative number on rejection whose magnitude is the seconds until a token is free.
+     */
+    public double tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            State current = state.get();
+            double available = refill(current, now);
+            if (available < 1) {
+                return -Math.max((1 - available) / refillPerNano / NANOS_PER_SECOND, 1e-9);
+            }
+            if (state.compareAndSet(current, new State(available - 1, now))) {
+                return available - 1;
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has been full for a while, i.e. it can be dropped and lazily
+     * recreated without changing what any caller would see.
+     */
+    public boolean isIdle(long idleNanos) {
+        long now = System.nanoTime();
+        State current = state.get();
+        return now - current.refilledAtNanos() > idleNanos && refill(current, now) >= capacity;
+    }
+
+    private double refill(State current, long now) {
+        long elapsed = Math.max(0L, now - current.refilledAtNanos());
+        return Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+    }
+}
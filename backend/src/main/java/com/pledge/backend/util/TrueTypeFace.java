@@ -0,0 +1,131 @@
+package com.pledge.backend.util;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.HeaderTable;
+import org.apache.fontbox.ttf.OS2WindowsMetricsTable;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TTFSubsetter;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A TrueType font parsed once and shared by every {@link PdfStreamWriter}: the glyph
+ * lookup and advance widths are read up front, and each document embeds only the
+ * glyphs it used ({@link #subset}).
+ *
+ * Widths and metrics are in PDF glyph space (1/1000 em).
+ */
+public final class TrueTypeFace {
+
+    // The tables a PDF viewer needs to draw the glyphs; names, kerning and the like are dropped
+    private static final List<String> SUBSET_TABLES =
+            List.of("head", "hhea", "loca", "maxp", "cvt ", "prep", "glyf", "hmtx", "fpgm", "gasp");
+
+    private final TrueTypeFont font;
+    private final CmapLookup cmap;
+    private final String name;
+    private final int[] advances;
+    private final int[] bbox;
+    private final int ascent;
+    private final int descent;
+    private final int capHeight;
+    private final float italicAngle;
+    private final boolean fixedPitch;
+
+    private TrueTypeFace(TrueTypeFont font) throws IOException {
+        this.font = font;
+        this.cmap = font.getUnicodeCmapLookup();
+        if (cmap == null) {
+            throw new IOException("Font " + font.getName() + " has no Unicode character map");
+        }
+        this.name = font.getName().replaceAll("[^A-Za-z0-9-]", "");
+        float scale = 1000f / font.getUnitsPerEm();
+        this.advances = new int[font.getNumberOfGlyphs()];
+        for (int gid = 0; gid < advances.length; gid++) {
+            advances[gid] = Math.round(font.getAdvanceWidth(gid) * scale);
+        }
+        HeaderTable head = font.getHeader();
+        this.bbox = new int[]{Math.round(head.getXMin() * scale), Math.round(head.getYMin() * scale),
+                Math.round(head.getXMax() * scale), Math.round(head.getYMax() * scale)};
+        OS2WindowsMetricsTable os2 = font.getOS2Windows();
+        this.ascent = os2 == null ? bbox[3] : Math.round(os2.getTypoAscender() * scale);
+        this.descent = os2 == null ? bbox[1] : Math.round(os2.getTypoDescender() * scale);
+        this.capHeight = os2 == null || os2.getCapHeight() == 0 ? ascent : Math.round(os2.getCapHeight() * scale);
+        this.italicAngle = font.getPostScript() == null ? 0f : font.getPostScript().getItalicAngle();
+        this.fixedPitch = font.getPostScript() != null && font.getPostScript().getIsFixedPitch() != 0;
+    }
+
+    /**
+     * Parse a font file; the stream is read fully and closed.
+     */
+    public static TrueTypeFace load(InputStream in) throws IOException {
+        try (in) {
+            return new TrueTypeFace(new TTFParser().parse(in));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The glyph for a code point, or 0 (.notdef) when the font does not have it.
+     */
+    public int glyph(int codePoint) {
+        return cmap.getGlyphId(codePoint);
+    }
+
+    public int advance(int gid) {
+        return gid < advances.length ? advances[gid] : 0;
+    }
+
+    public int[] getBBox() {
+        return bbox.clone();
+    }
+
+    public int getAscent() {
+        return ascent;
+    }
+
+    public int getDescent() {
+        return descent;
+    }
+
+    public int getCapHeight() {
+        return capHeight;
+    }
+
+    public float getItalicAngle() {
+        return italicAngle;
+    }
+
+    public boolean isFixedPitch() {
+        return fixedPitch;
+    }
+
+    /**
+     * A font program holding just the glyphs for the given code points (plus .notdef and
+     * the parts of composite glyphs), and the subset's glyph ids mapped to this font's.
+     * Subsetting reads the shared glyph table, so calls are serialised.
+     */
+    public synchronized Subset subset(Set<Integer> codePoints, String tag) throws IOException {
+        TTFSubsetter subsetter = new TTFSubsetter(font, SUBSET_TABLES);
+        subsetter.setPrefix(tag);
+        subsetter.addAll(codePoints);
+        ByteArrayOutputStream program = new ByteArrayOutputStream();
+        subsetter.writeToStream(program);
+        return new Subset(program.toByteArray(), subsetter.getGIDMap());
+    }
+
+    /**
+     * @param newToOldGid glyph id in the subset to glyph id in the full font
+     */
+    public record Subset(byte[] program, Map<Integer, Integer> newToOldGid) {
+    }
+}
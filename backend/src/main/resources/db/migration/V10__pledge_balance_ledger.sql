@@ -0,0 +1,29 @@
+-- Migration: balance event log and periodic snapshots for "as of" balance queries
+
+CREATE TABLE IF NOT EXISTS pledge_balance_events (
+    id BIGSERIAL PRIMARY KEY,
+    pledge_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    principal_delta DOUBLE PRECISION NOT NULL,
+    principal_after DOUBLE PRECISION NOT NULL,
+    status_after VARCHAR(32),
+    interest_rate_after DOUBLE PRECISION,
+    resets_accrual BOOLEAN NOT NULL,
+    payment_id BIGINT
+);
+-- No foreign key: events outlive deleted pledges
+CREATE INDEX IF NOT EXISTS idx_balance_events_pledge_time ON pledge_balance_events (pledge_id, occurred_at, id);
+CREATE INDEX IF NOT EXISTS idx_balance_events_time ON pledge_balance_events (occurred_at);
+
+CREATE TABLE IF NOT EXISTS pledge_balance_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_at TIMESTAMP NOT NULL,
+    pledge_id BIGINT NOT NULL,
+    principal DOUBLE PRECISION NOT NULL,
+    status VARCHAR(32),
+    interest_rate DOUBLE PRECISION,
+    accrual_start TIMESTAMP,
+    CONSTRAINT uq_balance_snapshots_time_pledge UNIQUE (snapshot_at, pledge_id)
+);
+CREATE INDEX IF NOT EXISTS idx_balance_snapshots_pledge_time ON pledge_balance_snapshots (pledge_id, snapshot_at);
@@ -0,0 +1,16 @@
+-- Migration: daily and monthly reporting rollups for /api/reports/timeseries
+-- Rows are filled by ReportRollupService (incremental upserts plus a rebuild job)
+
+CREATE TABLE IF NOT EXISTS report_rollups (
+    period VARCHAR(8) NOT NULL,
+    period_start DATE NOT NULL,
+    purity VARCHAR(32) NOT NULL DEFAULT '',
+    item_type VARCHAR(255) NOT NULL DEFAULT '',
+    pledges_opened BIGINT NOT NULL DEFAULT 0,
+    disbursed DOUBLE PRECISION NOT NULL DEFAULT 0,
+    interest_booked DOUBLE PRECISION NOT NULL DEFAULT 0,
+    payments BIGINT NOT NULL DEFAULT 0,
+    collected DOUBLE PRECISION NOT NULL DEFAULT 0,
+    interest_income DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (period, period_start, purity, item_type)
+);
@@ -0,0 +1,7 @@
+-- Migration: indexes behind the streamed list endpoints
+
+-- Latest payment per pledge for GET /api/pledges (MAX(payment_date) per row)
+CREATE INDEX IF NOT EXISTS idx_payments_pledge_date ON payments (pledge_id, payment_date);
+-- Cursor order for /api/transactions/pledge/{id} and /api/transactions/user/{id}
+CREATE INDEX IF NOT EXISTS idx_transactions_pledge ON transactions (pledge_id, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_user ON transactions (user_id, id);
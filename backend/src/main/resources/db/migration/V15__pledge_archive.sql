@@ -0,0 +1,30 @@
+-- Migration: cold archive of long-closed pledges (/api/archive)
+-- Archived pledges, with their payments and transactions, live in gzip NDJSON segment
+-- files under app.archive.directory; this index maps each one to its segment and block.
+-- report_rollups_archived keeps their report figures for rollup rebuilds.
+
+CREATE TABLE IF NOT EXISTS pledge_archive_index (
+    pledge_id BIGINT PRIMARY KEY,
+    customer_id BIGINT,
+    segment VARCHAR(255) NOT NULL,
+    -- byte range of the gzip member holding the record
+    block_offset BIGINT NOT NULL,
+    block_length INTEGER NOT NULL,
+    closed_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_pledge_archive_index_customer ON pledge_archive_index (customer_id);
+
+CREATE TABLE IF NOT EXISTS report_rollups_archived (
+    period_start DATE NOT NULL,
+    purity VARCHAR(32) NOT NULL DEFAULT '',
+    item_type VARCHAR(255) NOT NULL DEFAULT '',
+    pledges_opened BIGINT NOT NULL DEFAULT 0,
+    disbursed DOUBLE PRECISION NOT NULL DEFAULT 0,
+    interest_booked DOUBLE PRECISION NOT NULL DEFAULT 0,
+    payments BIGINT NOT NULL DEFAULT 0,
+    collected DOUBLE PRECISION NOT NULL DEFAULT 0,
+    interest_income DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (period_start, purity, item_type)
+);
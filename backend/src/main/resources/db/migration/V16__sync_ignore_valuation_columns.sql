@@ -0,0 +1,22 @@
+-- Migration: delta sync ignores pledge columns the server maintains for valuation
+-- A gold-rate change revalues every open pledge (market_value, ltv, valued_at and a
+-- version bump). None of those is sent to sync clients, so the update must not restamp
+-- the row, or every rate change would send all open pledges to every client.
+-- sync_row_changed() now leaves the columns named as trigger arguments out of the comparison.
+
+CREATE OR REPLACE FUNCTION sync_row_changed() RETURNS trigger AS $$
+DECLARE
+    ignored TEXT[] := COALESCE(CAST(TG_ARGV AS TEXT[]), ARRAY[]::TEXT[]);
+BEGIN
+    IF TG_OP = 'UPDATE' AND to_jsonb(NEW) - ignored IS NOT DISTINCT FROM to_jsonb(OLD) - ignored THEN
+        RETURN NEW;
+    END IF;
+    NEW.updated_at := clock_timestamp();
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_pledges_sync ON pledges;
+CREATE TRIGGER trg_pledges_sync BEFORE INSERT OR UPDATE ON pledges
+    FOR EACH ROW EXECUTE FUNCTION sync_row_changed('market_value', 'ltv', 'valued_at', 'version');
@@ -0,0 +1,17 @@
+-- Migration: archiving does not leave sync tombstones
+-- Moving a long-closed pledge to cold storage deletes its pledge, payment and transaction
+-- rows, but the pledge still exists: clients may keep their copy. A transaction that sets
+-- app.sync_suppress to 'on' (SET LOCAL, as PledgeArchiveService does) writes no tombstones.
+
+CREATE OR REPLACE FUNCTION sync_row_deleted() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('app.sync_suppress', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO sync_tombstones (entity, entity_id, parent_id)
+    VALUES (COALESCE((SELECT CAST(CAST(inhparent AS regclass) AS text) FROM pg_inherits WHERE inhrelid = TG_RELID),
+                     TG_TABLE_NAME),
+            OLD.id, CASE WHEN TG_NARGS > 0 THEN (to_jsonb(OLD) ->> TG_ARGV[0])::bigint END);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,5 @@
+-- Migration: index customer email and phone
+-- Backs the availability checks that the in-memory contact index cannot rule out.
+
+CREATE INDEX IF NOT EXISTS idx_customers_email ON customers(email);
+CREATE INDEX IF NOT EXISTS idx_customers_phone ON customers(phone);
@@ -0,0 +1,6 @@
+-- Migration: optimistic locking version for pledges
+-- Existing rows start at version 0; JPA increments it on every update.
+
+ALTER TABLE pledges ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+UPDATE pledges SET version = 0 WHERE version IS NULL;
+ALTER TABLE pledges ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,8 @@
+-- Migration: shared token buckets for app.rate-limit.store=postgres
+-- One row per rule and caller; rows idle past app.rate-limit.idle-eviction-seconds are purged.
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
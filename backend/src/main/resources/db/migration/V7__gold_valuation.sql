@@ -0,0 +1,27 @@
+-- Migration: gold rates, purity multipliers and per-pledge valuation (LTV)
+-- Hibernate (ddl-auto=update) creates the same columns; this file is for manual runs.
+
+CREATE TABLE IF NOT EXISTS gold_rates (
+    id BIGSERIAL PRIMARY KEY,
+    rate_per_gram DOUBLE PRECISION NOT NULL,
+    effective_at TIMESTAMP NOT NULL,
+    source VARCHAR(255),
+    created_at TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_gold_rates_effective_at ON gold_rates (effective_at);
+
+CREATE TABLE IF NOT EXISTS purity_multipliers (
+    purity VARCHAR(8) PRIMARY KEY,
+    multiplier DOUBLE PRECISION NOT NULL
+);
+INSERT INTO purity_multipliers (purity, multiplier) VALUES
+    ('28K', 0.999), ('24K', 0.999), ('22K', 0.916), ('18K', 0.750), ('14K', 0.585)
+ON CONFLICT (purity) DO NOTHING;
+
+ALTER TABLE pledges ADD COLUMN IF NOT EXISTS market_value DOUBLE PRECISION;
+ALTER TABLE pledges ADD COLUMN IF NOT EXISTS ltv DOUBLE PRECISION;
+ALTER TABLE pledges ADD COLUMN IF NOT EXISTS valued_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_pledges_ltv ON pledges (ltv);
+-- Risk query only looks at open pledges
+CREATE INDEX IF NOT EXISTS idx_pledges_open_ltv ON pledges (ltv DESC) WHERE status <> 'CLOSED';
@@ -0,0 +1,6 @@
+-- Migration: deadline indexes for the overdue engine and /api/pledges/overdue
+
+CREATE INDEX IF NOT EXISTS idx_pledges_deadline ON pledges (deadline);
+-- The engine only scans open pledges; defaulted and closed rows drop out of this index
+CREATE INDEX IF NOT EXISTS idx_pledges_open_deadline ON pledges (deadline)
+    WHERE status IN ('ACTIVE', 'PARTIALLY_PAID');
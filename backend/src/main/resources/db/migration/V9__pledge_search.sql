@@ -0,0 +1,40 @@
+-- Migration: full-text search over pledges (/api/pledges/search)
+-- search_vector is maintained by triggers and is not mapped by JPA.
+
+ALTER TABLE pledges ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION pledges_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('english', coalesce(NEW.title, '') || ' ' || coalesce(NEW.item_type, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce((SELECT name FROM customers WHERE id = NEW.customer_id), '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(NEW.purity, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(NEW.description, '') || ' ' || coalesce(NEW.notes, '')), 'D');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_pledges_search_vector ON pledges;
+CREATE TRIGGER trg_pledges_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, notes, item_type, purity, customer_id ON pledges
+    FOR EACH ROW EXECUTE FUNCTION pledges_search_vector_refresh();
+
+-- A customer rename re-indexes that customer's pledges
+CREATE OR REPLACE FUNCTION customers_search_name_changed() RETURNS trigger AS $$
+BEGIN
+    IF NEW.name IS DISTINCT FROM OLD.name THEN
+        UPDATE pledges SET customer_id = customer_id WHERE customer_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_customers_search_name ON customers;
+CREATE TRIGGER trg_customers_search_name
+    AFTER UPDATE OF name ON customers
+    FOR EACH ROW EXECUTE FUNCTION customers_search_name_changed();
+
+CREATE INDEX IF NOT EXISTS idx_pledges_search_vector ON pledges USING GIN (search_vector);
+
+-- Backfill existing rows (the trigger computes the vector)
+UPDATE pledges SET customer_id = customer_id WHERE search_vector IS NULL;
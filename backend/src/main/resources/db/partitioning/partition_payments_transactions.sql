@@ -0,0 +1,75 @@
+-- Monthly range partitions for payments (payment_date) and transactions (transaction_date)
+-- Not a migration: TablePartitionService runs it on demand (POST /actuator/partitions).
+-- Each table is renamed aside, recreated as a partitioned table with one partition per month
+-- of existing data plus three months ahead and a DEFAULT partition, and the rows are copied
+-- across. The primary key must include the partition column. Both tables are locked for the
+-- whole copy, so run it in a maintenance window; from then on TablePartitionService creates
+-- later months. A table that is already partitioned is left alone, so running it again is a no-op.
+-- sync_row_deleted (db/migration V17) already names the partitioned table in tombstones.
+
+CREATE OR REPLACE FUNCTION create_month_partitions(parent TEXT, from_month DATE, to_month DATE) RETURNS void AS $$
+DECLARE
+    month DATE := date_trunc('month', from_month);
+BEGIN
+    WHILE month <= to_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       parent || to_char(month, '"_p"YYYY_MM'), parent, month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+-- payments
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'payments'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+    LOCK TABLE payments IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE payments RENAME TO payments_unpartitioned;
+    CREATE TABLE payments (LIKE payments_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS)
+        PARTITION BY RANGE (payment_date);
+    CREATE TABLE payments_default PARTITION OF payments DEFAULT;
+    PERFORM create_month_partitions('payments',
+                                    COALESCE((SELECT MIN(payment_date) FROM payments_unpartitioned), now())::date,
+                                    (date_trunc('month', now()) + INTERVAL '3 months')::date);
+    INSERT INTO payments SELECT * FROM payments_unpartitioned;
+    ALTER SEQUENCE payments_id_seq OWNED BY payments.id;
+    DROP TABLE payments_unpartitioned;
+
+    ALTER TABLE payments ADD PRIMARY KEY (id, payment_date);
+    ALTER TABLE payments ADD CONSTRAINT fk_payments_pledge FOREIGN KEY (pledge_id) REFERENCES pledges (id);
+    CREATE INDEX idx_payments_pledge_date ON payments (pledge_id, payment_date);
+    CREATE INDEX idx_payments_change_xid ON payments (change_xid);
+    CREATE TRIGGER trg_payments_sync BEFORE INSERT OR UPDATE ON payments
+        FOR EACH ROW EXECUTE FUNCTION sync_row_changed();
+    CREATE TRIGGER trg_payments_sync_delete AFTER DELETE ON payments
+        FOR EACH ROW EXECUTE FUNCTION sync_row_deleted('pledge_id');
+END
+$$;
+
+-- transactions (transaction_date is nullable, so no primary key; undated rows go to the DEFAULT partition)
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'transactions'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+    LOCK TABLE transactions IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+    CREATE TABLE transactions (LIKE transactions_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS)
+        PARTITION BY RANGE (transaction_date);
+    CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+    PERFORM create_month_partitions('transactions',
+                                    COALESCE((SELECT MIN(transaction_date) FROM transactions_unpartitioned), now())::date,
+                                    (date_trunc('month', now()) + INTERVAL '3 months')::date);
+    INSERT INTO transactions SELECT * FROM transactions_unpartitioned;
+    ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+    DROP TABLE transactions_unpartitioned;
+
+    ALTER TABLE transactions ADD CONSTRAINT transactions_id_date_key UNIQUE (id, transaction_date);
+    CREATE INDEX idx_transactions_pledge ON transactions (pledge_id, id);
+    CREATE INDEX idx_transactions_user ON transactions (user_id, id);
+END
+$$;
+
+DROP FUNCTION create_month_partitions(TEXT, DATE, DATE);
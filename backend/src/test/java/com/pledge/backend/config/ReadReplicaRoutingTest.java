@@ -0,0 +1,132 @@
+package com.pledge.backend.config;
+
+import com.pledge.backend.PledgeMasterApplication;
+import com.pledge.backend.support.TestDatabases;
+import com.pledge.backend.support.TestDatabases.TestDatabase;
+import com.pledge.backend.util.JwtUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-only transactions go to the replica and the rest to the primary, including
+ * several transactions within one open-in-view session. The replica is a second
+ * database cloned from the migrated primary, so rows written after the clone exist
+ * only on the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final TestDatabase PRIMARY = TestDatabases.create("pledge_primary");
+    private static final TestDatabase REPLICA;
+
+    static {
+        // One short boot creates the schema on the primary; the replica starts as a copy of it
+        new SpringApplicationBuilder(PledgeMasterApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=" + PRIMARY.url(),
+                        "--spring.datasource.username=" + PRIMARY.username(),
+                        "--spring.datasource.password=" + PRIMARY.password())
+                .close();
+        REPLICA = TestDatabases.copy(PRIMARY, "pledge_replica");
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::url);
+        registry.add("spring.datasource.username", PRIMARY::username);
+        registry.add("spring.datasource.password", PRIMARY::password);
+        registry.add("app.datasource.replica.url", REPLICA::url);
+        registry.add("app.datasource.replica.username", REPLICA::username);
+        registry.add("app.datasource.replica.password", REPLICA::password);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals(name(REPLICA), databaseIn(true));
+        assertEquals(name(PRIMARY), databaseIn(false));
+    }
+
+    @Test
+    void eachTransactionInAnOpenSessionIsRoutedOnItsOwn() {
+        // What OpenEntityManagerInViewInterceptor does for a web request
+        EntityManager session = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+        try {
+            assertEquals(name(REPLICA), databaseIn(true));
+            assertEquals(name(PRIMARY), databaseIn(false));
+            assertEquals(name(REPLICA), databaseIn(true));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            session.close();
+        }
+    }
+
+    @Test
+    void requestReadsFromTheReplicaAfterWritingToThePrimary() throws Exception {
+        // Written after the clone: on the primary only
+        long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customers (name, address, created_at, is_active) VALUES ('Replica test', 'Pune', now(), true) " +
+                "RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO pledges (customer_id, title, amount, interest_rate, created_at, status, version) " +
+                "VALUES (?, 'Primary only', 1000, 2.0, now(), 'ACTIVE', 0)", customerId);
+
+        // The listing first auto-closes zero-amount pledges (a write), then reads the customer's pledges
+        mvc.perform(get("/api/pledges/customer/" + customerId)
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("Akash", "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT current_database()").getSingleResult());
+    }
+
+    private static String name(TestDatabase database) {
+        return database.url().substring(database.url().lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.pledge.backend.controller;
+
+import com.pledge.backend.config.QueryBudgetFilter;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import com.pledge.backend.util.QueryCounter.QueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the list endpoints, measured by the query budget filter against
+ * a real database. Each endpoint is called for a customer with one pledge and for one
+ * with many pledges, payments and transactions; the count must be the same (no N+1)
+ * and within the endpoint's budget.
+ */
+class ListEndpointQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int MANY = 12;
+
+    // Global lists read every row, so a second customer with many pledges tests them too
+    private static final Map<String, Integer> GLOBAL_BUDGETS = new LinkedHashMap<>();
+    // Per-customer and per-pledge lists, keyed by a URI template filled with an id
+    private static final Map<String, Integer> CUSTOMER_BUDGETS = new LinkedHashMap<>();
+    private static final Map<String, Integer> PLEDGE_BUDGETS = new LinkedHashMap<>();
+
+    static {
+        GLOBAL_BUDGETS.put("/api/pledges", 4);
+        GLOBAL_BUDGETS.put("/api/pledges/projections?from=2000-01-01T00:00:00&to=2100-01-01T00:00:00", 4);
+        GLOBAL_BUDGETS.put("/api/pledges/search?q=QueryCount", 4);
+        GLOBAL_BUDGETS.put("/api/pledges/overdue", 4);
+        GLOBAL_BUDGETS.put("/api/customers", 3);
+        GLOBAL_BUDGETS.put("/api/users", 3);
+        GLOBAL_BUDGETS.put("/api/valuation/risk?minLtv=0", 4);
+        GLOBAL_BUDGETS.put("/api/reports/timeseries?granularity=day", 4);
+        GLOBAL_BUDGETS.put("/api/sync", 6);
+        GLOBAL_BUDGETS.put("/api/dashboard/stats", 8);
+
+        CUSTOMER_BUDGETS.put("/api/pledges/customer/%d", 4);
+        CUSTOMER_BUDGETS.put("/api/pledges/customer/%d?includeArchived=true", 5);
+        CUSTOMER_BUDGETS.put("/api/customers/%d/portfolio", 6);
+
+        PLEDGE_BUDGETS.put("/api/payments/pledge/%d", 3);
+        PLEDGE_BUDGETS.put("/api/transactions/pledge/%d", 3);
+    }
+
+    private long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, role, is_active, created_at) " +
+                "VALUES ('querycount', 'querycount@test.local', 'x', 'ADMIN', true, now()) RETURNING id", Long.class);
+    }
+
+    @Test
+    void globalListsDoNotGrowWithRows() throws Exception {
+        createCustomer(1, 1);
+        Map<String, Integer> small = new LinkedHashMap<>();
+        for (String uri : GLOBAL_BUDGETS.keySet()) {
+            small.put(uri, statements(uri).getStatementCount());
+        }
+
+        createCustomer(MANY, 3);
+        for (Map.Entry<String, Integer> budget : GLOBAL_BUDGETS.entrySet()) {
+            QueryStats large = statements(budget.getKey());
+            assertEquals(small.get(budget.getKey()), large.getStatementCount(),
+                    budget.getKey() + " ran a different number of statements with more rows: " + large.getCountsBySql());
+            large.assertStatementCountAtMost(budget.getValue());
+        }
+    }
+
+    @Test
+    void streamedBodyStatementsAreCounted() throws Exception {
+        createCustomer(1, 1);
+        QueryStats stats = statements("/api/customers");
+        assertTrue(stats.getCountsBySql().keySet().stream().anyMatch(sql -> sql.contains("from customers")),
+                "The streamed customer query was not counted: " + stats.getCountsBySql());
+    }
+
+    @Test
+    void perCustomerListsDoNotGrowWithRows() throws Exception {
+        long[] few = createCustomer(1, 1);
+        long[] many = createCustomer(MANY, 3);
+        assertSameCount(CUSTOMER_BUDGETS, id -> few[0], id -> many[0]);
+        assertSameCount(PLEDGE_BUDGETS, id -> few[1], id -> many[1]);
+    }
+
+    @Test
+    void transactionsByUserDoNotGrowWithRows() throws Exception {
+        int before = statements("/api/transactions/user/" + userId).getStatementCount();
+        createCustomer(MANY, 3);
+        QueryStats after = statements("/api/transactions/user/" + userId);
+        assertEquals(before, after.getStatementCount(), "Statements grew with rows: " + after.getCountsBySql());
+        after.assertStatementCountAtMost(3);
+    }
+
+    private void assertSameCount(Map<String, Integer> budgets, LongFunction<Long> fewId, LongFunction<Long> manyId)
+            throws Exception {
+        for (Map.Entry<String, Integer> budget : budgets.entrySet()) {
+            QueryStats small = statements(String.format(budget.getKey(), fewId.apply(0)));
+            QueryStats large = statements(String.format(budget.getKey(), manyId.apply(0)));
+            assertEquals(small.getStatementCount(), large.getStatementCount(),
+                    budget.getKey() + " ran a different number of statements with more rows: " + large.getCountsBySql());
+            large.assertStatementCountAtMost(budget.getValue());
+        }
+    }
+
+    /**
+     * Statements run by one GET, including a streamed body written after the handler returned.
+     */
+    private QueryStats statements(String uri) throws Exception {
+        MvcResult result = mvc.perform(get(uri).header("Authorization", bearer())).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mvc.perform(asyncDispatch(result)).andExpect(status().is2xxSuccessful()).andReturn();
+        } else {
+            assertEquals(200, result.getResponse().getStatus(), uri + ": " + result.getResponse().getContentAsString());
+        }
+        QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryBudgetFilter.STATS_ATTRIBUTE);
+        assertNotNull(stats, "No query stats recorded for " + uri);
+        return stats;
+    }
+
+    /**
+     * A customer with the given number of open pledges, each with payments and a
+     * transaction by the test user. Returns the customer id and its first pledge id.
+     */
+    private long[] createCustomer(int pledges, int paymentsPerPledge) {
+        long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customers (name, phone, email, address, created_at, is_active) " +
+                "VALUES ('QueryCount customer', NULL, NULL, 'Pune', now(), true) RETURNING id", Long.class);
+        long firstPledgeId = 0;
+        for (int i = 0; i < pledges; i++) {
+            long pledgeId = jdbcTemplate.queryForObject(
+                    "INSERT INTO pledges (customer_id, user_id, title, description, amount, interest_rate, created_at, " +
+                    "  deadline, pledge_duration, status, item_type, weight, purity, version, last_interest_accrued_at) " +
+                    "VALUES (?, ?, 'QueryCount chain', 'test', 50000, 2.0, now() - interval '400 days', " +
+                    "  now() - interval '35 days', 12, 'ACTIVE', 'Chain', 20, '22K', 0, now() - interval '400 days') " +
+                    "RETURNING id", Long.class, customerId, userId);
+            for (int n = 1; n <= paymentsPerPledge; n++) {
+                jdbcTemplate.update("INSERT INTO payments (pledge_id, amount, payment_date, payment_type, created_at) " +
+                        "VALUES (?, 500, now() - ? * interval '20 days', 'PARTIAL', now())", pledgeId, n);
+                jdbcTemplate.update("INSERT INTO transactions (pledge_id, user_id, amount, type, status, description, " +
+                        "transaction_date) VALUES (?, ?, 500, 'PAYMENT', 'COMPLETED', 'test', now() - ? * interval '20 days')",
+                        pledgeId, userId, n);
+            }
+            if (firstPledgeId == 0) {
+                firstPledgeId = pledgeId;
+            }
+        }
+        return new long[]{customerId, firstPledgeId};
+    }
+}
@@ -0,0 +1,55 @@
+package com.pledge.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The live event stream is opened with a single-use ticket; the JWT is never accepted in the URL.
+ */
+class LiveEventStreamTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ticketOpensTheStreamOnce() throws Exception {
+        String ticket = ticket();
+
+        MvcResult opened = mvc.perform(get(LiveEventController.STREAM_PATH).param("ticket", ticket)).andReturn();
+        assertTrue(opened.getRequest().isAsyncStarted(), "The stream was not opened: " + opened.getResponse().getStatus());
+        opened.getRequest().getAsyncContext().complete();
+
+        MvcResult reused = mvc.perform(get(LiveEventController.STREAM_PATH).param("ticket", ticket))
+                .andExpect(status().is4xxClientError()).andReturn();
+        assertFalse(reused.getRequest().isAsyncStarted());
+    }
+
+    @Test
+    void tokenInTheUrlIsRefused() throws Exception {
+        String token = bearer().substring("Bearer ".length());
+        mvc.perform(get(LiveEventController.STREAM_PATH).param("access_token", token))
+                .andExpect(status().is4xxClientError());
+        mvc.perform(get(LiveEventController.STREAM_PATH).param("ticket", token))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void ticketsAreOnlyIssuedToAuthenticatedCallers() throws Exception {
+        mvc.perform(post("/api/events/ticket")).andExpect(status().is4xxClientError());
+    }
+
+    private String ticket() throws Exception {
+        MvcResult result = mvc.perform(post("/api/events/ticket").header("Authorization", bearer()))
+                .andExpect(status().isOk()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("ticket").asText();
+    }
+}
@@ -0,0 +1,231 @@
+package com.pledge.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.config.QueryBudgetFilter;
+import com.pledge.backend.loadtest.LoadTestReport.ScenarioResult;
+import com.pledge.backend.loadtest.LoadTestSeeder.Dataset;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs the scenario mix against a live server: loadtest.users threads, each logging in
+ * once and then picking weighted scenarios back to back (closed loop) until the run
+ * ends. Operations finishing during the warm-up are not counted. Every user has its
+ * own seeded random source, so a run picks the same customers and pledges each time.
+ */
+@Slf4j
+public class LoadTestDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Dataset dataset;
+    private final HttpClient client;
+    private final Scenario[] weighted;
+
+    private record Outcome(boolean ok, long queries) {
+    }
+
+    /**
+     * One user's measurements; merged once all users are done.
+     */
+    private static final class Recorder {
+        final Map<Scenario, long[]> latencies = new EnumMap<>(Scenario.class);
+        final Map<Scenario, Integer> counts = new EnumMap<>(Scenario.class);
+        final Map<Scenario, Long> errors = new EnumMap<>(Scenario.class);
+        final Map<Scenario, Long> queries = new EnumMap<>(Scenario.class);
+
+        void record(Scenario scenario, long micros, Outcome outcome) {
+            long[] values = latencies.computeIfAbsent(scenario, s -> new long[1024]);
+            int count = counts.getOrDefault(scenario, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(scenario, values);
+            }
+            values[count] = micros;
+            counts.put(scenario, count + 1);
+            if (!outcome.ok()) {
+                errors.merge(scenario, 1L, Long::sum);
+            }
+            queries.merge(scenario, outcome.queries(), Long::sum);
+        }
+
+        long[] latencies(Scenario scenario) {
+            long[] values = latencies.get(scenario);
+            return values == null ? new long[0] : Arrays.copyOf(values, counts.get(scenario));
+        }
+    }
+
+    public LoadTestDriver(String baseUrl, LoadTestProperties properties, ObjectMapper objectMapper, Dataset dataset) {
+        this.baseUrl = baseUrl;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.weighted = weightedScenarios(properties.getMix());
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(Math.max(0, properties.getWarmupSeconds())).toNanos();
+        long end = measureFrom + Duration.ofSeconds(Math.max(1, properties.getDurationSeconds())).toNanos();
+
+        int users = Math.max(1, properties.getUsers());
+        List<Recorder> recorders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Recorder recorder = new Recorder();
+            Random random = new Random(properties.getRandomSeed() + i);
+            Thread thread = new Thread(() -> simulateUser(random, recorder, measureFrom, end), "loadtest-user-" + i);
+            recorders.add(recorder);
+            threads.add(thread);
+        }
+        log.info("Running {} users for {} s after {} s warm-up", users, properties.getDurationSeconds(),
+                properties.getWarmupSeconds());
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = Math.max(1, properties.getDurationSeconds());
+        List<ScenarioResult> results = new ArrayList<>();
+        List<long[]> allLatencies = new ArrayList<>();
+        long allErrors = 0;
+        long allQueries = 0;
+        for (Scenario scenario : Scenario.values()) {
+            if (properties.getMix().getOrDefault(scenario.key(), 0) <= 0) {
+                continue;
+            }
+            long[] latencies = recorders.stream().map(r -> r.latencies(scenario)).flatMapToLong(Arrays::stream).toArray();
+            long errors = recorders.stream().mapToLong(r -> r.errors.getOrDefault(scenario, 0L)).sum();
+            long queries = recorders.stream().mapToLong(r -> r.queries.getOrDefault(scenario, 0L)).sum();
+            results.add(ScenarioResult.of(scenario.key(), latencies, errors, queries, seconds));
+            allLatencies.add(latencies);
+            allErrors += errors;
+            allQueries += queries;
+        }
+        ScenarioResult total = ScenarioResult.of("total",
+                allLatencies.stream().flatMapToLong(Arrays::stream).toArray(), allErrors, allQueries, seconds);
+        return new LoadTestReport(properties.getLabel(), startedAt, users, properties.getWarmupSeconds(),
+                properties.getDurationSeconds(), dataset.customers(), dataset.pledges(), dataset.payments(),
+                results, total);
+    }
+
+    private void simulateUser(Random random, Recorder recorder, long measureFrom, long end) {
+        String[] token = {null};
+        try {
+            execute(Scenario.LOGIN, random, token);
+            while (System.nanoTime() < end) {
+                Scenario scenario = weighted[random.nextInt(weighted.length)];
+                long started = System.nanoTime();
+                Outcome outcome = execute(scenario, random, token);
+                long finished = System.nanoTime();
+                if (finished >= measureFrom && finished < end) {
+                    recorder.record(scenario, (finished - started) / 1000, outcome);
+                }
+                if (properties.getThinkTimeMs() > 0) {
+                    Thread.sleep(properties.getThinkTimeMs());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Outcome execute(Scenario scenario, Random random, String[] token) throws InterruptedException {
+        try {
+            return switch (scenario) {
+                case LOGIN -> login(token);
+                case LIST_PLEDGES -> get("/api/pledges", token[0]);
+                case OPEN_CUSTOMER -> {
+                    long customerId = pick(dataset.customerIds(), random);
+                    Outcome customer = get("/api/customers/" + customerId, token[0]);
+                    Outcome pledges = get("/api/pledges/customer/" + customerId, token[0]);
+                    yield new Outcome(customer.ok() && pledges.ok(), customer.queries() + pledges.queries());
+                }
+                case RECORD_PAYMENT -> post("/api/pledges/" + pick(dataset.openPledgeIds(), random) + "/payments",
+                        "{\"amount\":" + (10 + random.nextInt(41)) + "}", token[0]);
+                case DASHBOARD -> get("/api/dashboard/stats", token[0]);
+            };
+        } catch (IOException e) {
+            log.debug("{} failed: {}", scenario.key(), e.getMessage());
+            return new Outcome(false, 0);
+        }
+    }
+
+    private Outcome login(String[] token) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "username", properties.getUsername(), "password", properties.getPassword()));
+        HttpResponse<String> response = client.send(request("/api/auth/login", null)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            token[0] = objectMapper.readTree(response.body()).path("data").path("token").asText(null);
+        }
+        return outcome(response);
+    }
+
+    private Outcome get(String path, String token) throws IOException, InterruptedException {
+        // Bodies are read to the end, so streamed lists are timed in full
+        return outcome(client.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private Outcome post(String path, String json, String token) throws IOException, InterruptedException {
+        return outcome(client.send(request(path, token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static Outcome outcome(HttpResponse<?> response) {
+        long queries = response.headers().firstValue(QueryBudgetFilter.COUNT_HEADER).map(Long::parseLong).orElse(0L);
+        return new Outcome(response.statusCode() < 400, queries);
+    }
+
+    private static long pick(long[] ids, Random random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    // Each scenario repeated by its weight, in a fixed order, so a uniform pick follows the mix
+    private static Scenario[] weightedScenarios(Map<String, Integer> mix) {
+        mix.keySet().forEach(Scenario::of);
+        List<Scenario> weighted = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            for (int i = 0; i < Math.max(0, mix.getOrDefault(scenario.key(), 0)); i++) {
+                weighted.add(scenario);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix gives every scenario a weight of 0");
+        }
+        return weighted.toArray(new Scenario[0]);
+    }
+}
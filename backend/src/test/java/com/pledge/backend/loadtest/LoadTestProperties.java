@@ -0,0 +1,52 @@
+package com.pledge.backend.loadtest;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run (loadtest.*), read from application-loadtest.properties
+ * and the command line.
+ */
+@Data
+public class LoadTestProperties {
+
+    // Name of this run in the report, e.g. the branch under test
+    private String label = "local";
+
+    // Wipe the pledge tables and load the volumes below before the run
+    private boolean seed = true;
+    // Seeding is refused unless spring.datasource.url names localhost, 127.0.0.1 or ::1
+    private boolean allowRemoteSeed = false;
+    private int customers = 2000;
+    private int pledgesPerCustomer = 5;
+    private int paymentsPerPledge = 3;
+
+    // Concurrent simulated shop users, each running scenarios back to back
+    private int users = 16;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private long thinkTimeMs = 0;
+    private long randomSeed = 42;
+
+    // Relative weight of each scenario (see Scenario)
+    private Map<String, Integer> mix = new LinkedHashMap<>(Map.of(
+            "login", 5,
+            "list-pledges", 10,
+            "open-customer", 40,
+            "record-payment", 15,
+            "dashboard", 30));
+
+    private String username;
+    private String password;
+
+    // Reports are written here as <label>.json
+    private String reportDir = "./loadtest-results";
+
+    // Report of an earlier run to print deltas against
+    private String baseline;
+
+    // The run exits with status 1 when more operations than this fail
+    private double maxErrorRate = 0.01;
+}
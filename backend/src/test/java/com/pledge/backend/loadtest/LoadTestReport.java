@@ -0,0 +1,111 @@
+package com.pledge.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a load-test run, printed as a table and kept as JSON so a later run
+ * (another branch, say) can be compared against it.
+ */
+public record LoadTestReport(String label, LocalDateTime startedAt, int users, int warmupSeconds, int durationSeconds,
+                             long customers, long pledges, long payments,
+                             List<ScenarioResult> scenarios, ScenarioResult total) {
+
+    /**
+     * Figures for one scenario over the measured window. Latencies cover the whole
+     * operation; queries are the SQL statements the server reported (X-Query-Count).
+     */
+    public record ScenarioResult(String scenario, long operations, long errors, double errorRate,
+                                 double throughputPerSecond, double meanMs, double p50Ms, double p90Ms,
+                                 double p95Ms, double p99Ms, double maxMs, double queriesPerOperation) {
+
+        static ScenarioResult of(String scenario, long[] latenciesMicros, long errors, long queries, double seconds) {
+            long[] sorted = latenciesMicros.clone();
+            Arrays.sort(sorted);
+            long operations = sorted.length;
+            double mean = operations == 0 ? 0.0 : Arrays.stream(sorted).average().orElse(0.0) / 1000.0;
+            return new ScenarioResult(scenario, operations, errors,
+                    operations == 0 ? 0.0 : (double) errors / operations,
+                    seconds > 0 ? operations / seconds : 0.0,
+                    mean, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 95), percentile(sorted, 99),
+                    operations == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0,
+                    operations == 0 ? 0.0 : (double) queries / operations);
+        }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double percent) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1] / 1000.0;
+        }
+    }
+
+    public Path write(ObjectMapper objectMapper, String directory) throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        Path file = dir.resolve(label.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public static LoadTestReport read(ObjectMapper objectMapper, String file) throws IOException {
+        return objectMapper.readValue(Paths.get(file).toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * The report as a text table; with a baseline, throughput and p95 changes are added.
+     */
+    public String toTable(LoadTestReport baseline) {
+        Map<String, ScenarioResult> before = baseline == null ? Map.of() : baseline.allResults().stream()
+                .collect(Collectors.toMap(ScenarioResult::scenario, Function.identity()));
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Load test '%s': %d users, %d s measured after %d s warm-up; " +
+                        "%d customers, %d pledges, %d payments%n",
+                label, users, durationSeconds, warmupSeconds, customers, pledges, payments));
+        if (baseline != null) {
+            out.append(String.format(Locale.ROOT, "Compared with '%s' (%s)%n", baseline.label(), baseline.startedAt()));
+        }
+        out.append(String.format(Locale.ROOT, "%-15s %8s %8s %7s %8s %8s %8s %8s %8s %8s %10s%s%n",
+                "scenario", "ops", "ops/s", "err%", "mean ms", "p50", "p90", "p95", "p99", "max", "queries/op",
+                baseline == null ? "" : String.format(Locale.ROOT, " %9s %9s", "vs ops/s", "vs p95")));
+        for (ScenarioResult result : allResults()) {
+            out.append(String.format(Locale.ROOT, "%-15s %8d %8.1f %6.2f%% %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %10.1f",
+                    result.scenario(), result.operations(), result.throughputPerSecond(), result.errorRate() * 100,
+                    result.meanMs(), result.p50Ms(), result.p90Ms(), result.p95Ms(), result.p99Ms(), result.maxMs(),
+                    result.queriesPerOperation()));
+            ScenarioResult previous = before.get(result.scenario());
+            if (previous != null) {
+                out.append(String.format(Locale.ROOT, " %9s %9s",
+                        change(result.throughputPerSecond(), previous.throughputPerSecond()),
+                        change(result.p95Ms(), previous.p95Ms())));
+            }
+            out.append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private List<ScenarioResult> allResults() {
+        List<ScenarioResult> all = new ArrayList<>(scenarios);
+        all.add(total);
+        return all;
+    }
+
+    private static String change(double now, double before) {
+        return before == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (now - before) / before * 100);
+    }
+}
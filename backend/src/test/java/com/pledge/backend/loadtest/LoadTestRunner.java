@@ -0,0 +1,94 @@
+package com.pledge.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.PledgeMasterApplication;
+import com.pledge.backend.loadtest.LoadTestSeeder.Dataset;
+import com.pledge.backend.service.CustomerContactIndex;
+import com.pledge.backend.service.PledgeBook;
+import com.pledge.backend.service.ReportRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Load-test entry point (see LOAD_TEST.md and run_loadtest.sh). Boots the application
+ * in-process with the loadtest profile against a local Postgres database, creating the
+ * database if needed, seeds it, drives the scenario mix over HTTP and writes the report.
+ *
+ * Settings are loadtest.* and app/spring properties, from application-loadtest.properties
+ * or as --name=value arguments. Exits with status 1 when the error rate is above
+ * loadtest.max-error-rate, so scripts can gate on it.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplicationBuilder(PledgeMasterApplication.class)
+                .profiles("loadtest")
+                .listeners((ApplicationListener<ApplicationEnvironmentPreparedEvent>) event -> {
+                    Environment env = event.getEnvironment();
+                    // Before anything connects: migrations and database creation would already touch the server
+                    LoadTestProperties properties = Binder.get(env).bindOrCreate("loadtest", LoadTestProperties.class);
+                    if (properties.isSeed()) {
+                        LoadTestSeeder.checkSeedTarget(env.getProperty("spring.datasource.url"),
+                                properties.isAllowRemoteSeed());
+                    }
+                    LoadTestSeeder.createDatabaseIfMissing(env.getProperty("spring.datasource.url", ""),
+                            env.getProperty("spring.datasource.username"), env.getProperty("spring.datasource.password"));
+                })
+                .build();
+        ConfigurableApplicationContext context = application.run(args);
+        int status = 1;
+        try {
+            status = run(context);
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+        } finally {
+            int exitCode = status;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+
+    private static int run(ConfigurableApplicationContext context) throws Exception {
+        LoadTestProperties properties = Binder.get(context.getEnvironment())
+                .bindOrCreate("loadtest", LoadTestProperties.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        LoadTestSeeder seeder = new LoadTestSeeder(context.getBean(JdbcTemplate.class));
+        Dataset dataset;
+        if (properties.isSeed()) {
+            dataset = seeder.seed(properties);
+            // Seeding happens after startup; bring the derived state up to date as a restart would
+            context.getBean(ReportRollupService.class).rebuild();
+            context.getBean(CustomerContactIndex.class).rebuild();
+            context.getBeanProvider(PledgeBook.class).ifAvailable(PledgeBook::reload);
+        } else {
+            dataset = seeder.describe();
+        }
+
+        String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        LoadTestReport report = new LoadTestDriver(baseUrl, properties, objectMapper, dataset).run();
+        LoadTestReport baseline = properties.getBaseline() == null || properties.getBaseline().isBlank()
+                ? null : LoadTestReport.read(objectMapper, properties.getBaseline());
+        Path file = report.write(objectMapper, properties.getReportDir());
+
+        System.out.println();
+        System.out.print(report.toTable(baseline));
+        System.out.println("Report written to " + file.toAbsolutePath().normalize());
+
+        double errorRate = report.total().errorRate();
+        if (errorRate > properties.getMaxErrorRate()) {
+            log.warn("Error rate {} is above loadtest.max-error-rate {}", errorRate, properties.getMaxErrorRate());
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.pledge.backend.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Loads a load-test database with a fixed, repeatable data set: the same settings give
+ * the same customers, pledges and payments on every run and branch, so results compare.
+ * Values are derived from the row ids rather than drawn at random.
+ */
+@Slf4j
+public class LoadTestSeeder {
+
+    private static final String POSTGRES_URL_PREFIX = "jdbc:postgresql://";
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "::1");
+
+    private static final String TRUNCATE_SQL =
+            "TRUNCATE payments, transactions, pledges, customers, pledge_balance_events, pledge_balance_snapshots, " +
+            "report_rollups, report_rollups_archived, pledge_archive_index, sync_tombstones RESTART IDENTITY CASCADE";
+
+    private static final String CUSTOMERS_SQL =
+            "INSERT INTO customers (name, phone, email, address, created_at, is_active) " +
+            "SELECT 'Customer ' || g, '9' || lpad(CAST(g AS text), 9, '0'), 'customer' || g || '@loadtest.local', " +
+            "       'Street ' || (g % 97) || ', Pune', now() - (g % 1000) * interval '1 day', true " +
+            "FROM generate_series(1, ?) g";
+
+    // One in five pledges is closed and one in five part paid, across purities and item types
+    private static final String PLEDGES_SQL =
+            "INSERT INTO pledges (customer_id, title, description, amount, interest_rate, created_at, deadline, " +
+            "                     pledge_duration, status, item_type, weight, purity, notes, version, last_interest_accrued_at) " +
+            "SELECT s.customer_id, s.item_type || ' ' || s.customer_id || '-' || s.k, 'Load test pledge', " +
+            "       CASE WHEN s.status = 'CLOSED' THEN 0 ELSE s.amount END, s.rate, s.created_at, " +
+            "       s.created_at + interval '12 months', 12, s.status, s.item_type, s.weight, s.purity, NULL, 0, s.created_at " +
+            "FROM (SELECT c.id AS customer_id, k, " +
+            "             5000 + (c.id * 7919 + k * 104729) % 95000 AS amount, " +
+            "             1.5 + ((c.id + k) % 4) * 0.5 AS rate, " +
+            "             now() - ((c.id * 31 + k * 17) % 720) * interval '1 day' AS created_at, " +
+            "             CASE (c.id + k) % 5 WHEN 0 THEN 'CLOSED' WHEN 1 THEN 'PARTIALLY_PAID' ELSE 'ACTIVE' END AS status, " +
+            "             (ARRAY['Chain', 'Ring', 'Bangle', 'Necklace', 'Earrings'])[1 + (c.id + 3 * k) % 5] AS item_type, " +
+            "             2 + (c.id * 13 + k) % 60 AS weight, " +
+            "             (ARRAY['24K', '22K', '18K'])[1 + (c.id + k) % 3] AS purity " +
+            "      FROM customers c CROSS JOIN generate_series(1, ?) k) s";
+
+    // Monthly-ish instalments, only in the past
+    private static final String PAYMENTS_SQL =
+            "INSERT INTO payments (pledge_id, amount, payment_date, payment_type, notes, created_at) " +
+            "SELECT p.id, 100 + (p.id * 13 + n * 7) % 900, p.created_at + n * interval '20 days', 'PARTIAL', NULL, " +
+            "       p.created_at + n * interval '20 days' " +
+            "FROM pledges p CROSS JOIN generate_series(1, ?) n " +
+            "WHERE p.created_at + n * interval '20 days' < now()";
+
+    /**
+     * What the scenarios pick from: every customer, and the pledges that can take a payment.
+     */
+    public record Dataset(long customers, long pledges, long payments, long[] customerIds, long[] openPledgeIds) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces all customers, pledges, payments and derived tables with the configured volumes.
+     * The target is checked again on the live connection, whatever the configuration said.
+     */
+    public Dataset seed(LoadTestProperties properties) {
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        checkSeedTarget(url, properties.isAllowRemoteSeed());
+        long started = System.nanoTime();
+        jdbcTemplate.execute(TRUNCATE_SQL);
+        jdbcTemplate.update(CUSTOMERS_SQL, Math.max(1, properties.getCustomers()));
+        jdbcTemplate.update(PLEDGES_SQL, Math.max(1, properties.getPledgesPerCustomer()));
+        if (properties.getPaymentsPerPledge() > 0) {
+            jdbcTemplate.update(PAYMENTS_SQL, properties.getPaymentsPerPledge());
+        }
+        jdbcTemplate.execute("ANALYZE customers, pledges, payments");
+        Dataset dataset = describe();
+        log.info("Seeded {} customers, {} pledges, {} payments in {} ms", dataset.customers(), dataset.pledges(),
+                dataset.payments(), (System.nanoTime() - started) / 1_000_000);
+        return dataset;
+    }
+
+    /**
+     * The data already in the database, for runs with loadtest.seed=false.
+     */
+    public Dataset describe() {
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id", Long.class);
+        List<Long> openPledgeIds = jdbcTemplate.queryForList(
+                "SELECT id FROM pledges WHERE status IN ('ACTIVE', 'PARTIALLY_PAID') AND amount > 0 ORDER BY id", Long.class);
+        Long pledges = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pledges", Long.class);
+        Long payments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Long.class);
+        if (customerIds.isEmpty() || openPledgeIds.isEmpty()) {
+            throw new IllegalStateException("The load-test database has no customers or open pledges; run with loadtest.seed=true");
+        }
+        return new Dataset(customerIds.size(), pledges == null ? 0 : pledges, payments == null ? 0 : payments,
+                customerIds.stream().mapToLong(Long::longValue).toArray(),
+                openPledgeIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Seeding truncates the pledge tables, and an environment variable or argument can point
+     * spring.datasource.url at any server, so only a database on this machine is seeded
+     * unless loadtest.allow-remote-seed is set.
+     */
+    public static void checkSeedTarget(String url, boolean allowRemote) {
+        if (allowRemote || isLocal(url)) {
+            return;
+        }
+        String target = url != null && url.startsWith(POSTGRES_URL_PREFIX) ? hosts(url) : "a non-Postgres URL";
+        throw new IllegalStateException("Refusing to seed the load-test data into " + target + ": seeding replaces " +
+                "all customers, pledges and payments. Use a local database, or set loadtest.allow-remote-seed=true " +
+                "if this server really is a scratch database.");
+    }
+
+    // Every host in a jdbc:postgresql://host[:port][,host[:port]]/database URL is the loopback interface
+    static boolean isLocal(String url) {
+        if (url == null || !url.startsWith(POSTGRES_URL_PREFIX)) {
+            return false;
+        }
+        String hosts = hosts(url);
+        if (hosts.isEmpty()) {
+            return false;
+        }
+        for (String host : hosts.split(",")) {
+            String name = host.startsWith("[") ? host.substring(1, Math.max(1, host.indexOf(']')))
+                    : host.contains(":") ? host.substring(0, host.indexOf(':')) : host;
+            if (!LOCAL_HOSTS.contains(name.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String hosts(String url) {
+        int start = POSTGRES_URL_PREFIX.length();
+        int end = start;
+        while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?') {
+            end++;
+        }
+        return url.substring(start, end);
+    }
+
+    /**
+     * Creates the database named in a jdbc:postgresql URL if it does not exist yet,
+     * connecting to the server's postgres database to do so.
+     */
+    public static void createDatabaseIfMissing(String url, String username, String password) {
+        int slash = url.indexOf('/', POSTGRES_URL_PREFIX.length());
+        if (!url.startsWith(POSTGRES_URL_PREFIX) || slash < 0) {
+            return;
+        }
+        int end = url.indexOf('?', slash);
+        String database = url.substring(slash + 1, end < 0 ? url.length() : end);
+        String maintenanceUrl = url.substring(0, slash + 1) + "postgres" + (end < 0 ? "" : url.substring(end));
+        try (Connection connection = DriverManager.getConnection(maintenanceUrl, username, password)) {
+            try (PreparedStatement exists = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+                exists.setString(1, database);
+                try (ResultSet rs = exists.executeQuery()) {
+                    if (rs.next()) {
+                        return;
+                    }
+                }
+            }
+            try (Statement create = connection.createStatement()) {
+                create.execute("CREATE DATABASE \"" + database.replace("\"", "\"\"") + "\"");
+            }
+            log.info("Created load-test database {}", database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reach or create the load-test database " + database + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pledge.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeding truncates the pledge tables, so it only runs against a database on this machine.
+ */
+class LoadTestSeederTest {
+
+    @Test
+    void onlyLoopbackHostsAreLocal() {
+        assertTrue(LoadTestSeeder.isLocal("jdbc:postgresql://localhost:5432/pledge_loadtest"));
+        assertTrue(LoadTestSeeder.isLocal("jdbc:postgresql://127.0.0.1/pledge_loadtest?sslmode=disable"));
+        assertTrue(LoadTestSeeder.isLocal("jdbc:postgresql://[::1]:5432/pledge_loadtest"));
+        assertTrue(LoadTestSeeder.isLocal("jdbc:postgresql://LOCALHOST,127.0.0.1:5433/pledge_loadtest"));
+
+        assertFalse(LoadTestSeeder.isLocal("jdbc:postgresql://ep-example.neon.tech/neondb?sslmode=require"));
+        assertFalse(LoadTestSeeder.isLocal("jdbc:postgresql://localhost,db.internal/pledges"));
+        assertFalse(LoadTestSeeder.isLocal("jdbc:postgresql://localhost.example.com/pledges"));
+        assertFalse(LoadTestSeeder.isLocal("jdbc:postgresql:///pledges"));
+        assertFalse(LoadTestSeeder.isLocal("jdbc:h2:mem:pledges"));
+        assertFalse(LoadTestSeeder.isLocal(null));
+    }
+
+    @Test
+    void remoteSeedNeedsExplicitPermission() {
+        String remote = "jdbc:postgresql://ep-example.neon.tech/neondb?user=app&password=secret";
+        IllegalStateException refused = assertThrows(IllegalStateException.class,
+                () -> LoadTestSeeder.checkSeedTarget(remote, false));
+        assertTrue(refused.getMessage().contains("ep-example.neon.tech"));
+        assertFalse(refused.getMessage().contains("secret"));
+        assertDoesNotThrow(() -> LoadTestSeeder.checkSeedTarget(remote, true));
+        assertDoesNotThrow(() -> LoadTestSeeder.checkSeedTarget("jdbc:postgresql://localhost/pledge_loadtest", false));
+    }
+}
@@ -0,0 +1,36 @@
+package com.pledge.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * What a shop user does, as the front end issues it. Each operation is timed as a whole.
+ */
+public enum Scenario {
+    // POST /api/auth/login
+    LOGIN("login"),
+    // GET /api/pledges, the full pledge list
+    LIST_PLEDGES("list-pledges"),
+    // GET /api/customers/{id} then GET /api/pledges/customer/{id}
+    OPEN_CUSTOMER("open-customer"),
+    // POST /api/pledges/{id}/payments on an open pledge
+    RECORD_PAYMENT("record-payment"),
+    // GET /api/dashboard/stats, polled by the home screen
+    DASHBOARD("dashboard");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Scenario of(String key) {
+        return Arrays.stream(values())
+                .filter(s -> s.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load-test scenario: " + key));
+    }
+}
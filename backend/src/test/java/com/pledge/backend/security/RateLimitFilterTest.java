@@ -0,0 +1,73 @@
+package com.pledge.backend.security;
+
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Budgets through a real server, so the forwarded client address is resolved by Tomcat
+ * as it is behind the hosting proxy. The test client connects from loopback, which is
+ * one of the trusted proxy ranges.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "app.rate-limit.enabled=true")
+class RateLimitFilterTest extends PostgresIntegrationTest {
+
+    // app.rate-limit.rules in application.properties
+    private static final int LOGIN_CAPACITY = 5;
+    private static final int PLEDGE_LIST_CAPACITY = 20;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void loginBudgetIsPerForwardedClient() {
+        for (int i = 0; i < LOGIN_CAPACITY; i++) {
+            assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.10"));
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.10"));
+        // Another client behind the same proxy still has its own budget
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.11"));
+    }
+
+    @Test
+    void signedInDevicesHaveTheirOwnBudgets() {
+        String counter = bearer();
+        String tablet = bearer();
+        assertNotEquals(counter, tablet);
+        for (int i = 0; i < PLEDGE_LIST_CAPACITY; i++) {
+            HttpHeaders headers = listPledges(counter).getHeaders();
+            assertNotNull(headers.getFirst(RateLimitFilter.REMAINING_HEADER));
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, listPledges(counter).getStatusCode());
+        assertEquals(HttpStatus.OK, listPledges(tablet).getStatusCode());
+    }
+
+    private HttpStatus login(String client) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", client);
+        return HttpStatus.valueOf(rest.exchange("/api/auth/login", HttpMethod.POST,
+                new HttpEntity<>("{\"username\":\"nobody\",\"password\":\"wrong-password\"}", headers), String.class)
+                .getStatusCode().value());
+    }
+
+    private ResponseEntity<String> listPledges(String authorization) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", authorization);
+        return rest.exchange("/api/pledges", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerContactIndexTest {
+
+    private final CustomerRepository repository = mock(CustomerRepository.class);
+    private final CustomerContactIndex index = new CustomerContactIndex(repository, 0.01, 600);
+
+    @Test
+    void keepsValuesAddedWhileRebuilding() {
+        when(repository.findAllEmails()).thenAnswer(invocation -> {
+            index.add("during@example.com", "98200 00001");
+            return List.of("stored@example.com");
+        });
+        when(repository.findAllPhones()).thenReturn(List.of("9820000000"));
+
+        index.rebuild();
+
+        assertTrue(index.mightContainEmail("stored@example.com"));
+        assertTrue(index.mightContainEmail("During@Example.com"));
+        assertTrue(index.mightContainPhone("98200-00001"));
+    }
+
+    @Test
+    void keepsValuesAddedBeforeTheirRowsWereVisibleToTheRebuild() {
+        when(repository.findAllEmails()).thenReturn(List.of());
+        when(repository.findAllPhones()).thenReturn(List.of());
+        index.rebuild();
+
+        // Added in a transaction that has not committed when the rebuild reads the table
+        index.add("uncommitted@example.com", "9820000002");
+        index.rebuild();
+
+        assertTrue(index.mightContainEmail("uncommitted@example.com"));
+        assertTrue(index.mightContainPhone("9820000002"));
+        assertFalse(index.mightContainEmail("never@example.com"));
+    }
+}
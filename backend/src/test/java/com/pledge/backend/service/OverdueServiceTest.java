@@ -0,0 +1,107 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.exception.FeatureDisabledException;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The overdue engine defaults pledges past the grace period once; a part payment does
+ * not cure the default, so later runs leave the pledge alone.
+ */
+@TestPropertySource(properties = {"app.overdue.enabled=true", "app.overdue.grace-days=30",
+        "app.overdue.initial-delay-ms=3600000"})
+class OverdueServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OverdueService overdueService;
+
+    @Autowired
+    private PledgeRepository pledgeRepository;
+
+    @Autowired
+    private LiveEventPublisher liveEvents;
+
+    @Autowired
+    private PledgeLedgerService ledger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void dryRunCountsWithoutChangingAnything() {
+        long pledgeId = pastDeadline(createPledge(createCustomer("Overdue dry run"), 20_000), 45);
+
+        OverdueService.RunResult result = overdueService.run(true);
+
+        assertTrue(result.dryRun());
+        assertTrue(result.defaulted() >= 1, "defaulted: " + result.defaulted());
+        assertEquals("ACTIVE", statusOf(pledgeId));
+        assertEquals(0, statusEvents(pledgeId));
+    }
+
+    @Test
+    void partPaymentDoesNotCureADefault() throws Exception {
+        long customerId = createCustomer("Overdue customer");
+        long defaulting = pastDeadline(createPledge(customerId, 20_000), 40);
+        long inGrace = pastDeadline(createPledge(customerId, 20_000), 5);
+
+        overdueService.run(false);
+        assertEquals(OverdueService.DEFAULTED, statusOf(defaulting));
+        assertEquals("ACTIVE", statusOf(inGrace));
+        assertEquals(1, statusEvents(defaulting));
+
+        pay(defaulting, 1_000);
+        assertEquals(OverdueService.DEFAULTED, statusOf(defaulting));
+
+        // Still defaulted, so not picked up and defaulted (and announced) again
+        overdueService.run(false);
+        assertEquals(OverdueService.DEFAULTED, statusOf(defaulting));
+        assertEquals(1, statusEvents(defaulting));
+
+        pay(defaulting, 19_000);
+        assertEquals("CLOSED", statusOf(defaulting));
+    }
+
+    @Test
+    void manualRunIsRefusedWhenDisabled() {
+        OverdueService disabled = new OverdueService(pledgeRepository, liveEvents, ledger, jdbcTemplate,
+                transactionManager, false, 30, 500, new int[]{30, 60, 90});
+        long pledgeId = pastDeadline(createPledge(createCustomer("Overdue disabled"), 20_000), 45);
+
+        assertThrows(FeatureDisabledException.class, () -> disabled.run(false));
+        assertTrue(disabled.run(true).defaulted() >= 1);
+        assertEquals("ACTIVE", statusOf(pledgeId));
+    }
+
+    private long pastDeadline(long pledgeId, int days) {
+        jdbcTemplate.update("UPDATE pledges SET created_at = now() - (? + 365) * interval '1 day', " +
+                "deadline = now() - ? * interval '1 day' WHERE id = ?", days, days, pledgeId);
+        return pledgeId;
+    }
+
+    private void pay(long pledgeId, double amount) throws Exception {
+        mvc.perform(post("/api/pledges/" + pledgeId + "/payments").header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\":" + amount + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private String statusOf(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM pledges WHERE id = ?", String.class, pledgeId);
+    }
+
+    private int statusEvents(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pledge_balance_events " +
+                "WHERE pledge_id = ? AND event_type = 'STATUS'", Integer.class, pledgeId);
+    }
+}
@@ -0,0 +1,154 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * POST /api/payments/batch: payments are applied in request order as if entered one by
+ * one, failures are reported per payment, allOrNothing writes nothing when any fails,
+ * and the ledger and rollups get a row for every recorded payment.
+ */
+class PaymentBatchTest extends PostgresIntegrationTest {
+
+    private static final long MISSING_PLEDGE = 999_999_999L;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void severalPaymentsOnOnePledgeMatchSinglePayments() throws Exception {
+        long customerId = createCustomer("Batch customer");
+        long batched = itemType(createPledge(customerId, 20_000), "Batch anklet");
+        long single = itemType(createPledge(customerId, 20_000), "Single anklet");
+
+        JsonNode result = batch(201, false, payment(batched, 1_000), payment(batched, 2_000));
+        createPayment(single, 1_000);
+        createPayment(single, 2_000);
+
+        assertEquals(2, result.get("recorded").asInt());
+        assertTrue(result.get("applied").asBoolean());
+        // 400 interest for the first month, then a full month again on 19,400 from the new cycle
+        assertEquals(17_788.0, amountOf(batched), 0.001);
+        assertEquals(amountOf(single), amountOf(batched), 0.001);
+        assertEquals(statusOf(single), statusOf(batched));
+
+        List<Map<String, Object>> events = jdbcTemplate.queryForList("SELECT e.principal_after, e.payment_id, p.amount " +
+                "FROM pledge_balance_events e JOIN payments p ON p.id = e.payment_id " +
+                "WHERE e.pledge_id = ? AND e.event_type = 'PAYMENT' ORDER BY e.id", batched);
+        assertEquals(2, events.size());
+        assertEquals(19_400.0, (Double) events.get(0).get("principal_after"), 0.001);
+        assertEquals(1_000.0, (Double) events.get(0).get("amount"), 0.001);
+        assertEquals(17_788.0, (Double) events.get(1).get("principal_after"), 0.001);
+        assertEquals(result.at("/results/1/payment/id").asLong(), ((Number) events.get(1).get("payment_id")).longValue());
+
+        for (String period : List.of(ReportRollupService.DAY, ReportRollupService.MONTH)) {
+            Map<String, Object> rollup = jdbcTemplate.queryForMap("SELECT payments, collected, interest_income " +
+                    "FROM report_rollups WHERE period = ? AND item_type = 'Batch anklet'", period);
+            assertEquals(2L, ((Number) rollup.get("payments")).longValue());
+            assertEquals(3_000.0, (Double) rollup.get("collected"), 0.001);
+            assertEquals(400.0 + 388.0, (Double) rollup.get("interest_income"), 0.001);
+        }
+    }
+
+    @Test
+    void missingAndClosedPledgesFailOnTheirOwn() throws Exception {
+        long customerId = createCustomer("Batch partial");
+        long open = createPledge(customerId, 10_000);
+        long closed = createPledge(customerId, 10_000);
+        jdbcTemplate.update("UPDATE pledges SET status = 'CLOSED' WHERE id = ?", closed);
+        long paidOff = createPledge(customerId, 10_000);
+
+        JsonNode result = batch(201, false, payment(open, 500), payment(MISSING_PLEDGE, 500), payment(closed, 500),
+                payment(paidOff, 10_200), payment(paidOff, 100));
+
+        assertEquals(5, result.get("requested").asInt());
+        assertEquals(2, result.get("recorded").asInt());
+        assertEquals(3, result.get("failed").asInt());
+        JsonNode results = result.get("results");
+        assertTrue(results.get(0).get("success").asBoolean());
+        assertEquals("Pledge not found", results.get(1).get("message").asText());
+        assertEquals("Cannot make payment on a closed pledge", results.get(2).get("message").asText());
+        assertTrue(results.get(3).get("success").asBoolean());
+        // Closed by the payment before it in the same batch
+        assertEquals("Cannot make payment on a closed pledge", results.get(4).get("message").asText());
+
+        assertEquals(1, paymentsOn(open));
+        assertEquals(0, paymentsOn(closed));
+        assertEquals(1, paymentsOn(paidOff));
+        assertEquals("CLOSED", statusOf(paidOff));
+        assertEquals(10_000.0, amountOf(closed), 0.001);
+    }
+
+    @Test
+    void allOrNothingWritesNothingWhenAPaymentFails() throws Exception {
+        long customerId = createCustomer("Batch all or nothing");
+        long pledgeId = itemType(createPledge(customerId, 10_000), "All or nothing anklet");
+
+        JsonNode result = batch(400, true, payment(pledgeId, 500), payment(pledgeId, 700), payment(MISSING_PLEDGE, 500));
+
+        assertFalse(result.get("applied").asBoolean());
+        assertEquals(0, result.get("recorded").asInt());
+        assertEquals(3, result.get("failed").asInt());
+        assertEquals("Not recorded; another payment in the batch failed", result.at("/results/0/message").asText());
+        assertEquals(10_000.0, amountOf(pledgeId), 0.001);
+        assertEquals("ACTIVE", statusOf(pledgeId));
+        assertEquals(0, paymentsOn(pledgeId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pledge_balance_events " +
+                "WHERE pledge_id = ? AND event_type = 'PAYMENT'", Integer.class, pledgeId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_rollups " +
+                "WHERE item_type = 'All or nothing anklet' AND payments > 0", Integer.class));
+
+        // The same payments without the failing one go through together
+        result = batch(201, true, payment(pledgeId, 500), payment(pledgeId, 700));
+        assertTrue(result.get("applied").asBoolean());
+        assertEquals(2, paymentsOn(pledgeId));
+    }
+
+    private JsonNode batch(int expectedStatus, boolean allOrNothing, String... payments) throws Exception {
+        String body = "{\"allOrNothing\":" + allOrNothing + ",\"payments\":[" + String.join(",", payments) + "]}";
+        var response = mvc.perform(post("/api/payments/batch").header("Authorization", bearer())
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andReturn().getResponse();
+        assertEquals(expectedStatus, response.getStatus(), response.getContentAsString());
+        return objectMapper.readTree(response.getContentAsString()).get("data");
+    }
+
+    private void createPayment(long pledgeId, double amount) throws Exception {
+        var response = mvc.perform(post("/api/payments").header("Authorization", bearer())
+                .contentType(MediaType.APPLICATION_JSON).content(payment(pledgeId, amount))).andReturn().getResponse();
+        assertEquals(201, response.getStatus(), response.getContentAsString());
+    }
+
+    private static String payment(long pledgeId, double amount) {
+        return "{\"pledgeId\":" + pledgeId + ",\"amount\":" + amount + ",\"paymentType\":\"PARTIAL\"}";
+    }
+
+    // Rollup rows are shared by every test on the same day, so each test counts its own item type
+    private long itemType(long pledgeId, String itemType) {
+        jdbcTemplate.update("UPDATE pledges SET item_type = ? WHERE id = ?", itemType, pledgeId);
+        return pledgeId;
+    }
+
+    private double amountOf(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT amount FROM pledges WHERE id = ?", Double.class, pledgeId);
+    }
+
+    private String statusOf(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM pledges WHERE id = ?", String.class, pledgeId);
+    }
+
+    private int paymentsOn(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE pledge_id = ?", Integer.class, pledgeId);
+    }
+}
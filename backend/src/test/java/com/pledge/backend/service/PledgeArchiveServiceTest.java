@@ -0,0 +1,116 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.exception.FeatureDisabledException;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"app.archive.enabled=true", "app.read-model.enabled=true"})
+class PledgeArchiveServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PledgeArchiveService archiveService;
+
+    @Autowired
+    private PledgeBook book;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbc;
+
+    @Autowired
+    private ReportRollupService rollups;
+
+    @Autowired
+    private LiveEventPublisher liveEvents;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archivingLeavesNoSyncTombstones() {
+        long pledgeId = createClosedPledge(createCustomer("Archive tombstones"));
+
+        archiveService.run();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM pledges WHERE id = ?", pledgeId));
+        assertTrue(archiveService.findPledge(pledgeId).isPresent());
+        assertEquals(0, count("SELECT COUNT(*) FROM sync_tombstones WHERE entity = 'pledges' AND entity_id = ?", pledgeId));
+        assertEquals(0, count("SELECT COUNT(*) FROM sync_tombstones WHERE entity = 'payments' AND parent_id = ?", pledgeId));
+    }
+
+    @Test
+    void otherDeletesStillLeaveTombstones() {
+        long pledgeId = createPledge(createCustomer("Deleted pledge"), 1_000);
+
+        jdbcTemplate.update("DELETE FROM pledges WHERE id = ?", pledgeId);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM sync_tombstones WHERE entity = 'pledges' AND entity_id = ?", pledgeId));
+    }
+
+    /**
+     * Archiving leaves no tombstone for the book's change query to find, so the book
+     * drops the pledges on the events archiving publishes.
+     */
+    @Test
+    void archivedPledgesLeaveTheBook() throws Exception {
+        long customerId = createCustomer("Archive book");
+        long pledgeId = createClosedPledge(customerId);
+        book.reload();
+        assertTrue(customerPledges(customerId).contains("\"id\":" + pledgeId + ","));
+
+        archiveService.run();
+
+        assertFalse(customerPledges(customerId).contains("\"id\":" + pledgeId + ","));
+    }
+
+    @Test
+    void manualRunIsRefusedWhenDisabled() {
+        PledgeArchiveService disabled = new PledgeArchiveService(jdbcTemplate, namedJdbc, rollups, liveEvents,
+                objectMapper, transactionManager, false, 365, "./archive", 500, 64);
+        long pledgeId = createClosedPledge(createCustomer("Archive disabled"));
+
+        assertThrows(FeatureDisabledException.class, disabled::run);
+        assertEquals(1, count("SELECT COUNT(*) FROM pledges WHERE id = ?", pledgeId));
+    }
+
+    private String customerPledges(long customerId) throws Exception {
+        return mvc.perform(get("/api/pledges/customer/" + customerId).header("Authorization", bearer()))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    /**
+     * A pledge closed two years ago, with one payment. The sync triggers are bypassed so
+     * updated_at keeps its old value and the pledge is past retention.
+     */
+    private long createClosedPledge(long customerId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            long pledgeId = jdbcTemplate.queryForObject(
+                    "INSERT INTO pledges (customer_id, title, amount, interest_rate, created_at, updated_at, status, version) " +
+                    "VALUES (?, 'Closed chain', 0, 2.0, now() - interval '3 years', now() - interval '2 years', 'CLOSED', 1) " +
+                    "RETURNING id", Long.class, customerId);
+            jdbcTemplate.update("INSERT INTO payments (pledge_id, amount, payment_date, payment_type, created_at) " +
+                    "VALUES (?, 1000, now() - interval '2 years', 'FULL', now() - interval '2 years')", pledgeId);
+            return pledgeId;
+        });
+    }
+
+    private int count(String sql, long id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
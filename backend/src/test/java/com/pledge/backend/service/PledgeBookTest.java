@@ -0,0 +1,190 @@
+package com.pledge.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pledge.backend.config.QueryBudgetFilter;
+import com.pledge.backend.dto.response.PledgeResponse;
+import com.pledge.backend.dto.response.PledgeSearchResponse;
+import com.pledge.backend.repository.CustomerRepository;
+import com.pledge.backend.repository.PaymentRepository;
+import com.pledge.backend.repository.PledgeRepository;
+import com.pledge.backend.serviceimpl.PledgeServiceImpl;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import com.pledge.backend.util.QueryCounter.QueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With the read model enabled, the usual endpoints answer from the in-memory book with
+ * the same bodies the database path gives. The database path is built here from the
+ * same beans with no book available.
+ */
+@TestPropertySource(properties = "app.read-model.enabled=true")
+class PledgeBookTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PledgeBook book;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PledgeRepository pledgeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReportRollupService rollups;
+
+    @Autowired
+    private InterestCalculationService interestCalculationService;
+
+    @Autowired
+    private LiveEventPublisher liveEvents;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private PledgeLedgerService ledger;
+
+    private final ObjectProvider<PledgeBook> noBook = new DefaultListableBeanFactory().getBeanProvider(PledgeBook.class);
+
+    private long customerId;
+    private long bangleId;
+    private long paidOffId;
+
+    @BeforeEach
+    void createBook() throws Exception {
+        customerId = createCustomer("Book customer");
+        bangleId = createPledge(customerId, 30_000);
+        jdbcTemplate.update("UPDATE pledges SET title = 'Bangle pair', item_type = 'Bangle', " +
+                "notes = 'kept in locker 4' WHERE id = ?", bangleId);
+        paidOffId = createPledge(customerId, 1_000);
+        jdbcTemplate.update("INSERT INTO payments (pledge_id, amount, payment_date, payment_type, created_at) " +
+                "VALUES (?, 500, now() - interval '10 days', 'PARTIAL', now())", bangleId);
+        // Written outside the application, so picked up from the change stamps
+        book.refresh();
+
+        mvc.perform(post("/api/pledges/" + paidOffId + "/payments").header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"amount\":1000}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listingsMatchTheDatabase() throws Exception {
+        PledgeServiceImpl database = new PledgeServiceImpl(pledgeRepository, customerRepository, paymentRepository,
+                interestCalculationService, liveEvents, valuationService, ledger, rollups, jdbcTemplate, noBook, 500);
+
+        JsonNode all = json("/api/pledges");
+        List<PledgeResponse> expected = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> database.forEachPledge(expected::add));
+        assertEquals(tree(expected), all);
+
+        JsonNode customer = json("/api/pledges/customer/" + customerId);
+        assertEquals(tree(transactionTemplate.execute(
+                status -> database.getPledgesByCustomerId(customerId))), customer);
+        // The payment made over the API just before is already in the book
+        assertEquals(0.0, customer.get(1).get("amount").asDouble());
+    }
+
+    @Test
+    void dashboardAndPortfolioMatchTheDatabase() throws Exception {
+        DashboardService dashboard = new DashboardService(customerRepository, pledgeRepository, rollups, noBook);
+        assertEquals(tree(dashboard.getDashboardStats()), json("/api/dashboard/stats"));
+
+        CustomerPortfolioService portfolio = new CustomerPortfolioService(customerRepository, pledgeRepository,
+                paymentRepository, noBook);
+        JsonNode fromBook = json("/api/customers/" + customerId + "/portfolio").get("data");
+        JsonNode fromDatabase = tree(transactionTemplate.execute(
+                status -> portfolio.getPortfolio(customerId, null)));
+        for (String field : List.of("customer", "pledges", "recentPayments", "totals")) {
+            assertEquals(fromDatabase.get(field), fromBook.get(field), field);
+        }
+    }
+
+    @Test
+    void listingsRunNoStatementsOnceLoaded() throws Exception {
+        json("/api/pledges");
+        for (String uri : List.of("/api/pledges", "/api/pledges/customer/" + customerId, "/api/dashboard/stats",
+                "/api/pledges/search?q=bangle")) {
+            QueryStats stats = (QueryStats) perform(uri).getRequest().getAttribute(QueryBudgetFilter.STATS_ATTRIBUTE);
+            assertNotNull(stats, uri);
+            // The dashboard's monthly interest still comes from the rollups
+            stats.assertStatementCountAtMost(uri.startsWith("/api/dashboard") ? 2 : 0);
+        }
+    }
+
+    @Test
+    void searchMatchesStemsAndPagesWithoutRepeats() throws Exception {
+        PledgeSearchResponse first = book.search("bangles 22", null, 20, null);
+        PledgeSearchResponse.Hit hit = first.getResults().stream()
+                .filter(h -> h.getPledgeId() == bangleId).findFirst().orElseThrow();
+        assertEquals("Book customer", hit.getCustomerName());
+        assertTrue(hit.getSnippet().contains("<mark>Bangle</mark>"), hit.getSnippet());
+        assertTrue(book.search("locker", "ACTIVE", 20, null).getResults().stream()
+                .anyMatch(h -> h.getPledgeId() == bangleId));
+        assertTrue(book.search("locker", "CLOSED", 20, null).getResults().stream()
+                .noneMatch(h -> h.getPledgeId() == bangleId));
+
+        // One row per page through every "test" pledge: no repeats, ranks never rise
+        Set<Long> seen = new HashSet<>();
+        float previous = Float.MAX_VALUE;
+        String cursor = null;
+        do {
+            PledgeSearchResponse page = book.search("chain", null, 1, cursor);
+            for (PledgeSearchResponse.Hit result : page.getResults()) {
+                assertTrue(seen.add(result.getPledgeId()), "Repeated " + result.getPledgeId());
+                assertTrue(result.getRank() <= previous);
+                previous = result.getRank();
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertTrue(seen.contains(paidOffId));
+    }
+
+    // Through JSON text, so numbers compare as they would in a response body
+    private JsonNode tree(Object value) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(value));
+    }
+
+    private JsonNode json(String uri) throws Exception {
+        return objectMapper.readTree(perform(uri).getResponse().getContentAsString());
+    }
+
+    private MvcResult perform(String uri) throws Exception {
+        MvcResult result = mvc.perform(get(uri).header("Authorization", bearer())).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+        }
+        assertEquals(200, result.getResponse().getStatus(), uri + ": " + result.getResponse().getContentAsString());
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Many payments on the same pledge at once must all be applied: the amount drops by
+ * exactly their sum, one payment row is written for each and the version counts them.
+ */
+class PledgeWriteCoordinatorTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 16;
+    private static final int PAYMENTS = 48;
+    private static final double PAYMENT = 100;
+    private static final double AMOUNT = 60_000;
+
+    @Autowired
+    private PledgeService pledgeService;
+
+    @Test
+    void concurrentPaymentRequestsAreAllApplied() throws Exception {
+        long pledgeId = createPledge(createCustomer("Concurrent HTTP"), AMOUNT);
+
+        List<Integer> statuses = runConcurrently(() -> mvc.perform(post("/api/pledges/" + pledgeId + "/payments")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":" + PAYMENT + "}"))
+                .andReturn().getResponse().getStatus());
+
+        assertTrue(statuses.stream().allMatch(status -> status == 200), "Some payments failed: " + statuses);
+        assertPledge(pledgeId, PAYMENTS);
+    }
+
+    /**
+     * Two coordinators stand in for two application instances: their locks do not see
+     * each other, so only the version check and the retries keep the updates apart.
+     */
+    @Test
+    void versionConflictsBetweenInstancesAreRetried() throws Exception {
+        long pledgeId = createPledge(createCustomer("Concurrent instances"), AMOUNT);
+        PledgeWriteCoordinator[] instances = {
+                new PledgeWriteCoordinator(256, 100, 1), new PledgeWriteCoordinator(256, 100, 1)};
+        int[] next = {0};
+
+        List<Integer> results = runConcurrently(() -> {
+            PledgeWriteCoordinator instance;
+            synchronized (next) {
+                instance = instances[next[0]++ % instances.length];
+            }
+            instance.write(pledgeId, () -> pledgeService.recordPayment(pledgeId, PAYMENT));
+            return 1;
+        });
+
+        assertEquals(PAYMENTS, results.size());
+        assertPledge(pledgeId, PAYMENTS);
+    }
+
+    private List<Integer> runConcurrently(Callable<Integer> payment) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < PAYMENTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return payment.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertPledge(long pledgeId, int payments) {
+        assertEquals(AMOUNT - payments * PAYMENT,
+                jdbcTemplate.queryForObject("SELECT amount FROM pledges WHERE id = ?", Double.class, pledgeId), 0.001);
+        assertEquals(payments,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE pledge_id = ?", Integer.class, pledgeId));
+        assertEquals(payments,
+                jdbcTemplate.queryForObject("SELECT version FROM pledges WHERE id = ?", Integer.class, pledgeId));
+    }
+}
@@ -0,0 +1,68 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.SyncResponse;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Test
+    void revaluationLeavesTheDeltaEmpty() {
+        long pledgeId = createPledge(createCustomer("Sync revalue"), 40_000);
+        valuationService.postRate(6_000.0, LocalDateTime.now(), "test");
+        String token = syncToEnd(null, new ArrayList<>());
+        Double valueBefore = marketValue(pledgeId);
+
+        valuationService.postRate(6_500.0, LocalDateTime.now(), "test");
+
+        assertNotEquals(valueBefore, marketValue(pledgeId), "The pledge was not revalued");
+        List<Long> changed = new ArrayList<>();
+        syncToEnd(token, changed);
+        assertTrue(changed.isEmpty(), "Revalued pledges were sent again: " + changed);
+    }
+
+    @Test
+    void clientVisibleChangesAreStillSent() {
+        long pledgeId = createPledge(createCustomer("Sync edit"), 40_000);
+        String token = syncToEnd(null, new ArrayList<>());
+
+        jdbcTemplate.update("UPDATE pledges SET notes = 'moved to locker 2', version = version + 1 WHERE id = ?", pledgeId);
+
+        List<Long> changed = new ArrayList<>();
+        syncToEnd(token, changed);
+        assertEquals(List.of(pledgeId), changed);
+    }
+
+    /**
+     * Pages through one sync, collecting the pledge ids sent, and returns the token for the next.
+     */
+    private String syncToEnd(String since, List<Long> pledgeIds) {
+        String token = since;
+        SyncResponse page;
+        do {
+            page = syncService.changesSince(token, SyncService.MAX_LIMIT);
+            page.getPledges().forEach(pledge -> pledgeIds.add(pledge.getId()));
+            token = page.getToken();
+        } while (page.isHasMore());
+        return token;
+    }
+
+    private Double marketValue(long pledgeId) {
+        return jdbcTemplate.queryForObject("SELECT market_value FROM pledges WHERE id = ?", Double.class, pledgeId);
+    }
+}
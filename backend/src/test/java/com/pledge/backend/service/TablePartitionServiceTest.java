@@ -0,0 +1,87 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.dto.response.PartitionResponse;
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A month is only detached once archiving has taken its rows, so the report figures
+ * survive a rebuild and no pledge is archived without its payments.
+ */
+@TestPropertySource(properties = "app.archive.enabled=true")
+class TablePartitionServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TablePartitionService partitionService;
+
+    @Autowired
+    private PledgeArchiveService archiveService;
+
+    @Autowired
+    private ReportRollupService rollups;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void monthIsDetachedOnlyOnceItsPledgesAreArchived() {
+        long pledgeId = createClosedPledge(createCustomer("Partition customer"));
+        String month = YearMonth.now().minusMonths(27).toString();
+        partitionService.partitionTables();
+        assertTrue(partitionService.isPartitioned("payments"));
+        rollups.rebuild();
+        assertEquals(1_000.0, collected(), 0.001);
+
+        // Closed but still in the pledges table
+        assertThrows(IllegalArgumentException.class, () -> partitionService.detach("payments", month));
+        assertTrue(attached("payments", month));
+
+        archiveService.run();
+        assertEquals(1, archiveService.findRecord(pledgeId).orElseThrow().path("payments").size());
+        PartitionResponse detached = partitionService.detach("payments", month);
+
+        assertFalse(detached.isAttached());
+        assertFalse(attached("payments", month));
+        rollups.rebuild();
+        assertEquals(1_000.0, collected(), 0.001);
+    }
+
+    /**
+     * A pledge closed two years ago, paid off 27 months ago. The sync triggers are bypassed
+     * so updated_at keeps its old value and the pledge is past archive retention.
+     */
+    private long createClosedPledge(long customerId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            long pledgeId = jdbcTemplate.queryForObject(
+                    "INSERT INTO pledges (customer_id, title, item_type, amount, interest_rate, created_at, updated_at, " +
+                    "status, version) VALUES (?, 'Closed bracelet', 'Partition bracelet', 0, 2.0, " +
+                    "now() - interval '3 years', now() - interval '2 years', 'CLOSED', 1) RETURNING id",
+                    Long.class, customerId);
+            jdbcTemplate.update("INSERT INTO payments (pledge_id, amount, payment_date, payment_type, created_at) " +
+                    "VALUES (?, 1000, now() - interval '27 months', 'FULL', now() - interval '27 months')", pledgeId);
+            return pledgeId;
+        });
+    }
+
+    private double collected() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(collected), 0) FROM report_rollups " +
+                "WHERE period = 'DAY' AND item_type = 'Partition bracelet'", Double.class);
+    }
+
+    private boolean attached(String table, String month) {
+        return partitionService.partitions().stream()
+                .anyMatch(partition -> partition.getTable().equals(table) && month.equals(partition.getMonth()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.pledge.backend.service;
+
+import com.pledge.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Revaluation after a rate post: values follow the rate, pledges that cannot be valued
+ * are cleared, and the parallel chunks stay within app.valuation.max-connections.
+ */
+@TestPropertySource(properties = {"app.valuation.chunk-size=1", "app.valuation.threads=4",
+        "app.valuation.max-connections=2"})
+class ValuationServiceTest extends PostgresIntegrationTest {
+
+    private static final String BLOCKED_REVALUATIONS_SQL =
+            "SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database() " +
+            "AND wait_event_type = 'Lock' AND query LIKE 'UPDATE pledges p SET market_value%'";
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Test
+    void revaluesAtTheNewRateAndClearsPledgesWithoutAMultiplier() {
+        long customerId = createCustomer("Valuation customer");
+        long chain = createPledge(customerId, 40_000);
+        long unknownGrade = createPledge(customerId, 10_000);
+        jdbcTemplate.update("UPDATE pledges SET purity = '20K', market_value = 99999, ltv = 0.1, valued_at = now() " +
+                "WHERE id = ?", unknownGrade);
+
+        valuationService.postRate(6000.0, LocalDateTime.now(), "test");
+
+        Map<String, Object> valued = valuation(chain);
+        assertEquals(20 * 0.916 * 6000.0, (Double) valued.get("market_value"), 0.001);
+        assertEquals(40_000 / (20 * 0.916 * 6000.0), (Double) valued.get("ltv"), 0.0001);
+        assertNotNull(valued.get("valued_at"));
+
+        Map<String, Object> cleared = valuation(unknownGrade);
+        assertNull(cleared.get("market_value"));
+        assertNull(cleared.get("ltv"));
+        assertNull(cleared.get("valued_at"));
+    }
+
+    @Test
+    void chunksRunOnAtMostMaxConnections() throws Exception {
+        long customerId = createCustomer("Valuation locks");
+        for (int i = 0; i < 6; i++) {
+            createPledge(customerId, 10_000 + i);
+        }
+        CompletableFuture<ValuationService.RevaluationResult> run;
+        // Hold every open pledge so each chunk's UPDATE waits on its row lock
+        try (Connection locker = DriverManager.getConnection(DATABASE.url(), DATABASE.username(), DATABASE.password())) {
+            locker.setAutoCommit(false);
+            try (Statement lock = locker.createStatement()) {
+                lock.execute("SELECT id FROM pledges WHERE status <> 'CLOSED' FOR UPDATE");
+            }
+            run = CompletableFuture.supplyAsync(() -> valuationService.postRate(7000.0, LocalDateTime.now(), "test"));
+
+            long blocked = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            while (blocked < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                blocked = blockedRevaluations();
+            }
+            assertEquals(2, blocked);
+            Thread.sleep(500);
+            assertEquals(2, blockedRevaluations());
+            locker.rollback();
+        }
+        ValuationService.RevaluationResult result = run.get(60, TimeUnit.SECONDS);
+        assertTrue(result.chunks() >= 6, "chunks: " + result.chunks());
+        assertTrue(result.pledgesUpdated() >= 6, "updated: " + result.pledgesUpdated());
+    }
+
+    private long blockedRevaluations() throws Exception {
+        try (Connection connection = DriverManager.getConnection(DATABASE.url(), DATABASE.username(), DATABASE.password());
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(BLOCKED_REVALUATIONS_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private Map<String, Object> valuation(long pledgeId) {
+        return jdbcTemplate.queryForMap("SELECT market_value, ltv, valued_at FROM pledges WHERE id = ?", pledgeId);
+    }
+}
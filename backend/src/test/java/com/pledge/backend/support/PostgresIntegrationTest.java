@@ -0,0 +1,64 @@
+package com.pledge.backend.support;
+
+import com.pledge.backend.support.TestDatabases.TestDatabase;
+import com.pledge.backend.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base for tests that run the whole application against a real Postgres database
+ * (see {@link TestDatabases}), migrated by Flyway as in production. Test classes share
+ * the database and the application context, so each test creates the rows it needs
+ * rather than assuming an empty table.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class PostgresIntegrationTest {
+
+    protected static final TestDatabase DATABASE = TestDatabases.create("pledge_it");
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", DATABASE::url);
+        registry.add("spring.datasource.username", DATABASE::username);
+        registry.add("spring.datasource.password", DATABASE::password);
+    }
+
+    protected String bearer() {
+        return "Bearer " + jwtUtil.generateToken("Akash", "ADMIN");
+    }
+
+    protected long createCustomer(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO customers (name, address, created_at, is_active) VALUES (?, 'Pune', now(), true) RETURNING id",
+                Long.class, name);
+    }
+
+    /**
+     * An active 22K chain pledge taken out a month ago.
+     */
+    protected long createPledge(long customerId, double amount) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO pledges (customer_id, title, description, amount, interest_rate, created_at, deadline, " +
+                "  pledge_duration, status, item_type, weight, purity, version, last_interest_accrued_at) " +
+                "VALUES (?, 'Test chain', 'test', ?, 2.0, now() - interval '30 days', now() + interval '11 months', " +
+                "  12, 'ACTIVE', 'Chain', 20, '22K', 0, now() - interval '30 days') RETURNING id",
+                Long.class, customerId, amount);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pledge.backend.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Postgres for integration tests. By default an embedded PostgreSQL 15 server is
+ * started once per test JVM. Where it cannot run (Postgres refuses to start as root,
+ * as in some CI containers) set TEST_POSTGRES_URL, e.g. jdbc:postgresql://127.0.0.1:5432/,
+ * with TEST_POSTGRES_USER and TEST_POSTGRES_PASSWORD, to use an existing server instead.
+ *
+ * Each {@link #create} makes a new, empty database on that server, dropped when the JVM exits.
+ */
+public final class TestDatabases {
+
+    /**
+     * Connection settings of one test database.
+     */
+    public record TestDatabase(String url, String username, String password) {
+    }
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static Server server;
+
+    private record Server(String baseUrl, String username, String password) {
+    }
+
+    private TestDatabases() {
+    }
+
+    public static synchronized TestDatabase create(String prefix) {
+        Server s = server();
+        String name = prefix + "_" + ProcessHandle.current().pid() + "_" + SEQUENCE.incrementAndGet();
+        execute(s, "CREATE DATABASE " + name);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                execute(s, "DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+            } catch (RuntimeException ignored) {
+                // the embedded server may already be gone, taking the database with it
+            }
+        }));
+        return new TestDatabase(s.baseUrl() + name, s.username(), s.password());
+    }
+
+    /**
+     * A new database with the same schema and rows as the given one, which must have no
+     * open connections.
+     */
+    public static synchronized TestDatabase copy(TestDatabase source, String prefix) {
+        TestDatabase copy = create(prefix);
+        Server s = server();
+        String sourceName = source.url().substring(s.baseUrl().length());
+        String name = copy.url().substring(s.baseUrl().length());
+        execute(s, "DROP DATABASE " + name);
+        execute(s, "CREATE DATABASE " + name + " TEMPLATE " + sourceName);
+        return copy;
+    }
+
+    private static Server server() {
+        if (server == null) {
+            String url = System.getenv("TEST_POSTGRES_URL");
+            if (url != null && !url.isBlank()) {
+                server = new Server(url.endsWith("/") ? url : url + "/",
+                        System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"),
+                        System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "postgres"));
+            } else {
+                try {
+                    EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            postgres.close();
+                        } catch (IOException ignored) {
+                            // exiting anyway
+                        }
+                    }));
+                    server = new Server("jdbc:postgresql://localhost:" + postgres.getPort() + "/", "postgres", "postgres");
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not start embedded Postgres; set TEST_POSTGRES_URL to use a running server", e);
+                }
+            }
+        }
+        return server;
+    }
+
+    private static void execute(Server s, String sql) {
+        try (Connection connection = DriverManager.getConnection(s.baseUrl() + "postgres", s.username(), s.password());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Test database statement failed: " + sql, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.pledge.backend.util;
+
+import com.pledge.backend.util.PdfStreamWriter.Font;
+import com.pledge.backend.util.PdfStreamWriter.Fonts;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Text written with the embedded fonts reads back the same, in any script the fonts cover.
+ */
+class PdfStreamWriterTest {
+
+    private static final Path DEVANAGARI = Path.of("/usr/share/fonts/truetype/noto/NotoSansDevanagari-Regular.ttf");
+
+    private static TrueTypeFace regular;
+    private static TrueTypeFace bold;
+
+    @BeforeAll
+    static void loadFonts() throws IOException {
+        regular = TrueTypeFace.load(PdfStreamWriterTest.class.getResourceAsStream("/fonts/DejaVuSans.ttf"));
+        bold = TrueTypeFace.load(PdfStreamWriterTest.class.getResourceAsStream("/fonts/DejaVuSans-Bold.ttf"));
+    }
+
+    @Test
+    void nonLatinTextIsEmbeddedAndExtractable() throws IOException {
+        Fonts fonts = new Fonts(List.of(regular), List.of(bold));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfStreamWriter pdf = new PdfStreamWriter(out, fonts)) {
+            pdf.text(50, 780, Font.BOLD, 12, "Ελένη Παπαδοπούλου");
+            pdf.text(50, 760, Font.REGULAR, 10, "Анна Кузнецова (Rs. 1,50,000) ₹");
+            pdf.beginPage();
+            pdf.text(50, 780, Font.REGULAR, 10, "José Müller");
+        }
+
+        try (PDDocument document = PDDocument.load(out.toByteArray())) {
+            assertEquals(2, document.getNumberOfPages());
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Ελένη Παπαδοπούλου"), text);
+            assertTrue(text.contains("Анна Кузнецова (Rs. 1,50,000) ₹"), text);
+            assertTrue(text.contains("José Müller"), text);
+            for (var page : document.getPages()) {
+                for (var name : page.getResources().getFontNames()) {
+                    PDFont font = page.getResources().getFont(name);
+                    assertTrue(font.isEmbedded(), font.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    void charactersNoFontHasPrintAsQuestionMarks() throws IOException {
+        Fonts fonts = new Fonts(List.of(regular), List.of(bold));
+        assertEquals(0, regular.glyph('र'));
+        try (PDDocument document = PDDocument.load(write(fonts, "राम Shah"))) {
+            assertTrue(new PDFTextStripper().getText(document).contains("??? Shah"));
+        }
+    }
+
+    @Test
+    void fallbackFontCoversDevanagari() throws IOException {
+        assumeTrue(Files.exists(DEVANAGARI), "No Devanagari font installed");
+        TrueTypeFace devanagari = TrueTypeFace.load(Files.newInputStream(DEVANAGARI));
+        Fonts fonts = new Fonts(List.of(regular, devanagari), List.of(bold, devanagari));
+        try (PDDocument document = PDDocument.load(write(fonts, "सुनीता Shah"))) {
+            assertTrue(new PDFTextStripper().getText(document).contains("सुनीता Shah"));
+        }
+    }
+
+    @Test
+    void widthMatchesTheFontAdvances() throws IOException {
+        Fonts fonts = new Fonts(List.of(regular), List.of(bold));
+        try (PdfStreamWriter pdf = new PdfStreamWriter(new ByteArrayOutputStream(), fonts)) {
+            float expected = (regular.advance(regular.glyph('1')) * 2 + regular.advance(regular.glyph(','))) * 10 / 1000f;
+            assertEquals(expected, pdf.textWidth(Font.REGULAR, 10, "1,1"), 0.001);
+            assertTrue(pdf.textWidth(Font.BOLD, 10, "WWW") > pdf.textWidth(Font.REGULAR, 10, "iii"));
+        }
+    }
+
+    private static byte[] write(Fonts fonts, String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfStreamWriter pdf = new PdfStreamWriter(out, fonts)) {
+            pdf.text(50, 780, Font.REGULAR, 10, text);
+        }
+        return out.toByteArray();
+    }
+}